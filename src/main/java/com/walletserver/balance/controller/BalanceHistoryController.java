@@ -0,0 +1,32 @@
+package com.walletserver.balance.controller;
+
+import com.walletserver.balance.dto.BalanceAtResponse;
+import com.walletserver.balance.service.PointInTimeBalanceService;
+import com.walletserver.wallet.entity.Wallet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/wallets/{walletId}/balance")
+@RequiredArgsConstructor
+public class BalanceHistoryController {
+
+    private final PointInTimeBalanceService pointInTimeBalanceService;
+
+    @GetMapping
+    public ResponseEntity<BalanceAtResponse> balanceAt(
+            @PathVariable Long walletId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(defaultValue = Wallet.BASE_CURRENCY) String currency
+    ) {
+        return ResponseEntity.ok(pointInTimeBalanceService.balanceAt(walletId, currency, at));
+    }
+}
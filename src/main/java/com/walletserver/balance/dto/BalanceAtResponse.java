@@ -0,0 +1,21 @@
+package com.walletserver.balance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * @param balance             at 시점의 가용 잔액(보류 금액 제외)
+ * @param lastHistoryId       잔액에 반영된 마지막 이력. 이력이 없으면 null
+ * @param checkpointHistoryId 출발점으로 쓴 체크포인트의 마지막 이력. 체크포인트 없이 계산했으면 null
+ * @param rowsApplied         체크포인트 이후 적용한 이력 수
+ */
+public record BalanceAtResponse(
+        Long walletId,
+        String currency,
+        LocalDateTime at,
+        BigDecimal balance,
+        Long lastHistoryId,
+        Long checkpointHistoryId,
+        int rowsApplied
+) {
+}
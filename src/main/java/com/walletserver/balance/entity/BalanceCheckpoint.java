@@ -0,0 +1,89 @@
+package com.walletserver.balance.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 지갑·통화별 잔액 체크포인트. lastHistoryId까지의 SUCCESS 이력을 모두 반영한 가용 잔액이다.
+ * <p>
+ * 가장 최근 행은 봉인 전까지 이력이 쌓일 때마다 앞으로 옮겨지고, sealEvery건을 반영하면 봉인되어
+ * 다음 이력부터 새 행이 열린다. 따라서 어느 시점이든 봉인된 체크포인트 이후 적용할 이력은 sealEvery건 이하다.
+ */
+@Entity
+@Getter
+@Table(name = "balance_checkpoint",
+        indexes = @Index(name = "idx_balance_checkpoint_wallet_at",
+                columnList = "wallet_id, currency, checkpoint_at"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long walletId;
+
+    @Column(nullable = false, length = 3, updatable = false)
+    private String currency;
+
+    @Column(nullable = false)
+    private Long lastHistoryId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    /**
+     * lastHistoryId 이력의 생성 시각. 시점 조회는 이 값으로 체크포인트를 고른다.
+     */
+    @Column(nullable = false)
+    private LocalDateTime checkpointAt;
+
+    @Column(nullable = false)
+    private Integer rowCount;
+
+    @Column(nullable = false)
+    private boolean sealed;
+
+    public BalanceCheckpoint(Long walletId, String currency, BigDecimal balance,
+                             Long lastHistoryId, LocalDateTime checkpointAt) {
+        this.walletId = walletId;
+        this.currency = currency;
+        this.balance = balance;
+        this.lastHistoryId = lastHistoryId;
+        this.checkpointAt = checkpointAt;
+        this.rowCount = 0;
+        this.sealed = false;
+    }
+
+    /**
+     * 봉인된 체크포인트 다음에 이어지는 새 체크포인트.
+     */
+    public BalanceCheckpoint next() {
+        return new BalanceCheckpoint(walletId, currency, balance, lastHistoryId, checkpointAt);
+    }
+
+    public void apply(Long historyId, BigDecimal delta, LocalDateTime createdAt, int sealEvery) {
+        if (sealed) {
+            throw new IllegalStateException("Checkpoint is sealed: " + id);
+        }
+        this.balance = balance.add(delta);
+        this.lastHistoryId = historyId;
+        this.checkpointAt = createdAt;
+        this.rowCount++;
+        if (rowCount >= sealEvery) {
+            this.sealed = true;
+        }
+    }
+}
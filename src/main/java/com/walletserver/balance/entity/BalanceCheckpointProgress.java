@@ -0,0 +1,44 @@
+package com.walletserver.balance.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 체크포인트 작성기가 transaction_history를 어디까지 읽었는지 기록하는 단일 행.
+ * 배치마다 이 행을 FOR UPDATE로 잡으므로 여러 인스턴스가 동시에 같은 구간을 처리하지 않는다.
+ */
+@Entity
+@Getter
+@Table(name = "balance_checkpoint_progress")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BalanceCheckpointProgress {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long lastHistoryId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public BalanceCheckpointProgress(Long id) {
+        this.id = id;
+        this.lastHistoryId = 0L;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void advance(long lastHistoryId) {
+        this.lastHistoryId = lastHistoryId;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,17 @@
+package com.walletserver.balance.repository;
+
+import com.walletserver.balance.entity.BalanceCheckpointProgress;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BalanceCheckpointProgressRepository extends JpaRepository<BalanceCheckpointProgress, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from BalanceCheckpointProgress p where p.id = :id")
+    Optional<BalanceCheckpointProgress> findByIdForUpdate(@Param("id") Long id);
+}
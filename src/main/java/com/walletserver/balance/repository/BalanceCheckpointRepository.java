@@ -0,0 +1,15 @@
+package com.walletserver.balance.repository;
+
+import com.walletserver.balance.entity.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+    Optional<BalanceCheckpoint> findFirstByWalletIdAndCurrencyOrderByLastHistoryIdDesc(Long walletId, String currency);
+
+    Optional<BalanceCheckpoint> findFirstByWalletIdAndCurrencyAndCheckpointAtLessThanEqualOrderByLastHistoryIdDesc(
+            Long walletId, String currency, LocalDateTime at);
+}
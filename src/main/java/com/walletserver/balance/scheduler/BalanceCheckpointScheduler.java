@@ -0,0 +1,57 @@
+package com.walletserver.balance.scheduler;
+
+import com.walletserver.balance.service.BalanceCheckpointService;
+import com.walletserver.shard.routing.ShardContext;
+import com.walletserver.shard.service.ShardMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주기마다 밀린 이력을 배치 단위로 따라잡는다. 한 번에 너무 오래 돌지 않도록 실행당 배치 수를 제한한다.
+ * 진행 위치는 샤드마다 따로 있으므로 샤드별로 차례로 돈다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.balance-checkpoint.enabled", havingValue = "true", matchIfMissing = true)
+public class BalanceCheckpointScheduler {
+
+    private final BalanceCheckpointService checkpointService;
+    private final ShardMap shardMap;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public BalanceCheckpointScheduler(
+            BalanceCheckpointService checkpointService,
+            ShardMap shardMap,
+            @Value("${wallet.balance-checkpoint.batch-size:1000}") int batchSize,
+            @Value("${wallet.balance-checkpoint.max-batches-per-run:20}") int maxBatchesPerRun
+    ) {
+        this.checkpointService = checkpointService;
+        this.shardMap = shardMap;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.balance-checkpoint.interval-ms:30000}",
+            initialDelayString = "${wallet.balance-checkpoint.initial-delay-ms:30000}")
+    public void run() {
+        for (int shard : shardMap.shards()) {
+            try {
+                ShardContext.runOn(shard, this::catchUp);
+            } catch (RuntimeException e) {
+                log.warn("잔액 체크포인트 갱신 실패. 다음 주기에 이어서 진행합니다. Shard: {}, Error: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    private void catchUp() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            if (checkpointService.buildNextBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+}
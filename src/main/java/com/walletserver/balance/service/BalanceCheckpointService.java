@@ -0,0 +1,100 @@
+package com.walletserver.balance.service;
+
+import com.walletserver.balance.entity.BalanceCheckpoint;
+import com.walletserver.balance.entity.BalanceCheckpointProgress;
+import com.walletserver.balance.repository.BalanceCheckpointProgressRepository;
+import com.walletserver.balance.repository.BalanceCheckpointRepository;
+import com.walletserver.transaction.entity.TransactionHistory;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * transaction_history를 id 순으로 이어 읽어 지갑·통화별 체크포인트를 쌓는다.
+ * 이력만 읽고 지갑 행이나 분산 락은 건드리지 않으므로 출금 경로와 경합하지 않는다.
+ */
+@Slf4j
+@Service
+public class BalanceCheckpointService {
+
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final BalanceCheckpointProgressRepository progressRepository;
+    private final TransactionHistoryRepository historyRepository;
+    private final int batchSize;
+    private final int sealEvery;
+    private final long settleMs;
+
+    public BalanceCheckpointService(
+            BalanceCheckpointRepository checkpointRepository,
+            BalanceCheckpointProgressRepository progressRepository,
+            TransactionHistoryRepository historyRepository,
+            @Value("${wallet.balance-checkpoint.batch-size:1000}") int batchSize,
+            @Value("${wallet.balance-checkpoint.rows-per-checkpoint:500}") int sealEvery,
+            @Value("${wallet.balance-checkpoint.settle-ms:10000}") long settleMs
+    ) {
+        this.checkpointRepository = checkpointRepository;
+        this.progressRepository = progressRepository;
+        this.historyRepository = historyRepository;
+        this.batchSize = batchSize;
+        this.sealEvery = sealEvery;
+        this.settleMs = settleMs;
+    }
+
+    /**
+     * 다음 배치 하나를 체크포인트에 반영한다.
+     *
+     * @return 읽은 이력 수. batchSize보다 작으면 따라잡은 것이다.
+     */
+    @Transactional
+    public int buildNextBatch() {
+        BalanceCheckpointProgress progress = progressRepository.findByIdForUpdate(BalanceCheckpointProgress.SINGLETON_ID)
+                .orElseGet(() -> progressRepository.save(
+                        new BalanceCheckpointProgress(BalanceCheckpointProgress.SINGLETON_ID)));
+
+        // IDENTITY id는 커밋 순서와 다를 수 있으므로, 더 작은 id가 늦게 커밋될 여지가 없을 만큼 지난 이력만 읽는다.
+        LocalDateTime before = LocalDateTime.now().minusNanos(settleMs * 1_000_000);
+        List<TransactionHistory> rows = historyRepository.findSucceededAfter(
+                progress.getLastHistoryId(), before, Limit.of(batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, BalanceCheckpoint> open = new HashMap<>();
+        for (TransactionHistory row : rows) {
+            BigDecimal delta = row.getType().balanceDelta(row.getAmount());
+            BalanceCheckpoint checkpoint = open.computeIfAbsent(
+                    row.getWalletId() + ":" + row.getCurrency(), key -> openCheckpoint(row, delta));
+            if (checkpoint.isSealed()) {
+                checkpoint = checkpointRepository.save(checkpoint.next());
+                open.put(row.getWalletId() + ":" + row.getCurrency(), checkpoint);
+            }
+            checkpoint.apply(row.getId(), delta, row.getCreatedAt(), sealEvery);
+        }
+
+        long lastHistoryId = rows.get(rows.size() - 1).getId();
+        progress.advance(lastHistoryId);
+        log.debug("잔액 체크포인트 갱신. Rows: {}, Wallets: {}, LastHistoryId: {}",
+                rows.size(), open.size(), lastHistoryId);
+        return rows.size();
+    }
+
+    /**
+     * 지갑의 마지막 체크포인트를 이어받는다. 처음 보는 지갑이면 첫 이력에서 역산한 잔액으로 시작한다.
+     */
+    private BalanceCheckpoint openCheckpoint(TransactionHistory row, BigDecimal delta) {
+        return checkpointRepository.findFirstByWalletIdAndCurrencyOrderByLastHistoryIdDesc(
+                        row.getWalletId(), row.getCurrency())
+                .orElseGet(() -> checkpointRepository.save(new BalanceCheckpoint(
+                        row.getWalletId(), row.getCurrency(), row.getBalanceSnapshot().subtract(delta),
+                        0L, row.getCreatedAt())));
+    }
+}
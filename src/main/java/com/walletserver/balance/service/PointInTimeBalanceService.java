@@ -0,0 +1,85 @@
+package com.walletserver.balance.service;
+
+import com.walletserver.balance.dto.BalanceAtResponse;
+import com.walletserver.balance.entity.BalanceCheckpoint;
+import com.walletserver.balance.repository.BalanceCheckpointRepository;
+import com.walletserver.shard.routing.ShardedByWallet;
+import com.walletserver.transaction.entity.TransactionHistory;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.entity.WalletBalance;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import com.walletserver.wallet.repository.WalletBalanceRepository;
+import com.walletserver.wallet.repository.WalletRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 특정 시점의 잔액을 at 이전의 가장 가까운 체크포인트와 그 이후 이력의 변화량만으로 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PointInTimeBalanceService {
+
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final TransactionHistoryRepository historyRepository;
+    private final WalletRepository walletRepository;
+    private final WalletBalanceRepository walletBalanceRepository;
+
+    @ShardedByWallet(readOnly = true)
+    @Transactional(readOnly = true)
+    public BalanceAtResponse balanceAt(Long walletId, String currency, LocalDateTime at) {
+        Wallet wallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+        if (wallet.getCreatedAt() != null && at.isBefore(wallet.getCreatedAt())) {
+            throw new IllegalArgumentException("Wallet did not exist at " + at);
+        }
+
+        Optional<BalanceCheckpoint> checkpoint = checkpointRepository
+                .findFirstByWalletIdAndCurrencyAndCheckpointAtLessThanEqualOrderByLastHistoryIdDesc(walletId, currency, at);
+        long afterId = checkpoint.map(BalanceCheckpoint::getLastHistoryId).orElse(0L);
+        List<TransactionHistory> rows = historyRepository.findSucceededUntil(walletId, currency, afterId, at);
+
+        BigDecimal balance;
+        if (checkpoint.isPresent()) {
+            balance = checkpoint.get().getBalance();
+        } else if (!rows.isEmpty()) {
+            balance = openingBalance(rows.get(0));
+        } else {
+            balance = balanceBeforeHistory(wallet, currency);
+        }
+        for (TransactionHistory row : rows) {
+            balance = balance.add(row.getType().balanceDelta(row.getAmount()));
+        }
+
+        Long lastHistoryId = !rows.isEmpty() ? rows.get(rows.size() - 1).getId()
+                : checkpoint.map(BalanceCheckpoint::getLastHistoryId).orElse(null);
+        return new BalanceAtResponse(walletId, currency, at, balance, lastHistoryId,
+                checkpoint.map(BalanceCheckpoint::getLastHistoryId).orElse(null), rows.size());
+    }
+
+    /**
+     * at 이전에 이력이 없으면 첫 이력에서 역산한 잔액이고, 이력이 전혀 없으면 지금 잔액이 그대로 그 시점 잔액이다.
+     */
+    private BigDecimal balanceBeforeHistory(Wallet wallet, String currency) {
+        return historyRepository.findFirstByWalletIdAndCurrencyAndStatusOrderByIdAsc(
+                        wallet.getId(), currency, TransactionStatus.SUCCESS)
+                .map(this::openingBalance)
+                .orElseGet(() -> Wallet.BASE_CURRENCY.equals(currency)
+                        ? wallet.getBalance()
+                        : walletBalanceRepository.findByWalletIdAndCurrency(wallet.getId(), currency)
+                                .map(WalletBalance::getBalance)
+                                .orElse(BigDecimal.ZERO));
+    }
+
+    private BigDecimal openingBalance(TransactionHistory first) {
+        return first.getBalanceSnapshot().subtract(first.getType().balanceDelta(first.getAmount()));
+    }
+}
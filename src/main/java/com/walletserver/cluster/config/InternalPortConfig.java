@@ -0,0 +1,56 @@
+package com.walletserver.cluster.config;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 인스턴스 간 전달 엔드포인트(/internal/**)를 별도 포트에서만 받는다.
+ * 전달된 요청은 보낸 쪽 컨트롤러에서 이미 유입 제어를 거쳤으므로 여기서 다시 토큰을 쓰지 않는 대신,
+ * 외부 포트로 들어온 /internal 요청은 유입 제어를 우회하지 못하도록 404로 돌려보낸다.
+ * 내부 포트는 /internal 외의 경로를 받지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "routed")
+public class InternalPortConfig {
+
+    static final String INTERNAL_PATH_PREFIX = "/internal/";
+
+    private final int internalPort;
+
+    public InternalPortConfig(@Value("${wallet.cluster.internal-port:8081}") int internalPort) {
+        this.internalPort = internalPort;
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> internalConnector() {
+        return factory -> {
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setPort(internalPort);
+            factory.addAdditionalTomcatConnectors(connector);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<Filter> internalPortFilter() {
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+            boolean internalPath = ((HttpServletRequest) request).getRequestURI().startsWith(INTERNAL_PATH_PREFIX);
+            if (internalPath != (request.getLocalPort() == internalPort)) {
+                ((HttpServletResponse) response).sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            chain.doFilter(request, response);
+        });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,34 @@
+package com.walletserver.cluster.controller;
+
+import com.walletserver.cluster.service.OwnershipRoutingEngine;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 인스턴스 간 전달 전용 엔드포인트. wallet.cluster.internal-port로만 받는다.
+ */
+@RestController
+@RequestMapping("/internal/wallets")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "routed")
+public class InternalWalletController {
+
+    private final OwnershipRoutingEngine ownershipRoutingEngine;
+
+    @PostMapping("/{walletId}/withdraw")
+    public ResponseEntity<WithdrawalResponse> withdraw(
+            @PathVariable Long walletId,
+            @RequestBody @Valid WithdrawalRequest request
+    ) {
+        return ResponseEntity.ok(ownershipRoutingEngine.withdrawAsOwner(walletId, request));
+    }
+}
@@ -0,0 +1,34 @@
+package com.walletserver.cluster.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파티션 소유권의 펜싱 토큰. 새 소유자가 epoch를 올리면 이전 epoch로 진행 중인 출금 트랜잭션은 커밋하지 못한다.
+ */
+@Entity
+@Getter
+@Table(name = "wallet_partition_fence")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PartitionFence {
+
+    @Id
+    @Column(name = "partition_id")
+    private Integer partitionId;
+
+    @Column(nullable = false)
+    private Long epoch;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.walletserver.cluster.exception;
+
+import lombok.Getter;
+
+/**
+ * 소유 인스턴스가 반환한 오류 응답을 그대로 클라이언트에 전달하기 위한 예외.
+ */
+@Getter
+public class ForwardedRequestException extends RuntimeException {
+
+    private final int status;
+    private final String body;
+
+    public ForwardedRequestException(int status, String body) {
+        super("Owner responded with status " + status);
+        this.status = status;
+        this.body = body;
+    }
+}
@@ -0,0 +1,7 @@
+package com.walletserver.cluster.exception;
+
+public class OwnershipLostException extends RuntimeException {
+    public OwnershipLostException(int partition) {
+        super("Ownership lost for partition: " + partition);
+    }
+}
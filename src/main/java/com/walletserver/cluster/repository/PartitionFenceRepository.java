@@ -0,0 +1,16 @@
+package com.walletserver.cluster.repository;
+
+import com.walletserver.cluster.entity.PartitionFence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PartitionFenceRepository extends JpaRepository<PartitionFence, Integer> {
+
+    /**
+     * 공유 잠금으로 읽으므로 같은 파티션의 출금끼리는 막지 않고, epoch 갱신과는 직렬화된다.
+     */
+    @Query(value = "select epoch from wallet_partition_fence where partition_id = :partitionId for share",
+            nativeQuery = true)
+    Long findEpochForShare(@Param("partitionId") Integer partitionId);
+}
@@ -0,0 +1,85 @@
+package com.walletserver.cluster.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 해시에 하트비트를 남기는 인스턴스 목록. 최근 하트비트가 있는 멤버만 해시 링에 포함한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "routed")
+public class ClusterMembership {
+
+    private static final String MEMBERS_KEY = "wallet:cluster:members";
+
+    private final RedissonClient redissonClient;
+    @Getter
+    private final String instanceId;
+    @Getter
+    private final String advertisedUrl;
+    private final long memberTimeoutMillis;
+    private final int virtualNodes;
+
+    private volatile Map<String, String> liveMembers = Map.of();
+    @Getter
+    private volatile ConsistentHashRing ring = new ConsistentHashRing(List.of(), 1);
+
+    public ClusterMembership(
+            RedissonClient redissonClient,
+            @Value("${wallet.cluster.instance-id}") String instanceId,
+            @Value("${wallet.cluster.advertised-url}") String advertisedUrl,
+            @Value("${wallet.cluster.member-timeout-ms:10000}") long memberTimeoutMillis,
+            @Value("${wallet.cluster.virtual-nodes:64}") int virtualNodes
+    ) {
+        this.redissonClient = redissonClient;
+        this.instanceId = instanceId;
+        this.advertisedUrl = advertisedUrl;
+        this.memberTimeoutMillis = memberTimeoutMillis;
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * 하트비트를 기록하고 살아있는 멤버로 해시 링을 다시 만든다.
+     */
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        RMap<String, String> members = redissonClient.getMap(MEMBERS_KEY, StringCodec.INSTANCE);
+        members.fastPut(instanceId, advertisedUrl + "|" + now);
+
+        Map<String, String> live = new HashMap<>();
+        members.readAllMap().forEach((id, value) -> {
+            int separator = value.lastIndexOf('|');
+            long heartbeatAt = Long.parseLong(value.substring(separator + 1));
+            if (now - heartbeatAt <= memberTimeoutMillis) {
+                live.put(id, value.substring(0, separator));
+            } else if (now - heartbeatAt > memberTimeoutMillis * 10) {
+                members.fastRemove(id);
+            }
+        });
+
+        if (!live.keySet().equals(liveMembers.keySet())) {
+            log.info("Cluster membership changed: {}", live.keySet());
+        }
+        liveMembers = Map.copyOf(live);
+        ring = new ConsistentHashRing(live.keySet(), virtualNodes);
+    }
+
+    public String urlOf(String memberId) {
+        return liveMembers.get(memberId);
+    }
+
+    public void leave() {
+        redissonClient.getMap(MEMBERS_KEY, StringCodec.INSTANCE).fastRemove(instanceId);
+    }
+}
@@ -0,0 +1,140 @@
+package com.walletserver.cluster.service;
+
+import com.walletserver.cluster.exception.ForwardedRequestException;
+import com.walletserver.cluster.exception.OwnershipLostException;
+import com.walletserver.cluster.service.PartitionOwnership.OwnedPartition;
+import com.walletserver.common.deadline.RequestDeadline;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.wallet.exception.LockAcquisitionException;
+import com.walletserver.wallet.facade.WalletWithdrawalEngine;
+import com.walletserver.wallet.service.WalletService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 지갑 ID가 속한 파티션의 소유 인스턴스에서만 출금을 처리한다.
+ * 소유자는 JVM 내부 락으로 직렬화하고, 소유하지 않은 요청은 소유자에게 HTTP로 전달한다.
+ * 소유자를 알 수 없거나 전달에 실패하면 DB Lock 경로로 처리한다.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "routed")
+public class OwnershipRoutingEngine implements WalletWithdrawalEngine {
+
+    static final String INTERNAL_WITHDRAW_PATH = "/internal/wallets/{walletId}/withdraw";
+
+    private final PartitionOwnership partitionOwnership;
+    private final WalletService walletService;
+    private final RestClient restClient;
+    private final ReentrantLock[] locks;
+    private final long waitTime;
+
+    public OwnershipRoutingEngine(
+            PartitionOwnership partitionOwnership,
+            WalletService walletService,
+            RestClient.Builder restClientBuilder,
+            @Value("${wallet.cluster.local-lock-stripes:1024}") int lockStripes,
+            @Value("${wallet.cluster.forward-timeout-ms:3000}") int forwardTimeoutMillis,
+            @Value("${wallet.lock.wait-time:3}") long waitTime
+    ) {
+        this.partitionOwnership = partitionOwnership;
+        this.walletService = walletService;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(forwardTimeoutMillis);
+        requestFactory.setReadTimeout(forwardTimeoutMillis);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.locks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            this.locks[i] = new ReentrantLock(true);
+        }
+        this.waitTime = waitTime;
+    }
+
+    @Override
+    public WithdrawalResponse withdraw(Long walletId, WithdrawalRequest req) {
+        Optional<WithdrawalResponse> outcome = walletService.findOutcome(req.transactionId());
+        if (outcome.isPresent()) {
+            return outcome.get();
+        }
+        int partition = partitionOwnership.partitionOf(walletId);
+        OwnedPartition owned = partitionOwnership.ownedPartition(partition);
+        if (owned != null) {
+            return withdrawLocally(walletId, req, owned);
+        }
+
+        String ownerUrl = partitionOwnership.ownerUrlOf(partition);
+        if (ownerUrl == null) {
+            return walletService.withdraw(walletId, req, true);
+        }
+        return forward(ownerUrl, walletId, req);
+    }
+
+    /**
+     * 다른 인스턴스가 전달한 요청. 소유권이 그 사이 바뀌었더라도 다시 전달하지 않는다.
+     */
+    public WithdrawalResponse withdrawAsOwner(Long walletId, WithdrawalRequest req) {
+        int partition = partitionOwnership.partitionOf(walletId);
+        OwnedPartition owned = partitionOwnership.ownedPartition(partition);
+        if (owned == null) {
+            return walletService.withdraw(walletId, req, true);
+        }
+        return withdrawLocally(walletId, req, owned);
+    }
+
+    private WithdrawalResponse withdrawLocally(Long walletId, WithdrawalRequest req, OwnedPartition owned) {
+        ReentrantLock lock = locks[Math.floorMod(Objects.hash(walletId, req.resolvedCurrency()), locks.length)];
+        try {
+            if (!lock.tryLock(RequestDeadline.capMillis(TimeUnit.SECONDS.toMillis(waitTime)), TimeUnit.MILLISECONDS)) {
+                RequestDeadline.check("lock");
+                throw new LockAcquisitionException("잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Server Interrupted");
+        }
+
+        try {
+            return walletService.withdrawFenced(walletId, req, owned.partition(), owned.epoch());
+        } catch (OwnershipLostException e) {
+            partitionOwnership.markLost(owned.partition());
+            return walletService.withdraw(walletId, req, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private WithdrawalResponse forward(String ownerUrl, Long walletId, WithdrawalRequest req) {
+        RequestDeadline.check("forward");
+        try {
+            return restClient.post()
+                    .uri(ownerUrl + INTERNAL_WITHDRAW_PATH, walletId)
+                    .headers(headers -> {
+                        if (RequestDeadline.isPresent()) {
+                            headers.set(RequestDeadline.HEADER, String.valueOf(RequestDeadline.remainingMillis()));
+                        }
+                    })
+                    .body(req)
+                    .retrieve()
+                    .body(WithdrawalResponse.class);
+        } catch (RestClientResponseException e) {
+            throw new ForwardedRequestException(e.getStatusCode().value(), e.getResponseBodyAsString());
+        } catch (ResourceAccessException e) {
+            log.warn("소유 인스턴스 {} 에 전달 실패, DB Lock으로 처리합니다. Error: {}", ownerUrl, e.getMessage());
+            return walletService.withdraw(walletId, req, true);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.walletserver.cluster.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 해시 링이 이 인스턴스에 배정한 파티션의 Redis 임대를 획득/갱신/반납한다.
+ * 임대를 얻을 때마다 DB 펜스의 epoch를 올리고 DB가 돌려준 값을 쓰므로, 이전 소유자의 진행 중인 출금은 커밋 시점에 거절된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "routed")
+public class PartitionOwnership {
+
+    private static final String LEASE_KEY_PREFIX = "wallet:partition:lease:";
+
+    /**
+     * epoch는 DB가 발급한다. 이전 소유자의 FOR SHARE 트랜잭션이 끝날 때까지 기다린 뒤 올리고, 올린 값을 돌려준다.
+     */
+    private static final String ADVANCE_FENCE = """
+            insert into wallet_partition_fence (partition_id, epoch, owner, updated_at)
+            values (?, 1, ?, ?)
+            on conflict (partition_id) do update
+                set epoch = wallet_partition_fence.epoch + 1, owner = excluded.owner, updated_at = excluded.updated_at
+            returning epoch
+            """;
+
+    public record OwnedPartition(int partition, long epoch, long validUntilMillis) {
+    }
+
+    private final RedissonClient redissonClient;
+    private final ClusterMembership membership;
+    private final JdbcTemplate jdbcTemplate;
+    private final int partitionCount;
+    private final long leaseTtlMillis;
+    private final long leaseSafetyMarginMillis;
+    private final Map<Integer, OwnedPartition> owned = new ConcurrentHashMap<>();
+
+    public PartitionOwnership(
+            RedissonClient redissonClient,
+            ClusterMembership membership,
+            JdbcTemplate jdbcTemplate,
+            @Value("${wallet.cluster.partitions:256}") int partitionCount,
+            @Value("${wallet.cluster.lease-ttl-ms:10000}") long leaseTtlMillis,
+            @Value("${wallet.cluster.lease-safety-margin-ms:2000}") long leaseSafetyMarginMillis
+    ) {
+        this.redissonClient = redissonClient;
+        this.membership = membership;
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionCount = partitionCount;
+        this.leaseTtlMillis = leaseTtlMillis;
+        this.leaseSafetyMarginMillis = leaseSafetyMarginMillis;
+    }
+
+    public int partitionOf(Long walletId) {
+        return Math.floorMod(Long.hashCode(walletId * 0x9E3779B97F4A7C15L), partitionCount);
+    }
+
+    /**
+     * 임대가 로컬 기준으로 아직 유효한 경우에만 소유 파티션을 반환한다.
+     */
+    public OwnedPartition ownedPartition(int partition) {
+        OwnedPartition ownedPartition = owned.get(partition);
+        if (ownedPartition == null || ownedPartition.validUntilMillis() < System.currentTimeMillis()) {
+            return null;
+        }
+        return ownedPartition;
+    }
+
+    public String ownerUrlOf(int partition) {
+        String ownerId = membership.getRing().ownerOf(partition);
+        if (ownerId == null || ownerId.equals(membership.getInstanceId())) {
+            return null;
+        }
+        return membership.urlOf(ownerId);
+    }
+
+    /**
+     * 더 새 epoch에 막혔으므로 소유를 내려놓고, 아직 이 인스턴스 이름으로 남은 임대도 반납해 다음 소유자가 바로 가져가게 한다.
+     */
+    public void markLost(int partition) {
+        if (owned.remove(partition) == null) {
+            return;
+        }
+        log.warn("Partition {} fenced by a newer owner", partition);
+        try {
+            leaseOf(partition).compareAndSet(membership.getInstanceId(), null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release lease for partition {}. Error: {}", partition, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.cluster.heartbeat-interval-ms:2000}")
+    public void rebalance() {
+        try {
+            membership.heartbeat();
+        } catch (RuntimeException e) {
+            // 갱신하지 못한 임대는 로컬 만료 시각이 지나면 자연히 소유하지 않은 것으로 처리된다.
+            log.warn("Cluster heartbeat failed. Error: {}", e.getMessage());
+            return;
+        }
+
+        ConsistentHashRing ring = membership.getRing();
+        String self = membership.getInstanceId();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            boolean desired = self.equals(ring.ownerOf(partition));
+            try {
+                if (desired) {
+                    acquireOrRenew(partition);
+                } else if (owned.containsKey(partition)) {
+                    release(partition);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to update lease for partition {}. Error: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private void acquireOrRenew(int partition) {
+        String self = membership.getInstanceId();
+        RBucket<String> lease = leaseOf(partition);
+        long validUntil = System.currentTimeMillis() + leaseTtlMillis - leaseSafetyMarginMillis;
+
+        OwnedPartition current = owned.get(partition);
+        if (current != null) {
+            if (self.equals(lease.get()) && lease.expire(Duration.ofMillis(leaseTtlMillis))) {
+                owned.put(partition, new OwnedPartition(partition, current.epoch(), validUntil));
+            } else {
+                owned.remove(partition);
+            }
+            return;
+        }
+
+        if (!lease.setIfAbsent(self, Duration.ofMillis(leaseTtlMillis))) {
+            return;
+        }
+        Long epoch;
+        try {
+            epoch = jdbcTemplate.queryForObject(ADVANCE_FENCE, Long.class, partition, self,
+                    new Timestamp(System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            // 펜스를 올리지 못했으면 소유하지 않은 채 임대만 쥐고 있지 않도록 돌려놓는다.
+            lease.compareAndSet(self, null);
+            throw e;
+        }
+        owned.put(partition, new OwnedPartition(partition, epoch, validUntil));
+        log.info("Acquired partition {} with epoch {}", partition, epoch);
+    }
+
+    private void release(int partition) {
+        owned.remove(partition);
+        leaseOf(partition).compareAndSet(membership.getInstanceId(), null);
+        log.info("Released partition {}", partition);
+    }
+
+    private RBucket<String> leaseOf(int partition) {
+        return redissonClient.getBucket(LEASE_KEY_PREFIX + partition, StringCodec.INSTANCE);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        owned.keySet().forEach(partition -> {
+            try {
+                release(partition);
+            } catch (RuntimeException e) {
+                log.warn("Failed to release partition {}. Error: {}", partition, e.getMessage());
+            }
+        });
+        try {
+            membership.leave();
+        } catch (RuntimeException e) {
+            log.warn("Failed to leave cluster. Error: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.walletserver.common.bulkhead;
+
+import lombok.Getter;
+
+@Getter
+public class BulkheadFullException extends RuntimeException {
+
+    private final TrafficClass trafficClass;
+
+    public BulkheadFullException(TrafficClass trafficClass, String reason) {
+        super("Bulkhead " + trafficClass.name().toLowerCase() + " rejected request: " + reason);
+        this.trafficClass = trafficClass;
+    }
+}
@@ -0,0 +1,112 @@
+package com.walletserver.common.bulkhead;
+
+import com.walletserver.common.deadline.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 트래픽 종류별로 분리된 실행기. 컨트롤러는 작업을 여기에 넘기고 Tomcat 스레드를 즉시 반환하므로
+ * 한 종류의 요청이 몰려도 다른 종류가 쓸 스레드가 고갈되지 않는다.
+ * <p>
+ * 대기열은 고정 크기이며 가득 차면 기다리지 않고 거절한다. 사용자 출금 대기열이 batch.yield-queue-depth 이상
+ * 쌓이면 배치 요청을 새로 받지 않아 공유 자원(DB, 지갑 락)을 사용자 출금에 양보한다.
+ * 요청 마감 시각은 작업 스레드로 그대로 옮겨지므로 대기열에서 보낸 시간도 예산에 포함된다.
+ * 현재 관측(트레이스) 범위도 함께 옮겨 작업 스레드의 스팬이 요청 스팬 아래에 이어진다.
+ */
+@Slf4j
+@Component
+public class TrafficBulkheads {
+
+    private final Map<TrafficClass, ThreadPoolExecutor> executors = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, Counter> rejections = new EnumMap<>(TrafficClass.class);
+    private final ObservationRegistry observationRegistry;
+    private final int batchYieldQueueDepth;
+
+    public TrafficBulkheads(
+            MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry,
+            @Value("${wallet.bulkhead.interactive.threads:64}") int interactiveThreads,
+            @Value("${wallet.bulkhead.interactive.queue-capacity:256}") int interactiveQueueCapacity,
+            @Value("${wallet.bulkhead.batch.threads:4}") int batchThreads,
+            @Value("${wallet.bulkhead.batch.queue-capacity:16}") int batchQueueCapacity,
+            @Value("${wallet.bulkhead.batch.yield-queue-depth:32}") int batchYieldQueueDepth,
+            @Value("${wallet.bulkhead.read.threads:16}") int readThreads,
+            @Value("${wallet.bulkhead.read.queue-capacity:128}") int readQueueCapacity
+    ) {
+        this.observationRegistry = observationRegistry;
+        this.batchYieldQueueDepth = batchYieldQueueDepth;
+        register(meterRegistry, TrafficClass.INTERACTIVE, interactiveThreads, interactiveQueueCapacity);
+        register(meterRegistry, TrafficClass.BATCH, batchThreads, batchQueueCapacity);
+        register(meterRegistry, TrafficClass.READ, readThreads, readQueueCapacity);
+    }
+
+    public <T> CompletableFuture<T> submit(TrafficClass trafficClass, Supplier<T> task) {
+        if (trafficClass == TrafficClass.BATCH
+                && executors.get(TrafficClass.INTERACTIVE).getQueue().size() >= batchYieldQueueDepth) {
+            throw reject(trafficClass, "yielding to interactive backlog");
+        }
+        Long deadline = RequestDeadline.capture();
+        Observation parent = observationRegistry.getCurrentObservation();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                RequestDeadline.restore(deadline);
+                TrafficClassContext.set(trafficClass);
+                try (Observation.Scope scope = parent != null ? parent.openScope() : null) {
+                    RequestDeadline.check("bulkhead");
+                    return task.get();
+                } finally {
+                    TrafficClassContext.clear();
+                    RequestDeadline.clear();
+                }
+            }, executors.get(trafficClass));
+        } catch (RejectedExecutionException e) {
+            throw reject(trafficClass, "queue full");
+        }
+    }
+
+    public int queueDepth(TrafficClass trafficClass) {
+        return executors.get(trafficClass).getQueue().size();
+    }
+
+    private BulkheadFullException reject(TrafficClass trafficClass, String reason) {
+        rejections.get(trafficClass).increment();
+        log.warn("Bulkhead rejected request. class: {}, reason: {}", trafficClass, reason);
+        return new BulkheadFullException(trafficClass, reason);
+    }
+
+    private void register(MeterRegistry meterRegistry, TrafficClass trafficClass, int threads, int queueCapacity) {
+        String name = trafficClass.name().toLowerCase();
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> new Thread(r, "bulkhead-" + name + "-" + sequence.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, "bulkhead-" + name, Tags.empty()).bindTo(meterRegistry);
+        executors.put(trafficClass, executor);
+        rejections.put(trafficClass, meterRegistry.counter("wallet.bulkhead.rejected", "class", name));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+}
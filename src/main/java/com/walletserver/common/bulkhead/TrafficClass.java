@@ -0,0 +1,21 @@
+package com.walletserver.common.bulkhead;
+
+/**
+ * 격벽(bulkhead) 단위가 되는 트래픽 종류. 종류마다 별도의 실행기와 커넥션 풀을 써서
+ * 배치 작업이 몰려도 사용자 출금과 조회의 지연이 영향을 받지 않게 한다.
+ */
+public enum TrafficClass {
+
+    INTERACTIVE,
+    BATCH,
+    READ;
+
+    public static final String HEADER = "X-Traffic-Class";
+
+    /**
+     * 출금 요청은 헤더로 배치임을 밝힌 경우에만 BATCH로 분류한다. 헤더로 더 높은 등급을 요구할 수는 없다.
+     */
+    public static TrafficClass ofWithdrawal(String header) {
+        return "batch".equalsIgnoreCase(header) ? BATCH : INTERACTIVE;
+    }
+}
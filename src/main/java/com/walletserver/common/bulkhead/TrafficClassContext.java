@@ -0,0 +1,25 @@
+package com.walletserver.common.bulkhead;
+
+/**
+ * 격벽 실행기 스레드가 현재 처리 중인 트래픽 종류. 커넥션 풀 분할 시 어떤 풀에서 커넥션을 얻을지 결정한다.
+ * 값이 없는 스레드(스케줄러, gRPC 등)는 기본 풀을 쓴다.
+ */
+public final class TrafficClassContext {
+
+    private static final ThreadLocal<TrafficClass> CURRENT = new ThreadLocal<>();
+
+    private TrafficClassContext() {
+    }
+
+    public static TrafficClass current() {
+        return CURRENT.get();
+    }
+
+    public static void set(TrafficClass trafficClass) {
+        CURRENT.set(trafficClass);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,14 @@
+package com.walletserver.common.bulkhead;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 현재 스레드의 트래픽 종류에 맞는 커넥션 풀에서 커넥션을 얻는다. 분류되지 않은 스레드는 기본 풀을 쓴다.
+ */
+public class TrafficRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TrafficClassContext.current();
+    }
+}
@@ -0,0 +1,23 @@
+package com.walletserver.common.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DeadlineMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 마감 초과로 처리를 중단한 요청 수. stage는 중단된 단계(lock, db 등)다.
+     */
+    public void expired(String stage) {
+        Counter.builder("wallet.deadline.expired")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,25 @@
+package com.walletserver.common.deadline;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 남은 예산을 현재 트랜잭션의 statement_timeout으로 설정한다. set_config(..., true)는 SET LOCAL과 같아
+ * 커넥션이 풀로 반환될 때 남지 않는다. 행 잠금 대기도 statement_timeout에 포함된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlineStatementTimeout {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void apply() {
+        if (!RequestDeadline.isPresent()) {
+            return;
+        }
+        RequestDeadline.check("db");
+        jdbcTemplate.queryForObject("select set_config('statement_timeout', ?, true)", String.class,
+                String.valueOf(Math.max(1, RequestDeadline.remainingMillis())));
+    }
+}
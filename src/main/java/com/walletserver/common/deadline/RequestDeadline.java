@@ -0,0 +1,65 @@
+package com.walletserver.common.deadline;
+
+import com.walletserver.common.exception.DeadlineExceededException;
+
+/**
+ * 요청 스레드에 묶인 마감 시각. 클라이언트가 {@link #HEADER}로 응답 대기 한도를 보내면
+ * 락 대기, 재시도, SQL 실행이 남은 예산을 넘지 않도록 제한하는 데 쓰인다. 헤더가 없으면 제한이 없다.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(long budgetMillis) {
+        DEADLINE_NANOS.set(System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    /**
+     * 작업을 다른 스레드로 넘길 때 같은 마감 시각을 {@link #restore(Long)}로 옮기기 위한 값. 마감이 없으면 null
+     */
+    public static Long capture() {
+        return DEADLINE_NANOS.get();
+    }
+
+    public static void restore(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            DEADLINE_NANOS.remove();
+        } else {
+            DEADLINE_NANOS.set(deadlineNanos);
+        }
+    }
+
+    public static boolean isPresent() {
+        return DEADLINE_NANOS.get() != null;
+    }
+
+    /**
+     * @return 남은 예산(ms). 마감이 지났으면 0 이하, 마감이 없으면 {@link Long#MAX_VALUE}
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return (deadline - System.nanoTime()) / 1_000_000L;
+    }
+
+    public static long capMillis(long millis) {
+        return Math.max(0, Math.min(millis, remainingMillis()));
+    }
+
+    public static void check(String stage) {
+        if (remainingMillis() <= 0) {
+            throw new DeadlineExceededException(stage);
+        }
+    }
+}
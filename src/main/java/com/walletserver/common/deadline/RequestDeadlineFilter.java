@@ -0,0 +1,44 @@
+package com.walletserver.common.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final long maxBudgetMillis;
+
+    public RequestDeadlineFilter(@Value("${wallet.deadline.max-ms:30000}") long maxBudgetMillis) {
+        this.maxBudgetMillis = maxBudgetMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header != null) {
+            try {
+                long budget = Long.parseLong(header.trim());
+                if (budget > 0) {
+                    RequestDeadline.start(Math.min(budget, maxBudgetMillis));
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring invalid {} header: {}", RequestDeadline.HEADER, header);
+            }
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
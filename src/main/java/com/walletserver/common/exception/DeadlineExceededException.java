@@ -0,0 +1,14 @@
+package com.walletserver.common.exception;
+
+import lombok.Getter;
+
+@Getter
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String stage;
+
+    public DeadlineExceededException(String stage) {
+        super("Request deadline exceeded before " + stage);
+        this.stage = stage;
+    }
+}
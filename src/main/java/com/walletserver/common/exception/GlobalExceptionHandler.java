@@ -1,10 +1,24 @@
 package com.walletserver.common.exception;
 
+import com.walletserver.cluster.exception.ForwardedRequestException;
+import com.walletserver.common.bulkhead.BulkheadFullException;
+import com.walletserver.common.deadline.DeadlineMetrics;
 import com.walletserver.common.dto.ErrorResponse;
+import com.walletserver.hold.exception.HoldNotActiveException;
+import com.walletserver.hold.exception.HoldNotFoundException;
+import com.walletserver.schedule.exception.ScheduleNotFoundException;
+import com.walletserver.shard.exception.ShardMovingException;
+import com.walletserver.velocity.exception.VelocityLimitExceededException;
 import com.walletserver.wallet.exception.DuplicateTransactionException;
 import com.walletserver.wallet.exception.LockAcquisitionException;
+import com.walletserver.wallet.exception.RateLimitExceededException;
+import com.walletserver.wallet.exception.ServiceDrainingException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -13,8 +27,11 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final DeadlineMetrics deadlineMetrics;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException e) {
         BindingResult bindingResult = e.getBindingResult();
@@ -44,6 +61,64 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of("LOCK_ACQUISITION_FAILED", e.getMessage()));
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(RateLimitExceededException e) {
+        log.warn("Rate Limit Exceeded: retry after {}ms", e.getRetryAfterMillis());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfterMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ErrorResponse.of("RATE_LIMITED", e.getMessage()));
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFullException(BulkheadFullException e) {
+        log.warn("Bulkhead Full: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of("BULKHEAD_FULL", e.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceDrainingException.class)
+    public ResponseEntity<ErrorResponse> handleServiceDrainingException(ServiceDrainingException e) {
+        log.info("Service Draining: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of("SERVICE_DRAINING", e.getMessage()));
+    }
+
+    @ExceptionHandler(ShardMovingException.class)
+    public ResponseEntity<ErrorResponse> handleShardMovingException(ShardMovingException e) {
+        log.info("Shard Moving: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of("SHARD_MOVING", e.getMessage()));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceededException(DeadlineExceededException e) {
+        log.warn("Deadline Exceeded: {}", e.getMessage());
+        deadlineMetrics.expired(e.getStage());
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ErrorResponse.of("DEADLINE_EXCEEDED", e.getMessage()));
+    }
+
+    /**
+     * 요청 예산에서 파생된 statement_timeout이 만료된 경우도 마감 초과로 응답한다.
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeoutException(QueryTimeoutException e) {
+        log.warn("Query Timeout: {}", e.getMessage());
+        deadlineMetrics.expired("db");
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ErrorResponse.of("DEADLINE_EXCEEDED", "Request deadline exceeded during db"));
+    }
+
     @ExceptionHandler(com.walletserver.wallet.exception.WalletNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleWalletNotFoundException(
             com.walletserver.wallet.exception.WalletNotFoundException e) {
@@ -53,6 +128,47 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of("WALLET_NOT_FOUND", e.getMessage()));
     }
 
+    @ExceptionHandler(VelocityLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleVelocityLimitExceededException(VelocityLimitExceededException e) {
+        log.warn("Velocity Limit Exceeded: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(ErrorResponse.of("VELOCITY_LIMIT_EXCEEDED", e.getMessage()));
+    }
+
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleHoldNotFoundException(HoldNotFoundException e) {
+        log.warn("Hold Not Found: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ErrorResponse.of("HOLD_NOT_FOUND", e.getMessage()));
+    }
+
+    @ExceptionHandler(HoldNotActiveException.class)
+    public ResponseEntity<ErrorResponse> handleHoldNotActiveException(HoldNotActiveException e) {
+        log.warn("Hold Not Active: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of("HOLD_NOT_ACTIVE", e.getMessage()));
+    }
+
+    @ExceptionHandler(ScheduleNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleScheduleNotFoundException(ScheduleNotFoundException e) {
+        log.warn("Schedule Not Found: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ErrorResponse.of("SCHEDULE_NOT_FOUND", e.getMessage()));
+    }
+
+    @ExceptionHandler(ForwardedRequestException.class)
+    public ResponseEntity<String> handleForwardedRequestException(ForwardedRequestException e) {
+        log.warn("Forwarded Request Failed: status {}", e.getStatus());
+        return ResponseEntity
+                .status(e.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(e.getBody());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
         log.warn("Illegal Argument: {}", e.getMessage());
@@ -0,0 +1,46 @@
+package com.walletserver.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.walletserver.common.dto.ErrorResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 오류 코드와 자주 반복되는 고정 거절 메시지(락 획득 실패, 유입 제한, 드레인 등)는 인코딩된 바이트를 캐시해 재사용한다.
+ * 메시지 캐시는 고정 문구로만 채워 두므로 지갑 ID가 들어간 메시지가 자리를 차지하지 않는다.
+ */
+class ErrorResponseSerializer extends StdSerializer<ErrorResponse> {
+
+    private static final SerializedString CODE = new SerializedString("code");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+
+    private final SerializedStringCache codes = new SerializedStringCache(128);
+    private final SerializedStringCache messages = new SerializedStringCache(List.of(
+            "잠시 후 다시 시도해주세요.",
+            "요청이 너무 많습니다. 잠시 후 다시 시도해주세요.",
+            "Instance is shutting down. Retry on another instance.",
+            "Request deadline exceeded during db",
+            "Insufficient balance",
+            "An unexpected error occurred."));
+
+    ErrorResponseSerializer() {
+        super(ErrorResponse.class);
+    }
+
+    @Override
+    public void serialize(ErrorResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(CODE);
+        codes.write(gen, value.code());
+        gen.writeFieldName(MESSAGE);
+        messages.write(gen, value.message());
+        gen.writeFieldName(TIMESTAMP);
+        JsonCodecs.writeLocalDateTime(gen, value.timestamp());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,172 @@
+package com.walletserver.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * UUID와 금액을 중간 String 없이 파서 버퍼에서 바로 읽고 쓴다.
+ */
+final class JsonCodecs {
+
+    private static final int UUID_LENGTH = 36;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonCodecs() {
+    }
+
+    static UUID readUuid(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return (UUID) ctxt.handleUnexpectedToken(UUID.class, p);
+        }
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        if (p.getTextLength() == UUID_LENGTH && dashesAt(chars, offset) && valid(chars, offset)) {
+            long msb = hex(chars, offset, 8) << 32 | hex(chars, offset + 9, 4) << 16 | hex(chars, offset + 14, 4);
+            long lsb = hex(chars, offset + 19, 4) << 48 | hex(chars, offset + 24, 12);
+            return new UUID(msb, lsb);
+        }
+        // 정규 형식이 아니면 JDK 파서의 허용 범위와 오류를 그대로 따른다.
+        try {
+            return UUID.fromString(p.getText());
+        } catch (IllegalArgumentException e) {
+            throw ctxt.weirdStringException(p.getText(), UUID.class, "not a valid UUID");
+        }
+    }
+
+    static BigDecimal readDecimal(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return p.getDecimalValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return new BigDecimal(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            } catch (NumberFormatException e) {
+                throw ctxt.weirdStringException(p.getText(), BigDecimal.class, "not a valid decimal");
+            }
+        }
+        return (BigDecimal) ctxt.handleUnexpectedToken(BigDecimal.class, p);
+    }
+
+    static void writeUuid(JsonGenerator gen, UUID uuid) throws IOException {
+        if (uuid == null) {
+            gen.writeNull();
+            return;
+        }
+        char[] chars = new char[UUID_LENGTH];
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        writeHex(chars, 0, msb >>> 32, 8);
+        chars[8] = '-';
+        writeHex(chars, 9, msb >>> 16, 4);
+        chars[13] = '-';
+        writeHex(chars, 14, msb, 4);
+        chars[18] = '-';
+        writeHex(chars, 19, lsb >>> 48, 4);
+        chars[23] = '-';
+        writeHex(chars, 24, lsb, 12);
+        gen.writeString(chars, 0, UUID_LENGTH);
+    }
+
+    static void writeDecimal(JsonGenerator gen, BigDecimal value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    /**
+     * DateTimeFormatter.ISO_LOCAL_DATE_TIME과 같은 형식(소수 초는 끝의 0을 뺀 최소 자릿수)을 char 배열 하나로 쓴다.
+     * 네 자리를 넘는 연도만 포매터로 넘긴다.
+     */
+    static void writeLocalDateTime(JsonGenerator gen, LocalDateTime value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        char[] chars = new char[29];
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, value.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, value.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        writeDigits(chars, 11, value.getHour(), 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, value.getMinute(), 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, value.getSecond(), 2);
+        int length = 19;
+        int nano = value.getNano();
+        if (nano > 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            chars[length++] = '.';
+            writeDigits(chars, length, nano, digits);
+            length += digits;
+        }
+        gen.writeString(chars, 0, length);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static boolean dashesAt(char[] chars, int offset) {
+        return chars[offset + 8] == '-' && chars[offset + 13] == '-'
+                && chars[offset + 18] == '-' && chars[offset + 23] == '-';
+    }
+
+    private static boolean valid(char[] chars, int offset) {
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            if (Character.digit(chars[offset + i], 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hex(char[] chars, int offset, int length) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = value << 4 | Character.digit(chars[offset + i], 16);
+        }
+        return value;
+    }
+
+    private static void writeHex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.walletserver.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 반복해서 쓰는 문자열 값의 인코딩 결과를 보관한다. 크기 상한을 넘으면 더 담지 않고 그대로 쓴다.
+ */
+class SerializedStringCache {
+
+    private final ConcurrentHashMap<String, SerializedString> cache = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    SerializedStringCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 주어진 값만 담고 더 늘리지 않는다.
+     */
+    SerializedStringCache(Collection<String> values) {
+        this.maxSize = 0;
+        values.forEach(value -> cache.put(value, new SerializedString(value)));
+    }
+
+    void write(JsonGenerator gen, String value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        SerializedString cached = cache.get(value);
+        if (cached == null && cache.size() < maxSize) {
+            cached = cache.computeIfAbsent(value, SerializedString::new);
+        }
+        if (cached != null) {
+            gen.writeString(cached);
+        } else {
+            gen.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.walletserver.common.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.walletserver.common.dto.ErrorResponse;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * 출금 경로 DTO 전용 직렬화기. Spring Boot가 Module 빈을 MVC 메시지 컨버터의 ObjectMapper에 등록한다.
+ * 출력 형식은 기본 databind와 같다.
+ */
+@Component
+public class WalletJsonModule extends SimpleModule {
+
+    public WalletJsonModule() {
+        super("WalletJsonModule");
+        addDeserializer(WithdrawalRequest.class, new WithdrawalRequestDeserializer());
+        addSerializer(WithdrawalResponse.class, new WithdrawalResponseSerializer());
+        addSerializer(ErrorResponse.class, new ErrorResponseSerializer());
+    }
+}
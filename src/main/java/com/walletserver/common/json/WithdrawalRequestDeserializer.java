@@ -0,0 +1,56 @@
+package com.walletserver.common.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 토큰을 순서대로 읽어 바로 레코드를 만든다. 필드 이름은 파서가 정규화한 문자열이라 switch 비교에 할당이 없다.
+ * 알 수 없는 필드는 기본 설정(FAIL_ON_UNKNOWN_PROPERTIES=false)처럼 건너뛰고, 값 검증은 @Valid가 맡는다.
+ */
+class WithdrawalRequestDeserializer extends StdDeserializer<WithdrawalRequest> {
+
+    WithdrawalRequestDeserializer() {
+        super(WithdrawalRequest.class);
+    }
+
+    @Override
+    public WithdrawalRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (WithdrawalRequest) ctxt.handleUnexpectedToken(WithdrawalRequest.class, p);
+        }
+        UUID transactionId = null;
+        BigDecimal amount = null;
+        String currency = null;
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            JsonToken token = p.nextToken();
+            switch (field) {
+                case "transactionId" -> transactionId = JsonCodecs.readUuid(p, ctxt);
+                case "amount" -> amount = JsonCodecs.readDecimal(p, ctxt);
+                case "currency" -> currency = readCurrency(p, ctxt, token);
+                default -> p.skipChildren();
+            }
+        }
+        return new WithdrawalRequest(transactionId, amount, currency);
+    }
+
+    /**
+     * 기본 databind처럼 객체나 배열은 거절한다. 그대로 두면 getValueAsString이 null을 돌려 KRW 출금으로 처리된다.
+     */
+    private static String readCurrency(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            return (String) ctxt.handleUnexpectedToken(String.class, p);
+        }
+        return p.getValueAsString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.walletserver.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+
+import java.io.IOException;
+
+/**
+ * 필드 이름과 상태·통화 값을 미리 인코딩해 두고 그대로 쓴다.
+ */
+class WithdrawalResponseSerializer extends StdSerializer<WithdrawalResponse> {
+
+    private static final SerializedString TRANSACTION_ID = new SerializedString("transactionId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString REMAINING_BALANCE = new SerializedString("remainingBalance");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+
+    private final SerializedStringCache values = new SerializedStringCache(64);
+
+    WithdrawalResponseSerializer() {
+        super(WithdrawalResponse.class);
+    }
+
+    @Override
+    public void serialize(WithdrawalResponse value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(TRANSACTION_ID);
+        JsonCodecs.writeUuid(gen, value.transactionId());
+        gen.writeFieldName(AMOUNT);
+        JsonCodecs.writeDecimal(gen, value.amount());
+        gen.writeFieldName(REMAINING_BALANCE);
+        JsonCodecs.writeDecimal(gen, value.remainingBalance());
+        gen.writeFieldName(STATUS);
+        values.write(gen, value.status());
+        gen.writeFieldName(CURRENCY);
+        values.write(gen, value.currency());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,51 @@
+package com.walletserver.common.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 크기 Count-Min 스케치. 키 수와 무관하게 depth × width 개의 카운터만 사용하며,
+ * 추정값은 실제 값 이상(충돌 시 과대 추정)이다. {@link #halve()}로 오래된 관측의 비중을 줄인다.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be positive and width a power of two");
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    public void add(long key, long delta) {
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(indexOf(row, key), delta);
+        }
+    }
+
+    public long estimate(long key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(indexOf(row, key)));
+        }
+        return Math.max(0, min);
+    }
+
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >> 1);
+        }
+    }
+
+    private int indexOf(int row, long key) {
+        long h = key * 0x9E3779B97F4A7C15L + row * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return row * (mask + 1) + (int) (h & mask);
+    }
+}
@@ -0,0 +1,138 @@
+package com.walletserver.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠. 등록과 만료 처리가 항목 수와 무관하게 O(1)이라 수백만 건의 만료 예정 항목을
+ * 주기적인 테이블 스캔 없이 메모리에서 추적할 수 있다.
+ * <p>
+ * 각 단계는 wheelSize개의 버킷을 가지며 상위 단계의 틱은 하위 단계 전체 주기와 같다. 상위 버킷의 항목은
+ * 시계가 해당 버킷 시작 시각에 도달하면 하위 단계로 다시 배치되고, 최하위 버킷은 구간이 완전히 지난 뒤에
+ * 만료되므로 항목이 만료 시각보다 먼저 꺼내지는 일은 없다(최대 1틱 늦게 꺼내진다).
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize greater than 1");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        levels.add(new Level<>(tickMs, wheelSize, startMs - startMs % tickMs));
+    }
+
+    /**
+     * @return 이미 만료 시각이 지나 등록하지 않았으면 false
+     */
+    public boolean add(long expirationMs, T item) {
+        if (expirationMs < levels.get(0).currentTime) {
+            return false;
+        }
+        place(new Entry<>(expirationMs, item));
+        size++;
+        return true;
+    }
+
+    /**
+     * 시계를 nowMs까지 진행하고 만료된 항목을 반환한다.
+     */
+    public List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        Level<T> lowest = levels.get(0);
+        while (nowMs >= lowest.currentTime + tickMs) {
+            List<Entry<T>> drained = lowest.drain(lowest.currentTime);
+            for (Entry<T> entry : drained) {
+                expired.add(entry.item);
+            }
+            size -= drained.size();
+            cascade(lowest.currentTime + tickMs);
+        }
+        return expired;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long currentTime() {
+        return levels.get(0).currentTime;
+    }
+
+    /**
+     * next가 상위 단계 틱의 경계이면 해당 단계의 현재 버킷을 비워 하위 단계로 재배치한다.
+     * 모든 단계의 시각을 먼저 옮긴 뒤 위에서부터 재배치해야 항목이 이미 지난 버킷에 들어가지 않는다.
+     */
+    private void cascade(long next) {
+        int boundary = 0;
+        levels.get(0).currentTime = next;
+        for (int i = 1; i < levels.size(); i++) {
+            Level<T> level = levels.get(i);
+            if (next % level.tickMs != 0) {
+                break;
+            }
+            level.currentTime = next;
+            boundary = i;
+        }
+        for (int i = boundary; i >= 1; i--) {
+            for (Entry<T> entry : levels.get(i).drain(next)) {
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> below = levels.get(i - 1);
+                long levelTick = below.tickMs * wheelSize;
+                levels.add(new Level<>(levelTick, wheelSize, below.currentTime - below.currentTime % levelTick));
+            }
+            Level<T> level = levels.get(i);
+            if (entry.expirationMs < level.currentTime + level.intervalMs) {
+                level.bucketOf(entry.expirationMs).add(entry);
+                return;
+            }
+        }
+    }
+
+    private record Entry<T>(long expirationMs, T item) {
+    }
+
+    private static final class Level<T> {
+
+        private final long tickMs;
+        private final long intervalMs;
+        private final List<Entry<T>>[] buckets;
+        private long currentTime;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMs, int wheelSize, long currentTime) {
+            this.tickMs = tickMs;
+            this.intervalMs = tickMs * wheelSize;
+            this.buckets = new List[wheelSize];
+            this.currentTime = currentTime;
+        }
+
+        private List<Entry<T>> bucketOf(long timeMs) {
+            int index = (int) ((timeMs / tickMs) % buckets.length);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            return buckets[index];
+        }
+
+        private List<Entry<T>> drain(long timeMs) {
+            int index = (int) ((timeMs / tickMs) % buckets.length);
+            List<Entry<T>> bucket = buckets[index];
+            buckets[index] = null;
+            return bucket != null ? bucket : List.of();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.walletserver.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record WalletIdRange(long start, long end) {
+
+    public WalletIdRange {
+        if (start > end) {
+            throw new IllegalArgumentException("Range start must not be greater than end");
+        }
+    }
+
+    /**
+     * size 단위로 정렬된 구간으로 분할한다. 경계가 항상 동일하므로 체크포인트 키로 재사용할 수 있다.
+     */
+    public List<WalletIdRange> split(long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Range size must be positive");
+        }
+        List<WalletIdRange> ranges = new ArrayList<>();
+        long cursor = Math.floorDiv(start, size) * size;
+        while (cursor <= end) {
+            long next = cursor + size - 1;
+            ranges.add(new WalletIdRange(Math.max(cursor, start), Math.min(next, end)));
+            cursor = next + 1;
+        }
+        return ranges;
+    }
+}
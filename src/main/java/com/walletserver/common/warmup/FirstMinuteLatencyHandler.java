@@ -0,0 +1,80 @@
+package com.walletserver.common.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 준비 완료 후 첫 window-seconds 동안의 출금 지연(wallet.withdraw 관측)을 별도 타이머에 기록해
+ * 예열 효과를 비교할 수 있게 한다. 구간이 끝난 뒤 첫 출금에서 요약을 한 번 남긴다.
+ */
+@Slf4j
+@Component
+public class FirstMinuteLatencyHandler implements ObservationHandler<Observation.Context> {
+
+    private static final String OBSERVATION_NAME = "wallet.withdraw";
+
+    private final Timer timer;
+    private final long windowNanos;
+    private final AtomicBoolean reported = new AtomicBoolean(false);
+    private volatile long readyAtNanos = -1;
+
+    public FirstMinuteLatencyHandler(
+            MeterRegistry meterRegistry,
+            @Value("${wallet.warmup.measure-window-seconds:60}") long windowSeconds
+    ) {
+        this.timer = Timer.builder("wallet.withdraw.first.minute")
+                .description("Withdrawal latency during the first window after readiness")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        readyAtNanos = System.nanoTime();
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return OBSERVATION_NAME.equals(context.getName()) && readyAtNanos >= 0;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(FirstMinuteLatencyHandler.class, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Long startedAt = context.get(FirstMinuteLatencyHandler.class);
+        if (startedAt == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (startedAt - readyAtNanos <= windowNanos) {
+            timer.record(now - startedAt, TimeUnit.NANOSECONDS);
+        } else if (reported.compareAndSet(false, true)) {
+            log.info("First-minute withdrawal latency. count: {}, p50: {}ms, p99: {}ms, max: {}ms",
+                    timer.count(), percentile(0.5), percentile(0.99), timer.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private double percentile(double percentile) {
+        for (var value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,177 @@
+package com.walletserver.common.warmup;
+
+import com.walletserver.common.bulkhead.TrafficClass;
+import com.walletserver.common.bulkhead.TrafficClassContext;
+import com.walletserver.shard.routing.ShardContext;
+import com.walletserver.shard.service.ShardMap;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.wallet.admission.WalletAdmissionGate;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.lock.LockShard;
+import com.walletserver.wallet.lock.WalletLockRegistry;
+import com.walletserver.wallet.repository.WalletRepository;
+import com.walletserver.wallet.service.WalletService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 준비(readiness) 상태가 되기 전에 출금 경로를 예열한다. ApplicationRunner는 ACCEPTING_TRAFFIC 전환 전에
+ * 실행되므로 예열이 끝날 때까지 /actuator/health/readiness가 트래픽을 받지 않는다고 응답한다.
+ * <p>
+ * 커넥션 풀을 채우고, 모든 락 샤드의 Redis 연결과 락/유입 제어 스크립트를 거친 뒤, 합성 지갑 하나에 대해
+ * {@link WalletService#withdraw}를 롤백되는 트랜잭션에서 반복 호출해 JIT 컴파일을 유도한다.
+ * 단계가 실패해도 기동은 계속된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadinessWarmup implements ApplicationRunner {
+
+    private static final String LOCK_KEY = "wallet:lock:warmup";
+
+    private final DataSource dataSource;
+    private final WalletLockRegistry walletLockRegistry;
+    private final WalletAdmissionGate walletAdmissionGate;
+    private final WalletService walletService;
+    private final WalletRepository walletRepository;
+    private final ShardMap shardMap;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int connections;
+    private final int iterations;
+
+    public ReadinessWarmup(
+            DataSource dataSource,
+            WalletLockRegistry walletLockRegistry,
+            WalletAdmissionGate walletAdmissionGate,
+            WalletService walletService,
+            WalletRepository walletRepository,
+            ShardMap shardMap,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.warmup.connections:10}") int connections,
+            @Value("${wallet.warmup.iterations:500}") int iterations
+    ) {
+        this.dataSource = dataSource;
+        this.walletLockRegistry = walletLockRegistry;
+        this.walletAdmissionGate = walletAdmissionGate;
+        this.walletService = walletService;
+        this.walletRepository = walletRepository;
+        this.shardMap = shardMap;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.connections = connections;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.nanoTime();
+        step("connections", this::warmConnectionPools);
+        step("redis", this::warmRedis);
+        step("withdraw", this::warmWithdrawals);
+        log.info("Warm-up finished in {}ms. Accepting traffic.",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void step(String name, Runnable step) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            meterRegistry.counter("wallet.warmup.failures", "step", name).increment();
+            log.warn("Warm-up step {} failed. Continuing startup. Error: {}", name, e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("wallet.warmup.duration", "step", name));
+        }
+    }
+
+    /**
+     * 커넥션을 동시에 빌려야 풀이 실제로 connections개(풀 크기 이내)까지 채워진다.
+     * 샤드마다, 트래픽 종류별로 풀이 나뉜 경우 종류마다 각각 채운다.
+     */
+    private void warmConnectionPools() {
+        for (int shard : shardMap.shards()) {
+            for (TrafficClass trafficClass : TrafficClass.values()) {
+                ShardContext.runOn(shard, () -> fillPool(trafficClass));
+            }
+        }
+    }
+
+    private void fillPool(TrafficClass trafficClass) {
+        TrafficClassContext.set(trafficClass);
+        List<Connection> borrowed = new ArrayList<>(connections);
+        try {
+            int count = Math.min(connections, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+            for (int i = 0; i < count; i++) {
+                borrowed.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not open connection: " + e.getMessage(), e);
+        } finally {
+            borrowed.forEach(this::closeQuietly);
+            TrafficClassContext.clear();
+        }
+    }
+
+    private void warmRedis() {
+        walletAdmissionGate.warmUp();
+        for (LockShard shard : walletLockRegistry.shards()) {
+            RLock lock = shard.client().getFairLock(LOCK_KEY);
+            try {
+                if (lock.tryLock(5, TimeUnit.SECONDS)) {
+                    lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 롤백해도 시퀀스 값은 돌아오지 않으므로 합성 지갑은 한 번만 만들어 재사용하고 마지막에 지운다.
+     */
+    private void warmWithdrawals() {
+        Long walletId = walletRepository.save(Wallet.builder().balance(BigDecimal.TEN).build()).getId();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                boolean useDbLock = i % 2 == 0;
+                transactionTemplate.executeWithoutResult(status -> {
+                    walletService.withdraw(walletId, new WithdrawalRequest(UUID.randomUUID(), BigDecimal.ONE),
+                            useDbLock);
+                    status.setRollbackOnly();
+                });
+            }
+        } finally {
+            walletRepository.deleteById(walletId);
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to return warm-up connection. Error: {}", e.getMessage());
+        }
+    }
+}
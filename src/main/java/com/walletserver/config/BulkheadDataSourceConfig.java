@@ -0,0 +1,44 @@
+package com.walletserver.config;
+
+import com.walletserver.common.bulkhead.TrafficClass;
+import com.walletserver.common.bulkhead.TrafficRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 트래픽 종류별로 Hikari 풀을 나눈다. 배치 작업이 자기 풀을 모두 써도 사용자 출금과 조회는 각자의 커넥션을 가진다.
+ * 분류되지 않은 스레드(스케줄러, gRPC, 내부 전달 요청)는 사용자 출금 풀을 함께 쓴다.
+ * 샤딩이 켜져 있으면 ShardDataSourceConfig가 샤드마다 같은 방식으로 풀을 나눈다.
+ */
+@Configuration
+@ConditionalOnExpression("${wallet.bulkhead.datasource.partitioned:false} and !${wallet.shard.enabled:false}")
+public class BulkheadDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(
+            HikariPoolFactory pools,
+            @Value("${wallet.bulkhead.datasource.interactive.pool-size:20}") int interactivePoolSize,
+            @Value("${wallet.bulkhead.datasource.batch.pool-size:4}") int batchPoolSize,
+            @Value("${wallet.bulkhead.datasource.read.pool-size:6}") int readPoolSize
+    ) {
+        HikariDataSource interactive = pool(pools, TrafficClass.INTERACTIVE, interactivePoolSize);
+        TrafficRoutingDataSource routing = new TrafficRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                TrafficClass.INTERACTIVE, interactive,
+                TrafficClass.BATCH, pool(pools, TrafficClass.BATCH, batchPoolSize),
+                TrafficClass.READ, pool(pools, TrafficClass.READ, readPoolSize)
+        ));
+        routing.setDefaultTargetDataSource(interactive);
+        return routing;
+    }
+
+    private static HikariDataSource pool(HikariPoolFactory pools, TrafficClass trafficClass, int poolSize) {
+        return pools.create(null, "wallet-" + trafficClass.name().toLowerCase(), poolSize);
+    }
+}
@@ -0,0 +1,55 @@
+package com.walletserver.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 라우팅 DataSource 뒤에 직접 만드는 Hikari 풀. 자동 구성 풀과 같게 spring.datasource.hikari.* 설정을 적용하고
+ * 풀마다 hikaricp.* 지표를 남긴다. 라우팅 DataSource는 닫을 대상을 모르므로 종료 시 여기서 모두 닫는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HikariPoolFactory {
+
+    private final DataSourceProperties properties;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final List<HikariDataSource> pools = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param url null이면 spring.datasource.url
+     */
+    public HikariDataSource create(String url, String name, int poolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (url != null) {
+            dataSource.setJdbcUrl(url);
+        }
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(dataSource);
+        return dataSource;
+    }
+
+    @PreDestroy
+    void close() {
+        for (HikariDataSource pool : pools) {
+            pool.close();
+        }
+        log.info("커넥션 풀 {}개 종료", pools.size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.walletserver.config;
+
+import com.walletserver.common.bulkhead.TrafficClass;
+import com.walletserver.common.bulkhead.TrafficRoutingDataSource;
+import com.walletserver.shard.routing.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 지갑 ID 구간별로 나눈 여러 PostgreSQL에 커넥션을 라우팅한다. 샤드 0은 카탈로그(shard_range, 새 지갑 구간)를 겸한다.
+ * 커넥션 풀 분할이 켜져 있으면 샤드마다 트래픽 종류별 풀을 둔다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wallet.shard.enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+
+    /**
+     * 파티션 워커 스레드에서 여러 지갑을 한 트랜잭션으로 반영하는 모드는 샤드 경계를 넘으므로 함께 쓸 수 없다.
+     */
+    private static final Set<String> UNSUPPORTED_ENGINE_MODES = Set.of("single-writer", "routed");
+
+    @Bean
+    public DataSource dataSource(
+            HikariPoolFactory pools,
+            @Value("${wallet.shard.urls}") List<String> urls,
+            @Value("${wallet.shard.pool-size:20}") int poolSize,
+            @Value("${wallet.engine.mode:lock}") String engineMode,
+            @Value("${wallet.bulkhead.datasource.partitioned:false}") boolean partitioned,
+            @Value("${wallet.bulkhead.datasource.interactive.pool-size:20}") int interactivePoolSize,
+            @Value("${wallet.bulkhead.datasource.batch.pool-size:4}") int batchPoolSize,
+            @Value("${wallet.bulkhead.datasource.read.pool-size:6}") int readPoolSize
+    ) {
+        if (UNSUPPORTED_ENGINE_MODES.contains(engineMode)) {
+            throw new IllegalStateException("wallet.engine.mode=" + engineMode + " cannot be used with sharding");
+        }
+        Map<Object, Object> shards = new HashMap<>();
+        for (int shard = 0; shard < urls.size(); shard++) {
+            String url = urls.get(shard).trim();
+            if (!partitioned) {
+                shards.put(shard, pools.create(url, "wallet-shard" + shard, poolSize));
+                continue;
+            }
+            HikariDataSource interactive =
+                    pools.create(url, name(shard, TrafficClass.INTERACTIVE), interactivePoolSize);
+            TrafficRoutingDataSource traffic = new TrafficRoutingDataSource();
+            traffic.setTargetDataSources(Map.of(
+                    TrafficClass.INTERACTIVE, interactive,
+                    TrafficClass.BATCH, pools.create(url, name(shard, TrafficClass.BATCH), batchPoolSize),
+                    TrafficClass.READ, pools.create(url, name(shard, TrafficClass.READ), readPoolSize)
+            ));
+            traffic.setDefaultTargetDataSource(interactive);
+            traffic.afterPropertiesSet();
+            shards.put(shard, traffic);
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(shards);
+        routing.setDefaultTargetDataSource(shards.get(0));
+        return routing;
+    }
+
+    private static String name(int shard, TrafficClass trafficClass) {
+        return "wallet-shard" + shard + "-" + trafficClass.name().toLowerCase();
+    }
+}
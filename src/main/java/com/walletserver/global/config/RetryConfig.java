@@ -1,9 +1,13 @@
 package com.walletserver.global.config;
 
+import com.walletserver.shard.routing.WalletShardAspect;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.annotation.EnableRetry;
 
+/**
+ * 재시도는 샤드 라우팅보다 바깥에서 돌아 시도마다 샤드를 다시 고른다.
+ */
 @Configuration
-@EnableRetry
+@EnableRetry(proxyTargetClass = true, order = WalletShardAspect.ORDER - 1)
 public class RetryConfig {
 }
@@ -0,0 +1,52 @@
+package com.walletserver.hold.controller;
+
+import com.walletserver.hold.dto.HoldRequest;
+import com.walletserver.hold.dto.HoldResponse;
+import com.walletserver.hold.dto.HoldSettleRequest;
+import com.walletserver.hold.service.HoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/wallets/{walletId}/holds")
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${wallet.engine.mode:lock}' != 'single-writer'")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @PostMapping
+    public ResponseEntity<HoldResponse> placeHold(
+            @PathVariable Long walletId,
+            @RequestBody @Valid HoldRequest request
+    ) {
+        return ResponseEntity.ok(holdService.placeHold(walletId, request));
+    }
+
+    @PostMapping("/{holdId}/capture")
+    public ResponseEntity<HoldResponse> capture(
+            @PathVariable Long walletId,
+            @PathVariable UUID holdId,
+            @RequestBody @Valid HoldSettleRequest request
+    ) {
+        return ResponseEntity.ok(holdService.capture(walletId, holdId, request));
+    }
+
+    @PostMapping("/{holdId}/release")
+    public ResponseEntity<HoldResponse> release(
+            @PathVariable Long walletId,
+            @PathVariable UUID holdId,
+            @RequestBody @Valid HoldSettleRequest request
+    ) {
+        return ResponseEntity.ok(holdService.release(walletId, holdId, request));
+    }
+}
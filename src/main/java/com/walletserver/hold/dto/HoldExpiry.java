@@ -0,0 +1,6 @@
+package com.walletserver.hold.dto;
+
+import java.time.LocalDateTime;
+
+public record HoldExpiry(Long id, LocalDateTime expiresAt) {
+}
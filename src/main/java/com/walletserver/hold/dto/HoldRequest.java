@@ -0,0 +1,14 @@
+package com.walletserver.hold.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record HoldRequest(
+        @NotNull UUID transactionId,
+        @NotNull @Positive BigDecimal amount,
+        @Positive Long ttlSeconds
+) {
+}
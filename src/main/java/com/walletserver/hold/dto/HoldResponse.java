@@ -0,0 +1,30 @@
+package com.walletserver.hold.dto;
+
+import com.walletserver.hold.entity.WalletHold;
+import com.walletserver.wallet.entity.Wallet;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record HoldResponse(
+        UUID holdId,
+        Long walletId,
+        BigDecimal amount,
+        String status,
+        LocalDateTime expiresAt,
+        BigDecimal availableBalance,
+        BigDecimal heldBalance
+) {
+    public static HoldResponse of(WalletHold hold, Wallet wallet) {
+        return new HoldResponse(
+                hold.getHoldId(),
+                hold.getWalletId(),
+                hold.getAmount(),
+                hold.getStatus().name(),
+                hold.getExpiresAt(),
+                wallet.getBalance(),
+                wallet.getHeldBalance()
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.walletserver.hold.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record HoldSettleRequest(
+        @NotNull UUID transactionId
+) {
+}
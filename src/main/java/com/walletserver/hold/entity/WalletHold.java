@@ -0,0 +1,104 @@
+package com.walletserver.hold.entity;
+
+import com.walletserver.hold.exception.HoldNotActiveException;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Getter
+@Table(name = "wallet_hold",
+        indexes = {
+                @Index(name = "idx_hold_status_id", columnList = "status, id"),
+                @Index(name = "idx_hold_status_expires_at", columnList = "status, expires_at")
+        })
+@EntityListeners(AuditingEntityListener.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WalletHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 보류를 생성한 요청의 transactionId. capture/release 요청에서 보류를 식별하는 키로 쓰인다.
+     */
+    @Column(nullable = false, unique = true, updatable = false)
+    private UUID holdId;
+
+    @Column(nullable = false, updatable = false)
+    private Long walletId;
+
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HoldStatus status;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime closedAt;
+
+    @Builder
+    public WalletHold(UUID holdId, Long walletId, BigDecimal amount, LocalDateTime expiresAt) {
+        this.holdId = holdId;
+        this.walletId = walletId;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+        this.status = HoldStatus.ACTIVE;
+    }
+
+    public void capture(LocalDateTime now) {
+        close(HoldStatus.CAPTURED, now, false);
+    }
+
+    public void release(LocalDateTime now) {
+        close(HoldStatus.RELEASED, now, false);
+    }
+
+    public void expire(LocalDateTime now) {
+        close(HoldStatus.EXPIRED, now, true);
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * 만료 시각이 지난 보류는 만료 스케줄러가 아직 처리하지 않았더라도 capture/release할 수 없다.
+     */
+    private void close(HoldStatus next, LocalDateTime now, boolean expiring) {
+        if (status != HoldStatus.ACTIVE || isExpired(now) != expiring) {
+            throw new HoldNotActiveException(holdId, isExpired(now) ? HoldStatus.EXPIRED : status);
+        }
+        this.status = next;
+        this.closedAt = now;
+    }
+
+    public enum HoldStatus {
+        ACTIVE, CAPTURED, RELEASED, EXPIRED
+    }
+}
@@ -0,0 +1,11 @@
+package com.walletserver.hold.exception;
+
+import com.walletserver.hold.entity.WalletHold.HoldStatus;
+
+import java.util.UUID;
+
+public class HoldNotActiveException extends RuntimeException {
+    public HoldNotActiveException(UUID holdId, HoldStatus status) {
+        super("Hold " + holdId + " is not active: " + status);
+    }
+}
@@ -0,0 +1,63 @@
+package com.walletserver.hold.repository;
+
+import com.walletserver.hold.dto.HoldExpiry;
+import com.walletserver.hold.entity.WalletHold;
+import com.walletserver.hold.entity.WalletHold.HoldStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WalletHoldRepository extends JpaRepository<WalletHold, Long> {
+
+    Optional<WalletHold> findByHoldId(UUID holdId);
+
+    @Query("select h.walletId from WalletHold h where h.id = :id")
+    Optional<Long> findWalletIdById(@Param("id") Long id);
+
+    /**
+     * 새로 맡은 만료 파티션의 만료 대기 보류를 엔티티로 올리지 않고 (id, expiresAt)만 키셋 페이징으로 읽는다.
+     */
+    @Query("""
+            select new com.walletserver.hold.dto.HoldExpiry(h.id, h.expiresAt)
+            from WalletHold h
+            where h.status = :status and h.id > :afterId and mod(h.walletId, :partitionCount) in :partitions
+            order by h.id
+            """)
+    List<HoldExpiry> findExpiriesAfter(@Param("status") HoldStatus status, @Param("afterId") Long afterId,
+                                       @Param("partitionCount") int partitionCount,
+                                       @Param("partitions") Collection<Integer> partitions, Pageable pageable);
+
+    /**
+     * 만료 시각이 지났는데 아직 ACTIVE인 보류. 다른 인스턴스가 올린 보류를 그 인스턴스가 내려간 뒤에도 만료시키기 위해 쓴다.
+     * (status, expires_at) 인덱스로 지난 보류만 읽는다.
+     */
+    @Query("""
+            select new com.walletserver.hold.dto.HoldExpiry(h.id, h.expiresAt)
+            from WalletHold h
+            where h.status = :status and h.expiresAt < :now and h.id > :afterId
+              and mod(h.walletId, :partitionCount) in :partitions
+            order by h.id
+            """)
+    List<HoldExpiry> findOverdueAfter(@Param("status") HoldStatus status, @Param("now") LocalDateTime now,
+                                      @Param("afterId") Long afterId, @Param("partitionCount") int partitionCount,
+                                      @Param("partitions") Collection<Integer> partitions, Pageable pageable);
+
+    /**
+     * 샤드 구간 이동 후 옮겨 온 보류를 만료 스케줄러에 다시 올릴 때 쓴다.
+     */
+    @Query("""
+            select new com.walletserver.hold.dto.HoldExpiry(h.id, h.expiresAt)
+            from WalletHold h
+            where h.status = :status and h.walletId >= :startWalletId and h.walletId < :endWalletId
+            """)
+    List<HoldExpiry> findExpiriesOfWallets(@Param("status") HoldStatus status,
+                                           @Param("startWalletId") Long startWalletId,
+                                           @Param("endWalletId") Long endWalletId);
+}
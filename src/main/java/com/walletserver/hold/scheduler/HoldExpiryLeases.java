@@ -0,0 +1,109 @@
+package com.walletserver.hold.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 보류 만료 파티션(wallet_id mod partitions)의 Redis 임대. 임대를 가진 인스턴스만 그 파티션의 ACTIVE 보류를 복구하고
+ * 만료 시각이 지난 보류를 정리한다. 소유자가 내려가 임대가 만료되면 다른 인스턴스가 가져가 그 파티션만 복구한다.
+ * 인스턴스마다 다른 위치부터 빈 임대를 찾으므로 동시에 뜬 인스턴스가 파티션을 나눠 갖는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${wallet.engine.mode:lock}' != 'single-writer'")
+public class HoldExpiryLeases {
+
+    private static final String LEASE_KEY_PREFIX = "wallet:hold:lease:";
+
+    private final RedissonClient redissonClient;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final int partitionCount;
+    private final long leaseTtlMillis;
+    private final Set<Integer> owned = ConcurrentHashMap.newKeySet();
+
+    public HoldExpiryLeases(
+            RedissonClient redissonClient,
+            @Value("${wallet.hold.partitions:16}") int partitionCount,
+            @Value("${wallet.hold.lease-ttl-ms:30000}") long leaseTtlMillis
+    ) {
+        this.redissonClient = redissonClient;
+        this.partitionCount = partitionCount;
+        this.leaseTtlMillis = leaseTtlMillis;
+    }
+
+    public int partitionCount() {
+        return partitionCount;
+    }
+
+    public List<Integer> owned() {
+        return List.copyOf(owned);
+    }
+
+    /**
+     * 가진 임대를 갱신하고 빈 임대를 가져온다. 갱신하지 못한 파티션은 내려놓는다.
+     *
+     * @return 이번에 새로 가져온 파티션
+     */
+    public List<Integer> renew() {
+        List<Integer> acquired = new ArrayList<>();
+        int offset = ThreadLocalRandom.current().nextInt(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            int partition = (offset + i) % partitionCount;
+            try {
+                if (acquireOrRenew(partition)) {
+                    acquired.add(partition);
+                }
+            } catch (RuntimeException e) {
+                owned.remove(partition);
+                log.warn("보류 만료 임대 갱신 실패. partition: {}, Error: {}", partition, e.getMessage());
+            }
+        }
+        if (!acquired.isEmpty()) {
+            log.info("보류 만료 파티션 {}개 인수: {}", acquired.size(), acquired);
+        }
+        return acquired;
+    }
+
+    private boolean acquireOrRenew(int partition) {
+        RBucket<String> lease = redissonClient.getBucket(LEASE_KEY_PREFIX + partition, StringCodec.INSTANCE);
+        if (owned.contains(partition)) {
+            if (!instanceId.equals(lease.get()) || !lease.expire(Duration.ofMillis(leaseTtlMillis))) {
+                owned.remove(partition);
+                log.warn("보류 만료 파티션 {} 임대를 잃었습니다", partition);
+            }
+            return false;
+        }
+        if (!lease.setIfAbsent(instanceId, Duration.ofMillis(leaseTtlMillis))) {
+            return false;
+        }
+        owned.add(partition);
+        return true;
+    }
+
+    @PreDestroy
+    void releaseAll() {
+        for (Integer partition : List.copyOf(owned)) {
+            owned.remove(partition);
+            try {
+                redissonClient.getBucket(LEASE_KEY_PREFIX + partition, StringCodec.INSTANCE)
+                        .compareAndSet(instanceId, null);
+            } catch (RuntimeException e) {
+                log.warn("보류 만료 임대 반납 실패. partition: {}, Error: {}", partition, e.getMessage());
+            }
+        }
+    }
+}
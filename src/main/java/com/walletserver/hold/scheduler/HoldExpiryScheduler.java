@@ -0,0 +1,242 @@
+package com.walletserver.hold.scheduler;
+
+import com.walletserver.common.util.HierarchicalTimingWheel;
+import com.walletserver.hold.dto.HoldExpiry;
+import com.walletserver.hold.entity.WalletHold.HoldStatus;
+import com.walletserver.hold.repository.WalletHoldRepository;
+import com.walletserver.hold.service.HoldPlacedEvent;
+import com.walletserver.hold.service.HoldService;
+import com.walletserver.shard.routing.ShardContext;
+import com.walletserver.shard.service.ShardMap;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 만료 대기 중인 보류를 계층형 타이밍 휠에 올려 두고 만료 시각에 해제한다.
+ * 보류는 지갑 ID로 만료 파티션에 나뉘고, 파티션 임대({@link HoldExpiryLeases})를 가진 인스턴스만 그 파티션을 복구하고 정리한다.
+ * 임대를 새로 가져오면 그 파티션의 ACTIVE 보류만 휠에 올리고, sweep-ms마다 맡은 파티션에서 만료 시각이 지난 ACTIVE 보류를
+ * 읽어 해제한다. 이 인스턴스가 올린 보류는 파티션과 관계없이 휠에 올린다. 여러 인스턴스가 같은 보류를 해제해도 한 번만 반영된다.
+ * 휠에는 보류 PK만 담고 capture/release된 항목은 지우지 않는다. 만료 시 HoldService가 상태를 다시 확인하므로
+ * 이미 종료된 보류는 무시된다.
+ * 샤드마다 보류 PK가 따로 발급되므로 휠 항목은 (샤드, PK) 쌍이다.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${wallet.engine.mode:lock}' != 'single-writer'")
+public class HoldExpiryScheduler {
+
+    private final HoldService holdService;
+    private final WalletHoldRepository holdRepository;
+    private final HoldExpiryLeases leases;
+    private final ShardMap shardMap;
+    private final long tickMs;
+    private final int recoveryBatchSize;
+    private final long retryDelayMs;
+    private volatile boolean started;
+    private final HierarchicalTimingWheel<HoldRef> wheel;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService expiryExecutor;
+
+    public HoldExpiryScheduler(
+            HoldService holdService,
+            WalletHoldRepository holdRepository,
+            HoldExpiryLeases leases,
+            ShardMap shardMap,
+            @Value("${wallet.hold.wheel.tick-ms:1000}") long tickMs,
+            @Value("${wallet.hold.wheel.size:512}") int wheelSize,
+            @Value("${wallet.hold.recovery-batch-size:5000}") int recoveryBatchSize,
+            @Value("${wallet.hold.expiry-workers:4}") int expiryWorkers,
+            @Value("${wallet.hold.retry-delay-ms:5000}") long retryDelayMs
+    ) {
+        this.holdService = holdService;
+        this.holdRepository = holdRepository;
+        this.leases = leases;
+        this.shardMap = shardMap;
+        this.tickMs = tickMs;
+        this.recoveryBatchSize = recoveryBatchSize;
+        this.retryDelayMs = retryDelayMs;
+        // 복구 전에 커밋된 보류 이벤트도 놓치지 않도록 휠은 빈 생성 시점에 만든다.
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "hold-expiry-ticker"));
+        this.expiryExecutor = Executors.newFixedThreadPool(expiryWorkers);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long recovered = takeOverLeases();
+        log.info("보류 만료 스케줄러 시작. 맡은 파티션 {}개, 복구된 ACTIVE 보류 {}건", leases.owned().size(), recovered);
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        started = true;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.hold.lease-renew-ms:10000}",
+            initialDelayString = "${wallet.hold.lease-renew-ms:10000}")
+    public void renewLeases() {
+        if (!started) {
+            return;
+        }
+        long recovered = takeOverLeases();
+        if (recovered > 0) {
+            log.info("인수한 파티션의 ACTIVE 보류 {}건 복구", recovered);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.hold.sweep-ms:60000}",
+            initialDelayString = "${wallet.hold.sweep-ms:60000}")
+    public void sweep() {
+        List<Integer> partitions = leases.owned();
+        if (!started || partitions.isEmpty()) {
+            return;
+        }
+        long swept = 0;
+        for (int shard : shardMap.shards()) {
+            try {
+                swept += ShardContext.callOn(shard, () -> sweep(shard, partitions));
+            } catch (RuntimeException e) {
+                log.warn("지난 보류 정리 실패. shard: {}, Error: {}", shard, e.getMessage());
+            }
+        }
+        if (swept > 0) {
+            log.info("만료 시각이 지난 ACTIVE 보류 {}건 해제 예약", swept);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onHoldPlaced(HoldPlacedEvent event) {
+        Integer shard = ShardContext.current();
+        schedule(new HoldRef(shard != null ? shard : ShardMap.CATALOG_SHARD, event.id()),
+                toEpochMillis(event.expiresAt()));
+    }
+
+    /**
+     * 다른 샤드에서 옮겨 온 지갑 구간의 ACTIVE 보류를 휠에 올린다. 원래 샤드의 항목은 만료 시 보류를 찾지 못해 무시된다.
+     */
+    public void adopt(int shard, long startWalletId, long endWalletId) {
+        List<HoldExpiry> expiries = ShardContext.callOn(shard,
+                () -> holdRepository.findExpiriesOfWallets(HoldStatus.ACTIVE, startWalletId, endWalletId));
+        for (HoldExpiry expiry : expiries) {
+            schedule(new HoldRef(shard, expiry.id()), toEpochMillis(expiry.expiresAt()));
+        }
+    }
+
+    public long pendingCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * 빈 임대를 가져오고 새로 맡은 파티션의 ACTIVE 보류만 모든 샤드에서 복구한다.
+     * 복구하지 못한 보류도 만료 시각이 지나면 정리 주기에 해제된다.
+     */
+    private long takeOverLeases() {
+        List<Integer> acquired = leases.renew();
+        if (acquired.isEmpty()) {
+            return 0;
+        }
+        long recovered = 0;
+        for (int shard : shardMap.shards()) {
+            try {
+                recovered += ShardContext.callOn(shard, () -> recover(shard, acquired));
+            } catch (RuntimeException e) {
+                log.warn("보류 복구 실패. shard: {}, partitions: {}, Error: {}", shard, acquired, e.getMessage());
+            }
+        }
+        return recovered;
+    }
+
+    private long recover(int shard, List<Integer> partitions) {
+        long afterId = 0L;
+        long recovered = 0L;
+        while (true) {
+            List<HoldExpiry> page = holdRepository.findExpiriesAfter(HoldStatus.ACTIVE, afterId,
+                    leases.partitionCount(), partitions, PageRequest.of(0, recoveryBatchSize));
+            for (HoldExpiry expiry : page) {
+                schedule(new HoldRef(shard, expiry.id()), toEpochMillis(expiry.expiresAt()));
+            }
+            recovered += page.size();
+            if (page.size() < recoveryBatchSize) {
+                return recovered;
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+    }
+
+    private long sweep(int shard, List<Integer> partitions) {
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0L;
+        long swept = 0L;
+        while (true) {
+            List<HoldExpiry> page = holdRepository.findOverdueAfter(HoldStatus.ACTIVE, now, afterId,
+                    leases.partitionCount(), partitions, PageRequest.of(0, recoveryBatchSize));
+            for (HoldExpiry expiry : page) {
+                HoldRef ref = new HoldRef(shard, expiry.id());
+                expiryExecutor.execute(() -> expire(ref));
+            }
+            swept += page.size();
+            if (page.size() < recoveryBatchSize) {
+                return swept;
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+    }
+
+    private void schedule(HoldRef ref, long expirationMs) {
+        boolean added;
+        synchronized (wheel) {
+            added = wheel.add(expirationMs, ref);
+        }
+        if (!added) {
+            expiryExecutor.execute(() -> expire(ref));
+        }
+    }
+
+    private void tick() {
+        List<HoldRef> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(System.currentTimeMillis());
+        }
+        for (HoldRef ref : expired) {
+            expiryExecutor.execute(() -> expire(ref));
+        }
+    }
+
+    private void expire(HoldRef ref) {
+        try {
+            ShardContext.runOn(ref.shard(), () -> holdService.expire(ref.id()));
+        } catch (RuntimeException e) {
+            log.warn("보류 만료 처리 실패, {}ms 후 재시도. shard: {}, holdPk: {}, Error: {}",
+                    retryDelayMs, ref.shard(), ref.id(), e.getMessage());
+            schedule(ref, System.currentTimeMillis() + retryDelayMs);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record HoldRef(int shard, long id) {
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        expiryExecutor.shutdown();
+    }
+}
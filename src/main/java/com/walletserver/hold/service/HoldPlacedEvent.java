@@ -0,0 +1,6 @@
+package com.walletserver.hold.service;
+
+import java.time.LocalDateTime;
+
+public record HoldPlacedEvent(Long id, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,182 @@
+package com.walletserver.hold.service;
+
+import com.walletserver.hold.dto.HoldRequest;
+import com.walletserver.hold.dto.HoldResponse;
+import com.walletserver.hold.dto.HoldSettleRequest;
+import com.walletserver.hold.entity.WalletHold;
+import com.walletserver.hold.entity.WalletHold.HoldStatus;
+import com.walletserver.hold.exception.HoldNotFoundException;
+import com.walletserver.hold.repository.WalletHoldRepository;
+import com.walletserver.shard.routing.ShardedByWallet;
+import com.walletserver.shard.service.ShardWriteFence;
+import com.walletserver.transaction.entity.TransactionHistory;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionType;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.exception.DuplicateTransactionException;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import com.walletserver.wallet.repository.WalletRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 승인 보류(hold) 후 확정(capture) 또는 해제(release)하는 2단계 출금.
+ * 모든 작업은 지갑 행을 먼저 잠그고 보류 행을 읽으므로 같은 지갑의 보류 작업, DB 락 경로 출금과 직렬화된다.
+ * Redis 락 경로 출금은 행을 잠그지 않으므로 보류가 먼저 커밋하면 버전 충돌로 롤백되고, WalletLockFacade가 행 잠금으로 다시 실행한다.
+ * 단일 Writer 모드는 잔액을 메모리에서 소유하므로 보류 기능을 제공하지 않는다.
+ */
+@Service
+@ConditionalOnExpression("'${wallet.engine.mode:lock}' != 'single-writer'")
+public class HoldService {
+
+    private final WalletRepository walletRepository;
+    private final WalletHoldRepository holdRepository;
+    private final TransactionHistoryRepository historyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardWriteFence shardWriteFence;
+    private final long defaultTtlSeconds;
+    private final long maxTtlSeconds;
+
+    public HoldService(
+            WalletRepository walletRepository,
+            WalletHoldRepository holdRepository,
+            TransactionHistoryRepository historyRepository,
+            ApplicationEventPublisher eventPublisher,
+            ShardWriteFence shardWriteFence,
+            @Value("${wallet.hold.default-ttl-seconds:604800}") long defaultTtlSeconds,
+            @Value("${wallet.hold.max-ttl-seconds:2592000}") long maxTtlSeconds
+    ) {
+        this.walletRepository = walletRepository;
+        this.holdRepository = holdRepository;
+        this.historyRepository = historyRepository;
+        this.eventPublisher = eventPublisher;
+        this.shardWriteFence = shardWriteFence;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxTtlSeconds = maxTtlSeconds;
+    }
+
+    @ShardedByWallet
+    @Transactional
+    public HoldResponse placeHold(Long walletId, HoldRequest req) {
+        Wallet wallet = lockWallet(walletId);
+
+        // Idempotency check
+        var existingHold = holdRepository.findByHoldId(req.transactionId());
+        if (existingHold.isPresent()) {
+            if (!existingHold.get().getWalletId().equals(walletId)) {
+                throw new DuplicateTransactionException("Transaction ID already used: " + req.transactionId());
+            }
+            return HoldResponse.of(existingHold.get(), wallet);
+        }
+
+        long ttlSeconds = req.ttlSeconds() != null ? req.ttlSeconds() : defaultTtlSeconds;
+        if (ttlSeconds > maxTtlSeconds) {
+            throw new IllegalArgumentException("Hold TTL must not exceed " + maxTtlSeconds + " seconds");
+        }
+
+        wallet.placeHold(req.amount());
+        WalletHold hold = holdRepository.save(WalletHold.builder()
+                .holdId(req.transactionId())
+                .walletId(walletId)
+                .amount(req.amount())
+                .expiresAt(LocalDateTime.now().plusSeconds(ttlSeconds))
+                .build());
+        saveHistory(req.transactionId(), walletId, TransactionType.HOLD, req.amount(), wallet.getBalance());
+
+        eventPublisher.publishEvent(new HoldPlacedEvent(hold.getId(), hold.getExpiresAt()));
+        return HoldResponse.of(hold, wallet);
+    }
+
+    @ShardedByWallet
+    @Transactional
+    public HoldResponse capture(Long walletId, UUID holdId, HoldSettleRequest req) {
+        Wallet wallet = lockWallet(walletId);
+        WalletHold hold = findHold(walletId, holdId);
+        if (historyRepository.existsByTransactionId(req.transactionId())) {
+            return HoldResponse.of(hold, wallet);
+        }
+
+        hold.capture(LocalDateTime.now());
+        wallet.captureHold(hold.getAmount());
+        saveHistory(req.transactionId(), walletId, TransactionType.CAPTURE, hold.getAmount(), wallet.getBalance());
+        return HoldResponse.of(hold, wallet);
+    }
+
+    @ShardedByWallet
+    @Transactional
+    public HoldResponse release(Long walletId, UUID holdId, HoldSettleRequest req) {
+        Wallet wallet = lockWallet(walletId);
+        WalletHold hold = findHold(walletId, holdId);
+        if (historyRepository.existsByTransactionId(req.transactionId())) {
+            return HoldResponse.of(hold, wallet);
+        }
+
+        hold.release(LocalDateTime.now());
+        wallet.releaseHold(hold.getAmount());
+        saveHistory(req.transactionId(), walletId, TransactionType.RELEASE, hold.getAmount(), wallet.getBalance());
+        return HoldResponse.of(hold, wallet);
+    }
+
+    /**
+     * 만료된 보류를 해제한다. 여러 인스턴스가 같은 보류를 동시에 만료시켜도 지갑 잠금 후 상태를 다시 확인하므로
+     * 한 번만 반영되며, 해제 이력의 transactionId는 holdId에서 결정적으로 만들어진다.
+     *
+     * @return 이번 호출에서 해제했으면 true
+     */
+    @Transactional
+    public boolean expire(Long id) {
+        Long walletId = holdRepository.findWalletIdById(id).orElse(null);
+        if (walletId == null) {
+            return false;
+        }
+        Wallet wallet = lockWallet(walletId);
+        WalletHold hold = holdRepository.findById(id).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        if (hold.getStatus() != HoldStatus.ACTIVE || !hold.isExpired(now)) {
+            return false;
+        }
+
+        hold.expire(now);
+        wallet.releaseHold(hold.getAmount());
+        saveHistory(expiryTransactionId(hold.getHoldId()), walletId, TransactionType.RELEASE, hold.getAmount(),
+                wallet.getBalance());
+        return true;
+    }
+
+    static UUID expiryTransactionId(UUID holdId) {
+        return UUID.nameUUIDFromBytes(("hold-expire:" + holdId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Wallet lockWallet(Long walletId) {
+        shardWriteFence.check(walletId);
+        return walletRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+    }
+
+    private WalletHold findHold(Long walletId, UUID holdId) {
+        return holdRepository.findByHoldId(holdId)
+                .filter(hold -> hold.getWalletId().equals(walletId))
+                .orElseThrow(() -> new HoldNotFoundException(holdId));
+    }
+
+    private void saveHistory(UUID transactionId, Long walletId, TransactionType type, BigDecimal amount,
+                             BigDecimal balanceSnapshot) {
+        historyRepository.save(TransactionHistory.builder()
+                .transactionId(transactionId)
+                .walletId(walletId)
+                .type(type)
+                .amount(amount)
+                .balanceSnapshot(balanceSnapshot)
+                .status(TransactionStatus.SUCCESS)
+                .build());
+    }
+}
@@ -0,0 +1,51 @@
+package com.walletserver.profiling.controller;
+
+import com.walletserver.profiling.dto.FlightRecordingStatus;
+import com.walletserver.profiling.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+@RequiredArgsConstructor
+public class FlightRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    @GetMapping
+    public ResponseEntity<FlightRecordingStatus> status() {
+        return ResponseEntity.ok(flightRecordingService.status());
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<FlightRecordingStatus> start(@RequestParam(defaultValue = "default") String settings) {
+        return ResponseEntity.ok(flightRecordingService.start(settings));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<FlightRecordingStatus> stop() {
+        return ResponseEntity.ok(flightRecordingService.stop());
+    }
+
+    @GetMapping("/dump")
+    public ResponseEntity<Resource> dump() {
+        Path file = flightRecordingService.dump();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,14 @@
+package com.walletserver.profiling.dto;
+
+import java.time.Instant;
+
+public record FlightRecordingStatus(
+        boolean running,
+        Long recordingId,
+        String settings,
+        Instant startedAt
+) {
+    public static FlightRecordingStatus idle() {
+        return new FlightRecordingStatus(false, null, null, null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.walletserver.profiling.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+@Name("com.walletserver.IdempotencyReplay")
+@Label("Idempotency Replay")
+@Category({"Wallet Server", "Withdrawal"})
+@Description("A withdrawal answered from its stored outcome instead of being executed again")
+@StackTrace(false)
+public class IdempotencyReplayEvent extends Event {
+
+    @Label("Wallet Id")
+    private long walletId;
+
+    @Label("Transaction Id")
+    private String transactionId;
+
+    @Label("Stored Status")
+    private String status;
+
+    public void complete(long walletId, UUID transactionId, String status) {
+        if (shouldCommit()) {
+            this.walletId = walletId;
+            this.transactionId = transactionId.toString();
+            this.status = status;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.walletserver.profiling.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 지갑 분산 락 대기. 이벤트 지속 시간이 공정 락 대기열에서 기다린 시간이다.
+ */
+@Name("com.walletserver.LockAcquisition")
+@Label("Wallet Lock Acquisition")
+@Category({"Wallet Server", "Withdrawal"})
+@Description("Time spent waiting in the Redis fair lock queue for a wallet")
+@StackTrace(false)
+public class LockAcquisitionEvent extends Event {
+
+    public static final String ACQUIRED = "ACQUIRED";
+    public static final String TIMED_OUT = "TIMED_OUT";
+
+    @Label("Wallet Id")
+    private long walletId;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void complete(long walletId, String outcome) {
+        if (shouldCommit()) {
+            this.walletId = walletId;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
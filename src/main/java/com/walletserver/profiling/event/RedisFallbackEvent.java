@@ -0,0 +1,31 @@
+package com.walletserver.profiling.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Redis 장애 또는 샤드 사용 불가로 DB 락 경로로 전환된 출금. 이벤트 지속 시간은 전환 후 출금 처리 시간이다.
+ */
+@Name("com.walletserver.RedisFallback")
+@Label("Redis Lock Fallback")
+@Category({"Wallet Server", "Withdrawal"})
+@Description("Withdrawal that fell back to the database row lock because Redis was unavailable")
+public class RedisFallbackEvent extends Event {
+
+    @Label("Wallet Id")
+    private long walletId;
+
+    @Label("Cause")
+    private String cause;
+
+    public void complete(long walletId, String cause) {
+        if (shouldCommit()) {
+            this.walletId = walletId;
+            this.cause = cause;
+            commit();
+        }
+    }
+}
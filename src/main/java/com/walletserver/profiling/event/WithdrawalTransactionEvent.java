@@ -0,0 +1,42 @@
+package com.walletserver.profiling.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 출금 트랜잭션 실행. 커밋까지 포함하며, 락 경로에서는 락을 쥐고 있는 시간과 같다.
+ */
+@Name("com.walletserver.WithdrawalTransaction")
+@Label("Withdrawal Transaction")
+@Category({"Wallet Server", "Withdrawal"})
+@Description("Execution of the withdrawal database transaction including commit")
+@StackTrace(false)
+public class WithdrawalTransactionEvent extends Event {
+
+    public static final String COMMITTED = "COMMITTED";
+    public static final String REJECTED = "REJECTED";
+    public static final String ERROR = "ERROR";
+
+    @Label("Wallet Id")
+    private long walletId;
+
+    @Label("DB Lock")
+    @Description("Whether the wallet row was locked with SELECT ... FOR UPDATE")
+    private boolean dbLock;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void complete(long walletId, boolean dbLock, String outcome) {
+        if (shouldCommit()) {
+            this.walletId = walletId;
+            this.dbLock = dbLock;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.walletserver.profiling.service;
+
+import com.walletserver.profiling.dto.FlightRecordingStatus;
+import com.walletserver.profiling.event.IdempotencyReplayEvent;
+import com.walletserver.profiling.event.LockAcquisitionEvent;
+import com.walletserver.profiling.event.RedisFallbackEvent;
+import com.walletserver.profiling.event.WithdrawalTransactionEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 운영 중 JDK Flight Recorder 기록을 시작/중지/덤프한다. 한 번에 하나의 기록만 유지하며,
+ * 기록은 max-age, max-size 범위의 링 버퍼로 유지되므로 오래 켜 두어도 디스크를 계속 차지하지 않는다.
+ * 출금 경로의 사용자 정의 이벤트는 threshold-ms보다 짧으면 기록하지 않는다.
+ */
+@Slf4j
+@Service
+public class FlightRecordingService {
+
+    private static final List<Class<? extends Event>> WITHDRAWAL_EVENTS = List.of(
+            LockAcquisitionEvent.class,
+            WithdrawalTransactionEvent.class,
+            IdempotencyReplayEvent.class,
+            RedisFallbackEvent.class
+    );
+
+    private final Path directory;
+    private final Duration threshold;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private Recording recording;
+    private String settings;
+
+    public FlightRecordingService(
+            @Value("${wallet.jfr.directory:./data/jfr}") String directory,
+            @Value("${wallet.jfr.threshold-ms:0}") long thresholdMillis,
+            @Value("${wallet.jfr.max-age-minutes:30}") long maxAgeMinutes,
+            @Value("${wallet.jfr.max-size-mb:256}") long maxSizeMb
+    ) {
+        this.directory = Path.of(directory);
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * @param settings JDK 기본 설정 이름(default: 약 1% 오버헤드, profile: 약 2% 오버헤드)
+     */
+    public synchronized FlightRecordingStatus start(String settings) {
+        if (recording != null) {
+            return status();
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings);
+        }
+        Recording created = new Recording(configuration);
+        created.setName("wallet-server");
+        created.setToDisk(true);
+        created.setMaxAge(maxAge);
+        created.setMaxSize(maxSizeBytes);
+        for (Class<? extends Event> eventType : WITHDRAWAL_EVENTS) {
+            created.enable(eventType).withThreshold(threshold);
+        }
+        created.start();
+        this.recording = created;
+        this.settings = settings;
+        log.info("JFR recording started. id: {}, settings: {}", created.getId(), settings);
+        return status();
+    }
+
+    public synchronized FlightRecordingStatus stop() {
+        if (recording != null) {
+            log.info("JFR recording stopped. id: {}", recording.getId());
+            recording.close();
+            recording = null;
+            settings = null;
+        }
+        return FlightRecordingStatus.idle();
+    }
+
+    /**
+     * 현재까지의 기록을 파일로 쓴다. 기록은 계속 진행된다.
+     */
+    public synchronized Path dump() {
+        if (recording == null) {
+            throw new IllegalArgumentException("No active JFR recording");
+        }
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve("wallet-" + recording.getId() + "-" + System.currentTimeMillis() + ".jfr");
+            recording.dump(file);
+            log.info("JFR recording dumped. file: {}", file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized FlightRecordingStatus status() {
+        if (recording == null) {
+            return FlightRecordingStatus.idle();
+        }
+        Instant startedAt = recording.getStartTime();
+        return new FlightRecordingStatus(true, recording.getId(), settings, startedAt);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stop();
+    }
+}
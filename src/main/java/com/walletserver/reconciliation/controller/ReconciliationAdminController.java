@@ -0,0 +1,36 @@
+package com.walletserver.reconciliation.controller;
+
+import com.walletserver.reconciliation.dto.DiscrepancyResponse;
+import com.walletserver.reconciliation.dto.ReconciliationReport;
+import com.walletserver.reconciliation.repository.ReconciliationDiscrepancyRepository;
+import com.walletserver.reconciliation.service.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationAdminController {
+
+    private final ReconciliationService reconciliationService;
+    private final ReconciliationDiscrepancyRepository discrepancyRepository;
+
+    @PostMapping("/run")
+    public ResponseEntity<ReconciliationReport> run() {
+        return ResponseEntity.ok(reconciliationService.reconcile());
+    }
+
+    @GetMapping("/discrepancies")
+    public ResponseEntity<List<DiscrepancyResponse>> discrepancies() {
+        List<DiscrepancyResponse> response = discrepancyRepository.findTop100ByOrderByIdDesc().stream()
+                .map(DiscrepancyResponse::from)
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+}
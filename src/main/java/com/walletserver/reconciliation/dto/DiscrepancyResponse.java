@@ -0,0 +1,28 @@
+package com.walletserver.reconciliation.dto;
+
+import com.walletserver.reconciliation.entity.ReconciliationDiscrepancy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record DiscrepancyResponse(
+        Long walletId,
+        Long historyId,
+        String type,
+        BigDecimal expected,
+        BigDecimal actual,
+        Long passNumber,
+        LocalDateTime detectedAt
+) {
+    public static DiscrepancyResponse from(ReconciliationDiscrepancy discrepancy) {
+        return new DiscrepancyResponse(
+                discrepancy.getWalletId(),
+                discrepancy.getHistoryId(),
+                discrepancy.getType().name(),
+                discrepancy.getExpected(),
+                discrepancy.getActual(),
+                discrepancy.getPassNumber(),
+                discrepancy.getDetectedAt()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.walletserver.reconciliation.dto;
+
+public record ReconciliationReport(
+        long passNumber,
+        int rangesVerified,
+        long rowsScanned,
+        int discrepancies,
+        long elapsedMillis
+) {
+    public static ReconciliationReport skipped() {
+        return new ReconciliationReport(0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,54 @@
+package com.walletserver.reconciliation.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Table(name = "reconciliation_checkpoint")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ReconciliationCheckpoint {
+
+    @Id
+    @Column(name = "range_start")
+    private Long rangeStart;
+
+    @Column(nullable = false)
+    private Long rangeEnd;
+
+    @Column(nullable = false)
+    private Long passNumber;
+
+    @Column(nullable = false)
+    private Long rowsScanned;
+
+    @Column(nullable = false)
+    private Integer discrepancies;
+
+    @Column(nullable = false)
+    private LocalDateTime verifiedAt;
+
+    public ReconciliationCheckpoint(Long rangeStart, Long rangeEnd) {
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.passNumber = 0L;
+        this.rowsScanned = 0L;
+        this.discrepancies = 0;
+        this.verifiedAt = LocalDateTime.now();
+    }
+
+    public void complete(long rangeEnd, long passNumber, long rowsScanned, int discrepancies) {
+        this.rangeEnd = rangeEnd;
+        this.passNumber = passNumber;
+        this.rowsScanned = rowsScanned;
+        this.discrepancies = discrepancies;
+        this.verifiedAt = LocalDateTime.now();
+    }
+}
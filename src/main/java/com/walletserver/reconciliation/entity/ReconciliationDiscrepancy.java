@@ -0,0 +1,81 @@
+package com.walletserver.reconciliation.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Table(name = "reconciliation_discrepancy",
+        indexes = @Index(name = "idx_discrepancy_wallet_history", columnList = "wallet_id, history_id"))
+@EntityListeners(AuditingEntityListener.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ReconciliationDiscrepancy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long walletId;
+
+    @Column(nullable = false, updatable = false)
+    private Long historyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30, updatable = false)
+    private DiscrepancyType type;
+
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal expected;
+
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal actual;
+
+    @Column(nullable = false, updatable = false)
+    private Long passNumber;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime detectedAt;
+
+    @Builder
+    public ReconciliationDiscrepancy(
+            Long walletId,
+            Long historyId,
+            DiscrepancyType type,
+            BigDecimal expected,
+            BigDecimal actual,
+            Long passNumber
+    ) {
+        this.walletId = walletId;
+        this.historyId = historyId;
+        this.type = type;
+        this.expected = expected;
+        this.actual = actual;
+        this.passNumber = passNumber;
+    }
+
+    public enum DiscrepancyType {
+        /** 직전 잔액 ± 거래 금액이 해당 이력의 balanceSnapshot과 다름 */
+        SNAPSHOT_MISMATCH,
+        /** 마지막 이력의 balanceSnapshot이 현재 wallet.balance와 다름 */
+        BALANCE_MISMATCH
+    }
+}
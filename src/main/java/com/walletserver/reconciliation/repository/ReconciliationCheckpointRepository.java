@@ -0,0 +1,7 @@
+package com.walletserver.reconciliation.repository;
+
+import com.walletserver.reconciliation.entity.ReconciliationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReconciliationCheckpointRepository extends JpaRepository<ReconciliationCheckpoint, Long> {
+}
@@ -0,0 +1,14 @@
+package com.walletserver.reconciliation.repository;
+
+import com.walletserver.reconciliation.entity.ReconciliationDiscrepancy;
+import com.walletserver.reconciliation.entity.ReconciliationDiscrepancy.DiscrepancyType;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReconciliationDiscrepancyRepository extends JpaRepository<ReconciliationDiscrepancy, Long> {
+
+    boolean existsByWalletIdAndHistoryIdAndType(Long walletId, Long historyId, DiscrepancyType type);
+
+    List<ReconciliationDiscrepancy> findTop100ByOrderByIdDesc();
+}
@@ -0,0 +1,51 @@
+package com.walletserver.reconciliation.scheduler;
+
+import com.walletserver.reconciliation.service.ReconciliationService;
+import com.walletserver.shard.routing.ShardContext;
+import com.walletserver.shard.service.ShardMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+import org.redisson.client.RedisTimeoutException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.reconciliation.enabled", havingValue = "true")
+public class ReconciliationScheduler {
+
+    private static final String LOCK_KEY = "reconciliation:lock";
+
+    private final RedissonClient redissonClient;
+    private final ReconciliationService reconciliationService;
+    private final ShardMap shardMap;
+
+    @Scheduled(fixedDelayString = "${wallet.reconciliation.interval-ms:60000}",
+            initialDelayString = "${wallet.reconciliation.initial-delay-ms:60000}")
+    public void run() {
+        RLock lock = redissonClient.getLock(LOCK_KEY);
+        try {
+            // 여러 인스턴스 중 하나만 대사 작업을 수행한다.
+            if (!lock.tryLock()) {
+                return;
+            }
+        } catch (RedisConnectionException | RedisTimeoutException e) {
+            log.warn("Redis 장애로 대사 작업을 건너뜁니다. Error: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            // 대사 진행 위치와 불일치 기록은 샤드마다 따로 있다.
+            for (int shard : shardMap.shards()) {
+                ShardContext.runOn(shard, reconciliationService::reconcile);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
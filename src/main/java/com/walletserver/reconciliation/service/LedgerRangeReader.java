@@ -0,0 +1,61 @@
+package com.walletserver.reconciliation.service;
+
+import com.walletserver.common.util.WalletIdRange;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+@Component
+public class LedgerRangeReader {
+
+    private static final String RANGE_QUERY = """
+            select h.wallet_id, h.id, h.type, h.amount, h.balance_snapshot, w.balance
+            from transaction_history h
+            join wallet w on w.id = h.wallet_id
+            where h.wallet_id between ? and ?
+              and h.status = 'SUCCESS'
+              and h.currency = 'KRW'
+            order by h.wallet_id, h.id
+            """;
+
+    private static final int THROTTLE_BATCH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerRangeReader(DataSource dataSource,
+                             @Value("${wallet.reconciliation.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // PostgreSQL은 트랜잭션 안에서 fetchSize가 지정된 경우에만 서버 측 커서로 나눠 읽는다.
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * 구간 전체를 하나의 스냅샷으로 읽어 wallet.balance와 이력이 같은 시점 기준으로 비교되도록 한다.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void read(WalletIdRange range, LedgerVerifier verifier, ReconciliationThrottle throttle) {
+        jdbcTemplate.query(RANGE_QUERY, rs -> {
+            verifier.accept(
+                    rs.getLong(1),
+                    rs.getLong(2),
+                    TransactionType.valueOf(rs.getString(3)),
+                    rs.getBigDecimal(4),
+                    rs.getBigDecimal(5),
+                    rs.getBigDecimal(6));
+
+            if (verifier.getRowsScanned() % THROTTLE_BATCH == 0) {
+                try {
+                    throttle.acquire(THROTTLE_BATCH);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Reconciliation interrupted", e);
+                }
+            }
+        }, range.start(), range.end());
+    }
+}
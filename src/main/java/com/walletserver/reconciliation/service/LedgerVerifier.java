@@ -0,0 +1,84 @@
+package com.walletserver.reconciliation.service;
+
+import com.walletserver.reconciliation.entity.ReconciliationDiscrepancy;
+import com.walletserver.reconciliation.entity.ReconciliationDiscrepancy.DiscrepancyType;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * (walletId, id) 순으로 정렬된 SUCCESS 이력을 한 건씩 받아 지갑별 누적 잔액을 검증한다.
+ * 전체 이력을 메모리에 올리지 않고 현재 지갑의 상태만 유지한다.
+ */
+public class LedgerVerifier {
+
+    private final long passNumber;
+    private final List<ReconciliationDiscrepancy> discrepancies = new ArrayList<>();
+
+    private Long currentWalletId;
+    private Long lastHistoryId;
+    private BigDecimal runningBalance;
+    private BigDecimal currentWalletBalance;
+    private long rowsScanned;
+
+    public LedgerVerifier(long passNumber) {
+        this.passNumber = passNumber;
+    }
+
+    public void accept(long walletId, long historyId, TransactionType type, BigDecimal amount,
+                       BigDecimal balanceSnapshot, BigDecimal walletBalance) {
+        rowsScanned++;
+        BigDecimal delta = type.balanceDelta(amount);
+
+        if (currentWalletId == null || currentWalletId != walletId) {
+            finishWallet();
+            currentWalletId = walletId;
+            currentWalletBalance = walletBalance;
+            // 첫 이력 이전의 잔액은 알 수 없으므로 해당 이력에서 역산한 값을 기준점으로 삼는다.
+            runningBalance = balanceSnapshot.subtract(delta);
+        }
+
+        BigDecimal expected = runningBalance.add(delta);
+        if (expected.compareTo(balanceSnapshot) != 0) {
+            report(historyId, DiscrepancyType.SNAPSHOT_MISMATCH, expected, balanceSnapshot);
+        }
+        // 불일치가 이후 이력으로 전파되지 않도록 기록된 스냅샷에 다시 맞춘다.
+        runningBalance = balanceSnapshot;
+        lastHistoryId = historyId;
+    }
+
+    public List<ReconciliationDiscrepancy> finish() {
+        finishWallet();
+        return discrepancies;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    /**
+     * balanceSnapshot은 가용 잔액 기준이므로 CAPTURE는 이미 HOLD 시점에 차감된 금액을 확정할 뿐 변화가 없다.
+     */
+    private void finishWallet() {
+        if (currentWalletId == null) {
+            return;
+        }
+        if (runningBalance.compareTo(currentWalletBalance) != 0) {
+            report(lastHistoryId, DiscrepancyType.BALANCE_MISMATCH, runningBalance, currentWalletBalance);
+        }
+        currentWalletId = null;
+    }
+
+    private void report(Long historyId, DiscrepancyType type, BigDecimal expected, BigDecimal actual) {
+        discrepancies.add(ReconciliationDiscrepancy.builder()
+                .walletId(currentWalletId)
+                .historyId(historyId)
+                .type(type)
+                .expected(expected)
+                .actual(actual)
+                .passNumber(passNumber)
+                .build());
+    }
+}
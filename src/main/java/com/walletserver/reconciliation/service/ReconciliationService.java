@@ -0,0 +1,194 @@
+package com.walletserver.reconciliation.service;
+
+import com.walletserver.common.util.WalletIdRange;
+import com.walletserver.reconciliation.dto.ReconciliationReport;
+import com.walletserver.reconciliation.entity.ReconciliationCheckpoint;
+import com.walletserver.reconciliation.entity.ReconciliationDiscrepancy;
+import com.walletserver.reconciliation.repository.ReconciliationCheckpointRepository;
+import com.walletserver.reconciliation.repository.ReconciliationDiscrepancyRepository;
+import com.walletserver.shard.routing.ShardContext;
+import com.walletserver.shard.service.ShardMap;
+import com.walletserver.wallet.repository.WalletRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    private final WalletRepository walletRepository;
+    private final ReconciliationCheckpointRepository checkpointRepository;
+    private final ReconciliationDiscrepancyRepository discrepancyRepository;
+    private final LedgerRangeReader rangeReader;
+    private final ForkJoinPool pool;
+    private final ReconciliationThrottle throttle;
+    private final long rangeSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public ReconciliationService(
+            WalletRepository walletRepository,
+            ReconciliationCheckpointRepository checkpointRepository,
+            ReconciliationDiscrepancyRepository discrepancyRepository,
+            LedgerRangeReader rangeReader,
+            @Value("${wallet.reconciliation.parallelism:2}") int parallelism,
+            @Value("${wallet.reconciliation.rows-per-second:20000}") long rowsPerSecond,
+            @Value("${wallet.reconciliation.range-size:10000}") long rangeSize
+    ) {
+        this.walletRepository = walletRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.discrepancyRepository = discrepancyRepository;
+        this.rangeReader = rangeReader;
+        this.pool = new ForkJoinPool(parallelism);
+        this.throttle = new ReconciliationThrottle(rowsPerSecond);
+        this.rangeSize = rangeSize;
+    }
+
+    /**
+     * 아직 현재 회차에서 검증되지 않은 구간만 이어서 검증한다.
+     * 모든 구간의 회차가 같아지면 다음 호출에서 새 회차를 시작하므로 재시작 후에도 중단 지점부터 재개된다.
+     */
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Reconciliation already running. Skipping.");
+            return ReconciliationReport.skipped();
+        }
+        try {
+            return runPass();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport runPass() {
+        long startedAt = System.currentTimeMillis();
+        Long maxWalletId = walletRepository.findMaxId();
+        if (maxWalletId == null) {
+            return ReconciliationReport.skipped();
+        }
+
+        Map<Long, ReconciliationCheckpoint> checkpoints = checkpointRepository.findAll().stream()
+                .collect(Collectors.toMap(ReconciliationCheckpoint::getRangeStart, Function.identity()));
+        List<WalletIdRange> ranges = new WalletIdRange(0, maxWalletId).split(rangeSize);
+
+        long currentPass = checkpoints.values().stream()
+                .mapToLong(ReconciliationCheckpoint::getPassNumber).max().orElse(0);
+        long lowestPass = ranges.stream()
+                .mapToLong(range -> passOf(checkpoints.get(range.start())))
+                .min().orElse(currentPass);
+        long targetPass = lowestPass < currentPass ? currentPass : currentPass + 1;
+
+        List<WalletIdRange> pending = ranges.stream()
+                .filter(range -> passOf(checkpoints.get(range.start())) < targetPass)
+                .toList();
+
+        log.info("Reconciliation pass {} started. Pending ranges: {}/{}", targetPass, pending.size(), ranges.size());
+
+        // 구간 검증은 풀 스레드에서 돌므로 호출한 스레드의 샤드를 넘겨 준다.
+        int shard = ShardContext.current() != null ? ShardContext.current() : ShardMap.CATALOG_SHARD;
+        AtomicLong rowsScanned = new AtomicLong();
+        AtomicInteger discrepancies = new AtomicInteger();
+        pool.invoke(new RangeTask(shard, pending, 0, pending.size(), targetPass, checkpoints, rowsScanned,
+                discrepancies));
+
+        ReconciliationReport report = new ReconciliationReport(targetPass, pending.size(), rowsScanned.get(),
+                discrepancies.get(), System.currentTimeMillis() - startedAt);
+        log.info("Reconciliation pass {} finished. {}", targetPass, report);
+        return report;
+    }
+
+    private void verifyRange(WalletIdRange range, long pass, ReconciliationCheckpoint checkpoint,
+                             AtomicLong rowsScanned, AtomicInteger discrepancies) {
+        LedgerVerifier verifier = new LedgerVerifier(pass);
+        rangeReader.read(range, verifier, throttle);
+
+        int newDiscrepancies = 0;
+        for (ReconciliationDiscrepancy discrepancy : verifier.finish()) {
+            if (discrepancyRepository.existsByWalletIdAndHistoryIdAndType(
+                    discrepancy.getWalletId(), discrepancy.getHistoryId(), discrepancy.getType())) {
+                continue;
+            }
+            log.warn("Ledger discrepancy detected. walletId: {}, historyId: {}, type: {}, expected: {}, actual: {}",
+                    discrepancy.getWalletId(), discrepancy.getHistoryId(), discrepancy.getType(),
+                    discrepancy.getExpected(), discrepancy.getActual());
+            discrepancyRepository.save(discrepancy);
+            newDiscrepancies++;
+        }
+
+        ReconciliationCheckpoint target = checkpoint != null
+                ? checkpoint
+                : new ReconciliationCheckpoint(range.start(), range.end());
+        target.complete(range.end(), pass, verifier.getRowsScanned(), newDiscrepancies);
+        checkpointRepository.save(target);
+
+        rowsScanned.addAndGet(verifier.getRowsScanned());
+        discrepancies.addAndGet(newDiscrepancies);
+    }
+
+    private static long passOf(ReconciliationCheckpoint checkpoint) {
+        return checkpoint == null ? 0 : checkpoint.getPassNumber();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private class RangeTask extends RecursiveAction {
+
+        private final int shard;
+        private final List<WalletIdRange> ranges;
+        private final int from;
+        private final int to;
+        private final long pass;
+        private final Map<Long, ReconciliationCheckpoint> checkpoints;
+        private final AtomicLong rowsScanned;
+        private final AtomicInteger discrepancies;
+
+        RangeTask(int shard, List<WalletIdRange> ranges, int from, int to, long pass,
+                  Map<Long, ReconciliationCheckpoint> checkpoints, AtomicLong rowsScanned,
+                  AtomicInteger discrepancies) {
+            this.shard = shard;
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+            this.pass = pass;
+            this.checkpoints = checkpoints;
+            this.rowsScanned = rowsScanned;
+            this.discrepancies = discrepancies;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 0) {
+                return;
+            }
+            if (to - from == 1) {
+                WalletIdRange range = ranges.get(from);
+                try {
+                    ShardContext.runOn(shard, () ->
+                            verifyRange(range, pass, checkpoints.get(range.start()), rowsScanned, discrepancies));
+                } catch (RuntimeException e) {
+                    // 실패한 구간은 체크포인트가 갱신되지 않으므로 다음 실행에서 다시 검증된다.
+                    log.error("Reconciliation failed for range {}. Error: {}", range, e.getMessage());
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new RangeTask(shard, ranges, from, mid, pass, checkpoints, rowsScanned, discrepancies),
+                    new RangeTask(shard, ranges, mid, to, pass, checkpoints, rowsScanned, discrepancies));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.walletserver.reconciliation.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 워커가 공유하는 초당 처리 행 수 제한. 운영 트래픽과 DB I/O를 나눠 쓰기 위해 사용한다.
+ */
+public class ReconciliationThrottle {
+
+    private final long nanosPerRow;
+    private long nextFreeNanos = System.nanoTime();
+
+    public ReconciliationThrottle(long rowsPerSecond) {
+        this.nanosPerRow = rowsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / rowsPerSecond : 0;
+    }
+
+    public void acquire(int rows) throws InterruptedException {
+        if (nanosPerRow == 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + nanosPerRow * rows;
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.walletserver.schedule.controller;
+
+import com.walletserver.schedule.dto.ScheduleRequest;
+import com.walletserver.schedule.dto.ScheduleResponse;
+import com.walletserver.schedule.service.WithdrawalScheduleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/wallets/{walletId}/schedules")
+@RequiredArgsConstructor
+public class WithdrawalScheduleController {
+
+    private final WithdrawalScheduleService scheduleService;
+
+    @PostMapping
+    public ResponseEntity<ScheduleResponse> create(
+            @PathVariable Long walletId,
+            @RequestBody @Valid ScheduleRequest request
+    ) {
+        return ResponseEntity.ok(scheduleService.create(walletId, request));
+    }
+
+    @GetMapping("/{scheduleId}")
+    public ResponseEntity<ScheduleResponse> get(
+            @PathVariable Long walletId,
+            @PathVariable UUID scheduleId
+    ) {
+        return ResponseEntity.ok(scheduleService.get(walletId, scheduleId));
+    }
+
+    @DeleteMapping("/{scheduleId}")
+    public ResponseEntity<ScheduleResponse> cancel(
+            @PathVariable Long walletId,
+            @PathVariable UUID scheduleId
+    ) {
+        return ResponseEntity.ok(scheduleService.cancel(walletId, scheduleId));
+    }
+}
@@ -0,0 +1,17 @@
+package com.walletserver.schedule.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ScheduleRequest(
+        @NotNull UUID transactionId,
+        @NotNull @Positive BigDecimal amount,
+        @NotNull LocalDateTime firstRunAt,
+        @Positive Long intervalSeconds,
+        @Positive Integer maxRuns
+) {
+}
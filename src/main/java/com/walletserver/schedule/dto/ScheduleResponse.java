@@ -0,0 +1,33 @@
+package com.walletserver.schedule.dto;
+
+import com.walletserver.schedule.entity.WithdrawalSchedule;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ScheduleResponse(
+        UUID scheduleId,
+        Long walletId,
+        BigDecimal amount,
+        Long intervalSeconds,
+        Integer maxRuns,
+        String status,
+        LocalDateTime nextRunAt,
+        long runCount,
+        String lastOutcome
+) {
+    public static ScheduleResponse from(WithdrawalSchedule schedule) {
+        return new ScheduleResponse(
+                schedule.getScheduleId(),
+                schedule.getWalletId(),
+                schedule.getAmount(),
+                schedule.getIntervalSeconds(),
+                schedule.getMaxRuns(),
+                schedule.getStatus().name(),
+                schedule.getNextRunAt(),
+                schedule.getRunCount(),
+                schedule.getLastOutcome()
+        );
+    }
+}
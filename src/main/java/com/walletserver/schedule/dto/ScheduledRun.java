@@ -0,0 +1,28 @@
+package com.walletserver.schedule.dto;
+
+import com.walletserver.schedule.entity.WithdrawalSchedule;
+import com.walletserver.shard.routing.WalletScoped;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 실행할 예약 출금 한 회차. runCount는 이 회차 이전까지 실행된 횟수다.
+ */
+public record ScheduledRun(Long id, UUID scheduleId, Long walletId, BigDecimal amount, long runCount,
+                           LocalDateTime nextRunAt) implements WalletScoped {
+
+    public static ScheduledRun of(WithdrawalSchedule schedule) {
+        return new ScheduledRun(schedule.getId(), schedule.getScheduleId(), schedule.getWalletId(),
+                schedule.getAmount(), schedule.getRunCount(), schedule.getNextRunAt());
+    }
+
+    /**
+     * 같은 회차는 몇 번 실행되어도 같은 transactionId를 쓰므로 출금 멱등성으로 중복 출금이 막힌다.
+     */
+    public UUID transactionId() {
+        return UUID.nameUUIDFromBytes(("schedule:" + scheduleId + ":" + runCount).getBytes(StandardCharsets.UTF_8));
+    }
+}
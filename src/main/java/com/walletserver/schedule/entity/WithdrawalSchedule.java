@@ -0,0 +1,153 @@
+package com.walletserver.schedule.entity;
+
+import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Getter
+@Table(name = "withdrawal_schedule",
+        indexes = @Index(name = "idx_schedule_status_next_run_at", columnList = "status, next_run_at"))
+@EntityListeners(AuditingEntityListener.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WithdrawalSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 예약을 생성한 요청의 transactionId. 회차별 출금 transactionId는 이 값과 회차 번호에서 결정적으로 만들어진다.
+     */
+    @Column(nullable = false, unique = true, updatable = false)
+    private UUID scheduleId;
+
+    @Column(nullable = false, updatable = false)
+    private Long walletId;
+
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    /**
+     * 반복 주기. null이면 한 번만 실행한다.
+     */
+    @Column(updatable = false)
+    private Long intervalSeconds;
+
+    @Column(updatable = false)
+    private Integer maxRuns;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ScheduleStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(nullable = false)
+    private long runCount;
+
+    /**
+     * 인스턴스가 이 시각까지 실행을 맡는다. 인스턴스가 죽으면 만료 후 다른 인스턴스가 다시 가져간다.
+     */
+    private LocalDateTime claimedUntil;
+
+    private LocalDateTime lastRunAt;
+
+    @Column(length = 20)
+    private String lastOutcome;
+
+    private String lastFailureReason;
+
+    @Version
+    private Long version;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public WithdrawalSchedule(UUID scheduleId, Long walletId, BigDecimal amount, Long intervalSeconds,
+                              Integer maxRuns, LocalDateTime firstRunAt) {
+        this.scheduleId = scheduleId;
+        this.walletId = walletId;
+        this.amount = amount;
+        this.intervalSeconds = intervalSeconds;
+        this.maxRuns = maxRuns;
+        this.nextRunAt = firstRunAt;
+        this.status = ScheduleStatus.ACTIVE;
+    }
+
+    /**
+     * 이번 회차 결과를 기록하고 다음 회차로 넘어간다. 정지 기간에 놓친 회차는 {@link #skipMissedBefore}로 건너뛴 것을 빼고
+     * 차례로 실행된다.
+     */
+    public void advance(TransactionStatus outcome, String failureReason, LocalDateTime now) {
+        this.runCount++;
+        this.lastRunAt = now;
+        this.lastOutcome = outcome.name();
+        this.lastFailureReason = failureReason;
+        if (intervalSeconds == null || (maxRuns != null && runCount >= maxRuns)) {
+            this.status = ScheduleStatus.COMPLETED;
+            this.claimedUntil = null;
+            return;
+        }
+        this.nextRunAt = nextRunAt.plusSeconds(intervalSeconds);
+    }
+
+    /**
+     * 반복 예약에서 skipBefore보다 이른 회차는 실행하지 않고 건너뛰어, 다음 회차를 skipBefore 이후 첫 주기 시각으로 옮긴다.
+     * runCount는 실행한 횟수이므로 늘리지 않는다. 한 번만 실행하는 예약은 늦었어도 그대로 실행한다.
+     *
+     * @return 건너뛴 회차 수
+     */
+    public long skipMissedBefore(LocalDateTime skipBefore) {
+        if (intervalSeconds == null || !nextRunAt.isBefore(skipBefore)) {
+            return 0;
+        }
+        long intervalMillis = intervalSeconds * 1000;
+        long behindMillis = Duration.between(nextRunAt, skipBefore).toMillis();
+        long skipped = (behindMillis + intervalMillis - 1) / intervalMillis;
+        this.nextRunAt = nextRunAt.plusSeconds(skipped * intervalSeconds);
+        return skipped;
+    }
+
+    public void cancel() {
+        if (status == ScheduleStatus.ACTIVE) {
+            this.status = ScheduleStatus.CANCELLED;
+            this.claimedUntil = null;
+        }
+    }
+
+    public void releaseClaim() {
+        this.claimedUntil = null;
+    }
+
+    public boolean isActive() {
+        return status == ScheduleStatus.ACTIVE;
+    }
+
+    public enum ScheduleStatus {
+        ACTIVE, COMPLETED, CANCELLED
+    }
+}
@@ -0,0 +1,9 @@
+package com.walletserver.schedule.exception;
+
+import java.util.UUID;
+
+public class ScheduleNotFoundException extends RuntimeException {
+    public ScheduleNotFoundException(UUID scheduleId) {
+        super("Schedule not found with ID: " + scheduleId);
+    }
+}
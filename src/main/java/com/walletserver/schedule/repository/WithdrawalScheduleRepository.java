@@ -0,0 +1,54 @@
+package com.walletserver.schedule.repository;
+
+import com.walletserver.schedule.dto.ScheduledRun;
+import com.walletserver.schedule.entity.WithdrawalSchedule;
+import com.walletserver.schedule.entity.WithdrawalSchedule.ScheduleStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WithdrawalScheduleRepository extends JpaRepository<WithdrawalSchedule, Long> {
+
+    Optional<WithdrawalSchedule> findByScheduleId(UUID scheduleId);
+
+    /**
+     * 이 인스턴스 몫(wallet_id mod instanceCount)의 실행 예정 예약 중 아무도 맡지 않은 것을 잠근다.
+     * SKIP LOCKED로 다른 인스턴스가 가져가는 중인 행은 기다리지 않고 건너뛴다.
+     */
+    @Query(value = """
+            select id from withdrawal_schedule
+            where status = 'ACTIVE' and next_run_at < :until
+              and (claimed_until is null or claimed_until < :now)
+              and mod(wallet_id, :instanceCount) = :instanceIndex
+            order by next_run_at
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> findClaimableIds(@Param("until") LocalDateTime until, @Param("now") LocalDateTime now,
+                                @Param("instanceCount") int instanceCount,
+                                @Param("instanceIndex") int instanceIndex, @Param("limit") int limit);
+
+    List<WithdrawalSchedule> findByIdInAndNextRunAtBefore(Collection<Long> ids, LocalDateTime before);
+
+    @Modifying
+    @Query("update WithdrawalSchedule s set s.claimedUntil = :claimedUntil where s.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Query("""
+            select new com.walletserver.schedule.dto.ScheduledRun(
+                s.id, s.scheduleId, s.walletId, s.amount, s.runCount, s.nextRunAt)
+            from WithdrawalSchedule s
+            where s.id in :ids
+            order by s.walletId, s.nextRunAt
+            """)
+    List<ScheduledRun> findRunsByIdIn(@Param("ids") Collection<Long> ids);
+
+    boolean existsByIdAndStatusAndRunCount(Long id, ScheduleStatus status, long runCount);
+}
@@ -0,0 +1,299 @@
+package com.walletserver.schedule.scheduler;
+
+import com.walletserver.common.bulkhead.TrafficClass;
+import com.walletserver.common.bulkhead.TrafficClassContext;
+import com.walletserver.common.util.HierarchicalTimingWheel;
+import com.walletserver.schedule.dto.ScheduledRun;
+import com.walletserver.schedule.service.WithdrawalScheduleService;
+import com.walletserver.shard.routing.ShardContext;
+import com.walletserver.shard.service.ShardMap;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
+import com.walletserver.velocity.exception.VelocityLimitExceededException;
+import com.walletserver.wallet.drain.WithdrawalDrain;
+import com.walletserver.wallet.exception.DuplicateTransactionException;
+import com.walletserver.wallet.exception.InsufficientBalanceException;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import com.walletserver.wallet.facade.WalletWithdrawalEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 출금을 시간 구간 단위로 DB에서 가져와 타이밍 휠에 올리고 실행 시각에 출금 엔진으로 처리한다.
+ * <p>
+ * 같은 분에 몰린 예약이 한꺼번에 락을 두드리지 않도록 지갑별로 고정된 지연(jitter)을 더해 흩뿌린다.
+ * 지연이 지갑마다 같으므로 한 지갑의 회차 순서는 바뀌지 않고, 지갑 ID로 고른 단일 스레드 레인에서 차례로 실행된다.
+ * 인스턴스는 wallet_id mod instance-count가 자기 instance-index인 예약만 맡으므로 지갑 하나는 한 인스턴스에서만 실행된다.
+ * <p>
+ * 정지 기간에 밀린 회차는 catch-up-window 안의 것만 실행하고(그 이전은 WithdrawalScheduleService가 건너뛴다),
+ * 구간마다 max-catch-up-per-slice개까지만 지금부터 지갑별 지연을 더해 흩뿌린다. 나머지는 놓아주어 다음 구간에 맡는다.
+ * <p>
+ * 잔액 부족, 한도 초과, 없는 지갑, 다른 지갑이 쓴 transactionId는 다시 해도 같으므로 FAILED로 회차를 넘긴다.
+ * 그 밖의 일시적 실패는 retry-delay-ms부터 두 배씩 늘려 max-retries번까지 다시 시도하고, 그래도 실패하면 휠에서 내려
+ * 맡은 기간이 끝난 뒤 다시 적재되게 둔다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.schedule.enabled", havingValue = "true", matchIfMissing = true)
+public class WithdrawalScheduleDispatcher {
+
+    private final WithdrawalScheduleService scheduleService;
+    private final WalletWithdrawalEngine walletWithdrawalEngine;
+    private final WithdrawalDrain withdrawalDrain;
+    private final ShardMap shardMap;
+    private final MeterRegistry meterRegistry;
+    private final long sliceMs;
+    private final long leaseMarginMs;
+    private final int batchSize;
+    private final long jitterMs;
+    private final long retryDelayMs;
+    private final int maxRetries;
+    private final int maxCatchUpPerSlice;
+    private final long tickMs;
+    private final int instanceCount;
+    private final int instanceIndex;
+    private final HierarchicalTimingWheel<ScheduledRun> wheel;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService[] lanes;
+    private final Map<ScheduledRun, Integer> retries = new ConcurrentHashMap<>();
+    private volatile long sliceEndMs;
+
+    public WithdrawalScheduleDispatcher(
+            WithdrawalScheduleService scheduleService,
+            WalletWithdrawalEngine walletWithdrawalEngine,
+            WithdrawalDrain withdrawalDrain,
+            ShardMap shardMap,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.schedule.slice-ms:60000}") long sliceMs,
+            @Value("${wallet.schedule.lease-margin-ms:300000}") long leaseMarginMs,
+            @Value("${wallet.schedule.batch-size:5000}") int batchSize,
+            @Value("${wallet.schedule.jitter-ms:30000}") long jitterMs,
+            @Value("${wallet.schedule.retry-delay-ms:5000}") long retryDelayMs,
+            @Value("${wallet.schedule.max-retries:5}") int maxRetries,
+            @Value("${wallet.schedule.max-catch-up-per-slice:1000}") int maxCatchUpPerSlice,
+            @Value("${wallet.schedule.wheel.tick-ms:100}") long tickMs,
+            @Value("${wallet.schedule.wheel.size:512}") int wheelSize,
+            @Value("${wallet.schedule.lanes:16}") int laneCount,
+            @Value("${wallet.schedule.instance-count:1}") int instanceCount,
+            @Value("${wallet.schedule.instance-index:0}") int instanceIndex
+    ) {
+        if (instanceIndex < 0 || instanceIndex >= instanceCount) {
+            throw new IllegalArgumentException("wallet.schedule.instance-index must be in [0, instance-count)");
+        }
+        this.scheduleService = scheduleService;
+        this.walletWithdrawalEngine = walletWithdrawalEngine;
+        this.withdrawalDrain = withdrawalDrain;
+        this.shardMap = shardMap;
+        this.meterRegistry = meterRegistry;
+        this.sliceMs = sliceMs;
+        this.leaseMarginMs = leaseMarginMs;
+        this.batchSize = batchSize;
+        this.jitterMs = jitterMs;
+        this.retryDelayMs = retryDelayMs;
+        this.maxRetries = maxRetries;
+        this.maxCatchUpPerSlice = maxCatchUpPerSlice;
+        this.tickMs = tickMs;
+        this.instanceCount = instanceCount;
+        this.instanceIndex = instanceIndex;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        this.ticker = Executors.newScheduledThreadPool(2, r -> new Thread(r, "schedule-ticker"));
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            int lane = i;
+            this.lanes[i] = Executors.newSingleThreadExecutor(r -> new Thread(r, "schedule-lane-" + lane));
+        }
+        Gauge.builder("wallet.schedule.pending", this, WithdrawalScheduleDispatcher::pendingCount)
+                .description("타이밍 휠에서 실행을 기다리는 예약 출금 회차 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        log.info("예약 출금 디스패처 시작. instance: {}/{}, slice: {}ms", instanceIndex, instanceCount, sliceMs);
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::loadSlice, 0, sliceMs, TimeUnit.MILLISECONDS);
+    }
+
+    public long pendingCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * 다음 구간에 실행할 예약을 샤드마다 맡는다. 맡은 기간은 구간 끝에 지연과 재시도 여유를 더한 만큼이다.
+     */
+    private void loadSlice() {
+        try {
+            long now = System.currentTimeMillis();
+            sliceEndMs = now + sliceMs;
+            LocalDateTime until = toLocalDateTime(sliceEndMs);
+            LocalDateTime leaseUntil = toLocalDateTime(sliceEndMs + jitterMs + leaseMarginMs);
+            long loaded = 0;
+            int catchUpBudget = maxCatchUpPerSlice;
+            for (int shard : shardMap.shards()) {
+                List<ScheduledRun> deferred = new ArrayList<>();
+                while (true) {
+                    List<ScheduledRun> runs = ShardContext.callOn(shard, () -> scheduleService.claim(
+                            until, leaseUntil, instanceCount, instanceIndex, batchSize));
+                    for (ScheduledRun run : runs) {
+                        if (dueAt(run) >= now) {
+                            schedule(run, dueAt(run));
+                        } else if (catchUpBudget > 0) {
+                            catchUpBudget--;
+                            schedule(run, startAt(run, now));
+                        } else {
+                            deferred.add(run);
+                        }
+                    }
+                    loaded += runs.size() - deferred.size();
+                    // 밀린 회차가 먼저 오므로 이번 구간 몫을 다 쓰면 더 맡지 않는다.
+                    if (runs.size() < batchSize || !deferred.isEmpty()) {
+                        break;
+                    }
+                }
+                if (!deferred.isEmpty()) {
+                    ShardContext.runOn(shard, () -> scheduleService.release(deferred));
+                    executions("DEFERRED").increment(deferred.size());
+                }
+            }
+            if (loaded > 0) {
+                log.info("예약 출금 {}건 적재. until: {}", loaded, until);
+            }
+        } catch (RuntimeException e) {
+            log.error("예약 출금 적재 실패. Error: {}", e.getMessage());
+        }
+    }
+
+    private void schedule(ScheduledRun run, long dueAtMs) {
+        boolean added;
+        synchronized (wheel) {
+            added = wheel.add(dueAtMs, run);
+        }
+        if (!added) {
+            dispatch(run);
+        }
+    }
+
+    private void tick() {
+        List<ScheduledRun> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        due.sort(Comparator.comparing(ScheduledRun::nextRunAt));
+        due.forEach(this::dispatch);
+    }
+
+    private void dispatch(ScheduledRun run) {
+        lanes[(int) Math.floorMod(run.walletId(), (long) lanes.length)].execute(() -> execute(run));
+    }
+
+    private void execute(ScheduledRun run) {
+        TrafficClassContext.set(TrafficClass.BATCH);
+        try {
+            if (!scheduleService.isPending(run)) {
+                return;
+            }
+            TransactionStatus outcome = TransactionStatus.SUCCESS;
+            String failureReason = null;
+            try {
+                withdrawalDrain.track(() -> walletWithdrawalEngine.withdraw(
+                        run.walletId(), new WithdrawalRequest(run.transactionId(), run.amount())));
+            } catch (InsufficientBalanceException | VelocityLimitExceededException | WalletNotFoundException
+                     | DuplicateTransactionException e) {
+                outcome = TransactionStatus.FAILED;
+                failureReason = e.getMessage();
+            }
+            scheduleService.complete(run, outcome, failureReason, toLocalDateTime(sliceEndMs))
+                    .ifPresent(next -> schedule(next, startAt(next, System.currentTimeMillis())));
+            retries.remove(run);
+            executions(outcome.name()).increment();
+        } catch (RuntimeException e) {
+            retry(run, e);
+        } finally {
+            TrafficClassContext.clear();
+        }
+    }
+
+    private void retry(ScheduledRun run, RuntimeException e) {
+        int attempt = retries.merge(run, 1, Integer::sum);
+        if (attempt > maxRetries) {
+            retries.remove(run);
+            log.error("예약 출금 재시도 소진, 맡은 기간이 끝나면 다시 적재됩니다. scheduleId: {}, run: {}, Error: {}",
+                    run.scheduleId(), run.runCount(), e.getMessage());
+            executions("GAVE_UP").increment();
+            return;
+        }
+        long delayMs = retryDelayOf(attempt);
+        log.warn("예약 출금 실행 실패, {}ms 후 재시도({}/{}). scheduleId: {}, run: {}, Error: {}",
+                delayMs, attempt, maxRetries, run.scheduleId(), run.runCount(), e.getMessage());
+        executions("RETRY").increment();
+        schedule(run, System.currentTimeMillis() + delayMs);
+    }
+
+    long retryDelayOf(int attempt) {
+        return retryDelayMs << Math.min(attempt - 1, 20);
+    }
+
+    /**
+     * 지갑 ID로 정해지는 지연을 더한 실행 시각.
+     */
+    long dueAt(ScheduledRun run) {
+        long scheduledAt = run.nextRunAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return scheduledAt + jitterOf(run.walletId());
+    }
+
+    /**
+     * 실행 시각이 이미 지난 회차는 지금부터 같은 지갑 지연만큼 뒤로 흩뿌린다. 몰아서 바로 실행하지 않는다.
+     */
+    long startAt(ScheduledRun run, long nowMs) {
+        long dueAtMs = dueAt(run);
+        return dueAtMs >= nowMs ? dueAtMs : nowMs + jitterOf(run.walletId());
+    }
+
+    long jitterOf(Long walletId) {
+        if (jitterMs <= 0) {
+            return 0;
+        }
+        return Math.floorMod(Long.hashCode(walletId * 0x9E3779B97F4A7C15L), jitterMs);
+    }
+
+    private Counter executions(String outcome) {
+        return Counter.builder("wallet.schedule.executions")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
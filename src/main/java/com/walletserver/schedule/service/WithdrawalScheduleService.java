@@ -0,0 +1,170 @@
+package com.walletserver.schedule.service;
+
+import com.walletserver.schedule.dto.ScheduleRequest;
+import com.walletserver.schedule.dto.ScheduleResponse;
+import com.walletserver.schedule.dto.ScheduledRun;
+import com.walletserver.schedule.entity.WithdrawalSchedule;
+import com.walletserver.schedule.entity.WithdrawalSchedule.ScheduleStatus;
+import com.walletserver.schedule.exception.ScheduleNotFoundException;
+import com.walletserver.schedule.repository.WithdrawalScheduleRepository;
+import com.walletserver.shard.routing.ShardedByWallet;
+import com.walletserver.shard.service.ShardWriteFence;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
+import com.walletserver.wallet.exception.DuplicateTransactionException;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import com.walletserver.wallet.repository.WalletRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 예약·반복 출금의 저장과 회차 진행. 실행은 WithdrawalScheduleDispatcher가 출금 엔진으로 한다.
+ */
+@Service
+public class WithdrawalScheduleService {
+
+    private final WithdrawalScheduleRepository scheduleRepository;
+    private final WalletRepository walletRepository;
+    private final ShardWriteFence shardWriteFence;
+    private final long minIntervalSeconds;
+    private final long catchUpWindowMillis;
+
+    public WithdrawalScheduleService(
+            WithdrawalScheduleRepository scheduleRepository,
+            WalletRepository walletRepository,
+            ShardWriteFence shardWriteFence,
+            @Value("${wallet.schedule.min-interval-seconds:60}") long minIntervalSeconds,
+            @Value("${wallet.schedule.catch-up-window-ms:3600000}") long catchUpWindowMillis
+    ) {
+        this.scheduleRepository = scheduleRepository;
+        this.walletRepository = walletRepository;
+        this.shardWriteFence = shardWriteFence;
+        this.minIntervalSeconds = minIntervalSeconds;
+        this.catchUpWindowMillis = catchUpWindowMillis;
+    }
+
+    @ShardedByWallet
+    @Transactional
+    public ScheduleResponse create(Long walletId, ScheduleRequest req) {
+        shardWriteFence.check(walletId);
+        var existing = scheduleRepository.findByScheduleId(req.transactionId());
+        if (existing.isPresent()) {
+            if (!existing.get().getWalletId().equals(walletId)) {
+                throw new DuplicateTransactionException("Transaction ID already used: " + req.transactionId());
+            }
+            return ScheduleResponse.from(existing.get());
+        }
+        if (req.intervalSeconds() != null && req.intervalSeconds() < minIntervalSeconds) {
+            throw new IllegalArgumentException("Schedule interval must be at least " + minIntervalSeconds + " seconds");
+        }
+        if (!walletRepository.existsById(walletId)) {
+            throw new WalletNotFoundException(walletId);
+        }
+
+        return ScheduleResponse.from(scheduleRepository.save(WithdrawalSchedule.builder()
+                .scheduleId(req.transactionId())
+                .walletId(walletId)
+                .amount(req.amount())
+                .intervalSeconds(req.intervalSeconds())
+                .maxRuns(req.maxRuns())
+                .firstRunAt(req.firstRunAt())
+                .build()));
+    }
+
+    @ShardedByWallet(readOnly = true)
+    @Transactional(readOnly = true)
+    public ScheduleResponse get(Long walletId, UUID scheduleId) {
+        return ScheduleResponse.from(findSchedule(walletId, scheduleId));
+    }
+
+    /**
+     * 이미 실행 중인 회차는 끝까지 진행되고, 이후 회차부터 실행되지 않는다.
+     */
+    @ShardedByWallet
+    @Transactional
+    public ScheduleResponse cancel(Long walletId, UUID scheduleId) {
+        shardWriteFence.check(walletId);
+        WithdrawalSchedule schedule = findSchedule(walletId, scheduleId);
+        schedule.cancel();
+        return ScheduleResponse.from(schedule);
+    }
+
+    /**
+     * until 이전에 실행할 이 인스턴스 몫의 예약을 leaseUntil까지 맡는다.
+     * 반복 예약이 catch-up-window보다 오래 밀렸으면 그 이전 회차는 건너뛰고 창 안의 회차부터 돌려준다.
+     */
+    @Transactional
+    public List<ScheduledRun> claim(LocalDateTime until, LocalDateTime leaseUntil, int instanceCount,
+                                    int instanceIndex, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = scheduleRepository.findClaimableIds(until, now, instanceCount, instanceIndex, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime skipBefore = skipBefore(now);
+        scheduleRepository.findByIdInAndNextRunAtBefore(ids, skipBefore)
+                .forEach(schedule -> schedule.skipMissedBefore(skipBefore));
+        scheduleRepository.claim(ids, leaseUntil);
+        return scheduleRepository.findRunsByIdIn(ids);
+    }
+
+    /**
+     * 이번 구간에 실행하지 않을 회차를 놓아주어 다음 구간에 다시 맡게 한다.
+     */
+    @Transactional
+    public void release(List<ScheduledRun> runs) {
+        if (runs.isEmpty()) {
+            return;
+        }
+        scheduleRepository.claim(runs.stream().map(ScheduledRun::id).toList(), null);
+    }
+
+    /**
+     * 실행 직전에 회차가 아직 유효한지 확인한다. 취소되었거나 다른 인스턴스가 이미 진행시킨 회차는 건너뛴다.
+     */
+    @ShardedByWallet(readOnly = true)
+    @Transactional(readOnly = true)
+    public boolean isPending(ScheduledRun run) {
+        return scheduleRepository.existsByIdAndStatusAndRunCount(run.id(), ScheduleStatus.ACTIVE, run.runCount());
+    }
+
+    /**
+     * 회차 결과를 기록하고 다음 회차로 넘긴다. 다음 회차가 reclaimBefore 이전이면 맡은 상태를 유지한 채 돌려주고,
+     * 그렇지 않으면 다음 구간에서 다시 가져가도록 놓아준다. 이미 진행된 회차의 중복 완료는 무시한다.
+     */
+    @ShardedByWallet
+    @Transactional
+    public Optional<ScheduledRun> complete(ScheduledRun run, TransactionStatus outcome, String failureReason,
+                                           LocalDateTime reclaimBefore) {
+        shardWriteFence.check(run.walletId());
+        WithdrawalSchedule schedule = scheduleRepository.findById(run.id()).orElse(null);
+        if (schedule == null || !schedule.isActive() || schedule.getRunCount() != run.runCount()) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        schedule.advance(outcome, failureReason, now);
+        schedule.skipMissedBefore(skipBefore(now));
+        if (schedule.isActive() && schedule.getNextRunAt().isBefore(reclaimBefore)) {
+            return Optional.of(ScheduledRun.of(schedule));
+        }
+        schedule.releaseClaim();
+        return Optional.empty();
+    }
+
+    private LocalDateTime skipBefore(LocalDateTime now) {
+        return now.minus(Duration.ofMillis(catchUpWindowMillis));
+    }
+
+    private WithdrawalSchedule findSchedule(Long walletId, UUID scheduleId) {
+        return scheduleRepository.findByScheduleId(scheduleId)
+                .filter(schedule -> schedule.getWalletId().equals(walletId))
+                .orElseThrow(() -> new ScheduleNotFoundException(scheduleId));
+    }
+}
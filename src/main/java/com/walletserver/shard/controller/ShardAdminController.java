@@ -0,0 +1,41 @@
+package com.walletserver.shard.controller;
+
+import com.walletserver.shard.dto.ReshardReport;
+import com.walletserver.shard.dto.ShardMoveRequest;
+import com.walletserver.shard.dto.ShardRangeResponse;
+import com.walletserver.shard.service.ReshardService;
+import com.walletserver.shard.service.ShardMap;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/shards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.shard.enabled", havingValue = "true")
+public class ShardAdminController {
+
+    private final ShardMap shardMap;
+    private final ReshardService reshardService;
+
+    @GetMapping
+    public ResponseEntity<List<ShardRangeResponse>> ranges() {
+        return ResponseEntity.ok(shardMap.ranges().stream().map(ShardRangeResponse::from).toList());
+    }
+
+    /**
+     * 구간 이동이 끝날 때까지 응답하지 않는다.
+     */
+    @PostMapping("/moves")
+    public ResponseEntity<ReshardReport> move(@Valid @RequestBody ShardMoveRequest req) {
+        return ResponseEntity.ok(reshardService.move(req));
+    }
+}
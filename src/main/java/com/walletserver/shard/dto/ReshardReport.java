@@ -0,0 +1,18 @@
+package com.walletserver.shard.dto;
+
+import java.util.Map;
+
+/**
+ * @param copiedRows 테이블별로 대상 샤드에 옮긴 행 수
+ * @param frozenMillis 구간이 쓰기를 받지 않은 시간
+ */
+public record ReshardReport(
+        long startWalletId,
+        long endWalletId,
+        int sourceShard,
+        int targetShard,
+        Map<String, Long> copiedRows,
+        long frozenMillis,
+        long elapsedMillis
+) {
+}
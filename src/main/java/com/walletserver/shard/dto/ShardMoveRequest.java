@@ -0,0 +1,11 @@
+package com.walletserver.shard.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record ShardMoveRequest(
+        @NotNull @PositiveOrZero Long startWalletId,
+        @NotNull @PositiveOrZero Long endWalletId,
+        @NotNull @PositiveOrZero Integer targetShard
+) {
+}
@@ -0,0 +1,19 @@
+package com.walletserver.shard.dto;
+
+import com.walletserver.shard.entity.ShardRange;
+
+import java.time.LocalDateTime;
+
+public record ShardRangeResponse(
+        Long startWalletId,
+        Long endWalletId,
+        Integer shard,
+        String state,
+        Integer targetShard,
+        LocalDateTime updatedAt
+) {
+    public static ShardRangeResponse from(ShardRange range) {
+        return new ShardRangeResponse(range.getStartWalletId(), range.getEndWalletId(), range.getShard(),
+                range.getState().name(), range.getTargetShard(), range.getUpdatedAt());
+    }
+}
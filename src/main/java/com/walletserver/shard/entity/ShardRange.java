@@ -0,0 +1,121 @@
+package com.walletserver.shard.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 지갑 ID 구간 [startWalletId, endWalletId)이 속한 샤드. 카탈로그 샤드(0)에만 있다.
+ * endWalletId가 null인 마지막 구간은 새 지갑이 생성되는 구간이며 카탈로그 샤드에 둔다.
+ */
+@Entity
+@Getter
+@Table(name = "shard_range",
+        uniqueConstraints = @UniqueConstraint(name = "uk_shard_range_start", columnNames = "start_wallet_id"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ShardRange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long startWalletId;
+
+    private Long endWalletId;
+
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RangeState state;
+
+    /**
+     * 이동 중일 때 옮겨 갈 샤드.
+     */
+    private Integer targetShard;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public ShardRange(Long startWalletId, Long endWalletId, Integer shard) {
+        this.startWalletId = startWalletId;
+        this.endWalletId = endWalletId;
+        this.shard = shard;
+        this.state = RangeState.ACTIVE;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean contains(long walletId) {
+        return walletId >= startWalletId && (endWalletId == null || walletId < endWalletId);
+    }
+
+    public boolean acceptsWrites() {
+        return state != RangeState.FROZEN;
+    }
+
+    /**
+     * 이 구간을 at에서 둘로 나누고 뒤쪽 구간을 돌려준다.
+     */
+    public ShardRange splitAt(long at) {
+        if (!contains(at) || at == startWalletId) {
+            throw new IllegalArgumentException("Split point outside range: " + at);
+        }
+        ShardRange tail = new ShardRange(at, endWalletId, shard);
+        this.endWalletId = at;
+        this.updatedAt = LocalDateTime.now();
+        return tail;
+    }
+
+    public void beginMove(int targetShard) {
+        transition(RangeState.ACTIVE, RangeState.COPYING);
+        this.targetShard = targetShard;
+    }
+
+    public void freeze() {
+        transition(RangeState.COPYING, RangeState.FROZEN);
+    }
+
+    public void completeMove() {
+        transition(RangeState.FROZEN, RangeState.ACTIVE);
+        this.shard = targetShard;
+        this.targetShard = null;
+    }
+
+    public void abortMove() {
+        this.state = RangeState.ACTIVE;
+        this.targetShard = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    private void transition(RangeState from, RangeState to) {
+        if (state != from) {
+            throw new IllegalStateException("Range " + startWalletId + " is " + state + ", expected " + from);
+        }
+        this.state = to;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * COPYING은 원래 샤드에서 계속 쓰기를 받으며 복사하는 단계이고, FROZEN은 마지막 복사와 검증을 위해 쓰기를 막은 단계다.
+     */
+    public enum RangeState {
+        ACTIVE, COPYING, FROZEN
+    }
+}
@@ -0,0 +1,10 @@
+package com.walletserver.shard.exception;
+
+/**
+ * 지갑이 속한 구간이 다른 샤드로 옮겨지는 중이라 잠시 쓰기를 받지 않을 때. 곧 다시 시도하면 된다.
+ */
+public class ShardMovingException extends RuntimeException {
+    public ShardMovingException(Long walletId) {
+        super("Wallet is being moved to another shard. Retry shortly: " + walletId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.walletserver.shard.repository;
+
+import com.walletserver.shard.entity.ShardRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ShardRangeRepository extends JpaRepository<ShardRange, Long> {
+
+    List<ShardRange> findAllByOrderByStartWalletIdAsc();
+}
@@ -0,0 +1,55 @@
+package com.walletserver.shard.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 접근할 샤드. ShardRoutingDataSource가 커넥션을 얻을 때 참조하므로 트랜잭션이 시작되기 전에 정해야 한다.
+ * 값이 없는 스레드는 카탈로그 샤드(0)를 쓴다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return 복원할 이전 값. {@link #exit(Integer)}에 그대로 넘긴다.
+     */
+    public static Integer enter(int shard) {
+        Integer previous = CURRENT.get();
+        if (previous != null && previous != shard) {
+            throw new IllegalStateException("Cross-shard access: shard " + previous + " -> " + shard);
+        }
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    public static void exit(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        }
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = enter(shard);
+        try {
+            return action.get();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    public static void runOn(int shard, Runnable action) {
+        Integer previous = enter(shard);
+        try {
+            action.run();
+        } finally {
+            exit(previous);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.walletserver.shard.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 현재 스레드의 샤드에 맞는 데이터베이스에서 커넥션을 얻는다. 샤드가 정해지지 않은 스레드는 카탈로그 샤드를 쓴다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
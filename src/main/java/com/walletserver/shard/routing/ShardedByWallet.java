@@ -0,0 +1,20 @@
+package com.walletserver.shard.routing;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 지갑 소속 샤드에서 실행할 메서드. 첫 번째 인자가 지갑 ID(Long)이거나 {@link WalletScoped}여야 한다.
+ * 트랜잭션보다 바깥에서 샤드를 정해야 하므로 {@code @Transactional} 메서드에 함께 붙여도 된다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardedByWallet {
+
+    /**
+     * 읽기 전용이면 이동 중(FROZEN) 구간의 지갑도 원래 샤드에서 처리한다.
+     */
+    boolean readOnly() default false;
+}
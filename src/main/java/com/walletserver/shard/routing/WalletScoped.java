@@ -0,0 +1,9 @@
+package com.walletserver.shard.routing;
+
+/**
+ * 지갑 하나에 속한 작업 단위. {@link ShardedByWallet} 메서드의 첫 인자로 쓸 수 있다.
+ */
+public interface WalletScoped {
+
+    Long walletId();
+}
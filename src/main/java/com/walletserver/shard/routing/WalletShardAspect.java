@@ -0,0 +1,67 @@
+package com.walletserver.shard.routing;
+
+import com.walletserver.shard.entity.ShardRange;
+import com.walletserver.shard.exception.ShardMovingException;
+import com.walletserver.shard.service.ShardMap;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 지갑 단위 작업을 지갑 소속 샤드에서 실행한다. 트랜잭션 어드바이스보다 바깥에 있어야 트랜잭션이
+ * 올바른 샤드의 커넥션으로 시작되고, 재시도 어드바이스보다 안쪽에 있어야 락을 다시 시도할 때마다 샤드 맵을 다시 본다.
+ * 출금 엔진은 모드와 관계없이 withdraw(walletId, ...)로 들어오므로 따로 잡는다.
+ */
+@Aspect
+@Component
+@Order(WalletShardAspect.ORDER)
+@RequiredArgsConstructor
+public class WalletShardAspect {
+
+    /**
+     * 트랜잭션 어드바이스(LOWEST_PRECEDENCE) 바로 바깥. 재시도 어드바이스는 이보다 바깥에 둔다.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final ShardMap shardMap;
+
+    @Around("execution(* com.walletserver.wallet.facade.WalletWithdrawalEngine+.withdraw(..)) && args(walletId, ..)")
+    public Object routeWithdrawal(ProceedingJoinPoint joinPoint, Long walletId) throws Throwable {
+        return route(joinPoint, walletId, false);
+    }
+
+    @Around("@annotation(sharded)")
+    public Object routeAnnotated(ProceedingJoinPoint joinPoint, ShardedByWallet sharded) throws Throwable {
+        return route(joinPoint, walletIdOf(joinPoint.getArgs()), sharded.readOnly());
+    }
+
+    private Object route(ProceedingJoinPoint joinPoint, Long walletId, boolean readOnly) throws Throwable {
+        if (!shardMap.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        ShardRange range = shardMap.rangeOf(walletId);
+        if (!readOnly && !range.acceptsWrites()) {
+            throw new ShardMovingException(walletId);
+        }
+        Integer previous = ShardContext.enter(range.getShard());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.exit(previous);
+        }
+    }
+
+    private static Long walletIdOf(Object[] args) {
+        if (args.length > 0 && args[0] instanceof Long walletId) {
+            return walletId;
+        }
+        if (args.length > 0 && args[0] instanceof WalletScoped scoped) {
+            return scoped.walletId();
+        }
+        throw new IllegalStateException("@ShardedByWallet requires a wallet id or WalletScoped as the first argument");
+    }
+}
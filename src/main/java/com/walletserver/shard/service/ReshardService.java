@@ -0,0 +1,292 @@
+package com.walletserver.shard.service;
+
+import com.walletserver.hold.scheduler.HoldExpiryScheduler;
+import com.walletserver.shard.dto.ReshardReport;
+import com.walletserver.shard.dto.ShardMoveRequest;
+import com.walletserver.shard.entity.ShardRange;
+import com.walletserver.shard.entity.ShardRange.RangeState;
+import com.walletserver.shard.repository.ShardRangeRepository;
+import com.walletserver.shard.routing.ShardContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 지갑 ID 구간 하나를 다른 샤드로 옮긴다.
+ * <ol>
+ *     <li>구간을 잘라 COPYING으로 바꾸고, 원래 샤드가 쓰기를 받는 동안 지갑 ID 창 단위로 대상 샤드에 복사한다.</li>
+ *     <li>FROZEN으로 바꾸고 원래 샤드의 fence를 세운다. fence는 진행 중인 쓰기 트랜잭션이 끝날 때까지 기다리고,
+ *     그 뒤로는 라우팅이 늦은 인스턴스의 쓰기도 원래 샤드에서 거절되므로 구간 전체를 다시 복사하면 빠지는 쓰기가 없다.</li>
+ *     <li>행 수와 합계가 같으면 구간을 대상 샤드로 넘기고, 다시 모든 인스턴스가 볼 때까지 기다린 뒤 원래 샤드의 행을 지운다.
+ *     다르면 구간을 원래 샤드로 되돌리고 대상 샤드의 복사본을 지운다.</li>
+ * </ol>
+ * 원래 샤드의 fence는 이동이 끝난 뒤에도 남겨 두어 아직 옛 샤드 맵을 보는 쓰기를 막고, 되돌릴 때만 푼다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "wallet.shard.enabled", havingValue = "true")
+public class ReshardService {
+
+    private static final List<ShardTable> TABLES = List.of(
+            new ShardTable("wallet", "id", "id", true, "balance + held_balance"),
+            new ShardTable("wallet_balance", "wallet_id", "id", true, "balance"),
+            new ShardTable("wallet_hold", "wallet_id", "id", true, "amount"),
+            new ShardTable("withdrawal_schedule", "wallet_id", "id", true, "run_count"),
+            new ShardTable("wallet_withdrawal_velocity", "wallet_id", "wallet_id, period, period_start", true,
+                    "total_amount"),
+            new ShardTable("transaction_history", "wallet_id", "id", false, "amount"));
+
+    private final ShardMap shardMap;
+    private final ShardRangeRepository rangeRepository;
+    private final ShardSchemaInitializer schemaInitializer;
+    private final ShardWriteFence writeFence;
+    private final ObjectProvider<HoldExpiryScheduler> holdExpiryScheduler;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long copyWindow;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public ReshardService(
+            ShardMap shardMap,
+            ShardRangeRepository rangeRepository,
+            ShardSchemaInitializer schemaInitializer,
+            ShardWriteFence writeFence,
+            ObjectProvider<HoldExpiryScheduler> holdExpiryScheduler,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${wallet.shard.copy-window:1000}") long copyWindow
+    ) {
+        this.shardMap = shardMap;
+        this.rangeRepository = rangeRepository;
+        this.schemaInitializer = schemaInitializer;
+        this.writeFence = writeFence;
+        this.holdExpiryScheduler = holdExpiryScheduler;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.copyWindow = copyWindow;
+    }
+
+    public ReshardReport move(ShardMoveRequest req) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("Another shard move is already running on this instance");
+        }
+        try {
+            return doMove(req.startWalletId(), req.endWalletId(), req.targetShard());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReshardReport doMove(long start, long end, int target) {
+        long startedAt = System.currentTimeMillis();
+        ShardRange range = beginMove(start, end, target);
+        int source = range.getShard();
+        log.info("샤드 구간 이동 시작. Range: [{}, {}), {} -> {}", start, end, source, target);
+
+        Map<String, Long> copied = new LinkedHashMap<>();
+        long frozenAt = 0;
+        try {
+            for (ShardTable table : TABLES) {
+                copied.put(table.name(), copy(table, source, target, start, end));
+            }
+
+            updateRange(range.getId(), ShardRange::freeze);
+            frozenAt = System.currentTimeMillis();
+            ShardContext.runOn(source, () -> transactionTemplate.executeWithoutResult(status ->
+                    writeFence.freeze(start, end)));
+
+            for (ShardTable table : TABLES) {
+                copied.merge(table.name(), copy(table, source, target, start, end), Long::sum);
+            }
+            verify(source, target, start, end);
+
+            Long maxHistoryId = ShardContext.callOn(target, () -> jdbcTemplate.queryForObject(
+                    "select coalesce(max(id), 0) from transaction_history where wallet_id >= ? and wallet_id < ?",
+                    Long.class, start, end));
+            schemaInitializer.advanceAbove(target, "transaction_history", maxHistoryId);
+            ShardContext.runOn(target, () -> transactionTemplate.executeWithoutResult(status ->
+                    writeFence.clear(start, end)));
+            updateRange(range.getId(), ShardRange::completeMove);
+        } catch (RuntimeException e) {
+            log.error("샤드 구간 이동 실패, 원래 샤드로 되돌립니다. Range: [{}, {}), Error: {}", start, end, e.getMessage());
+            updateRange(range.getId(), ShardRange::abortMove);
+            ShardContext.runOn(source, () -> transactionTemplate.executeWithoutResult(status ->
+                    writeFence.clear(start, end)));
+            purge(target, start, end);
+            throw e;
+        }
+        long frozenMillis = System.currentTimeMillis() - frozenAt;
+
+        awaitRefresh();
+        purge(source, start, end);
+        HoldExpiryScheduler scheduler = holdExpiryScheduler.getIfAvailable();
+        if (scheduler != null) {
+            scheduler.adopt(target, start, end);
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("샤드 구간 이동 완료. Range: [{}, {}), {} -> {}, Frozen: {}ms, Elapsed: {}ms",
+                start, end, source, target, frozenMillis, elapsed);
+        return new ReshardReport(start, end, source, target, copied, frozenMillis, elapsed);
+    }
+
+    /**
+     * 요청 구간을 하나의 ACTIVE 구간 안에서 잘라 내고 COPYING으로 바꾼다.
+     * 끝이 열린 마지막 구간은 새 지갑이 계속 생기는 곳이라 옮기지 않는다.
+     * 샤드마다 fence가 하나이므로 같은 샤드에서 나가는 이동은 한 번에 하나만 허용한다.
+     */
+    private ShardRange beginMove(long start, long end, int target) {
+        if (start >= end) {
+            throw new IllegalArgumentException("startWalletId must be less than endWalletId");
+        }
+        if (target >= shardMap.shardCount()) {
+            throw new IllegalArgumentException("Unknown shard: " + target);
+        }
+        return ShardContext.callOn(ShardMap.CATALOG_SHARD, () -> transactionTemplate.execute(status -> {
+            Long issued = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from wallet", Long.class);
+            if (end > issued + 1) {
+                throw new IllegalArgumentException("endWalletId must not exceed the last issued wallet id + 1");
+            }
+            List<ShardRange> ranges = rangeRepository.findAllByOrderByStartWalletIdAsc();
+            ShardRange range = ranges.stream()
+                    .filter(candidate -> candidate.contains(start))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No shard range covers wallet " + start));
+            if (range.getState() != RangeState.ACTIVE) {
+                throw new IllegalArgumentException("Range is already moving: " + range.getStartWalletId());
+            }
+            boolean sourceBusy = ranges.stream()
+                    .anyMatch(other -> other.getShard().equals(range.getShard())
+                            && other.getState() != RangeState.ACTIVE);
+            if (sourceBusy) {
+                throw new IllegalArgumentException("Another range is already moving off shard " + range.getShard());
+            }
+            if (range.getShard() == target) {
+                throw new IllegalArgumentException("Range is already on shard " + target);
+            }
+            if (range.getEndWalletId() != null && end > range.getEndWalletId()) {
+                throw new IllegalArgumentException("Move must stay within one range ending at " + range.getEndWalletId());
+            }
+
+            ShardRange moving = range;
+            if (start > range.getStartWalletId()) {
+                moving = rangeRepository.save(range.splitAt(start));
+            }
+            if (moving.getEndWalletId() == null || end < moving.getEndWalletId()) {
+                rangeRepository.save(moving.splitAt(end));
+            }
+            moving.beginMove(target);
+            return rangeRepository.save(moving);
+        }));
+    }
+
+    private void updateRange(Long id, Consumer<ShardRange> transition) {
+        ShardContext.runOn(ShardMap.CATALOG_SHARD, () -> transactionTemplate.executeWithoutResult(status ->
+                transition.accept(rangeRepository.findById(id).orElseThrow())));
+    }
+
+    /**
+     * 구간을 copyWindow개 지갑 단위로 읽어 대상 샤드에 넣는다.
+     */
+    private long copy(ShardTable table, int source, int target, long start, long end) {
+        long rows = 0;
+        for (long from = start; from < end; from += copyWindow) {
+            long windowStart = from;
+            long windowEnd = Math.min(end, from + copyWindow);
+            List<Map<String, Object>> window = ShardContext.callOn(source,
+                    () -> read(table, windowStart, windowEnd));
+            if (window.isEmpty()) {
+                continue;
+            }
+            List<String> columns = new ArrayList<>(window.get(0).keySet());
+            List<Object[]> args = window.stream()
+                    .map(row -> columns.stream().map(row::get).toArray())
+                    .toList();
+            ShardContext.runOn(target, () -> jdbcTemplate.batchUpdate(table.upsertSql(columns), args));
+            rows += window.size();
+        }
+        return rows;
+    }
+
+    private List<Map<String, Object>> read(ShardTable table, long from, long to) {
+        return jdbcTemplate.queryForList("select * from " + table.name() + " where " + table.walletColumn()
+                + " >= ? and " + table.walletColumn() + " < ?", from, to);
+    }
+
+    private void verify(int source, int target, long start, long end) {
+        for (ShardTable table : TABLES) {
+            Map<String, Object> expected = ShardContext.callOn(source, () -> summarize(table, start, end));
+            Map<String, Object> actual = ShardContext.callOn(target, () -> summarize(table, start, end));
+            long expectedCount = ((Number) expected.get("cnt")).longValue();
+            long actualCount = ((Number) actual.get("cnt")).longValue();
+            BigDecimal expectedSum = new BigDecimal(expected.get("total").toString());
+            BigDecimal actualSum = new BigDecimal(actual.get("total").toString());
+            if (expectedCount != actualCount || expectedSum.compareTo(actualSum) != 0) {
+                throw new IllegalStateException("Copy mismatch on " + table.name() + ": " + expectedCount + "/"
+                        + expectedSum + " vs " + actualCount + "/" + actualSum);
+            }
+        }
+    }
+
+    private Map<String, Object> summarize(ShardTable table, long start, long end) {
+        return jdbcTemplate.queryForMap("select count(*) as cnt, coalesce(sum(" + table.checksum() + "), 0) as total from "
+                + table.name() + " where " + table.walletColumn() + " >= ? and " + table.walletColumn() + " < ?",
+                start, end);
+    }
+
+    private void purge(int shard, long start, long end) {
+        ShardContext.runOn(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+            for (ShardTable table : TABLES) {
+                jdbcTemplate.update("delete from " + table.name() + " where " + table.walletColumn() + " >= ? and "
+                        + table.walletColumn() + " < ?", start, end);
+            }
+            jdbcTemplate.update("delete from balance_checkpoint where wallet_id >= ? and wallet_id < ?", start, end);
+        }));
+    }
+
+    /**
+     * 모든 인스턴스가 샤드 맵을 한 번 이상 다시 읽을 만큼 기다린다.
+     */
+    private void awaitRefresh() {
+        try {
+            Thread.sleep(shardMap.refreshMillis() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard map refresh", e);
+        }
+    }
+
+    /**
+     * @param mutable 행이 갱신되는 테이블이면 덮어쓰고, 이력처럼 불변이면 이미 있는 행을 건너뛴다.
+     * @param checksum 검증 시 복사 전후로 비교할 합계 식
+     */
+    private record ShardTable(String name, String walletColumn, String conflictKey, boolean mutable,
+                              String checksum) {
+
+        String upsertSql(List<String> columns) {
+            String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+            String sql = "insert into " + name + " (" + String.join(", ", columns) + ") values (" + placeholders
+                    + ") on conflict (" + conflictKey + ") do ";
+            if (!mutable) {
+                return sql + "nothing";
+            }
+            return sql + "update set " + columns.stream()
+                    .map(column -> column + " = excluded." + column)
+                    .collect(Collectors.joining(", "));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.walletserver.shard.service;
+
+import com.walletserver.shard.entity.ShardRange;
+import com.walletserver.shard.repository.ShardRangeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * 지갑 ID 구간별 소속 샤드. 카탈로그 샤드의 shard_range를 주기적으로 다시 읽어 메모리에 둔다.
+ * 구간 이동은 이 갱신 주기를 기준으로 모든 인스턴스가 새 상태를 보았다고 판단하므로, 이동 도구는 주기의 두 배를 기다린다.
+ * 샤딩을 끄면 모든 지갑이 카탈로그 샤드에 속한다.
+ */
+@Slf4j
+@Component
+public class ShardMap {
+
+    public static final int CATALOG_SHARD = 0;
+
+    private final ShardRangeRepository rangeRepository;
+    private final boolean enabled;
+    private final int shardCount;
+    private final long refreshMillis;
+    private volatile NavigableMap<Long, ShardRange> ranges = new TreeMap<>();
+
+    public ShardMap(
+            ShardRangeRepository rangeRepository,
+            @Value("${wallet.shard.enabled:false}") boolean enabled,
+            @Value("${wallet.shard.urls:}") List<String> urls,
+            @Value("${wallet.shard.refresh-ms:1000}") long refreshMillis
+    ) {
+        if (enabled && urls.isEmpty()) {
+            throw new IllegalStateException("wallet.shard.urls must list at least one database when sharding is enabled");
+        }
+        this.rangeRepository = rangeRepository;
+        this.enabled = enabled;
+        this.shardCount = enabled ? urls.size() : 1;
+        this.refreshMillis = refreshMillis;
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        if (rangeRepository.count() == 0) {
+            try {
+                rangeRepository.save(new ShardRange(0L, null, CATALOG_SHARD));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("다른 인스턴스가 초기 샤드 구간을 먼저 만들었습니다.");
+            }
+        }
+        refresh();
+        log.info("샤드 맵 적재. Shards: {}, Ranges: {}", shardCount, ranges.size());
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.shard.refresh-ms:1000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        NavigableMap<Long, ShardRange> loaded = new TreeMap<>();
+        for (ShardRange range : rangeRepository.findAllByOrderByStartWalletIdAsc()) {
+            loaded.put(range.getStartWalletId(), range);
+        }
+        this.ranges = loaded;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public long refreshMillis() {
+        return refreshMillis;
+    }
+
+    /**
+     * 샤드별로 도는 배치 작업이 순회할 샤드 목록.
+     */
+    public List<Integer> shards() {
+        return IntStream.range(0, shardCount).boxed().toList();
+    }
+
+    public List<ShardRange> ranges() {
+        return new ArrayList<>(ranges.values());
+    }
+
+    public ShardRange rangeOf(long walletId) {
+        Map.Entry<Long, ShardRange> entry = ranges.floorEntry(walletId);
+        if (entry == null || !entry.getValue().contains(walletId)) {
+            throw new IllegalStateException("No shard range covers wallet " + walletId);
+        }
+        return entry.getValue();
+    }
+
+    public int shardOf(long walletId) {
+        return enabled ? rangeOf(walletId).getShard() : CATALOG_SHARD;
+    }
+}
@@ -0,0 +1,111 @@
+package com.walletserver.shard.service;
+
+import com.walletserver.shard.routing.ShardContext;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 샤드 데이터베이스를 준비한다.
+ * <ul>
+ *     <li>비어 있는 샤드에는 매핑된 테이블을 만든다. ddl-auto는 카탈로그 샤드에만 적용되기 때문이다.</li>
+ *     <li>지갑에 속한 테이블의 IDENTITY를 ID_STRIDE 간격, 샤드 번호 나머지로 바꿔 샤드 간에 ID가 겹치지 않게 한다.
+ *     구간 이동 시 행을 ID 그대로 옮길 수 있다.</li>
+ *     <li>쓰기 트랜잭션이 얼어 있는 구간을 확인하는 shard_fence 행을 만든다. {@link ShardWriteFence} 참고.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "wallet.shard.enabled", havingValue = "true")
+public class ShardSchemaInitializer implements ApplicationRunner {
+
+    public static final int ID_STRIDE = 1024;
+
+    static final List<String> GLOBAL_ID_TABLES =
+            List.of("transaction_history", "wallet_balance", "wallet_hold", "withdrawal_schedule");
+
+    private final ShardMap shardMap;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardSchemaInitializer(ShardMap shardMap, JdbcTemplate jdbcTemplate,
+                                  EntityManagerFactory entityManagerFactory,
+                                  PlatformTransactionManager transactionManager) {
+        if (shardMap.shardCount() > ID_STRIDE) {
+            throw new IllegalStateException("At most " + ID_STRIDE + " shards are supported");
+        }
+        this.shardMap = shardMap;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (int shard : shardMap.shards()) {
+            ShardContext.runOn(shard, () -> prepare(shard));
+        }
+    }
+
+    private void prepare(int shard) {
+        Boolean exists = jdbcTemplate.queryForObject("select to_regclass('wallet') is not null", Boolean.class);
+        if (!Boolean.TRUE.equals(exists)) {
+            entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true);
+            log.info("샤드 {} 스키마 생성", shard);
+        }
+        for (String table : GLOBAL_ID_TABLES) {
+            Long increment = jdbcTemplate.queryForObject(
+                    "select seqincrement from pg_sequence where seqrelid = pg_get_serial_sequence(?, 'id')::regclass",
+                    Long.class, table);
+            if (increment == null || increment != ID_STRIDE) {
+                long next = nextIdAbove(maxId(table), shard);
+                jdbcTemplate.execute("alter table " + table + " alter column id set increment by " + ID_STRIDE
+                        + " restart with " + next);
+                log.info("샤드 {} {} ID 간격 설정. Next: {}", shard, table, next);
+            }
+        }
+        jdbcTemplate.execute("create table if not exists shard_fence (id bigint primary key, "
+                + "frozen_start_wallet_id bigint, frozen_end_wallet_id bigint, updated_at timestamp not null)");
+        jdbcTemplate.update("insert into shard_fence (id, updated_at) values (?, now()) on conflict (id) do nothing",
+                ShardWriteFence.SINGLETON_ID);
+    }
+
+    /**
+     * 구간 이동 후 옮겨 온 행보다 큰 ID부터 발급하도록 샤드의 IDENTITY를 당긴다.
+     * 같은 지갑의 이력이 ID 순서대로 쌓인다는 전제(대사, 잔액 체크포인트)를 지키기 위해서다.
+     * 읽기와 setval 사이에 다른 삽입이 끼어 시퀀스가 뒤로 가지 않도록 테이블 쓰기를 잠깐 막는다.
+     */
+    void advanceAbove(int shard, String table, long id) {
+        ShardContext.runOn(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("lock table " + table + " in exclusive mode");
+            String sequence = jdbcTemplate.queryForObject("select pg_get_serial_sequence(?, 'id')", String.class, table);
+            Long next = jdbcTemplate.queryForObject("select case when is_called then last_value + " + ID_STRIDE
+                    + " else last_value end from " + sequence, Long.class);
+            if (next == null || next <= id) {
+                jdbcTemplate.queryForObject("select setval(?, ?, false)", Long.class, sequence, nextIdAbove(id, shard));
+            }
+        }));
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    static long nextIdAbove(long id, int shard) {
+        return (Math.floorDiv(id, ID_STRIDE) + 1) * ID_STRIDE + shard;
+    }
+}
@@ -0,0 +1,87 @@
+package com.walletserver.shard.service;
+
+import com.walletserver.shard.exception.ShardMovingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 샤드마다 한 행인 shard_fence로 얼어 있는 구간의 쓰기를 트랜잭션 안에서 막는다.
+ * <p>
+ * 라우팅은 트랜잭션 시작 전에 한 번 샤드 맵을 보므로, 락 대기가 길었던 쓰기는 구간이 얼고 복사가 끝난 뒤에 커밋될 수 있다.
+ * 쓰기 트랜잭션은 처음에 지갑 ID로 고른 advisory lock 하나를 공유 모드로 잡고 fence 행을 읽는다. 구간 이동은 모든
+ * advisory lock을 배타 모드로 잡은 뒤 fence를 바꾸므로 진행 중인 쓰기가 모두 끝난 뒤에야 다시 복사가 시작되고,
+ * 그 뒤의 쓰기는 원래 샤드에서 거절된다. fence 행은 잠그지 않으므로 쓰기마다 행 잠금(MultiXact)이 쌓이지 않고,
+ * 공유 잠금은 stripes개로 나뉘어 잠금 관리자의 한 항목에 몰리지 않는다.
+ */
+@Component
+public class ShardWriteFence {
+
+    static final long SINGLETON_ID = 1L;
+
+    /**
+     * advisory lock 키의 첫 번째 값. 다른 용도의 advisory lock과 겹치지 않게 고정한다.
+     */
+    static final int LOCK_CLASS = 0x5346;
+
+    private final ShardMap shardMap;
+    private final JdbcTemplate jdbcTemplate;
+    private final int stripes;
+
+    public ShardWriteFence(
+            ShardMap shardMap,
+            JdbcTemplate jdbcTemplate,
+            @Value("${wallet.shard.fence-stripes:64}") int stripes
+    ) {
+        this.shardMap = shardMap;
+        this.jdbcTemplate = jdbcTemplate;
+        this.stripes = stripes;
+    }
+
+    /**
+     * @throws ShardMovingException 지갑이 이 샤드에서 얼어 있는 구간에 속하면
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void check(Long walletId) {
+        if (!shardMap.isEnabled()) {
+            return;
+        }
+        // 잠금을 얻은 뒤 새 스냅샷으로 읽어야 잠금을 기다리는 동안 커밋된 fence를 본다. 그래서 두 문장으로 나눈다.
+        jdbcTemplate.query("select pg_advisory_xact_lock_shared(?, ?)", rs -> {
+        }, LOCK_CLASS, stripeOf(walletId));
+        List<Boolean> frozen = jdbcTemplate.queryForList(
+                "select frozen_start_wallet_id <= ? and ? < frozen_end_wallet_id from shard_fence where id = ?",
+                Boolean.class, walletId, walletId, SINGLETON_ID);
+        if (!frozen.isEmpty() && Boolean.TRUE.equals(frozen.get(0))) {
+            throw new ShardMovingException(walletId);
+        }
+    }
+
+    /**
+     * 진행 중인 쓰기 트랜잭션이 끝날 때까지 기다린 뒤 구간을 얼린다. 현재 샤드에서 호출한다.
+     */
+    void freeze(long start, long end) {
+        // 항상 같은 순서로 잡으므로 두 이동이 서로를 기다리며 멈추지 않는다.
+        jdbcTemplate.query("select pg_advisory_xact_lock(?, s) from generate_series(0, ?) s order by s", rs -> {
+        }, LOCK_CLASS, stripes - 1);
+        jdbcTemplate.update("update shard_fence set frozen_start_wallet_id = ?, frozen_end_wallet_id = ?, "
+                + "updated_at = now() where id = ?", start, end, SINGLETON_ID);
+    }
+
+    /**
+     * 얼어 있는 구간이 [start, end)와 겹치면 푼다. 현재 샤드에서 호출한다.
+     */
+    void clear(long start, long end) {
+        jdbcTemplate.update("update shard_fence set frozen_start_wallet_id = null, frozen_end_wallet_id = null, "
+                + "updated_at = now() where id = ? and frozen_start_wallet_id < ? and ? < frozen_end_wallet_id",
+                SINGLETON_ID, end, start);
+    }
+
+    private int stripeOf(Long walletId) {
+        return (int) Math.floorMod(walletId, (long) stripes);
+    }
+}
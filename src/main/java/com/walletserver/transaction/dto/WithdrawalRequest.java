@@ -1,13 +1,30 @@
 package com.walletserver.transaction.dto;
 
+import com.walletserver.wallet.entity.Wallet;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
+/**
+ * currency를 생략하면 기준 통화({@value Wallet#BASE_CURRENCY}) 출금이다.
+ */
 public record WithdrawalRequest(
         @NotNull UUID transactionId,
-        @NotNull @Positive BigDecimal amount
+        @NotNull @Positive BigDecimal amount,
+        @Pattern(regexp = "[A-Z]{3}") String currency
 ) {
+    public WithdrawalRequest(UUID transactionId, BigDecimal amount) {
+        this(transactionId, amount, null);
+    }
+
+    public String resolvedCurrency() {
+        return currency != null ? currency : Wallet.BASE_CURRENCY;
+    }
+
+    public boolean isBaseCurrency() {
+        return Wallet.BASE_CURRENCY.equals(resolvedCurrency());
+    }
 }
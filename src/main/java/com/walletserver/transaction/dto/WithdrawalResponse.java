@@ -1,6 +1,7 @@
 package com.walletserver.transaction.dto;
 
 import com.walletserver.transaction.entity.TransactionHistory;
+import com.walletserver.wallet.entity.Wallet;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -9,14 +10,20 @@ public record WithdrawalResponse(
         UUID transactionId,
         BigDecimal amount,
         BigDecimal remainingBalance,
-        String status
+        String status,
+        String currency
 ) {
+    public WithdrawalResponse(UUID transactionId, BigDecimal amount, BigDecimal remainingBalance, String status) {
+        this(transactionId, amount, remainingBalance, status, Wallet.BASE_CURRENCY);
+    }
+
     public static WithdrawalResponse from(TransactionHistory history) {
         return new WithdrawalResponse(
                 history.getTransactionId(),
                 history.getAmount(),
                 history.getBalanceSnapshot(),
-                history.getStatus().name()
+                history.getStatus().name(),
+                history.getCurrency()
         );
     }
 }
@@ -1,5 +1,6 @@
 package com.walletserver.transaction.entity;
 
+import com.walletserver.wallet.entity.Wallet;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -8,11 +9,13 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -22,7 +25,8 @@ import java.util.UUID;
 
 @Entity
 @Getter
-@Table(name = "transaction_history")
+@Table(name = "transaction_history",
+        indexes = @Index(name = "idx_history_wallet_id_id", columnList = "wallet_id, id"))
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class TransactionHistory {
@@ -44,6 +48,10 @@ public class TransactionHistory {
     @Column(nullable = false, precision = 19, scale = 2, updatable = false)
     private BigDecimal amount;
 
+    @Column(nullable = false, length = 3, updatable = false)
+    @ColumnDefault("'" + Wallet.BASE_CURRENCY + "'")
+    private String currency;
+
     @Column(nullable = false, precision = 19, scale = 2, updatable = false)
     private BigDecimal balanceSnapshot;
 
@@ -51,6 +59,12 @@ public class TransactionHistory {
     @Column(nullable = false, length = 20, updatable = false)
     private TransactionStatus status;
 
+    /**
+     * FAILED 이력의 거절 사유. 같은 transactionId로 재요청하면 이 사유로 즉시 거절한다.
+     */
+    @Column(length = 100, updatable = false)
+    private String failureReason;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -61,19 +75,37 @@ public class TransactionHistory {
             Long walletId,
             TransactionType type,
             BigDecimal amount,
+            String currency,
             BigDecimal balanceSnapshot,
-            TransactionStatus status
+            TransactionStatus status,
+            String failureReason
     ) {
         this.transactionId = transactionId;
         this.walletId = walletId;
         this.type = type;
         this.amount = amount;
+        this.currency = currency != null ? currency : Wallet.BASE_CURRENCY;
         this.balanceSnapshot = balanceSnapshot;
         this.status = status;
+        this.failureReason = failureReason;
     }
 
+    /**
+     * HOLD는 가용 잔액을 보류 금액으로 옮기고, CAPTURE는 보류 금액을 확정 차감하며, RELEASE는 가용 잔액으로 되돌린다.
+     */
     public enum TransactionType {
-        DEPOSIT, WITHDRAWAL
+        DEPOSIT, WITHDRAWAL, HOLD, CAPTURE, RELEASE;
+
+        /**
+         * 이 유형의 이력 한 건이 가용 잔액(balanceSnapshot)에 더하는 변화량.
+         */
+        public BigDecimal balanceDelta(BigDecimal amount) {
+            return switch (this) {
+                case DEPOSIT, RELEASE -> amount;
+                case WITHDRAWAL, HOLD -> amount.negate();
+                case CAPTURE -> BigDecimal.ZERO;
+            };
+        }
     }
 
     public enum TransactionStatus {
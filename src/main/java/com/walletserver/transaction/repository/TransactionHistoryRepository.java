@@ -1,8 +1,14 @@
 package com.walletserver.transaction.repository;
 
 import com.walletserver.transaction.entity.TransactionHistory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TransactionHistoryRepository extends JpaRepository<TransactionHistory, Long> {
@@ -10,4 +16,29 @@ public interface TransactionHistoryRepository extends JpaRepository<TransactionH
     boolean existsByTransactionId(UUID transactionId);
 
     java.util.Optional<TransactionHistory> findByTransactionId(UUID transactionId);
+
+    /**
+     * 체크포인트 작성용. afterId 이후의 SUCCESS 이력을 id 순으로 읽는다.
+     */
+    @Query("select h from TransactionHistory h where h.id > :afterId and h.createdAt < :before "
+            + "and h.status = com.walletserver.transaction.entity.TransactionHistory.TransactionStatus.SUCCESS "
+            + "order by h.id")
+    List<TransactionHistory> findSucceededAfter(@Param("afterId") Long afterId,
+                                                @Param("before") LocalDateTime before,
+                                                Limit limit);
+
+    /**
+     * 시점 조회용. 체크포인트(afterId) 이후 at까지의 지갑·통화별 SUCCESS 이력.
+     */
+    @Query("select h from TransactionHistory h where h.walletId = :walletId and h.currency = :currency "
+            + "and h.id > :afterId and h.createdAt <= :at "
+            + "and h.status = com.walletserver.transaction.entity.TransactionHistory.TransactionStatus.SUCCESS "
+            + "order by h.id")
+    List<TransactionHistory> findSucceededUntil(@Param("walletId") Long walletId,
+                                                @Param("currency") String currency,
+                                                @Param("afterId") Long afterId,
+                                                @Param("at") LocalDateTime at);
+
+    Optional<TransactionHistory> findFirstByWalletIdAndCurrencyAndStatusOrderByIdAsc(
+            Long walletId, String currency, TransactionHistory.TransactionStatus status);
 }
@@ -0,0 +1,37 @@
+package com.walletserver.velocity.controller;
+
+import com.walletserver.common.bulkhead.TrafficBulkheads;
+import com.walletserver.common.bulkhead.TrafficClass;
+import com.walletserver.velocity.dto.VelocityRebuildReport;
+import com.walletserver.velocity.dto.VelocityUsageResponse;
+import com.walletserver.velocity.service.VelocityLimitService;
+import com.walletserver.velocity.service.VelocityRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+public class VelocityController {
+
+    private final VelocityLimitService velocityLimitService;
+    private final VelocityRebuildService velocityRebuildService;
+    private final TrafficBulkheads trafficBulkheads;
+
+    @GetMapping("/api/wallets/{walletId}/velocity")
+    public CompletableFuture<ResponseEntity<VelocityUsageResponse>> usage(@PathVariable Long walletId) {
+        return trafficBulkheads.submit(TrafficClass.READ,
+                () -> ResponseEntity.ok(velocityLimitService.usage(walletId)));
+    }
+
+    @PostMapping("/api/admin/velocity/rebuild")
+    public CompletableFuture<ResponseEntity<VelocityRebuildReport>> rebuild() {
+        return trafficBulkheads.submit(TrafficClass.BATCH,
+                () -> ResponseEntity.ok(velocityRebuildService.rebuild()));
+    }
+}
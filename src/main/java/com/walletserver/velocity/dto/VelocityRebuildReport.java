@@ -0,0 +1,11 @@
+package com.walletserver.velocity.dto;
+
+public record VelocityRebuildReport(
+        int ranges,
+        int failedRanges,
+        long elapsedMillis
+) {
+    public static VelocityRebuildReport skipped() {
+        return new VelocityRebuildReport(0, 0, 0);
+    }
+}
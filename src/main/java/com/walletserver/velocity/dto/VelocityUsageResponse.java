@@ -0,0 +1,12 @@
+package com.walletserver.velocity.dto;
+
+import java.math.BigDecimal;
+
+public record VelocityUsageResponse(
+        Long walletId,
+        BigDecimal dailyUsed,
+        BigDecimal dailyLimit,
+        BigDecimal monthlyUsed,
+        BigDecimal monthlyLimit
+) {
+}
@@ -0,0 +1,71 @@
+package com.walletserver.velocity.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 지갑별 기간(일/월) 출금 누계. 출금 트랜잭션 안에서 upsert로 증가시키므로 한도 검사 시 이력을 합산하지 않는다.
+ */
+@Entity
+@Getter
+@Table(name = "wallet_withdrawal_velocity")
+@IdClass(WithdrawalVelocity.Key.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WithdrawalVelocity {
+
+    @Id
+    @Column(name = "wallet_id")
+    private Long walletId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", length = 10)
+    private Period period;
+
+    @Id
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Period {
+        DAY, MONTH;
+
+        public LocalDate startOf(LocalDate date) {
+            return this == DAY ? date : date.withDayOfMonth(1);
+        }
+
+        public LocalDate nextStart(LocalDate start) {
+            return this == DAY ? start.plusDays(1) : start.plusMonths(1);
+        }
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long walletId;
+        private Period period;
+        private LocalDate periodStart;
+    }
+}
@@ -0,0 +1,11 @@
+package com.walletserver.velocity.exception;
+
+import com.walletserver.velocity.entity.WithdrawalVelocity.Period;
+
+import java.math.BigDecimal;
+
+public class VelocityLimitExceededException extends RuntimeException {
+    public VelocityLimitExceededException(Period period, BigDecimal limit) {
+        super(period.name().toLowerCase() + " withdrawal limit exceeded: " + limit.toPlainString());
+    }
+}
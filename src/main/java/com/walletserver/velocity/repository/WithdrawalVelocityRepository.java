@@ -0,0 +1,7 @@
+package com.walletserver.velocity.repository;
+
+import com.walletserver.velocity.entity.WithdrawalVelocity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WithdrawalVelocityRepository extends JpaRepository<WithdrawalVelocity, WithdrawalVelocity.Key> {
+}
@@ -0,0 +1,68 @@
+package com.walletserver.velocity.service;
+
+import com.walletserver.velocity.entity.WithdrawalVelocity.Period;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 기간 누계의 Redis 사본. 커밋된 값만 기록하므로 동시 커밋 순서가 뒤바뀌어도 실제보다 작게만 보이며,
+ * 한도 판정의 기준은 항상 DB다. Redis 장애 시에는 캐시를 건너뛴다.
+ */
+@Slf4j
+@Component
+public class VelocityCounterCache {
+
+    private static final String KEY_PREFIX = "wallet:velocity:";
+
+    private final RedissonClient redissonClient;
+
+    public VelocityCounterCache(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    public Optional<BigDecimal> get(Long walletId, Period period, LocalDate periodStart) {
+        try {
+            String value = redissonClient.<String>getBucket(keyOf(walletId, period, periodStart), StringCodec.INSTANCE)
+                    .get();
+            return Optional.ofNullable(value).map(BigDecimal::new);
+        } catch (RuntimeException e) {
+            log.debug("Velocity cache read failed. Error: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(Long walletId, Period period, LocalDate periodStart, BigDecimal total) {
+        try {
+            Duration ttl = Duration.between(LocalDateTime.now(), period.nextStart(periodStart).atStartOfDay())
+                    .plusHours(1);
+            redissonClient.<String>getBucket(keyOf(walletId, period, periodStart), StringCodec.INSTANCE)
+                    .set(total.toPlainString(), ttl);
+        } catch (RuntimeException e) {
+            log.debug("Velocity cache write failed. Error: {}", e.getMessage());
+        }
+    }
+
+    public void evict(Collection<Long> walletIds, LocalDate today) {
+        RBatch batch = redissonClient.createBatch();
+        for (Long walletId : walletIds) {
+            for (Period period : Period.values()) {
+                batch.getBucket(keyOf(walletId, period, period.startOf(today)), StringCodec.INSTANCE).deleteAsync();
+            }
+        }
+        batch.execute();
+    }
+
+    private static String keyOf(Long walletId, Period period, LocalDate periodStart) {
+        return KEY_PREFIX + walletId + ":" + period.name() + ":" + periodStart;
+    }
+}
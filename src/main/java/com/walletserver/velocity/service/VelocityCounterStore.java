@@ -0,0 +1,81 @@
+package com.walletserver.velocity.service;
+
+import com.walletserver.velocity.entity.WithdrawalVelocity.Period;
+import com.walletserver.wallet.entity.Wallet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class VelocityCounterStore {
+
+    /**
+     * 누계가 한도를 넘지 않을 때만 증가시키고 새 누계를 반환한다. 행이 반환되지 않으면 한도 초과다.
+     * 같은 행에 대한 동시 upsert는 행 잠금으로 직렬화되므로 검사와 증가 사이에 다른 출금이 끼어들 수 없다.
+     */
+    private static final String INCREMENT_WITHIN_LIMIT = """
+            insert into wallet_withdrawal_velocity (wallet_id, period, period_start, total_amount, updated_at)
+            select ?, ?, ?, ?, now()
+            where ? <= ?
+            on conflict (wallet_id, period, period_start) do update
+                set total_amount = wallet_withdrawal_velocity.total_amount + excluded.total_amount,
+                    updated_at = excluded.updated_at
+                where wallet_withdrawal_velocity.total_amount + excluded.total_amount <= ?
+            returning total_amount
+            """;
+
+    private static final String LOCK_WALLETS = "select id from wallet where id between ? and ? order by id for update";
+
+    private static final String DELETE_FROM = """
+            delete from wallet_withdrawal_velocity
+            where wallet_id between ? and ? and period_start >= ?
+            """;
+
+    private static final String REBUILD_FROM_HISTORY = """
+            insert into wallet_withdrawal_velocity (wallet_id, period, period_start, total_amount, updated_at)
+            select wallet_id, '%s', cast(date_trunc('%s', created_at) as date), sum(amount), now()
+            from transaction_history
+            where wallet_id between ? and ?
+              and type = 'WITHDRAWAL'
+              and status = 'SUCCESS'
+              and currency = ?
+              and created_at >= ?
+            group by wallet_id, cast(date_trunc('%s', created_at) as date)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<BigDecimal> incrementWithinLimit(Long walletId, Period period, LocalDate periodStart,
+                                                     BigDecimal amount, BigDecimal limit) {
+        List<BigDecimal> totals = jdbcTemplate.queryForList(INCREMENT_WITHIN_LIMIT, BigDecimal.class,
+                walletId, period.name(), Date.valueOf(periodStart), amount, amount, limit, limit);
+        return totals.stream().findFirst();
+    }
+
+    /**
+     * 구간의 지갑 행을 잠근 뒤 from 이후 누계를 이력에서 다시 계산한다. 호출자의 트랜잭션 안에서 실행되어야 한다.
+     * 누계는 기준 통화 출금만 쌓으므로 다른 통화 출금 이력은 제외한다.
+     *
+     * @return 잠근 지갑 ID 목록
+     */
+    public List<Long> rebuild(long startWalletId, long endWalletId, LocalDate from) {
+        List<Long> walletIds = jdbcTemplate.queryForList(LOCK_WALLETS, Long.class, startWalletId, endWalletId);
+        if (walletIds.isEmpty()) {
+            return walletIds;
+        }
+        jdbcTemplate.update(DELETE_FROM, startWalletId, endWalletId, Date.valueOf(from));
+        for (Period period : Period.values()) {
+            String field = period == Period.DAY ? "day" : "month";
+            jdbcTemplate.update(REBUILD_FROM_HISTORY.formatted(period.name(), field, field),
+                    startWalletId, endWalletId, Wallet.BASE_CURRENCY, from.atStartOfDay());
+        }
+        return walletIds;
+    }
+}
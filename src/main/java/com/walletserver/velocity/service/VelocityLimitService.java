@@ -0,0 +1,134 @@
+package com.walletserver.velocity.service;
+
+import com.walletserver.shard.routing.ShardedByWallet;
+import com.walletserver.velocity.dto.VelocityUsageResponse;
+import com.walletserver.velocity.entity.WithdrawalVelocity;
+import com.walletserver.velocity.entity.WithdrawalVelocity.Period;
+import com.walletserver.velocity.exception.VelocityLimitExceededException;
+import com.walletserver.velocity.repository.WithdrawalVelocityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 일/월 출금 한도. 출금 트랜잭션 안에서 기간 누계를 증가시키며 한도를 넘으면 예외로 트랜잭션 전체를 롤백한다.
+ * 단일 Writer 엔진은 트랜잭션 없이 출금하므로 파티션이 메모리 누계로 {@link #checkWithinLimit}를 호출하고,
+ * DB 누계는 JournalApplier가 저널을 반영할 때 함께 올린다.
+ */
+@Service
+public class VelocityLimitService {
+
+    private final VelocityCounterStore counterStore;
+    private final VelocityCounterCache counterCache;
+    private final WithdrawalVelocityRepository velocityRepository;
+    private final boolean enabled;
+    private final BigDecimal dailyLimit;
+    private final BigDecimal monthlyLimit;
+
+    public VelocityLimitService(
+            VelocityCounterStore counterStore,
+            VelocityCounterCache counterCache,
+            WithdrawalVelocityRepository velocityRepository,
+            @Value("${wallet.velocity.enabled:true}") boolean enabled,
+            @Value("${wallet.velocity.daily-limit:5000000}") BigDecimal dailyLimit,
+            @Value("${wallet.velocity.monthly-limit:50000000}") BigDecimal monthlyLimit
+    ) {
+        this.counterStore = counterStore;
+        this.counterCache = counterCache;
+        this.velocityRepository = velocityRepository;
+        this.enabled = enabled;
+        this.dailyLimit = dailyLimit;
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    /**
+     * 락을 잡기 전에 캐시된 누계로 명백한 한도 초과를 먼저 거절한다. 캐시가 없으면 통과시키고 DB 검사에 맡긴다.
+     */
+    public void precheck(Long walletId, BigDecimal amount) {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (Period period : Period.values()) {
+            BigDecimal limit = limitOf(period);
+            counterCache.get(walletId, period, period.startOf(today))
+                    .filter(total -> total.add(amount).compareTo(limit) > 0)
+                    .ifPresent(total -> {
+                        throw new VelocityLimitExceededException(period, limit);
+                    });
+        }
+    }
+
+    public void record(Long walletId, BigDecimal amount) {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (Period period : Period.values()) {
+            LocalDate periodStart = period.startOf(today);
+            BigDecimal limit = limitOf(period);
+            BigDecimal total = counterStore.incrementWithinLimit(walletId, period, periodStart, amount, limit)
+                    .orElseThrow(() -> new VelocityLimitExceededException(period, limit));
+            cacheAfterCommit(walletId, period, periodStart, total);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 누계를 트랜잭션 밖(단일 Writer 파티션의 메모리)에서 관리하는 엔진이 증가 후 누계를 검사할 때 쓴다.
+     */
+    public void checkWithinLimit(Period period, BigDecimal totalAfter) {
+        BigDecimal limit = limitOf(period);
+        if (totalAfter.compareTo(limit) > 0) {
+            throw new VelocityLimitExceededException(period, limit);
+        }
+    }
+
+    /**
+     * DB에 기록된 기간 누계. 캐시는 사전 거절용이므로 보지 않는다.
+     */
+    public BigDecimal recordedTotal(Long walletId, Period period, LocalDate periodStart) {
+        return velocityRepository.findById(new WithdrawalVelocity.Key(walletId, period, periodStart))
+                .map(WithdrawalVelocity::getTotalAmount)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    @ShardedByWallet(readOnly = true)
+    public VelocityUsageResponse usage(Long walletId) {
+        LocalDate today = LocalDate.now();
+        return new VelocityUsageResponse(walletId,
+                usedOf(walletId, Period.DAY, today), dailyLimit,
+                usedOf(walletId, Period.MONTH, today), monthlyLimit);
+    }
+
+    private BigDecimal usedOf(Long walletId, Period period, LocalDate today) {
+        LocalDate periodStart = period.startOf(today);
+        return counterCache.get(walletId, period, periodStart)
+                .or(() -> velocityRepository.findById(new WithdrawalVelocity.Key(walletId, period, periodStart))
+                        .map(WithdrawalVelocity::getTotalAmount))
+                .orElse(BigDecimal.ZERO);
+    }
+
+    private BigDecimal limitOf(Period period) {
+        return period == Period.DAY ? dailyLimit : monthlyLimit;
+    }
+
+    private void cacheAfterCommit(Long walletId, Period period, LocalDate periodStart, BigDecimal total) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counterCache.put(walletId, period, periodStart, total);
+            }
+        });
+    }
+}
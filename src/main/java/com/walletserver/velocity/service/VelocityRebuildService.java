@@ -0,0 +1,123 @@
+package com.walletserver.velocity.service;
+
+import com.walletserver.common.bulkhead.TrafficClass;
+import com.walletserver.common.bulkhead.TrafficClassContext;
+import com.walletserver.common.util.WalletIdRange;
+import com.walletserver.shard.routing.ShardContext;
+import com.walletserver.shard.service.ShardMap;
+import com.walletserver.velocity.dto.VelocityRebuildReport;
+import com.walletserver.velocity.entity.WithdrawalVelocity.Period;
+import com.walletserver.wallet.repository.WalletRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 장애 후 기간 누계를 transaction_history에서 다시 계산한다. 지갑 ID 구간별로 병렬 처리하며,
+ * 각 구간은 지갑 행을 잠근 하나의 트랜잭션에서 재계산되므로 동시에 들어오는 출금과 섞이지 않는다.
+ * 한도 판정에는 이번 달 누계만 쓰이므로 이번 달 1일 이후만 재계산한다. 샤드마다 그 샤드에 있는 지갑만 재계산한다.
+ */
+@Slf4j
+@Service
+public class VelocityRebuildService {
+
+    private final WalletRepository walletRepository;
+    private final VelocityCounterStore counterStore;
+    private final VelocityCounterCache counterCache;
+    private final ShardMap shardMap;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private final long rangeSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public VelocityRebuildService(
+            WalletRepository walletRepository,
+            VelocityCounterStore counterStore,
+            VelocityCounterCache counterCache,
+            ShardMap shardMap,
+            PlatformTransactionManager transactionManager,
+            @Value("${wallet.velocity.rebuild.parallelism:4}") int parallelism,
+            @Value("${wallet.velocity.rebuild.range-size:1000}") long rangeSize
+    ) {
+        this.walletRepository = walletRepository;
+        this.counterStore = counterStore;
+        this.counterCache = counterCache;
+        this.shardMap = shardMap;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = new ForkJoinPool(parallelism);
+        this.rangeSize = rangeSize;
+    }
+
+    public VelocityRebuildReport rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Velocity rebuild already running. Skipping.");
+            return VelocityRebuildReport.skipped();
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            LocalDate today = LocalDate.now();
+            LocalDate from = Period.MONTH.startOf(today);
+            int rangeCount = 0;
+            AtomicInteger failed = new AtomicInteger();
+            for (int shard : shardMap.shards()) {
+                Long maxWalletId = ShardContext.callOn(shard, walletRepository::findMaxId);
+                if (maxWalletId == null) {
+                    continue;
+                }
+                List<WalletIdRange> ranges = new WalletIdRange(0, maxWalletId).split(rangeSize);
+                rangeCount += ranges.size();
+                log.info("Velocity rebuild started. shard: {}, from: {}, ranges: {}", shard, from, ranges.size());
+                rebuildShard(shard, ranges, from, today, failed);
+            }
+            if (rangeCount == 0) {
+                return VelocityRebuildReport.skipped();
+            }
+
+            VelocityRebuildReport report = new VelocityRebuildReport(rangeCount, failed.get(),
+                    System.currentTimeMillis() - startedAt);
+            log.info("Velocity rebuild finished. {}", report);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void rebuildShard(int shard, List<WalletIdRange> ranges, LocalDate from, LocalDate today,
+                              AtomicInteger failed) {
+        TrafficClass trafficClass = TrafficClassContext.current();
+        // 구간 작업도 호출한 요청과 같은 커넥션 풀과 샤드를 쓰도록 트래픽 종류와 샤드를 넘긴다.
+        pool.submit(() -> ranges.parallelStream().forEach(range -> {
+            TrafficClassContext.set(trafficClass);
+            try {
+                ShardContext.runOn(shard, () -> rebuildRange(range, from, today));
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.error("Velocity rebuild failed for range {} on shard {}. Error: {}", range, shard, e.getMessage());
+            } finally {
+                TrafficClassContext.clear();
+            }
+        })).join();
+    }
+
+    private void rebuildRange(WalletIdRange range, LocalDate from, LocalDate today) {
+        List<Long> walletIds = transactionTemplate.execute(
+                status -> counterStore.rebuild(range.start(), range.end(), from));
+        if (walletIds != null && !walletIds.isEmpty()) {
+            counterCache.evict(walletIds, today);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,39 @@
+package com.walletserver.wallet.adaptive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/walletcontention: 현재 HOT 경로로 처리되는 지갑과 추정 경합 점수.
+ */
+@Component
+@Endpoint(id = "walletcontention")
+@RequiredArgsConstructor
+public class WalletContentionEndpoint {
+
+    private static final int MAX_LISTED = 100;
+
+    private final WalletContentionTracker contentionTracker;
+
+    @ReadOperation
+    public ContentionSnapshot contention() {
+        List<Long> hotWallets = contentionTracker.hotWallets();
+        List<WalletScore> top = hotWallets.stream()
+                .limit(MAX_LISTED)
+                .map(walletId -> new WalletScore(walletId, contentionTracker.estimate(walletId)))
+                .toList();
+        return new ContentionSnapshot(contentionTracker.getHotThreshold(), contentionTracker.getColdThreshold(),
+                hotWallets.size(), top);
+    }
+
+    public record ContentionSnapshot(long hotThreshold, long coldThreshold, int hotWalletCount,
+                                     List<WalletScore> hotWallets) {
+    }
+
+    public record WalletScore(Long walletId, long score) {
+    }
+}
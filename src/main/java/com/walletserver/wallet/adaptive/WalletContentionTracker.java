@@ -0,0 +1,149 @@
+package com.walletserver.wallet.adaptive;
+
+import com.walletserver.common.util.CountMinSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지갑별 경합 정도를 고정 크기 스케치로 추적한다. 락 대기 시간, 낙관적 충돌, 동시 처리 중인 요청 수(대기열 깊이)를
+ * 점수로 누적하고 주기적으로 반감시켜 최근 경합만 반영한다.
+ * <p>
+ * 점수가 hot-threshold 이상이면 HOT으로 승격하고 cold-threshold 이하로 내려가야 강등하므로,
+ * 경계 부근 지갑이 경로를 계속 오가지 않는다. HOT 지갑 수는 max-hot-wallets로 제한된다.
+ */
+@Component
+public class WalletContentionTracker {
+
+    private final CountMinSketch contention;
+    private final CountMinSketch inFlight;
+    private final ConcurrentHashMap<Long, Boolean> hotWallets = new ConcurrentHashMap<>();
+    private final long hotThreshold;
+    private final long coldThreshold;
+    private final int maxHotWallets;
+    private final long waitUnitMillis;
+    private final long conflictWeight;
+    private final Counter promotions;
+    private final Counter demotions;
+    private final Counter hotRoutes;
+    private final Counter coldRoutes;
+
+    public WalletContentionTracker(
+            MeterRegistry meterRegistry,
+            @Value("${wallet.adaptive.sketch.depth:4}") int depth,
+            @Value("${wallet.adaptive.sketch.width:8192}") int width,
+            @Value("${wallet.adaptive.hot-threshold:40}") long hotThreshold,
+            @Value("${wallet.adaptive.cold-threshold:10}") long coldThreshold,
+            @Value("${wallet.adaptive.max-hot-wallets:10000}") int maxHotWallets,
+            @Value("${wallet.adaptive.wait-unit-ms:10}") long waitUnitMillis,
+            @Value("${wallet.adaptive.conflict-weight:10}") long conflictWeight
+    ) {
+        if (coldThreshold >= hotThreshold) {
+            throw new IllegalArgumentException("cold-threshold must be lower than hot-threshold");
+        }
+        this.contention = new CountMinSketch(depth, width);
+        this.inFlight = new CountMinSketch(depth, width);
+        this.hotThreshold = hotThreshold;
+        this.coldThreshold = coldThreshold;
+        this.maxHotWallets = maxHotWallets;
+        this.waitUnitMillis = waitUnitMillis;
+        this.conflictWeight = conflictWeight;
+        this.promotions = meterRegistry.counter("wallet.adaptive.transitions", "direction", "promote");
+        this.demotions = meterRegistry.counter("wallet.adaptive.transitions", "direction", "demote");
+        this.hotRoutes = meterRegistry.counter("wallet.adaptive.routes", "path", "hot");
+        this.coldRoutes = meterRegistry.counter("wallet.adaptive.routes", "path", "cold");
+        Gauge.builder("wallet.adaptive.hot.wallets", hotWallets, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    /**
+     * 요청 진입 시 이미 처리 중인 같은 지갑 요청 수만큼 경합 점수를 올린다.
+     */
+    public void enter(Long walletId) {
+        long others = inFlight.estimate(walletId);
+        inFlight.add(walletId, 1);
+        if (others > 0) {
+            record(walletId, others);
+        }
+    }
+
+    public void exit(Long walletId) {
+        inFlight.add(walletId, -1);
+    }
+
+    public void recordLockWait(Long walletId, long waitMillis) {
+        long weight = waitMillis / waitUnitMillis;
+        if (weight > 0) {
+            record(walletId, weight);
+        }
+    }
+
+    public void recordConflict(Long walletId) {
+        record(walletId, conflictWeight);
+    }
+
+    public boolean isHot(Long walletId) {
+        if (!hotWallets.containsKey(walletId)) {
+            return false;
+        }
+        if (contention.estimate(walletId) <= coldThreshold) {
+            demote(walletId);
+            return false;
+        }
+        return true;
+    }
+
+    public void recordRoute(boolean hot) {
+        (hot ? hotRoutes : coldRoutes).increment();
+    }
+
+    public long estimate(Long walletId) {
+        return contention.estimate(walletId);
+    }
+
+    public List<Long> hotWallets() {
+        return hotWallets.keySet().stream()
+                .sorted(Comparator.comparingLong(this::estimate).reversed())
+                .toList();
+    }
+
+    public long getHotThreshold() {
+        return hotThreshold;
+    }
+
+    public long getColdThreshold() {
+        return coldThreshold;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.adaptive.decay-interval-ms:10000}")
+    public void decay() {
+        contention.halve();
+        for (Long walletId : hotWallets.keySet()) {
+            if (contention.estimate(walletId) <= coldThreshold) {
+                demote(walletId);
+            }
+        }
+    }
+
+    private void record(Long walletId, long weight) {
+        contention.add(walletId, weight);
+        if (!hotWallets.containsKey(walletId)
+                && hotWallets.size() < maxHotWallets
+                && contention.estimate(walletId) >= hotThreshold
+                && hotWallets.putIfAbsent(walletId, Boolean.TRUE) == null) {
+            promotions.increment();
+        }
+    }
+
+    private void demote(Long walletId) {
+        if (hotWallets.remove(walletId) != null) {
+            demotions.increment();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.walletserver.wallet.admission;
+
+/**
+ * Redis를 사용할 수 없을 때 인스턴스 단위로 근사하는 토큰 버킷.
+ */
+public class LocalTokenBucket {
+
+    private final double capacity;
+    private final double refillPerMillis;
+    private double tokens;
+    private long lastRefillMillis;
+
+    public LocalTokenBucket(long capacity, double refillPerSecond, long nowMillis) {
+        this.capacity = capacity;
+        this.refillPerMillis = refillPerSecond / 1000.0;
+        this.tokens = capacity;
+        this.lastRefillMillis = nowMillis;
+    }
+
+    /**
+     * @return 토큰을 얻었으면 0, 아니면 다음 토큰까지 남은 밀리초
+     */
+    public synchronized long tryAcquire(long nowMillis) {
+        refill(nowMillis);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / refillPerMillis);
+    }
+
+    public synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    private void refill(long nowMillis) {
+        long elapsed = Math.max(0, nowMillis - lastRefillMillis);
+        tokens = Math.min(capacity, tokens + elapsed * refillPerMillis);
+        lastRefillMillis = nowMillis;
+    }
+}
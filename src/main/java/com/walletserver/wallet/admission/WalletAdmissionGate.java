@@ -0,0 +1,157 @@
+package com.walletserver.wallet.admission;
+
+import com.walletserver.wallet.exception.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 락 대기열에 들어가기 전에 지갑별/클라이언트별 토큰 버킷으로 초과 요청을 즉시 거절한다.
+ */
+@Slf4j
+@Component
+public class WalletAdmissionGate {
+
+    private static final String TOKEN_BUCKET_SCRIPT = """
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local function available(key, capacity, rate)
+                local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+                local tokens = tonumber(bucket[1]) or capacity
+                local ts = tonumber(bucket[2]) or now
+                return math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+            end
+            local walletCapacity, walletRate = tonumber(ARGV[1]), tonumber(ARGV[2])
+            local clientCapacity, clientRate = tonumber(ARGV[3]), tonumber(ARGV[4])
+            local walletTokens = available(KEYS[1], walletCapacity, walletRate)
+            local clientTokens = available(KEYS[2], clientCapacity, clientRate)
+            local wait = 0
+            if walletTokens < 1 then
+                wait = math.max(wait, math.ceil((1 - walletTokens) * 1000 / walletRate))
+            end
+            if clientTokens < 1 then
+                wait = math.max(wait, math.ceil((1 - clientTokens) * 1000 / clientRate))
+            end
+            if wait == 0 then
+                walletTokens = walletTokens - 1
+                clientTokens = clientTokens - 1
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(walletTokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            redis.call('HSET', KEYS[2], 'tokens', tostring(clientTokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[2], ARGV[5])
+            return wait
+            """;
+
+    private final RedissonClient redissonClient;
+    private final boolean enabled;
+    private final long walletCapacity;
+    private final double walletRefillPerSecond;
+    private final long clientCapacity;
+    private final double clientRefillPerSecond;
+    private final long redisTimeoutMillis;
+    private final int maxLocalBuckets;
+    private final Map<String, LocalTokenBucket> localBuckets = new ConcurrentHashMap<>();
+
+    public WalletAdmissionGate(
+            RedissonClient redissonClient,
+            @Value("${wallet.admission.enabled:true}") boolean enabled,
+            @Value("${wallet.admission.wallet.capacity:20}") long walletCapacity,
+            @Value("${wallet.admission.wallet.refill-per-second:10}") double walletRefillPerSecond,
+            @Value("${wallet.admission.client.capacity:200}") long clientCapacity,
+            @Value("${wallet.admission.client.refill-per-second:100}") double clientRefillPerSecond,
+            @Value("${wallet.admission.redis-timeout-ms:20}") long redisTimeoutMillis,
+            @Value("${wallet.admission.max-local-buckets:100000}") int maxLocalBuckets
+    ) {
+        this.redissonClient = redissonClient;
+        this.enabled = enabled;
+        this.walletCapacity = walletCapacity;
+        this.walletRefillPerSecond = walletRefillPerSecond;
+        this.clientCapacity = clientCapacity;
+        this.clientRefillPerSecond = clientRefillPerSecond;
+        this.redisTimeoutMillis = redisTimeoutMillis;
+        this.maxLocalBuckets = maxLocalBuckets;
+    }
+
+    public void admit(Long walletId, String clientId) {
+        if (!enabled) {
+            return;
+        }
+        String walletKey = "wallet:admission:wallet:" + walletId;
+        String clientKey = "wallet:admission:client:" + clientId;
+
+        long retryAfterMillis;
+        try {
+            retryAfterMillis = acquireFromRedis(walletKey, clientKey);
+        } catch (Exception e) {
+            // Redis가 느리거나 장애일 때는 락 경로와 마찬가지로 가용성을 우선해 로컬 버킷으로 근사한다.
+            log.debug("Redis 토큰 버킷 사용 불가, 로컬 버킷으로 대체합니다. Error: {}", e.getMessage());
+            retryAfterMillis = acquireLocally(walletKey, clientKey);
+        }
+
+        if (retryAfterMillis > 0) {
+            throw new RateLimitExceededException("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", retryAfterMillis);
+        }
+    }
+
+    /**
+     * 기동 직후 첫 요청이 짧은 Redis 제한 시간(redis-timeout-ms)을 넘겨 로컬 버킷으로 빠지지 않도록,
+     * 준비 완료 전에 스크립트를 Redis에 올리고 연결과 코덱 경로를 한 번 거친다.
+     */
+    public void warmUp() {
+        RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+        script.scriptLoad(TOKEN_BUCKET_SCRIPT);
+        script.eval(RScript.Mode.READ_WRITE, TOKEN_BUCKET_SCRIPT, RScript.ReturnType.INTEGER,
+                List.<Object>of("wallet:admission:warmup:wallet", "wallet:admission:warmup:client"),
+                String.valueOf(walletCapacity), String.valueOf(walletRefillPerSecond),
+                String.valueOf(clientCapacity), String.valueOf(clientRefillPerSecond), "1000");
+    }
+
+    private long acquireFromRedis(String walletKey, String clientKey) throws Exception {
+        long ttlMillis = (long) Math.ceil(Math.max(
+                walletCapacity / walletRefillPerSecond, clientCapacity / clientRefillPerSecond) * 1000) + 1000;
+        RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+        Long wait = script.<Long>evalAsync(
+                        RScript.Mode.READ_WRITE,
+                        TOKEN_BUCKET_SCRIPT,
+                        RScript.ReturnType.INTEGER,
+                        List.<Object>of(walletKey, clientKey),
+                        String.valueOf(walletCapacity),
+                        String.valueOf(walletRefillPerSecond),
+                        String.valueOf(clientCapacity),
+                        String.valueOf(clientRefillPerSecond),
+                        String.valueOf(ttlMillis))
+                .toCompletableFuture()
+                .get(redisTimeoutMillis, TimeUnit.MILLISECONDS);
+        return wait == null ? 0 : wait;
+    }
+
+    private long acquireLocally(String walletKey, String clientKey) {
+        if (localBuckets.size() > maxLocalBuckets) {
+            localBuckets.clear();
+        }
+        long now = System.currentTimeMillis();
+        LocalTokenBucket walletBucket = localBuckets.computeIfAbsent(walletKey,
+                key -> new LocalTokenBucket(walletCapacity, walletRefillPerSecond, now));
+        LocalTokenBucket clientBucket = localBuckets.computeIfAbsent(clientKey,
+                key -> new LocalTokenBucket(clientCapacity, clientRefillPerSecond, now));
+
+        long walletWait = walletBucket.tryAcquire(now);
+        if (walletWait > 0) {
+            return walletWait;
+        }
+        long clientWait = clientBucket.tryAcquire(now);
+        if (clientWait > 0) {
+            walletBucket.refund();
+        }
+        return clientWait;
+    }
+}
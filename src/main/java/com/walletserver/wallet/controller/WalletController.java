@@ -1,30 +1,65 @@
 package com.walletserver.wallet.controller;
 
+import com.walletserver.common.bulkhead.TrafficBulkheads;
+import com.walletserver.common.bulkhead.TrafficClass;
 import com.walletserver.transaction.dto.WithdrawalRequest;
 import com.walletserver.transaction.dto.WithdrawalResponse;
-import com.walletserver.wallet.facade.WalletLockFacade;
+import com.walletserver.velocity.service.VelocityLimitService;
+import com.walletserver.wallet.admission.WalletAdmissionGate;
+import com.walletserver.wallet.drain.WithdrawalDrain;
+import com.walletserver.wallet.facade.WalletWithdrawalEngine;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/wallets")
 @RequiredArgsConstructor
 public class WalletController {
 
-    private final WalletLockFacade walletLockFacade;
+    private final WalletWithdrawalEngine walletWithdrawalEngine;
+    private final WalletAdmissionGate walletAdmissionGate;
+    private final VelocityLimitService velocityLimitService;
+    private final TrafficBulkheads trafficBulkheads;
+    private final WithdrawalDrain withdrawalDrain;
+    private final ObservationRegistry observationRegistry;
 
     @PostMapping("/{walletId}/withdraw")
-    public ResponseEntity<WithdrawalResponse> withdraw(
+    public CompletableFuture<ResponseEntity<WithdrawalResponse>> withdraw(
             @PathVariable Long walletId,
-            @RequestBody @Valid WithdrawalRequest request
+            @RequestHeader(value = "X-Client-Id", required = false) String clientId,
+            @RequestHeader(value = TrafficClass.HEADER, required = false) String trafficClass,
+            @RequestBody @Valid WithdrawalRequest request,
+            HttpServletRequest servletRequest
     ) {
-        WithdrawalResponse response = walletLockFacade.withdraw(walletId, request);
-        return ResponseEntity.ok(response);
+        walletAdmissionGate.admit(walletId, clientId != null ? clientId : servletRequest.getRemoteAddr());
+        TrafficClass bulkhead = TrafficClass.ofWithdrawal(trafficClass);
+        return trafficBulkheads.submit(bulkhead, () -> withdraw(walletId, request, bulkhead));
+    }
+
+    private ResponseEntity<WithdrawalResponse> withdraw(Long walletId, WithdrawalRequest request,
+                                                        TrafficClass bulkhead) {
+        return Observation.createNotStarted("wallet.withdraw", observationRegistry)
+                .lowCardinalityKeyValue("traffic.class", bulkhead.name().toLowerCase())
+                .highCardinalityKeyValue("wallet.id", String.valueOf(walletId))
+                .observe(() -> {
+                    if (request.isBaseCurrency()) {
+                        velocityLimitService.precheck(walletId, request.amount());
+                    }
+                    WithdrawalResponse response = withdrawalDrain.track(
+                            () -> walletWithdrawalEngine.withdraw(walletId, request));
+                    return ResponseEntity.ok(response);
+                });
     }
 }
@@ -0,0 +1,36 @@
+package com.walletserver.wallet.controller;
+
+import com.walletserver.common.bulkhead.TrafficBulkheads;
+import com.walletserver.common.bulkhead.TrafficClass;
+import com.walletserver.wallet.dto.BulkProvisionResponse;
+import com.walletserver.wallet.service.WalletProvisioningService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/admin/wallets")
+@RequiredArgsConstructor
+public class WalletProvisioningController {
+
+    private final WalletProvisioningService walletProvisioningService;
+    private final TrafficBulkheads trafficBulkheads;
+
+    /**
+     * 요청 본문(text/plain, text/csv)을 버퍼링하지 않고 그대로 읽어 적재한다. 한 줄에 초기 잔액 하나.
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/plain", "text/csv"})
+    public CompletableFuture<ResponseEntity<BulkProvisionResponse>> provision(HttpServletRequest request)
+            throws IOException {
+        InputStream body = request.getInputStream();
+        return trafficBulkheads.submit(TrafficClass.BATCH,
+                () -> ResponseEntity.ok(walletProvisioningService.provision(body)));
+    }
+}
@@ -0,0 +1,23 @@
+package com.walletserver.wallet.drain;
+
+/**
+ * 종료 시 드레인 결과.
+ *
+ * @param inFlightAtStart   드레인 시작 시 처리 중이던 출금 수
+ * @param lockWaitersAtStart 드레인 시작 시 공정 락을 기다리던 스레드 수
+ * @param rejected          드레인 중 새로 들어와 거절한 출금 수
+ * @param cancelledWaiters  예산 안에 끝나지 않아 대기를 취소한 스레드 수
+ * @param removedQueueEntries 공정 락 대기열에서 직접 지운 항목 수
+ * @param abandoned         취소 후에도 끝나지 않은 출금 수. 0이 아니면 락 보유 중 종료된 것이다.
+ * @param durationMillis    드레인에 걸린 시간
+ */
+public record DrainReport(
+        int inFlightAtStart,
+        int lockWaitersAtStart,
+        long rejected,
+        int cancelledWaiters,
+        long removedQueueEntries,
+        int abandoned,
+        long durationMillis
+) {
+}
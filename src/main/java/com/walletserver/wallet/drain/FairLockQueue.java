@@ -0,0 +1,54 @@
+package com.walletserver.wallet.drain;
+
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.List;
+
+/**
+ * Redisson 공정 락 대기열에서 이 인스턴스의 대기자를 직접 빼낸다.
+ * <p>
+ * 대기 중인 스레드가 인터럽트되면 Redisson은 대기열 항목을 지우지 않아, 뒤의 대기자가 항목의 만료
+ * (threadWaitTime, 기본 5분)까지 순서를 기다리게 된다. 항목 이름과 키는 RedissonFairLock과 같고,
+ * RedissonFairLock의 획득 실패 처리처럼 뒤 대기자들의 만료 시각을 한 칸씩 당긴다.
+ */
+final class FairLockQueue {
+
+    private static final String REMOVE_WAITER_SCRIPT = """
+            local queue = redis.call('LRANGE', KEYS[1], 0, -1)
+            local position = nil
+            for i = 1, #queue do
+                if queue[i] == ARGV[1] then
+                    position = i
+                    break
+                end
+            end
+            if position == nil then
+                return 0
+            end
+            for i = position + 1, #queue do
+                redis.call('ZINCRBY', KEYS[2], -tonumber(ARGV[2]), queue[i])
+            end
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            redis.call('LREM', KEYS[1], 0, ARGV[1])
+            return 1
+            """;
+
+    private FairLockQueue() {
+    }
+
+    /**
+     * @return 대기열에 항목이 남아 있어 지웠으면 true
+     */
+    static boolean removeWaiter(RedissonClient client, String lockName, long threadId, long threadWaitMillis) {
+        Long removed = client.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE,
+                REMOVE_WAITER_SCRIPT,
+                RScript.ReturnType.INTEGER,
+                List.<Object>of("redisson_lock_queue:{" + lockName + "}", "redisson_lock_timeout:{" + lockName + "}"),
+                client.getId() + ":" + threadId,
+                String.valueOf(threadWaitMillis));
+        return removed != null && removed > 0;
+    }
+}
@@ -0,0 +1,228 @@
+package com.walletserver.wallet.drain;
+
+import com.walletserver.wallet.exception.ServiceDrainingException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 롤링 배포 시 종료 절차. 새 출금을 거절하고, 처리 중인 출금이 예산 안에 끝나기를 기다린 뒤,
+ * 그래도 공정 락을 기다리는 스레드는 취소하고 대기열에서 직접 빼낸다.
+ * <p>
+ * 종료된 인스턴스의 대기자가 공정 락 대기열 앞에 남으면 다른 인스턴스의 같은 지갑 출금이 그 항목이
+ * 만료될 때까지 막히므로, 프로세스가 내려가기 전에 이 인스턴스의 흔적을 지우는 것이 목적이다.
+ */
+@Slf4j
+@Component
+public class WithdrawalDrain implements SmartLifecycle {
+
+    /**
+     * 웹 서버 graceful shutdown(DEFAULT_PHASE - 1024)보다 먼저 멈춰, 요청 수신이 닫히기 전에
+     * 새 출금을 즉시 503으로 돌려보내고 처리 중인 출금부터 비운다.
+     */
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 512;
+
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMillis;
+    private final long cancelGraceMillis;
+    private final long fairLockThreadWaitMillis;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong removedQueueEntries = new AtomicLong();
+    private final Set<LockWaiter> waiters = ConcurrentHashMap.newKeySet();
+    private final Object idle = new Object();
+    private volatile boolean running;
+    private volatile DrainReport lastReport;
+
+    public WithdrawalDrain(
+            MeterRegistry meterRegistry,
+            @Value("${wallet.drain.timeout-ms:10000}") long timeoutMillis,
+            @Value("${wallet.drain.cancel-grace-ms:2000}") long cancelGraceMillis,
+            @Value("${wallet.drain.fair-lock-thread-wait-ms:300000}") long fairLockThreadWaitMillis
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        this.cancelGraceMillis = cancelGraceMillis;
+        this.fairLockThreadWaitMillis = fairLockThreadWaitMillis;
+        meterRegistry.gauge("wallet.withdraw.in-flight", inFlight);
+    }
+
+    /**
+     * 출금 한 건을 처리 중 출금으로 집계하며 실행한다. 드레인 중이면 실행하지 않고 거절한다.
+     */
+    public <T> T track(Supplier<T> withdrawal) {
+        inFlight.incrementAndGet();
+        try {
+            if (draining.get()) {
+                rejected.incrementAndGet();
+                throw new ServiceDrainingException("Instance is shutting down. Retry on another instance.");
+            }
+            return withdrawal.get();
+        } finally {
+            if (inFlight.decrementAndGet() == 0 && draining.get()) {
+                synchronized (idle) {
+                    idle.notifyAll();
+                }
+            }
+        }
+    }
+
+    public boolean isDraining() {
+        return draining.get();
+    }
+
+    public DrainReport lastReport() {
+        return lastReport;
+    }
+
+    /**
+     * 현재 스레드가 공정 락 대기에 들어간다. 대기가 끝나면 반드시 {@link #endWait(LockWaiter)}를 호출해야 한다.
+     */
+    public LockWaiter beginWait(RedissonClient client, String lockName) {
+        LockWaiter waiter = new LockWaiter(Thread.currentThread(), client, lockName);
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    /**
+     * @return 드레인이 대기를 취소했으면 true. 이때 남은 인터럽트 플래그는 지워지며,
+     * 호출자는 잡은 락이 있으면 풀고 {@link #abandon(LockWaiter)}로 대기열을 정리해야 한다.
+     */
+    public boolean endWait(LockWaiter waiter) {
+        waiters.remove(waiter);
+        return waiter.finish();
+    }
+
+    /**
+     * 취소된 대기자의 공정 락 대기열 항목을 지우고 호출자에게 돌려줄 예외를 만든다.
+     */
+    public ServiceDrainingException abandon(LockWaiter waiter) {
+        try {
+            if (FairLockQueue.removeWaiter(waiter.client, waiter.lockName, waiter.threadId, fairLockThreadWaitMillis)) {
+                removedQueueEntries.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            log.warn("공정 락 대기열 정리 실패. lock: {}, Error: {}", waiter.lockName, e.getMessage());
+        }
+        return new ServiceDrainingException("Instance is shutting down. Retry on another instance.");
+    }
+
+    @Override
+    public void start() {
+        draining.set(false);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        long start = System.nanoTime();
+        draining.set(true);
+        int inFlightAtStart = inFlight.get();
+        int waitersAtStart = waiters.size();
+        log.info("출금 드레인 시작. InFlight: {}, LockWaiters: {}, Budget: {}ms",
+                inFlightAtStart, waitersAtStart, timeoutMillis);
+
+        int cancelled = 0;
+        if (!awaitIdle(timeoutMillis)) {
+            for (LockWaiter waiter : waiters) {
+                if (waiter.cancel()) {
+                    cancelled++;
+                }
+            }
+            awaitIdle(cancelGraceMillis);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        DrainReport report = new DrainReport(inFlightAtStart, waitersAtStart, rejected.get(), cancelled,
+                removedQueueEntries.get(), inFlight.get(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        lastReport = report;
+        meterRegistry.timer("wallet.drain.duration").record(elapsed, TimeUnit.NANOSECONDS);
+        if (report.abandoned() > 0) {
+            log.warn("출금 드레인 예산 초과. {}", report);
+        } else {
+            log.info("출금 드레인 완료. {}", report);
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private boolean awaitIdle(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (idle) {
+            while (inFlight.get() > 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    idle.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 공정 락을 기다리는 스레드. 취소(인터럽트)와 대기 종료를 같은 모니터로 묶어, 대기를 마친 스레드에
+     * 뒤늦은 인터럽트가 남지 않게 한다.
+     */
+    public static final class LockWaiter {
+
+        private final Thread thread;
+        private final long threadId;
+        private final RedissonClient client;
+        private final String lockName;
+        private boolean waiting = true;
+        private boolean cancelled;
+
+        private LockWaiter(Thread thread, RedissonClient client, String lockName) {
+            this.thread = thread;
+            this.threadId = thread.getId();
+            this.client = client;
+            this.lockName = lockName;
+        }
+
+        private synchronized boolean cancel() {
+            if (!waiting) {
+                return false;
+            }
+            waiting = false;
+            cancelled = true;
+            thread.interrupt();
+            return true;
+        }
+
+        private synchronized boolean finish() {
+            waiting = false;
+            if (cancelled) {
+                Thread.interrupted();
+            }
+            return cancelled;
+        }
+    }
+}
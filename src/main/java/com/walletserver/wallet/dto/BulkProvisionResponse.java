@@ -0,0 +1,10 @@
+package com.walletserver.wallet.dto;
+
+import java.util.List;
+
+public record BulkProvisionResponse(
+        int created,
+        List<Long> walletIds,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,191 @@
+package com.walletserver.wallet.engine;
+
+import com.walletserver.wallet.entity.WalletEngineCheckpoint;
+import com.walletserver.wallet.repository.WalletEngineCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 디스크에 반영된 저널 엔트리를 배치로 묶어 wallet/transaction_history/wallet_withdrawal_velocity에 비동기 반영한다.
+ * 엔트리에는 출금 후 잔액이 담겨 있으므로 같은 배치를 다시 적용해도 결과가 같다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "single-writer")
+public class JournalApplier {
+
+    static final String CHECKPOINT_NAME = "single-writer";
+
+    /**
+     * 이력이 새로 들어간 경우에만 일/월 출금 누계를 올린다. 같은 엔트리를 다시 적용해도 누계가 두 번 오르지 않는다.
+     */
+    private static final String INSERT_HISTORY = """
+            with inserted as (
+                insert into transaction_history
+                    (transaction_id, wallet_id, type, amount, balance_snapshot, status, created_at)
+                values (?, ?, 'WITHDRAWAL', ?, ?, 'SUCCESS', ?)
+                on conflict (transaction_id) do nothing
+                returning wallet_id, amount, created_at
+            )
+            insert into wallet_withdrawal_velocity (wallet_id, period, period_start, total_amount, updated_at)
+            select wallet_id, p.period, cast(date_trunc(p.field, created_at) as date), amount, now()
+            from inserted cross join (values ('DAY', 'day'), ('MONTH', 'month')) as p(period, field)
+            on conflict (wallet_id, period, period_start) do update
+                set total_amount = wallet_withdrawal_velocity.total_amount + excluded.total_amount,
+                    updated_at = excluded.updated_at
+            """;
+
+    private static final String UPDATE_WALLET = "update wallet set balance = ?, updated_at = ?, version = version + 1 where id = ?";
+
+    private static final String UPSERT_CHECKPOINT = """
+            insert into wallet_engine_checkpoint (name, journal_offset, updated_at)
+            values (?, ?, ?)
+            on conflict (name) do update
+                set journal_offset = excluded.journal_offset, updated_at = excluded.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletEngineCheckpointRepository checkpointRepository;
+    private final int batchSize;
+    private final BlockingQueue<JournalEntry> queue = new LinkedBlockingQueue<>();
+
+    private volatile long appliedOffset;
+    private volatile boolean running;
+    private Thread worker;
+
+    public JournalApplier(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            WalletEngineCheckpointRepository checkpointRepository,
+            @Value("${wallet.engine.applier.batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.batchSize = batchSize;
+    }
+
+    public long loadCheckpoint() {
+        appliedOffset = checkpointRepository.findById(CHECKPOINT_NAME)
+                .map(WalletEngineCheckpoint::getJournalOffset)
+                .orElse(0L);
+        return appliedOffset;
+    }
+
+    public long getAppliedOffset() {
+        return appliedOffset;
+    }
+
+    public void enqueue(JournalEntry entry) {
+        queue.add(entry);
+    }
+
+    /**
+     * 기동 시 체크포인트 이후 저널을 동기적으로 반영해 DB를 최신 상태로 만든다.
+     */
+    public void replay(List<JournalEntry> entries) {
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            apply(entries.subList(from, Math.min(from + batchSize, entries.size())));
+        }
+        if (!entries.isEmpty()) {
+            log.info("Replayed {} journal entries up to offset {}", entries.size(), appliedOffset);
+        }
+    }
+
+    public void start(WalletJournal journal) {
+        running = true;
+        worker = new Thread(() -> runLoop(journal), "wallet-journal-applier");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runLoop(WalletJournal journal) {
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                JournalEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                applyWithRetry(batch);
+                batch.clear();
+                journal.truncateBefore(appliedOffset);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void applyWithRetry(List<JournalEntry> batch) throws InterruptedException {
+        while (true) {
+            try {
+                apply(batch);
+                return;
+            } catch (RuntimeException e) {
+                // 저널에 남아 있으므로 유실되지 않는다. DB가 돌아올 때까지 같은 배치를 재시도한다.
+                log.error("Failed to apply journal batch. Retrying. Error: {}", e.getMessage());
+                TimeUnit.SECONDS.sleep(1);
+            }
+        }
+    }
+
+    private void apply(List<JournalEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, JournalEntry> latestByWallet = new LinkedHashMap<>();
+        List<Object[]> historyRows = new ArrayList<>(batch.size());
+        for (JournalEntry entry : batch) {
+            latestByWallet.put(entry.walletId(), entry);
+            historyRows.add(new Object[]{
+                    entry.transactionId(),
+                    entry.walletId(),
+                    entry.amount(),
+                    entry.balanceAfter(),
+                    new Timestamp(entry.createdAtMillis())});
+        }
+        List<Object[]> walletRows = new ArrayList<>(latestByWallet.size());
+        for (JournalEntry entry : latestByWallet.values()) {
+            BigDecimal balance = entry.balanceAfter();
+            walletRows.add(new Object[]{balance, new Timestamp(entry.createdAtMillis()), entry.walletId()});
+        }
+        long lastOffset = batch.get(batch.size() - 1).offset();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_HISTORY, historyRows);
+            jdbcTemplate.batchUpdate(UPDATE_WALLET, walletRows);
+            jdbcTemplate.update(UPSERT_CHECKPOINT, CHECKPOINT_NAME, lastOffset,
+                    new Timestamp(System.currentTimeMillis()));
+        });
+        appliedOffset = lastOffset;
+    }
+}
@@ -0,0 +1,17 @@
+package com.walletserver.wallet.engine;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * @param offset 이 엔트리 바로 다음 위치의 논리 오프셋. 체크포인트에 그대로 저장된다.
+ */
+public record JournalEntry(
+        long offset,
+        long walletId,
+        UUID transactionId,
+        BigDecimal amount,
+        BigDecimal balanceAfter,
+        long createdAtMillis
+) {
+}
@@ -0,0 +1,163 @@
+package com.walletserver.wallet.engine;
+
+import com.walletserver.profiling.event.IdempotencyReplayEvent;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.transaction.entity.TransactionHistory;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.velocity.service.VelocityLimitService;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.exception.InsufficientBalanceException;
+import com.walletserver.wallet.exception.LockAcquisitionException;
+import com.walletserver.wallet.facade.WalletWithdrawalEngine;
+import com.walletserver.wallet.repository.WalletRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 지갑마다 하나의 파티션 스레드가 잔액을 소유하는 출금 엔진.
+ * 출금은 메모리에서 적용되고 저널 fsync 후 응답하며, PostgreSQL에는 {@link JournalApplier}가 비동기로 반영한다.
+ * 이 모드에서는 다른 경로가 wallet 테이블을 갱신하지 않는다고 가정한다.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "single-writer")
+public class SingleWriterWalletEngine implements WalletWithdrawalEngine {
+
+    private final WalletRepository walletRepository;
+    private final TransactionHistoryRepository historyRepository;
+    private final JournalApplier journalApplier;
+    private final VelocityLimitService velocityLimitService;
+    private final Path journalDirectory;
+    private final int segmentSize;
+    private final long flushLingerMicros;
+    private final int partitionCount;
+    private final int queueCapacity;
+    private final int maxRecentTransactions;
+    private final int maxWalletsPerPartition;
+    private final long ackTimeoutMillis;
+
+    private WalletJournal journal;
+    private WalletPartition[] partitions;
+
+    public SingleWriterWalletEngine(
+            WalletRepository walletRepository,
+            TransactionHistoryRepository historyRepository,
+            JournalApplier journalApplier,
+            VelocityLimitService velocityLimitService,
+            @Value("${wallet.engine.journal.directory:./data/journal}") String journalDirectory,
+            @Value("${wallet.engine.journal.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${wallet.engine.journal.flush-linger-micros:200}") long flushLingerMicros,
+            @Value("${wallet.engine.partitions:8}") int partitionCount,
+            @Value("${wallet.engine.queue-capacity:10000}") int queueCapacity,
+            @Value("${wallet.engine.recent-transactions-per-partition:100000}") int maxRecentTransactions,
+            @Value("${wallet.engine.wallets-per-partition:100000}") int maxWalletsPerPartition,
+            @Value("${wallet.engine.ack-timeout-ms:3000}") long ackTimeoutMillis
+    ) {
+        this.walletRepository = walletRepository;
+        this.historyRepository = historyRepository;
+        this.journalApplier = journalApplier;
+        this.velocityLimitService = velocityLimitService;
+        this.journalDirectory = Path.of(journalDirectory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.flushLingerMicros = flushLingerMicros;
+        this.partitionCount = partitionCount;
+        this.queueCapacity = queueCapacity;
+        this.maxRecentTransactions = maxRecentTransactions;
+        this.maxWalletsPerPartition = maxWalletsPerPartition;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+    }
+
+    /**
+     * 마지막 DB 체크포인트 이후의 저널을 먼저 DB에 반영한 뒤 파티션을 연다.
+     * 이후 지갑 상태는 최초 접근 시 DB에서 읽어오므로 항상 저널과 일치한다.
+     */
+    @PostConstruct
+    void start() throws IOException {
+        long checkpoint = journalApplier.loadCheckpoint();
+        journal = new WalletJournal(journalDirectory, segmentSize, flushLingerMicros, journalApplier::enqueue);
+        List<JournalEntry> unapplied = journal.open(checkpoint);
+        journalApplier.replay(unapplied);
+        journalApplier.start(journal);
+
+        partitions = new WalletPartition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new WalletPartition(i, queueCapacity, walletRepository, historyRepository, journal,
+                    journalApplier::getAppliedOffset, velocityLimitService, maxRecentTransactions,
+                    maxWalletsPerPartition);
+            partitions[i].start();
+        }
+        log.info("Single-writer wallet engine started. partitions: {}, checkpoint: {}", partitionCount, checkpoint);
+    }
+
+    @Override
+    public WithdrawalResponse withdraw(Long walletId, WithdrawalRequest req) {
+        // 파티션은 wallet.balance만 메모리에 올리므로 다른 통화 잔액은 다루지 않는다.
+        if (!req.isBaseCurrency()) {
+            throw new IllegalArgumentException("Single-writer mode supports only " + Wallet.BASE_CURRENCY);
+        }
+        long checkedAtOffset = journalApplier.getAppliedOffset();
+        Optional<TransactionHistory> existing = historyRepository.findByTransactionId(req.transactionId());
+        if (existing.isPresent()) {
+            return replayOf(existing.get());
+        }
+
+        CompletableFuture<WithdrawalResponse> result = new CompletableFuture<>();
+        WalletPartition partition = partitions[Math.floorMod(Long.hashCode(walletId), partitionCount)];
+        if (!partition.offer(new WalletPartition.Command(walletId, req, checkedAtOffset, result))) {
+            throw new LockAcquisitionException("잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return result.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // 처리 여부가 불확실하므로 같은 transactionId로 재시도하도록 안내한다.
+            throw new LockAcquisitionException("잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Server Interrupted");
+        }
+    }
+
+    /**
+     * 락 모드의 WalletService와 같은 재응답 규칙. 잔액 부족으로 실패한 거래는 같은 예외로 다시 거절한다.
+     */
+    static WithdrawalResponse replayOf(TransactionHistory history) {
+        new IdempotencyReplayEvent().complete(history.getWalletId(), history.getTransactionId(),
+                history.getStatus().name());
+        if (history.getStatus() == TransactionStatus.FAILED) {
+            throw new InsufficientBalanceException(history.getFailureReason());
+        }
+        return WithdrawalResponse.from(history);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        for (WalletPartition partition : partitions) {
+            partition.stop();
+        }
+        journal.close();
+        journalApplier.stop();
+    }
+}
@@ -0,0 +1,362 @@
+package com.walletserver.wallet.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 고정 크기 세그먼트를 메모리 매핑한 append-only 출금 저널.
+ * 세그먼트 i는 논리 오프셋 [i * segmentSize, (i + 1) * segmentSize)를 담당하며,
+ * 각 레코드는 [payload 길이][CRC32][payload] 형식이다.
+ * fsync는 전용 스레드가 모아서 수행하고, 디스크에 반영된 순서대로 리스너에 전달한 뒤 append 결과를 완료한다.
+ */
+@Slf4j
+public class WalletJournal implements Closeable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long lingerNanos;
+    private final Consumer<JournalEntry> durableListener;
+    private final Deque<PendingAppend> pending = new ArrayDeque<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentBase;
+    private long writeOffset;
+    private volatile long durableOffset;
+    private volatile RuntimeException failure;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public WalletJournal(Path directory, int segmentSize, long lingerMicros, Consumer<JournalEntry> durableListener) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+        this.durableListener = durableListener;
+    }
+
+    public record JournalAppend(JournalEntry entry, CompletableFuture<JournalEntry> durable) {
+    }
+
+    private record PendingAppend(JournalEntry entry, CompletableFuture<JournalEntry> durable) {
+    }
+
+    /**
+     * fromOffset 이후의 유효한 엔트리를 모두 읽고, 마지막 유효 엔트리 뒤에서 쓰기를 시작한다.
+     * 중간에 잘린 레코드(CRC 불일치)는 확인 응답을 받지 못한 쓰기이므로 버린다.
+     */
+    public synchronized List<JournalEntry> open(long fromOffset) throws IOException {
+        Files.createDirectories(directory);
+        List<JournalEntry> entries = new ArrayList<>();
+
+        long offset = fromOffset;
+        while (true) {
+            long base = baseOf(offset);
+            if (!Files.exists(segmentPath(base))) {
+                break;
+            }
+            mapSegment(base);
+            int position = (int) (offset - base);
+            JournalEntry entry;
+            while ((entry = readEntry(position)) != null) {
+                entries.add(entry);
+                position = (int) (entry.offset() - base);
+            }
+            offset = base + position;
+
+            long nextBase = base + segmentSize;
+            if (!Files.exists(segmentPath(nextBase))) {
+                break;
+            }
+            offset = nextBase;
+        }
+
+        if (segment == null || segmentBase != baseOf(offset)) {
+            mapSegment(baseOf(offset));
+        }
+        writeOffset = offset;
+        durableOffset = offset;
+        clearTail((int) (offset - segmentBase));
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "wallet-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Wallet journal opened. fromOffset: {}, replay entries: {}, writeOffset: {}",
+                fromOffset, entries.size(), writeOffset);
+        return entries;
+    }
+
+    public synchronized JournalAppend append(long walletId, UUID transactionId, BigDecimal amount,
+                                             BigDecimal balanceAfter, long createdAtMillis) {
+        if (failure != null) {
+            throw new IllegalStateException("Wallet journal is unavailable", failure);
+        }
+        byte[] payload = encode(walletId, transactionId, amount, balanceAfter, createdAtMillis);
+        int recordSize = HEADER_BYTES + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Journal record exceeds segment size");
+        }
+
+        int position = (int) (writeOffset - segmentBase);
+        if (position + recordSize > segmentSize) {
+            roll();
+            position = 0;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        segment.putInt(position, payload.length);
+        segment.putInt(position + 4, (int) crc.getValue());
+        segment.put(position + HEADER_BYTES, payload);
+        writeOffset = segmentBase + position + recordSize;
+
+        JournalEntry entry = new JournalEntry(writeOffset, walletId, transactionId, amount, balanceAfter,
+                createdAtMillis);
+        CompletableFuture<JournalEntry> durable = new CompletableFuture<>();
+        pending.addLast(new PendingAppend(entry, durable));
+        notifyAll();
+        return new JournalAppend(entry, durable);
+    }
+
+    public long getDurableOffset() {
+        return durableOffset;
+    }
+
+    /**
+     * offset 이전 데이터만 담은 세그먼트 파일을 삭제한다. DB 체크포인트가 전진한 뒤에 호출한다.
+     */
+    public void truncateBefore(long offset) {
+        long activeBase;
+        synchronized (this) {
+            activeBase = segmentBase;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(this::isSegment)
+                    .filter(path -> {
+                        long base = baseOf(path);
+                        return base != activeBase && base + segmentSize <= offset;
+                    })
+                    .forEach(path -> {
+                        try {
+                            Files.deleteIfExists(path);
+                        } catch (IOException e) {
+                            log.warn("Failed to delete journal segment {}. Error: {}", path, e.getMessage());
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Failed to list journal segments. Error: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            synchronized (this) {
+                while (running && pending.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (!running && pending.isEmpty()) {
+                    return;
+                }
+            }
+
+            // 짧게 기다려 동시에 들어온 append를 하나의 fsync로 묶는다.
+            if (lingerNanos > 0) {
+                LockSupport.parkNanos(lingerNanos);
+            }
+
+            long target;
+            MappedByteBuffer buffer;
+            synchronized (this) {
+                target = writeOffset;
+                buffer = segment;
+            }
+
+            List<PendingAppend> completed = new ArrayList<>();
+            try {
+                buffer.force();
+            } catch (UncheckedIOException e) {
+                fail(e);
+                return;
+            }
+            durableOffset = target;
+
+            synchronized (this) {
+                while (!pending.isEmpty() && pending.peekFirst().entry().offset() <= target) {
+                    completed.add(pending.pollFirst());
+                }
+            }
+            for (PendingAppend append : completed) {
+                durableListener.accept(append.entry());
+                append.durable().complete(append.entry());
+            }
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        log.error("Wallet journal fsync failed. Rejecting further appends. Error: {}", e.getMessage());
+        List<PendingAppend> failed;
+        synchronized (this) {
+            failure = e;
+            failed = new ArrayList<>(pending);
+            pending.clear();
+        }
+        failed.forEach(append -> append.durable().completeExceptionally(e));
+    }
+
+    private void roll() {
+        // 이전 세그먼트를 먼저 디스크에 내려야 플러셔가 새 세그먼트만 force해도 순서가 보장된다.
+        segment.force();
+        try {
+            mapSegment(segmentBase + segmentSize);
+        } catch (IOException e) {
+            UncheckedIOException failureCause = new UncheckedIOException(e);
+            failure = failureCause;
+            throw failureCause;
+        }
+        writeOffset = segmentBase;
+    }
+
+    private void mapSegment(long base) throws IOException {
+        if (channel != null && channel.isOpen()) {
+            channel.close();
+        }
+        channel = FileChannel.open(segmentPath(base),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentBase = base;
+    }
+
+    private void clearTail(int position) {
+        for (int i = position; i < segmentSize; i++) {
+            if (segment.get(i) != 0) {
+                segment.put(i, (byte) 0);
+            }
+        }
+        segment.force();
+    }
+
+    private JournalEntry readEntry(int position) {
+        if (position + HEADER_BYTES > segmentSize) {
+            return null;
+        }
+        int length = segment.getInt(position);
+        if (length <= 0 || position + HEADER_BYTES + length > segmentSize) {
+            return null;
+        }
+        int checksum = segment.getInt(position + 4);
+        byte[] payload = new byte[length];
+        segment.get(position + HEADER_BYTES, payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            log.warn("Discarding torn journal record at offset {}", segmentBase + position);
+            return null;
+        }
+        return decode(segmentBase + position + HEADER_BYTES + length, payload);
+    }
+
+    private static byte[] encode(long walletId, UUID transactionId, BigDecimal amount, BigDecimal balanceAfter,
+                                 long createdAtMillis) {
+        byte[] amountBytes = amount.unscaledValue().toByteArray();
+        byte[] balanceBytes = balanceAfter.unscaledValue().toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(32 + 8 + amountBytes.length + 8 + balanceBytes.length);
+        buffer.putLong(walletId)
+                .putLong(transactionId.getMostSignificantBits())
+                .putLong(transactionId.getLeastSignificantBits())
+                .putLong(createdAtMillis);
+        putDecimal(buffer, amount.scale(), amountBytes);
+        putDecimal(buffer, balanceAfter.scale(), balanceBytes);
+        return buffer.array();
+    }
+
+    private static JournalEntry decode(long offset, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        long walletId = buffer.getLong();
+        UUID transactionId = new UUID(buffer.getLong(), buffer.getLong());
+        long createdAtMillis = buffer.getLong();
+        BigDecimal amount = getDecimal(buffer);
+        BigDecimal balanceAfter = getDecimal(buffer);
+        return new JournalEntry(offset, walletId, transactionId, amount, balanceAfter, createdAtMillis);
+    }
+
+    private static void putDecimal(ByteBuffer buffer, int scale, byte[] unscaled) {
+        buffer.putInt(scale).putInt(unscaled.length).put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[buffer.getInt()];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private long baseOf(long offset) {
+        return Math.floorDiv(offset, segmentSize) * (long) segmentSize;
+    }
+
+    private long baseOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, base, SEGMENT_SUFFIX));
+    }
+}
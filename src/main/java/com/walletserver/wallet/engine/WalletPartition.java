@@ -0,0 +1,283 @@
+package com.walletserver.wallet.engine;
+
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.velocity.entity.WithdrawalVelocity.Period;
+import com.walletserver.velocity.service.VelocityLimitService;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.exception.InsufficientBalanceException;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import com.walletserver.wallet.repository.WalletRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 담당 지갑의 잔액을 단일 스레드에서만 변경하는 파티션. 락 없이 큐 순서대로 출금을 처리한다.
+ */
+@Slf4j
+class WalletPartition {
+
+    record Command(
+            Long walletId,
+            WithdrawalRequest request,
+            long checkedAtOffset,
+            CompletableFuture<WithdrawalResponse> result
+    ) {
+    }
+
+    private record RecentTransaction(UUID transactionId, long offset) {
+    }
+
+    private record FailedAppend(Long walletId, UUID transactionId) {
+    }
+
+    private record VelocityTotal(LocalDate periodStart, BigDecimal amount) {
+    }
+
+    private static final class ResidentWallet {
+
+        private final Wallet wallet;
+        private final Map<Period, VelocityTotal> velocity = new EnumMap<>(Period.class);
+        private long lastOffset = -1;
+
+        private ResidentWallet(Wallet wallet) {
+            this.wallet = wallet;
+        }
+    }
+
+    private final int index;
+    private final BlockingQueue<Command> queue;
+    private final WalletRepository walletRepository;
+    private final TransactionHistoryRepository historyRepository;
+    private final WalletJournal journal;
+    private final LongSupplier appliedOffset;
+    private final VelocityLimitService velocityLimitService;
+    private final int maxRecentTransactions;
+    private final int maxWallets;
+
+    // 접근 순서로 정렬해 오래 쓰이지 않은 지갑부터 내보낸다.
+    private final Map<Long, ResidentWallet> wallets = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, WithdrawalResponse> recentResponses = new HashMap<>();
+    private final Deque<RecentTransaction> recentOrder = new ArrayDeque<>();
+    private long evictedUpToOffset;
+    // fsync 실패는 플러셔 스레드에서 알려지므로 파티션 스레드가 꺼내 되돌린다.
+    private final Queue<FailedAppend> failedAppends = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    WalletPartition(int index, int queueCapacity, WalletRepository walletRepository,
+                    TransactionHistoryRepository historyRepository, WalletJournal journal,
+                    LongSupplier appliedOffset, VelocityLimitService velocityLimitService,
+                    int maxRecentTransactions, int maxWallets) {
+        this.index = index;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.walletRepository = walletRepository;
+        this.historyRepository = historyRepository;
+        this.journal = journal;
+        this.appliedOffset = appliedOffset;
+        this.velocityLimitService = velocityLimitService;
+        this.maxRecentTransactions = maxRecentTransactions;
+        this.maxWallets = maxWallets;
+    }
+
+    void start() {
+        running = true;
+        thread = new Thread(this::runLoop, "wallet-partition-" + index);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    boolean offer(Command command) {
+        return running && queue.offer(command);
+    }
+
+    private void runLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Command command = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (command != null) {
+                    handle(command);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void handle(Command command) {
+        WithdrawalRequest req = command.request();
+        try {
+            rollBackFailedAppends();
+            WithdrawalResponse replay = findProcessed(req.transactionId(), command.checkedAtOffset());
+            if (replay != null) {
+                command.result().complete(replay);
+                return;
+            }
+
+            ResidentWallet resident = wallets.get(command.walletId());
+            if (resident == null) {
+                Wallet loaded = walletRepository.findById(command.walletId())
+                        .orElseThrow(() -> new WalletNotFoundException(command.walletId()));
+                evictIdleWallets();
+                resident = new ResidentWallet(loaded);
+                wallets.put(command.walletId(), resident);
+            }
+            Wallet wallet = resident.wallet;
+
+            // 저널에 먼저 기록하고, 기록이 받아들여진 뒤에만 메모리 잔액과 응답 캐시를 바꾼다.
+            BigDecimal balanceAfter = balanceAfter(wallet, req.amount());
+            long now = System.currentTimeMillis();
+            Map<Period, VelocityTotal> velocityAfter = velocityAfter(command.walletId(), resident, req.amount(), now);
+            WalletJournal.JournalAppend append = journal.append(command.walletId(), req.transactionId(),
+                    req.amount(), balanceAfter, now);
+            wallet.decreaseBalance(req.amount());
+            resident.velocity.putAll(velocityAfter);
+            resident.lastOffset = append.entry().offset();
+            WithdrawalResponse response = new WithdrawalResponse(req.transactionId(), req.amount(),
+                    balanceAfter, TransactionStatus.SUCCESS.name());
+            remember(req.transactionId(), response, append.entry().offset());
+
+            // 저널이 디스크에 반영된 뒤에만 응답한다. 파티션 스레드는 fsync를 기다리지 않고 다음 명령을 처리한다.
+            append.durable().whenComplete((entry, error) -> {
+                if (error != null) {
+                    failedAppends.add(new FailedAppend(command.walletId(), req.transactionId()));
+                    command.result().completeExceptionally(error);
+                } else {
+                    command.result().complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            command.result().completeExceptionally(e);
+        }
+    }
+
+    private static BigDecimal balanceAfter(Wallet wallet, BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive");
+        }
+        BigDecimal next = wallet.getBalance().subtract(amount);
+        if (next.signum() < 0) {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
+        return next;
+    }
+
+    /**
+     * 출금 후 기간 누계를 계산하고 한도를 검사한다. 누계는 지갑과 함께 메모리에 두며, 처음 쓸 때 DB에서 읽는다.
+     * 지갑은 마지막 출금까지 DB에 반영된 뒤에만 내보내므로 다시 읽은 DB 누계도 저널과 일치한다.
+     * 기간은 저널 엔트리의 시각으로 나누어 JournalApplier가 올리는 DB 누계와 같은 기간에 쌓인다.
+     */
+    private Map<Period, VelocityTotal> velocityAfter(Long walletId, ResidentWallet resident, BigDecimal amount,
+                                                     long nowMillis) {
+        if (!velocityLimitService.isEnabled()) {
+            return Map.of();
+        }
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(nowMillis), ZoneId.systemDefault());
+        Map<Period, VelocityTotal> after = new EnumMap<>(Period.class);
+        for (Period period : Period.values()) {
+            LocalDate periodStart = period.startOf(today);
+            VelocityTotal current = resident.velocity.get(period);
+            BigDecimal total;
+            if (current == null) {
+                total = velocityLimitService.recordedTotal(walletId, period, periodStart);
+            } else if (current.periodStart().equals(periodStart)) {
+                total = current.amount();
+            } else {
+                total = BigDecimal.ZERO;
+            }
+            BigDecimal next = total.add(amount);
+            velocityLimitService.checkWithinLimit(period, next);
+            after.put(period, new VelocityTotal(periodStart, next));
+        }
+        return after;
+    }
+
+    /**
+     * fsync에 실패한 출금의 캐시된 응답을 지우고 지갑을 내보낸다. 실패한 저널은 이후 append를 모두 거절하므로
+     * 메모리 잔액에 남은 차감은 디스크에 남지 않는다. 지갑은 다음 접근 때 DB에서 다시 읽는다.
+     */
+    private void rollBackFailedAppends() {
+        FailedAppend failed;
+        while ((failed = failedAppends.poll()) != null) {
+            recentResponses.remove(failed.transactionId());
+            wallets.remove(failed.walletId());
+        }
+    }
+
+    private WithdrawalResponse findProcessed(UUID transactionId, long checkedAtOffset) {
+        WithdrawalResponse recent = recentResponses.get(transactionId);
+        if (recent != null) {
+            return recent;
+        }
+        // 호출 스레드가 DB를 조회한 이후 메모리에서 밀려난 거래가 있을 수 있으면 DB를 다시 확인한다.
+        if (evictedUpToOffset > checkedAtOffset) {
+            return historyRepository.findByTransactionId(transactionId)
+                    .map(SingleWriterWalletEngine::replayOf)
+                    .orElse(null);
+        }
+        return null;
+    }
+
+    private void remember(UUID transactionId, WithdrawalResponse response, long offset) {
+        recentResponses.put(transactionId, response);
+        recentOrder.addLast(new RecentTransaction(transactionId, offset));
+
+        // DB 반영이 끝난 거래만 밀어낸다. 그래야 호출 스레드의 DB 조회로 중복을 잡을 수 있다.
+        long applied = appliedOffset.getAsLong();
+        while (recentOrder.size() > maxRecentTransactions && recentOrder.peekFirst().offset() <= applied) {
+            RecentTransaction evicted = recentOrder.pollFirst();
+            recentResponses.remove(evicted.transactionId());
+            evictedUpToOffset = Math.max(evictedUpToOffset, evicted.offset());
+        }
+    }
+
+    /**
+     * 새 지갑을 올리기 전에 자리를 만든다. 다시 접근하면 DB에서 읽으므로 마지막 출금까지 DB에 반영된 지갑만 내보낸다.
+     * 반영이 밀려 내보낼 지갑이 없으면 잠시 상한을 넘긴다.
+     */
+    private void evictIdleWallets() {
+        if (wallets.size() < maxWallets) {
+            return;
+        }
+        long applied = appliedOffset.getAsLong();
+        Iterator<ResidentWallet> eldest = wallets.values().iterator();
+        while (wallets.size() >= maxWallets && eldest.hasNext()) {
+            if (eldest.next().lastOffset <= applied) {
+                eldest.remove();
+            }
+        }
+    }
+}
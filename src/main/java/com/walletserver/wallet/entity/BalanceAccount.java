@@ -0,0 +1,13 @@
+package com.walletserver.wallet.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * 출금 대상 잔액. 기준 통화는 Wallet, 그 밖의 통화는 WalletBalance가 가진다.
+ */
+public interface BalanceAccount {
+
+    BigDecimal getBalance();
+
+    void decreaseBalance(BigDecimal amount);
+}
@@ -1,5 +1,6 @@
 package com.walletserver.wallet.entity;
 
+import com.walletserver.wallet.exception.InsufficientBalanceException;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -8,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -15,6 +17,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Getter
 @Builder
@@ -22,7 +25,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "wallet")
-public class Wallet {
+public class Wallet implements BalanceAccount {
+
+    /**
+     * wallet.balance의 통화. 다른 통화의 잔액은 wallet_balance에 통화별로 둔다.
+     */
+    public static final String BASE_CURRENCY = "KRW";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,6 +42,20 @@ public class Wallet {
     @Builder.Default
     private BigDecimal balance = BigDecimal.ZERO;
 
+    /**
+     * 승인 보류(hold)로 묶인 금액. balance는 출금 가능한 잔액이며 보류 금액은 포함하지 않는다.
+     */
+    @Column(name = "held_balance", nullable = false, precision = 19, scale = 2)
+    @ColumnDefault("0")
+    @PositiveOrZero
+    @Builder.Default
+    private BigDecimal heldBalance = BigDecimal.ZERO;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -51,14 +73,37 @@ public class Wallet {
         this.updatedAt = LocalDateTime.now();
     }
 
+    @Override
     public void decreaseBalance(BigDecimal amount) {
         if (amount == null || amount.signum() <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
         BigDecimal next = this.balance.subtract(amount);
         if (next.signum() < 0) {
-            throw new IllegalArgumentException("Insufficient balance");
+            throw new InsufficientBalanceException("Insufficient balance");
         }
         this.balance = next;
     }
+
+    public void placeHold(BigDecimal amount) {
+        decreaseBalance(amount);
+        this.heldBalance = this.heldBalance.add(amount);
+    }
+
+    public void captureHold(BigDecimal amount) {
+        this.heldBalance = subtractHeld(amount);
+    }
+
+    public void releaseHold(BigDecimal amount) {
+        this.heldBalance = subtractHeld(amount);
+        this.balance = this.balance.add(amount);
+    }
+
+    private BigDecimal subtractHeld(BigDecimal amount) {
+        BigDecimal next = this.heldBalance.subtract(amount);
+        if (next.signum() < 0) {
+            throw new IllegalStateException("Held balance cannot be negative");
+        }
+        return next;
+    }
 }
@@ -0,0 +1,69 @@
+package com.walletserver.wallet.entity;
+
+import com.walletserver.wallet.exception.InsufficientBalanceException;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+
+/**
+ * 기준 통화가 아닌 통화의 잔액. 해당 통화를 쓰는 지갑에만 행이 생기며 지갑+통화 단위로 잠근다.
+ */
+@Entity
+@Getter
+@Table(name = "wallet_balance",
+        uniqueConstraints = @UniqueConstraint(name = "uk_wallet_balance_wallet_currency",
+                columnNames = {"wallet_id", "currency"}))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WalletBalance implements BalanceAccount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private Long walletId;
+
+    @Column(nullable = false, length = 3, updatable = false)
+    private String currency;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @PositiveOrZero
+    private BigDecimal balance;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @Builder
+    public WalletBalance(Long walletId, String currency, BigDecimal balance) {
+        this.walletId = walletId;
+        this.currency = currency;
+        this.balance = balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    @Override
+    public void decreaseBalance(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive");
+        }
+        BigDecimal next = this.balance.subtract(amount);
+        if (next.signum() < 0) {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
+        this.balance = next;
+    }
+}
@@ -0,0 +1,32 @@
+package com.walletserver.wallet.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 단일 writer 엔진 저널 중 PostgreSQL에 반영이 끝난 위치.
+ * 반영 배치와 같은 트랜잭션에서 갱신되므로 재시작 시 이 위치부터 저널을 재생하면 된다.
+ */
+@Entity
+@Getter
+@Table(name = "wallet_engine_checkpoint")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WalletEngineCheckpoint {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private Long journalOffset;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
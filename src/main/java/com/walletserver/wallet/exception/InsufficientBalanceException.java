@@ -0,0 +1,10 @@
+package com.walletserver.wallet.exception;
+
+/**
+ * 기존 응답 규약(400 BAD_REQUEST)을 유지하기 위해 IllegalArgumentException을 상속한다.
+ */
+public class InsufficientBalanceException extends IllegalArgumentException {
+    public InsufficientBalanceException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.walletserver.wallet.exception;
+
+/**
+ * 배포 중 종료 절차에 들어간 인스턴스가 출금을 받지 않을 때. 다른 인스턴스로 재시도하면 된다.
+ */
+public class ServiceDrainingException extends RuntimeException {
+    public ServiceDrainingException(String message) {
+        super(message);
+    }
+}
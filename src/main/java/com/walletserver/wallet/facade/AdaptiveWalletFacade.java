@@ -0,0 +1,66 @@
+package com.walletserver.wallet.facade;
+
+import com.walletserver.common.deadline.RequestDeadline;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.wallet.adaptive.WalletContentionTracker;
+import com.walletserver.wallet.membership.WalletMembership;
+import com.walletserver.wallet.service.WalletService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 지갑별 관측 경합에 따라 경로를 고른다. COLD 지갑은 Redis 왕복 없이 {@code @Version} 검사만으로 출금하고,
+ * HOT 지갑은 공정 락(WalletLockFacade)으로 직렬화해 충돌-재시도 폭주를 막는다.
+ */
+@Slf4j
+@Primary
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "adaptive")
+public class AdaptiveWalletFacade implements WalletWithdrawalEngine {
+
+    private final WalletService walletService;
+    private final WalletLockFacade walletLockFacade;
+    private final WalletContentionTracker contentionTracker;
+    private final WalletMembership walletMembership;
+
+    @Override
+    public WithdrawalResponse withdraw(Long walletId, WithdrawalRequest req) {
+        // COLD 경로는 락 경로를 거치지 않으므로 없는 지갑과 마감 초과를 여기서 먼저 거절한다.
+        walletMembership.requireKnown(walletId);
+        RequestDeadline.check("adaptive");
+        contentionTracker.enter(walletId);
+        try {
+            boolean hot = contentionTracker.isHot(walletId);
+            contentionTracker.recordRoute(hot);
+            if (!hot) {
+                try {
+                    return walletService.withdraw(walletId, req, false);
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    contentionTracker.recordConflict(walletId);
+                }
+            }
+            return withdrawSerialized(walletId, req);
+        } finally {
+            contentionTracker.exit(walletId);
+        }
+    }
+
+    /**
+     * 경로 전환 직후에는 COLD 경로 요청과 겹쳐 버전 충돌이 날 수 있으므로 DB 행 잠금으로 마무리한다.
+     */
+    private WithdrawalResponse withdrawSerialized(Long walletId, WithdrawalRequest req) {
+        try {
+            return walletLockFacade.withdraw(walletId, req);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            contentionTracker.recordConflict(walletId);
+            log.debug("Version conflict on serialized path for wallet {}. Retrying with DB lock.", walletId);
+            return walletService.withdraw(walletId, req, true);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.walletserver.wallet.facade;
+
+import com.walletserver.common.deadline.RequestDeadline;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.wallet.membership.WalletMembership;
+import com.walletserver.wallet.service.WalletService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분산 락 없이 {@code Wallet.version}으로 충돌을 감지하는 출금 경로.
+ * 경합이 거의 없는 지갑은 Redis 왕복 없이 처리되고, 재시도가 소진되면 락 경로로 넘긴다.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "optimistic")
+public class OptimisticWalletFacade implements WalletWithdrawalEngine {
+
+    private final WalletService walletService;
+    private final WalletLockFacade walletLockFacade;
+    private final WalletMembership walletMembership;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticWalletFacade(
+            WalletService walletService,
+            WalletLockFacade walletLockFacade,
+            WalletMembership walletMembership,
+            @Value("${wallet.optimistic.max-attempts:3}") int maxAttempts,
+            @Value("${wallet.optimistic.backoff-ms:5}") long backoffMillis
+    ) {
+        this.walletService = walletService;
+        this.walletLockFacade = walletLockFacade;
+        this.walletMembership = walletMembership;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    @Override
+    public WithdrawalResponse withdraw(Long walletId, WithdrawalRequest req) {
+        walletMembership.requireKnown(walletId);
+        RequestDeadline.check("optimistic");
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                return walletService.withdraw(walletId, req, false);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt == maxAttempts) {
+                    break;
+                }
+                sleepWithJitter(attempt);
+                RequestDeadline.check("optimistic-retry");
+            }
+        }
+        log.debug("Optimistic retries exhausted for wallet {}. Escalating to lock path.", walletId);
+        return walletLockFacade.withdraw(walletId, req);
+    }
+
+    /**
+     * 충돌한 요청들이 같은 시점에 다시 부딪히지 않도록 지수 구간 안에서 무작위로 대기한다.
+     */
+    private void sleepWithJitter(int attempt) {
+        long bound = backoffMillis << (attempt - 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Server Interrupted");
+        }
+    }
+}
@@ -1,56 +1,201 @@
 package com.walletserver.wallet.facade;
 
+import com.walletserver.common.deadline.RequestDeadline;
+import com.walletserver.common.exception.DeadlineExceededException;
+import com.walletserver.profiling.event.LockAcquisitionEvent;
+import com.walletserver.profiling.event.RedisFallbackEvent;
+import com.walletserver.profiling.event.WithdrawalTransactionEvent;
 import com.walletserver.transaction.dto.WithdrawalRequest;
 import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.wallet.adaptive.WalletContentionTracker;
+import com.walletserver.wallet.drain.WithdrawalDrain;
+import com.walletserver.wallet.drain.WithdrawalDrain.LockWaiter;
+import com.walletserver.wallet.exception.InsufficientBalanceException;
 import com.walletserver.wallet.exception.LockAcquisitionException;
+import com.walletserver.wallet.lock.LockShard;
+import com.walletserver.wallet.lock.WalletLockRegistry;
+import com.walletserver.wallet.membership.WalletMembership;
 import com.walletserver.wallet.service.WalletService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.redisson.client.RedisConnectionException;
 import org.redisson.client.RedisTimeoutException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class WalletLockFacade {
+public class WalletLockFacade implements WalletWithdrawalEngine {
 
-    private final RedissonClient redissonClient;
+    static final long RETRY_BACKOFF_MS = 1000;
+
+    private final WalletLockRegistry walletLockRegistry;
     private final WalletService walletService;
+    private final WalletContentionTracker contentionTracker;
+    private final ObservationRegistry observationRegistry;
+    private final WithdrawalDrain withdrawalDrain;
+    private final WalletMembership walletMembership;
 
     @Value("${wallet.lock.wait-time:3}")
     private long waitTime;
 
-    @org.springframework.retry.annotation.Retryable(value = LockAcquisitionException.class, maxAttempts = 3, backoff = @org.springframework.retry.annotation.Backoff(delay = 1000))
+    @Override
+    @org.springframework.retry.annotation.Retryable(value = LockAcquisitionException.class, maxAttempts = 3, backoff = @org.springframework.retry.annotation.Backoff(delay = RETRY_BACKOFF_MS))
     public WithdrawalResponse withdraw(Long walletId, WithdrawalRequest req) {
-        String lockKey = "wallet:lock:" + walletId;
-        RLock lock = redissonClient.getFairLock(lockKey);
+        return Observation.createNotStarted("wallet.withdraw.attempt", observationRegistry)
+                .lowCardinalityKeyValue("attempt", String.valueOf(currentAttempt()))
+                .highCardinalityKeyValue("wallet.id", String.valueOf(walletId))
+                .observe(() -> attempt(walletId, req));
+    }
+
+    private WithdrawalResponse attempt(Long walletId, WithdrawalRequest req) {
+        // 없는 지갑은 공정 락 대기열과 트랜잭션을 만들기 전에 거절한다.
+        walletMembership.requireKnown(walletId);
+        RequestDeadline.check("lock");
+        Optional<WithdrawalResponse> outcome = walletService.findOutcome(req.transactionId());
+        if (outcome.isPresent()) {
+            return outcome.get();
+        }
+        LockShard shard = walletLockRegistry.shardOf(walletId);
+        if (!shard.isAvailable()) {
+            return fallback(walletId, req, "ShardUnavailable");
+        }
+        String lockKey = lockKey(walletId, req);
 
         try {
-            boolean available = lock.tryLock(waitTime, TimeUnit.SECONDS);
+            RLock lock = shard.client().getFairLock(lockKey);
+            LockAcquisitionEvent lockEvent = new LockAcquisitionEvent();
+            lockEvent.begin();
+            long waitStart = System.nanoTime();
+            boolean available = tryLock(shard, lockKey, lock);
+            shard.recordSuccess();
+            lockEvent.complete(walletId, available ? LockAcquisitionEvent.ACQUIRED : LockAcquisitionEvent.TIMED_OUT);
+            contentionTracker.recordLockWait(walletId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart));
 
             if (!available) {
+                // 다음 재시도 전에 클라이언트가 포기할 요청은 재시도하지 않는다.
+                if (RequestDeadline.remainingMillis() <= RETRY_BACKOFF_MS) {
+                    throw new DeadlineExceededException("lock");
+                }
                 throw new LockAcquisitionException("잠시 후 다시 시도해주세요.");
             }
 
             try {
-                return walletService.withdraw(walletId, req, false);
+                return Observation.createNotStarted("wallet.lock.hold", observationRegistry)
+                        .observe(() -> executeUnderLock(walletId, req));
             } finally {
                 lock.unlock();
             }
 
         } catch (RedisConnectionException | RedisTimeoutException e) {
-            log.error("Redis 장애 감지! DB Lock으로 전환합니다. Error: {}", e.getMessage());
-            return walletService.withdraw(walletId, req, true);
+            log.error("Redis 장애 감지! DB Lock으로 전환합니다. shard: {}, Error: {}", shard.getName(), e.getMessage());
+            shard.recordFailure();
+            return fallback(walletId, req, e.getClass().getSimpleName());
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Server Interrupted");
         }
     }
+
+    /**
+     * 지갑이 속한 샤드를 쓸 수 없을 때 해당 지갑만 DB 행 잠금으로 처리한다.
+     */
+    private WithdrawalResponse fallback(Long walletId, WithdrawalRequest req, String cause) {
+        RedisFallbackEvent fallbackEvent = new RedisFallbackEvent();
+        fallbackEvent.begin();
+        try {
+            return Observation.createNotStarted("wallet.lock.fallback", observationRegistry)
+                    .lowCardinalityKeyValue("cause", cause)
+                    .observe(() -> execute(walletId, req, true));
+        } finally {
+            fallbackEvent.complete(walletId, cause);
+        }
+    }
+
+    /**
+     * 기준 통화는 기존 키를 그대로 쓰고, 다른 통화는 지갑+통화 단위로 잠가 서로 경합하지 않게 한다.
+     */
+    private static String lockKey(Long walletId, WithdrawalRequest req) {
+        String key = "wallet:lock:" + walletId;
+        return req.isBaseCurrency() ? key : key + ":" + req.resolvedCurrency();
+    }
+
+    /**
+     * 종료 드레인이 대기를 취소하면 잡은 락을 풀고 대기열 항목을 지운 뒤 ServiceDrainingException을 던진다.
+     * 요청은 실행되지 않았으므로 클라이언트는 같은 transactionId로 다른 인스턴스에 재시도할 수 있다.
+     */
+    private boolean tryLock(LockShard shard, String lockKey, RLock lock) throws InterruptedException {
+        Observation observation = Observation.start("wallet.lock.wait", observationRegistry);
+        LockWaiter waiter = withdrawalDrain.beginWait(shard.client(), lockKey);
+        try {
+            boolean available;
+            try {
+                available = lock.tryLock(RequestDeadline.capMillis(TimeUnit.SECONDS.toMillis(waitTime)),
+                        TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | RuntimeException e) {
+                if (withdrawalDrain.endWait(waiter)) {
+                    throw withdrawalDrain.abandon(waiter);
+                }
+                throw e;
+            }
+            if (withdrawalDrain.endWait(waiter)) {
+                if (available) {
+                    lock.unlock();
+                }
+                throw withdrawalDrain.abandon(waiter);
+            }
+            observation.lowCardinalityKeyValue("outcome", available ? "acquired" : "timed_out");
+            return available;
+        } catch (Exception e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static int currentAttempt() {
+        RetryContext context = RetrySynchronizationManager.getContext();
+        return context != null ? context.getRetryCount() + 1 : 1;
+    }
+
+    /**
+     * Redis 락은 출금끼리만 직렬화한다. 지갑 행을 잠그는 보류 작업이 사이에 커밋하면 버전 충돌로 롤백되므로
+     * 락을 쥔 채 행 잠금으로 한 번 더 실행한다.
+     */
+    private WithdrawalResponse executeUnderLock(Long walletId, WithdrawalRequest req) {
+        try {
+            return execute(walletId, req, false);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.debug("지갑 {} 버전 충돌, 행 잠금으로 다시 실행합니다.", walletId);
+            return execute(walletId, req, true);
+        }
+    }
+
+    private WithdrawalResponse execute(Long walletId, WithdrawalRequest req, boolean useDbLock) {
+        WithdrawalTransactionEvent event = new WithdrawalTransactionEvent();
+        event.begin();
+        String outcome = WithdrawalTransactionEvent.ERROR;
+        try {
+            WithdrawalResponse response = walletService.withdraw(walletId, req, useDbLock);
+            outcome = WithdrawalTransactionEvent.COMMITTED;
+            return response;
+        } catch (InsufficientBalanceException e) {
+            outcome = WithdrawalTransactionEvent.REJECTED;
+            throw e;
+        } finally {
+            event.complete(walletId, useDbLock, outcome);
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package com.walletserver.wallet.facade;
+
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+
+/**
+ * 출금 동시성 제어 방식의 진입점. 기본 구현은 {@link WalletLockFacade}이며
+ * {@code wallet.engine.mode} 설정으로 다른 구현을 선택한다.
+ */
+public interface WalletWithdrawalEngine {
+
+    WithdrawalResponse withdraw(Long walletId, WithdrawalRequest req);
+}
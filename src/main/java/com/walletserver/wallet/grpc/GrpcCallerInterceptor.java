@@ -0,0 +1,48 @@
+package com.walletserver.wallet.grpc;
+
+import com.walletserver.common.bulkhead.TrafficClass;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * HTTP의 X-Client-Id, X-Traffic-Class 헤더에 해당하는 메타데이터를 읽어 호출 컨텍스트에 담는다.
+ * 클라이언트 ID가 없으면 HTTP와 마찬가지로 상대 주소를 쓴다.
+ */
+@GrpcGlobalServerInterceptor
+public class GrpcCallerInterceptor implements ServerInterceptor {
+
+    static final Context.Key<String> CLIENT_ID = Context.key("wallet-client-id");
+    static final Context.Key<TrafficClass> TRAFFIC_CLASS = Context.key("wallet-traffic-class");
+
+    private static final Metadata.Key<String> CLIENT_ID_HEADER =
+            Metadata.Key.of("x-client-id", Metadata.ASCII_STRING_MARSHALLER);
+    private static final Metadata.Key<String> TRAFFIC_CLASS_HEADER =
+            Metadata.Key.of("x-traffic-class", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        String clientId = headers.get(CLIENT_ID_HEADER);
+        Context context = Context.current()
+                .withValue(CLIENT_ID, clientId != null ? clientId : remoteAddressOf(call))
+                .withValue(TRAFFIC_CLASS, TrafficClass.ofWithdrawal(headers.get(TRAFFIC_CLASS_HEADER)));
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+
+    private static String remoteAddressOf(ServerCall<?, ?> call) {
+        SocketAddress address = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+        if (address instanceof InetSocketAddress inet) {
+            return inet.getHostString();
+        }
+        return String.valueOf(address);
+    }
+}
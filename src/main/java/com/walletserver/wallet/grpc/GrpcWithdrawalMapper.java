@@ -0,0 +1,135 @@
+package com.walletserver.wallet.grpc;
+
+import com.walletserver.common.bulkhead.BulkheadFullException;
+import com.walletserver.common.exception.DeadlineExceededException;
+import com.walletserver.shard.exception.ShardMovingException;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.velocity.exception.VelocityLimitExceededException;
+import com.walletserver.wallet.exception.LockAcquisitionException;
+import com.walletserver.wallet.exception.RateLimitExceededException;
+import com.walletserver.wallet.exception.ServiceDrainingException;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import com.walletserver.wallet.grpc.proto.Decimal;
+import com.walletserver.wallet.grpc.proto.ErrorCode;
+import com.walletserver.wallet.grpc.proto.WithdrawReply;
+import com.walletserver.wallet.grpc.proto.WithdrawRequest;
+import io.grpc.Status;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * protobuf 메시지와 출금 DTO 간 변환. UUID는 두 개의 fixed64, 금액은 unscaled/scale 쌍으로 주고받는다.
+ */
+final class GrpcWithdrawalMapper {
+
+    private GrpcWithdrawalMapper() {
+    }
+
+    static WithdrawalRequest toRequest(WithdrawRequest request) {
+        if (!request.hasAmount()) {
+            throw new IllegalArgumentException("amount must not be null");
+        }
+        BigDecimal amount = toBigDecimal(request.getAmount());
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("amount must be positive");
+        }
+        UUID transactionId = new UUID(request.getTransactionIdMsb(), request.getTransactionIdLsb());
+        String currency = request.getCurrency().isEmpty() ? null : request.getCurrency();
+        if (currency != null && !currency.matches("[A-Z]{3}")) {
+            throw new IllegalArgumentException("currency must be an ISO 4217 code");
+        }
+        return new WithdrawalRequest(transactionId, amount, currency);
+    }
+
+    static WithdrawReply toReply(WithdrawalResponse response) {
+        return WithdrawReply.newBuilder()
+                .setTransactionIdMsb(response.transactionId().getMostSignificantBits())
+                .setTransactionIdLsb(response.transactionId().getLeastSignificantBits())
+                .setAmount(toDecimal(response.amount()))
+                .setRemainingBalance(toDecimal(response.remainingBalance()))
+                .setStatus(response.status())
+                .setCurrency(response.currency())
+                .setErrorCode(ErrorCode.OK)
+                .build();
+    }
+
+    static WithdrawReply toErrorReply(WithdrawRequest request, ErrorCode errorCode, String message) {
+        return WithdrawReply.newBuilder()
+                .setTransactionIdMsb(request.getTransactionIdMsb())
+                .setTransactionIdLsb(request.getTransactionIdLsb())
+                .setErrorCode(errorCode)
+                .setErrorMessage(message != null ? message : "")
+                .build();
+    }
+
+    /**
+     * GlobalExceptionHandler의 HTTP 오류 코드와 같은 분류를 사용한다.
+     */
+    static ErrorCode errorCodeOf(RuntimeException e) {
+        if (e instanceof WalletNotFoundException) {
+            return ErrorCode.WALLET_NOT_FOUND;
+        }
+        if (e instanceof LockAcquisitionException) {
+            return ErrorCode.LOCK_ACQUISITION_FAILED;
+        }
+        if (e instanceof RateLimitExceededException) {
+            return ErrorCode.RATE_LIMITED;
+        }
+        if (e instanceof ServiceDrainingException) {
+            return ErrorCode.SERVICE_DRAINING;
+        }
+        if (e instanceof ShardMovingException) {
+            return ErrorCode.SHARD_MOVING;
+        }
+        if (e instanceof VelocityLimitExceededException) {
+            return ErrorCode.VELOCITY_LIMIT_EXCEEDED;
+        }
+        if (e instanceof BulkheadFullException) {
+            return ErrorCode.BULKHEAD_FULL;
+        }
+        if (e instanceof DeadlineExceededException || e instanceof QueryTimeoutException) {
+            return ErrorCode.DEADLINE_EXCEEDED;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return ErrorCode.BAD_REQUEST;
+        }
+        return ErrorCode.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * statement_timeout 메시지에는 SQL이 담기므로 HTTP 응답과 같은 고정 문구로 바꾼다.
+     */
+    static String messageOf(RuntimeException e) {
+        if (e instanceof QueryTimeoutException) {
+            return "Request deadline exceeded during db";
+        }
+        return e.getMessage();
+    }
+
+    static Status statusOf(ErrorCode errorCode) {
+        return switch (errorCode) {
+            case OK -> Status.OK;
+            case INVALID_INPUT, BAD_REQUEST -> Status.INVALID_ARGUMENT;
+            case WALLET_NOT_FOUND -> Status.NOT_FOUND;
+            case LOCK_ACQUISITION_FAILED, RATE_LIMITED, BULKHEAD_FULL -> Status.RESOURCE_EXHAUSTED;
+            case SERVICE_DRAINING, SHARD_MOVING -> Status.UNAVAILABLE;
+            case VELOCITY_LIMIT_EXCEEDED -> Status.FAILED_PRECONDITION;
+            case DEADLINE_EXCEEDED -> Status.DEADLINE_EXCEEDED;
+            default -> Status.INTERNAL;
+        };
+    }
+
+    static BigDecimal toBigDecimal(Decimal decimal) {
+        return BigDecimal.valueOf(decimal.getUnscaled(), decimal.getScale());
+    }
+
+    static Decimal toDecimal(BigDecimal value) {
+        return Decimal.newBuilder()
+                .setUnscaled(value.unscaledValue().longValueExact())
+                .setScale(value.scale())
+                .build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.walletserver.wallet.grpc;
+
+import com.walletserver.common.bulkhead.TrafficBulkheads;
+import com.walletserver.common.bulkhead.TrafficClass;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.velocity.service.VelocityLimitService;
+import com.walletserver.wallet.admission.WalletAdmissionGate;
+import com.walletserver.wallet.drain.WithdrawalDrain;
+import com.walletserver.wallet.facade.WalletWithdrawalEngine;
+import com.walletserver.wallet.grpc.proto.ErrorCode;
+import com.walletserver.wallet.grpc.proto.WalletWithdrawalGrpc;
+import com.walletserver.wallet.grpc.proto.WithdrawReply;
+import com.walletserver.wallet.grpc.proto.WithdrawRequest;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP 출금과 같은 순서로 요청당 토큰 버킷, 트래픽 격벽, 출금 한도 사전 확인을 거친 뒤 엔진에 넘긴다.
+ */
+@Slf4j
+@GrpcService
+public class WalletGrpcService extends WalletWithdrawalGrpc.WalletWithdrawalImplBase {
+
+    private final WalletWithdrawalEngine walletWithdrawalEngine;
+    private final WalletAdmissionGate walletAdmissionGate;
+    private final VelocityLimitService velocityLimitService;
+    private final TrafficBulkheads trafficBulkheads;
+    private final WithdrawalDrain withdrawalDrain;
+    private final ExecutorService streamExecutor;
+    private final int maxInFlightPerStream;
+
+    public WalletGrpcService(
+            WalletWithdrawalEngine walletWithdrawalEngine,
+            WalletAdmissionGate walletAdmissionGate,
+            VelocityLimitService velocityLimitService,
+            TrafficBulkheads trafficBulkheads,
+            WithdrawalDrain withdrawalDrain,
+            @Value("${wallet.grpc.stream-workers:64}") int streamWorkers,
+            @Value("${wallet.grpc.max-in-flight-per-stream:32}") int maxInFlightPerStream
+    ) {
+        this.walletWithdrawalEngine = walletWithdrawalEngine;
+        this.walletAdmissionGate = walletAdmissionGate;
+        this.velocityLimitService = velocityLimitService;
+        this.trafficBulkheads = trafficBulkheads;
+        this.withdrawalDrain = withdrawalDrain;
+        this.streamExecutor = Executors.newFixedThreadPool(streamWorkers);
+        this.maxInFlightPerStream = maxInFlightPerStream;
+    }
+
+    @Override
+    public void withdraw(WithdrawRequest request, StreamObserver<WithdrawReply> responseObserver) {
+        process(request, clientId(), trafficClass()).thenAccept(reply -> {
+            if (reply.getErrorCode() != ErrorCode.OK) {
+                responseObserver.onError(GrpcWithdrawalMapper.statusOf(reply.getErrorCode())
+                        .withDescription(reply.getErrorMessage())
+                        .asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(reply);
+            responseObserver.onCompleted();
+        });
+    }
+
+    /**
+     * 스트림당 동시 처리 건수만큼만 요청을 당겨오는 흐름 제어로, 느린 지갑이 있어도 메모리가 무한히 늘지 않는다.
+     */
+    @Override
+    public StreamObserver<WithdrawRequest> withdrawStream(StreamObserver<WithdrawReply> responseObserver) {
+        ServerCallStreamObserver<WithdrawReply> serverObserver =
+                (ServerCallStreamObserver<WithdrawReply>) responseObserver;
+        serverObserver.disableAutoRequest();
+        serverObserver.request(maxInFlightPerStream);
+        String clientId = clientId();
+        TrafficClass trafficClass = trafficClass();
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicBoolean halfClosed = new AtomicBoolean();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        Runnable completeIfDone = () -> {
+            if (halfClosed.get() && inFlight.get() == 0 && completed.compareAndSet(false, true)) {
+                synchronized (serverObserver) {
+                    if (!serverObserver.isCancelled()) {
+                        serverObserver.onCompleted();
+                    }
+                }
+            }
+        };
+
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(WithdrawRequest request) {
+                inFlight.incrementAndGet();
+                streamExecutor.execute(() -> process(request, clientId, trafficClass).thenAccept(reply -> {
+                    synchronized (serverObserver) {
+                        if (!serverObserver.isCancelled()) {
+                            serverObserver.onNext(reply);
+                        }
+                    }
+                    inFlight.decrementAndGet();
+                    if (halfClosed.get()) {
+                        completeIfDone.run();
+                    } else if (!serverObserver.isCancelled()) {
+                        serverObserver.request(1);
+                    }
+                }));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("Withdraw stream aborted by client. Error: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                halfClosed.set(true);
+                completeIfDone.run();
+            }
+        };
+    }
+
+    /**
+     * 토큰 버킷과 격벽 거절은 실행기에 넘기기 전에 호출 스레드에서 일어나므로 두 경로 모두 오류 응답으로 바꾼다.
+     */
+    private CompletableFuture<WithdrawReply> process(WithdrawRequest request, String clientId,
+                                                     TrafficClass trafficClass) {
+        WithdrawalRequest withdrawalRequest;
+        try {
+            withdrawalRequest = GrpcWithdrawalMapper.toRequest(request);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return CompletableFuture.completedFuture(
+                    GrpcWithdrawalMapper.toErrorReply(request, ErrorCode.INVALID_INPUT, e.getMessage()));
+        }
+        try {
+            walletAdmissionGate.admit(request.getWalletId(), clientId);
+            return trafficBulkheads.submit(trafficClass, () -> withdraw(request.getWalletId(), withdrawalRequest))
+                    .thenApply(GrpcWithdrawalMapper::toReply)
+                    .exceptionally(e -> toErrorReply(request, unwrap(e)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(toErrorReply(request, e));
+        }
+    }
+
+    private WithdrawalResponse withdraw(Long walletId, WithdrawalRequest request) {
+        if (request.isBaseCurrency()) {
+            velocityLimitService.precheck(walletId, request.amount());
+        }
+        return withdrawalDrain.track(() -> walletWithdrawalEngine.withdraw(walletId, request));
+    }
+
+    private WithdrawReply toErrorReply(WithdrawRequest request, RuntimeException e) {
+        ErrorCode errorCode = GrpcWithdrawalMapper.errorCodeOf(e);
+        if (errorCode == ErrorCode.INTERNAL_SERVER_ERROR) {
+            log.error("Unexpected Error: ", e);
+            return GrpcWithdrawalMapper.toErrorReply(request, errorCode, "An unexpected error occurred.");
+        }
+        return GrpcWithdrawalMapper.toErrorReply(request, errorCode, GrpcWithdrawalMapper.messageOf(e));
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    /**
+     * 인터셉터를 거치지 않은 호출(테스트 등)은 익명 클라이언트의 사용자 출금으로 본다.
+     */
+    private static String clientId() {
+        String clientId = GrpcCallerInterceptor.CLIENT_ID.get();
+        return clientId != null ? clientId : "anonymous";
+    }
+
+    private static TrafficClass trafficClass() {
+        TrafficClass trafficClass = GrpcCallerInterceptor.TRAFFIC_CLASS.get();
+        return trafficClass != null ? trafficClass : TrafficClass.INTERACTIVE;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streamExecutor.shutdown();
+    }
+}
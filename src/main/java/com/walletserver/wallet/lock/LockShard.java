@@ -0,0 +1,92 @@
+package com.walletserver.wallet.lock;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+import org.redisson.client.RedisException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 지갑 락을 보관하는 Redis 노드 하나와 그 상태. 연속 실패가 failure-threshold에 도달하면 사용 불가로 표시되어
+ * 이 샤드에 속한 지갑만 Redis를 건너뛰고 DB 락으로 처리된다. 복구는 주기적인 probe가 확인한다.
+ * 기동 시점에 노드가 내려가 있어도 애플리케이션이 뜨도록 클라이언트는 처음 사용할 때 만든다.
+ */
+@Slf4j
+public class LockShard {
+
+    private static final String PROBE_KEY = "wallet:lock:probe";
+
+    @Getter
+    private final String name;
+    private final Supplier<RedissonClient> clientFactory;
+    private final int failureThreshold;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile RedissonClient client;
+    private volatile boolean available = true;
+
+    public LockShard(String name, Supplier<RedissonClient> clientFactory, int failureThreshold) {
+        this.name = name;
+        this.clientFactory = clientFactory;
+        this.failureThreshold = failureThreshold;
+    }
+
+    public RedissonClient client() {
+        RedissonClient current = client;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (client == null) {
+                try {
+                    client = clientFactory.get();
+                } catch (RedisException e) {
+                    throw e instanceof RedisConnectionException connectionException
+                            ? connectionException
+                            : new RedisConnectionException("Could not connect to lock shard " + name, e);
+                }
+            }
+            return client;
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (!available) {
+            available = true;
+            log.info("Lock shard recovered. shard: {}", name);
+        }
+    }
+
+    public void recordFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && available) {
+            available = false;
+            log.warn("Lock shard marked unavailable. shard: {}. Its wallets fall back to DB locks.", name);
+        }
+    }
+
+    /**
+     * 사용 불가 상태의 샤드에 가벼운 명령을 보내 응답하면 다시 사용 가능으로 되돌린다.
+     */
+    public void probe() {
+        try {
+            client().getBucket(PROBE_KEY).isExists();
+            recordSuccess();
+        } catch (RedisException e) {
+            log.debug("Lock shard probe failed. shard: {}, Error: {}", name, e.getMessage());
+        }
+    }
+
+    void shutdown() {
+        RedissonClient current = client;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+}
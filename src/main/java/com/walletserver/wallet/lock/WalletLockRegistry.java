@@ -0,0 +1,107 @@
+package com.walletserver.wallet.lock;
+
+import com.walletserver.cluster.service.ConsistentHashRing;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지갑 ID로 락 샤드를 고른다. wallet.lock.shard.addresses가 비어 있으면 기본 RedissonClient 하나를 쓰며,
+ * 이때 spring.data.redis.cluster.nodes를 설정하면 Redis Cluster가 키를 노드에 분산한다.
+ * <p>
+ * 주소를 나열하면 독립된 Redis 노드들에 클라이언트 측에서 분산한다. 지갑 ID를 {@value #SLOTS}개 슬롯으로 나누고
+ * 슬롯을 해시 링으로 노드에 배정하므로 노드를 추가해도 일부 슬롯만 이동한다. 같은 지갑은 모든 인스턴스에서
+ * 같은 노드에 잠겨야 하므로 주소 목록은 모든 인스턴스에서 같아야 한다.
+ */
+@Slf4j
+@Component
+public class WalletLockRegistry {
+
+    static final int SLOTS = 16384;
+    private static final int VIRTUAL_NODES = 160;
+
+    private final Map<String, LockShard> shards = new LinkedHashMap<>();
+    private final LockShard[] slots = new LockShard[SLOTS];
+    private final boolean ownsClients;
+
+    public WalletLockRegistry(
+            RedissonClient defaultClient,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.lock.shard.addresses:}") String addresses,
+            @Value("${spring.data.redis.password:}") String password,
+            @Value("${wallet.lock.shard.timeout-ms:1000}") int timeoutMillis,
+            @Value("${wallet.lock.shard.retry-attempts:1}") int retryAttempts,
+            @Value("${wallet.lock.shard.failure-threshold:3}") int failureThreshold
+    ) {
+        List<String> nodes = Arrays.stream(addresses.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .toList();
+        this.ownsClients = !nodes.isEmpty();
+        if (nodes.isEmpty()) {
+            shards.put("default", new LockShard("default", () -> defaultClient, failureThreshold));
+        } else {
+            for (String node : nodes) {
+                shards.put(node, new LockShard(node,
+                        () -> Redisson.create(config(node, password, timeoutMillis, retryAttempts)), failureThreshold));
+            }
+        }
+        ConsistentHashRing ring = new ConsistentHashRing(shards.keySet(), VIRTUAL_NODES);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            slots[slot] = shards.get(ring.ownerOf(slot));
+        }
+        shards.values().forEach(shard -> Gauge.builder("wallet.lock.shard.available", shard,
+                        s -> s.isAvailable() ? 1 : 0)
+                .tag("shard", shard.getName())
+                .register(meterRegistry));
+        log.info("Wallet lock shards: {}", shards.keySet());
+    }
+
+    public LockShard shardOf(Long walletId) {
+        return slots[(int) Math.floorMod(walletId, (long) SLOTS)];
+    }
+
+    public List<LockShard> shards() {
+        return List.copyOf(shards.values());
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.lock.shard.probe-interval-ms:1000}")
+    public void probeUnavailableShards() {
+        for (LockShard shard : shards.values()) {
+            if (!shard.isAvailable()) {
+                shard.probe();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ownsClients) {
+            shards.values().forEach(LockShard::shutdown);
+        }
+    }
+
+    private static Config config(String address, String password, int timeoutMillis, int retryAttempts) {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress(address)
+                .setPassword(StringUtils.hasText(password) ? password : null)
+                .setConnectTimeout(timeoutMillis)
+                .setTimeout(timeoutMillis)
+                .setRetryAttempts(retryAttempts);
+        return config;
+    }
+}
@@ -0,0 +1,29 @@
+package com.walletserver.wallet.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/health의 walletLockShards. 일부 샤드가 내려가도 해당 지갑은 DB 락으로 처리되므로 UP으로 두고,
+ * 모든 샤드가 내려간 경우에만 DOWN으로 보고한다.
+ */
+@Component("walletLockShards")
+@RequiredArgsConstructor
+public class WalletLockShardHealthIndicator implements HealthIndicator {
+
+    private final WalletLockRegistry walletLockRegistry;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.down();
+        for (LockShard shard : walletLockRegistry.shards()) {
+            if (shard.isAvailable()) {
+                builder.up();
+            }
+            builder.withDetail(shard.getName(), shard.isAvailable() ? "UP" : "DOWN");
+        }
+        return builder.build();
+    }
+}
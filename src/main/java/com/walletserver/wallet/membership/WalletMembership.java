@@ -0,0 +1,272 @@
+package com.walletserver.wallet.membership;
+
+import com.walletserver.shard.routing.ShardContext;
+import com.walletserver.shard.service.ShardMap;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 존재하는 지갑 ID의 비트셋. 없는 지갑의 출금을 락 대기열과 트랜잭션에 들어가기 전에 거절한다.
+ * <p>
+ * 지갑 ID는 시퀀스로 발급되어 계속 커지므로, 알고 있는 최대 ID보다 recheck-band 넘게 작은 ID는 집합에 없으면 없는 지갑이다.
+ * 최대 ID보다 큰 ID와 그 아래 확인 구간은 다른 인스턴스가 막 만든 지갑일 수 있어 PK 조회로 확인한다.
+ * 기동 시 wallet 테이블에서 적재하고, 이 인스턴스가 만든 지갑은 바로, 다른 인스턴스가 만든 지갑은 Redis pub/sub으로 받는다.
+ * 메시지를 놓쳐도 주기적으로 최대 ID에서 recheck-band 아래부터 다시 읽는다. 시퀀스 순서와 커밋 순서가 달라
+ * 최대 ID보다 작은 지갑이 나중에 커밋될 수 있는데, 그런 지갑이 확인 구간을 벗어나기 전에 집합에 들어오게 하기 위해서다.
+ * 적재가 끝나기 전에는 모든 ID를 통과시킨다.
+ */
+@Slf4j
+@Component
+public class WalletMembership {
+
+    static final String TOPIC = "wallet:membership:created";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedissonClient redissonClient;
+    private final ShardMap shardMap;
+    private final Counter rejected;
+    private final boolean enabled;
+    private final long recheckBand;
+    private final int loadBatchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet ids = new BitSet();
+    private long highWater;
+    private volatile boolean ready;
+
+    public WalletMembership(
+            JdbcTemplate jdbcTemplate,
+            RedissonClient redissonClient,
+            ShardMap shardMap,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.membership.enabled:true}") boolean enabled,
+            @Value("${wallet.membership.recheck-band:100000}") long recheckBand,
+            @Value("${wallet.membership.load-batch-size:50000}") int loadBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redissonClient = redissonClient;
+        this.shardMap = shardMap;
+        this.enabled = enabled;
+        this.recheckBand = recheckBand;
+        this.loadBatchSize = loadBatchSize;
+        this.rejected = Counter.builder("wallet.membership.rejected")
+                .description("락과 DB에 닿기 전에 거절한 없는 지갑 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("wallet.membership.size", this, WalletMembership::size)
+                .description("알고 있는 지갑 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 구독을 먼저 걸어 적재 중에 만들어진 지갑도 놓치지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redissonClient.getTopic(TOPIC, StringCodec.INSTANCE)
+                    .addListener(String.class, (channel, message) -> addRanges(message));
+        } catch (RuntimeException e) {
+            log.warn("지갑 생성 구독 실패. 주기적 갱신으로만 따라잡습니다. Error: {}", e.getMessage());
+        }
+        long startedAt = System.currentTimeMillis();
+        long loaded = catchUp();
+        ready = true;
+        log.info("지갑 ID 집합 적재 완료. Wallets: {}, {}ms", loaded, System.currentTimeMillis() - startedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.membership.refresh-ms:30000}",
+            initialDelayString = "${wallet.membership.refresh-ms:30000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("지갑 ID 집합 갱신 실패. Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @throws WalletNotFoundException 없는 지갑이면
+     */
+    public void requireKnown(Long walletId) {
+        if (!enabled || !ready || contains(walletId)) {
+            return;
+        }
+        if (needsRecheck(walletId) && exists(walletId)) {
+            add(List.of(walletId));
+            return;
+        }
+        rejected.increment();
+        throw new WalletNotFoundException(walletId);
+    }
+
+    /**
+     * 커밋된 지갑을 집합에 넣고 다른 인스턴스에 알린다.
+     */
+    public void registerCreated(List<Long> walletIds) {
+        if (!enabled || walletIds.isEmpty()) {
+            return;
+        }
+        add(walletIds);
+        String message = encodeRanges(walletIds);
+        if (message.isEmpty()) {
+            return;
+        }
+        try {
+            redissonClient.getTopic(TOPIC, StringCodec.INSTANCE).publish(message);
+        } catch (RuntimeException e) {
+            log.warn("지갑 생성 알림 실패. 다른 인스턴스는 주기적 갱신으로 따라잡습니다. Error: {}", e.getMessage());
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return ids.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long catchUp() {
+        long after = Math.max(0, highWater() - recheckBand);
+        long loaded = 0;
+        for (int shard : shardMap.shards()) {
+            loaded += ShardContext.callOn(shard, () -> loadAbove(after));
+        }
+        return loaded;
+    }
+
+    private long loadAbove(long after) {
+        long cursor = after;
+        long loaded = 0;
+        while (true) {
+            List<Long> page = jdbcTemplate.queryForList("select id from wallet where id > ? order by id limit ?",
+                    Long.class, cursor, loadBatchSize);
+            add(page);
+            loaded += page.size();
+            if (page.size() < loadBatchSize) {
+                return loaded;
+            }
+            cursor = page.get(page.size() - 1);
+        }
+    }
+
+    /**
+     * 출금 엔진 안에서 불리므로 지갑 소속 샤드에서 조회된다.
+     */
+    private boolean exists(Long walletId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists(select 1 from wallet where id = ?)", Boolean.class, walletId));
+    }
+
+    private boolean contains(Long walletId) {
+        if (walletId == null || walletId <= 0 || walletId > Integer.MAX_VALUE) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return ids.get(walletId.intValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 최대 ID보다 큰 ID는 얼마나 크든 다른 인스턴스가 막 만든 지갑일 수 있으므로 항상 DB로 확인한다.
+     * 확인 구간은 최대 ID 아래에만 둔다.
+     */
+    private boolean needsRecheck(Long walletId) {
+        if (walletId == null || walletId <= 0) {
+            return false;
+        }
+        return walletId > highWater() - recheckBand;
+    }
+
+    private long highWater() {
+        lock.readLock().lock();
+        try {
+            return highWater;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Collection<Long> walletIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long walletId : walletIds) {
+                if (walletId > 0 && walletId <= Integer.MAX_VALUE) {
+                    ids.set(walletId.intValue());
+                    highWater = Math.max(highWater, walletId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addRanges(String message) {
+        lock.writeLock().lock();
+        try {
+            for (String range : message.split(",")) {
+                int dash = range.indexOf('-');
+                int start = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+                int end = Integer.parseInt(dash < 0 ? range : range.substring(dash + 1));
+                ids.set(start, end + 1);
+                highWater = Math.max(highWater, end);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 일괄 생성한 지갑은 대부분 연속된 ID이므로 "시작-끝" 구간 목록으로 보낸다.
+     */
+    static String encodeRanges(List<Long> walletIds) {
+        long[] sorted = walletIds.stream()
+                .filter(walletId -> walletId > 0 && walletId <= Integer.MAX_VALUE)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        StringBuilder message = new StringBuilder();
+        int i = 0;
+        while (i < sorted.length) {
+            int j = i;
+            while (j + 1 < sorted.length && sorted[j + 1] <= sorted[j] + 1) {
+                j++;
+            }
+            if (!message.isEmpty()) {
+                message.append(',');
+            }
+            message.append(sorted[i]);
+            if (sorted[j] != sorted[i]) {
+                message.append('-').append(sorted[j]);
+            }
+            i = j + 1;
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.walletserver.wallet.repository;
+
+import com.walletserver.wallet.entity.WalletBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface WalletBalanceRepository extends JpaRepository<WalletBalance, Long> {
+
+    Optional<WalletBalance> findByWalletIdAndCurrency(Long walletId, String currency);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from WalletBalance b where b.walletId = :walletId and b.currency = :currency")
+    Optional<WalletBalance> findByWalletIdAndCurrencyForUpdate(@Param("walletId") Long walletId,
+                                                               @Param("currency") String currency);
+}
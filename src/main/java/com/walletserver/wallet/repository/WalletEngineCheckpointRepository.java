@@ -0,0 +1,7 @@
+package com.walletserver.wallet.repository;
+
+import com.walletserver.wallet.entity.WalletEngineCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WalletEngineCheckpointRepository extends JpaRepository<WalletEngineCheckpoint, String> {
+}
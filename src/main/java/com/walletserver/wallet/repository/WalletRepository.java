@@ -16,4 +16,7 @@ public interface WalletRepository extends JpaRepository<Wallet, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select w from Wallet w where w.id = :id")
     Optional<Wallet> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select max(w.id) from Wallet w")
+    Long findMaxId();
 }
@@ -0,0 +1,178 @@
+package com.walletserver.wallet.service;
+
+import com.walletserver.wallet.dto.BulkProvisionResponse;
+import com.walletserver.wallet.membership.WalletMembership;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 대량 지갑 생성. 입력을 청크 단위로 읽어 PostgreSQL COPY 프로토콜로 wallet과 개시 DEPOSIT 이력을 적재한다.
+ * IDENTITY 전략은 행마다 INSERT 왕복이 필요하므로 ID는 시퀀스에서 청크 단위로 미리 받아 COPY에 함께 싣는다.
+ * 전체 입력이 하나의 트랜잭션으로 처리되어 중간에 실패하면 아무것도 남지 않는다.
+ */
+@Slf4j
+@Service
+public class WalletProvisioningService {
+
+    private static final String ALLOCATE_IDS =
+            "select nextval(pg_get_serial_sequence('wallet', 'id')) from generate_series(1, ?)";
+
+    private static final String COPY_WALLETS =
+            "copy wallet (id, balance, held_balance, version, created_at, updated_at) from stdin";
+
+    private static final String COPY_HISTORIES = """
+            copy transaction_history (transaction_id, wallet_id, type, amount, balance_snapshot, status, created_at)
+            from stdin""";
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletMembership walletMembership;
+    private final int chunkSize;
+    private final int maxWallets;
+
+    public WalletProvisioningService(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            WalletMembership walletMembership,
+            @Value("${wallet.provisioning.chunk-size:50000}") int chunkSize,
+            @Value("${wallet.provisioning.max-wallets:1000000}") int maxWallets
+    ) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.walletMembership = walletMembership;
+        this.chunkSize = chunkSize;
+        this.maxWallets = maxWallets;
+    }
+
+    /**
+     * @param input 한 줄에 초기 잔액 하나. 빈 줄은 무시한다.
+     * @return 입력 순서대로의 생성된 지갑 ID
+     */
+    public BulkProvisionResponse provision(InputStream input) {
+        long startedAt = System.currentTimeMillis();
+        List<Long> walletIds = transactionTemplate.execute(status -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                return copyAll(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        walletMembership.registerCreated(walletIds);
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("지갑 {}건 일괄 생성 완료. {}ms", walletIds.size(), elapsed);
+        return new BulkProvisionResponse(walletIds.size(), walletIds, elapsed);
+    }
+
+    private List<Long> copyAll(BufferedReader reader) throws IOException {
+        // 트랜잭션에 묶인 커넥션이므로 jdbcTemplate의 ID 할당과 같은 트랜잭션에서 COPY가 실행된다.
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return copyAll(reader, connection.unwrap(PGConnection.class).getCopyAPI());
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY requires a PostgreSQL connection", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private List<Long> copyAll(BufferedReader reader, CopyManager copyManager) throws IOException {
+        List<Long> walletIds = new ArrayList<>();
+        List<BigDecimal> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parseBalance(line, lineNumber));
+            if (walletIds.size() + chunk.size() > maxWallets) {
+                throw new IllegalArgumentException("At most " + maxWallets + " wallets can be provisioned at once");
+            }
+            if (chunk.size() == chunkSize) {
+                walletIds.addAll(copyChunk(copyManager, chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            walletIds.addAll(copyChunk(copyManager, chunk));
+        }
+        return walletIds;
+    }
+
+    private List<Long> copyChunk(CopyManager copyManager, List<BigDecimal> balances) {
+        List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS, Long.class, balances.size());
+        String now = TIMESTAMP.format(LocalDateTime.now());
+
+        StringBuilder wallets = new StringBuilder(balances.size() * 64);
+        StringBuilder histories = new StringBuilder(balances.size() * 128);
+        for (int i = 0; i < balances.size(); i++) {
+            long id = ids.get(i);
+            String balance = balances.get(i).toPlainString();
+            wallets.append(id).append('\t').append(balance).append("\t0\t0\t")
+                    .append(now).append('\t').append(now).append('\n');
+            if (balances.get(i).signum() > 0) {
+                histories.append(UUID.randomUUID()).append('\t').append(id).append("\tDEPOSIT\t")
+                        .append(balance).append('\t').append(balance).append("\tSUCCESS\t")
+                        .append(now).append('\n');
+            }
+        }
+
+        try {
+            copyManager.copyIn(COPY_WALLETS, toStream(wallets));
+            if (!histories.isEmpty()) {
+                copyManager.copyIn(COPY_HISTORIES, toStream(histories));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY failed: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ids;
+    }
+
+    private static BigDecimal parseBalance(String line, int lineNumber) {
+        try {
+            BigDecimal balance = new BigDecimal(line.trim()).setScale(2);
+            if (balance.signum() < 0) {
+                throw new IllegalArgumentException("Initial balance must not be negative at line " + lineNumber);
+            }
+            return balance;
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid initial balance at line " + lineNumber + ": " + line);
+        }
+    }
+
+    private static InputStream toStream(StringBuilder rows) {
+        return new ByteArrayInputStream(rows.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
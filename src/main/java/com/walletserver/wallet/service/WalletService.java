@@ -1,51 +1,166 @@
 package com.walletserver.wallet.service;
 
+import com.walletserver.cluster.exception.OwnershipLostException;
+import com.walletserver.cluster.repository.PartitionFenceRepository;
+import com.walletserver.common.deadline.DeadlineStatementTimeout;
+import com.walletserver.profiling.event.IdempotencyReplayEvent;
+import com.walletserver.shard.service.ShardWriteFence;
 import com.walletserver.transaction.dto.WithdrawalRequest;
 import com.walletserver.transaction.dto.WithdrawalResponse;
 import com.walletserver.transaction.entity.TransactionHistory;
 import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
 import com.walletserver.transaction.entity.TransactionHistory.TransactionType;
 import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.velocity.service.VelocityLimitService;
+import com.walletserver.wallet.entity.BalanceAccount;
 import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.entity.WalletBalance;
+import com.walletserver.wallet.exception.InsufficientBalanceException;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import com.walletserver.wallet.repository.WalletBalanceRepository;
 import com.walletserver.wallet.repository.WalletRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
 @Service
 @RequiredArgsConstructor
 public class WalletService {
 
     private final WalletRepository walletRepository;
+    private final WalletBalanceRepository walletBalanceRepository;
     private final TransactionHistoryRepository historyRepository;
+    private final PartitionFenceRepository partitionFenceRepository;
+    private final DeadlineStatementTimeout deadlineStatementTimeout;
+    private final VelocityLimitService velocityLimitService;
+    private final ObservationRegistry observationRegistry;
+    private final ShardWriteFence shardWriteFence;
 
-    @Transactional
+    /**
+     * 잔액 부족은 지갑을 변경하기 전에 발생하므로 롤백하지 않고 FAILED 이력을 같은 트랜잭션에서 커밋한다.
+     */
+    @Transactional(noRollbackFor = InsufficientBalanceException.class)
     public WithdrawalResponse withdraw(Long walletId, WithdrawalRequest req, boolean useDbLock) {
+        deadlineStatementTimeout.apply();
+        shardWriteFence.check(walletId);
+
         // Idempotency check
-        var existingHistory = historyRepository.findByTransactionId(req.transactionId());
+        var existingHistory = query("history-by-transaction-id",
+                () -> historyRepository.findByTransactionId(req.transactionId()));
         if (existingHistory.isPresent()) {
-            return WithdrawalResponse.from(existingHistory.get());
+            return replayOf(existingHistory.get());
         }
 
-        Wallet wallet = useDbLock
-                ? walletRepository.findByIdForUpdate(walletId)
-                        .orElseThrow(() -> new com.walletserver.wallet.exception.WalletNotFoundException(walletId))
-                : walletRepository.findById(walletId)
-                        .orElseThrow(() -> new com.walletserver.wallet.exception.WalletNotFoundException(walletId));
+        String currency = req.resolvedCurrency();
+        BalanceAccount account = req.isBaseCurrency()
+                ? findWallet(walletId, useDbLock)
+                : findBalance(walletId, currency, useDbLock);
 
-        wallet.decreaseBalance(req.amount());
+        try {
+            account.decreaseBalance(req.amount());
+        } catch (InsufficientBalanceException e) {
+            TransactionHistory failure = TransactionHistory.builder()
+                    .transactionId(req.transactionId())
+                    .walletId(walletId)
+                    .type(TransactionType.WITHDRAWAL)
+                    .amount(req.amount())
+                    .currency(currency)
+                    .balanceSnapshot(account.getBalance())
+                    .status(TransactionStatus.FAILED)
+                    .failureReason(e.getMessage())
+                    .build();
+            query("history-insert", () -> historyRepository.save(failure));
+            throw e;
+        }
+        // 출금 한도는 기준 통화 금액으로 정의되어 있으므로 다른 통화 출금은 집계하지 않는다.
+        if (req.isBaseCurrency()) {
+            velocityLimitService.record(walletId, req.amount());
+        }
 
         TransactionHistory history = TransactionHistory.builder()
                 .transactionId(req.transactionId())
                 .walletId(walletId)
                 .type(TransactionType.WITHDRAWAL)
                 .amount(req.amount())
-                .balanceSnapshot(wallet.getBalance())
+                .currency(currency)
+                .balanceSnapshot(account.getBalance())
                 .status(TransactionStatus.SUCCESS)
                 .build();
 
-        historyRepository.save(history);
+        query("history-insert", () -> historyRepository.save(history));
 
         return WithdrawalResponse.from(history);
     }
+
+    /**
+     * 파티션 소유자가 펜싱 토큰을 확인한 뒤 출금한다. 인스턴스 내부 락으로 이미 직렬화되어 있으므로
+     * 행 잠금은 대기 없이 획득되며, 소유권이 넘어간 뒤의 요청이나 fallback 경로와의 경합만 막는다.
+     */
+    @Transactional(noRollbackFor = InsufficientBalanceException.class)
+    public WithdrawalResponse withdrawFenced(Long walletId, WithdrawalRequest req, int partition, long epoch) {
+        Long currentEpoch = partitionFenceRepository.findEpochForShare(partition);
+        if (currentEpoch == null || currentEpoch != epoch) {
+            throw new OwnershipLostException(partition);
+        }
+        return withdraw(walletId, req, true);
+    }
+
+    /**
+     * 이미 처리된 거래의 결과를 락 없이 조회한다. 거절된 거래는 저장된 사유로 다시 거절한다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<WithdrawalResponse> findOutcome(UUID transactionId) {
+        return query("history-by-transaction-id", () -> historyRepository.findByTransactionId(transactionId))
+                .map(this::replayOf);
+    }
+
+    private Wallet findWallet(Long walletId, boolean useDbLock) {
+        return (useDbLock
+                ? query("wallet-for-update", () -> walletRepository.findByIdForUpdate(walletId))
+                : query("wallet-by-id", () -> walletRepository.findById(walletId)))
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+    }
+
+    /**
+     * 지갑+통화 행만 잠그므로 같은 지갑의 다른 통화 출금과 경합하지 않는다. 행이 없으면 잔액 0으로 본다.
+     */
+    private BalanceAccount findBalance(Long walletId, String currency, boolean useDbLock) {
+        Optional<WalletBalance> balance = useDbLock
+                ? query("balance-for-update",
+                        () -> walletBalanceRepository.findByWalletIdAndCurrencyForUpdate(walletId, currency))
+                : query("balance-by-currency",
+                        () -> walletBalanceRepository.findByWalletIdAndCurrency(walletId, currency));
+        if (balance.isPresent()) {
+            return balance.get();
+        }
+        if (!query("wallet-exists", () -> walletRepository.existsById(walletId))) {
+            throw new WalletNotFoundException(walletId);
+        }
+        return WalletBalance.builder().walletId(walletId).currency(currency).build();
+    }
+
+    /**
+     * 출금 경로의 쿼리마다 스팬을 남긴다. 지갑 잔액 UPDATE는 커밋 시점에 flush되므로
+     * 호출자의 락 보유 스팬(wallet.lock.hold) 안에서 측정된다.
+     */
+    private <T> T query(String name, Supplier<T> query) {
+        return Observation.createNotStarted("wallet.db.query", observationRegistry)
+                .lowCardinalityKeyValue("query", name)
+                .observe(query);
+    }
+
+    private WithdrawalResponse replayOf(TransactionHistory history) {
+        new IdempotencyReplayEvent().complete(history.getWalletId(), history.getTransactionId(),
+                history.getStatus().name());
+        if (history.getStatus() == TransactionStatus.FAILED) {
+            throw new InsufficientBalanceException(history.getFailureReason());
+        }
+        return WithdrawalResponse.from(history);
+    }
 }
@@ -0,0 +1,162 @@
+package com.walletserver.balance.service;
+
+import com.walletserver.balance.entity.BalanceCheckpoint;
+import com.walletserver.balance.entity.BalanceCheckpointProgress;
+import com.walletserver.balance.repository.BalanceCheckpointProgressRepository;
+import com.walletserver.balance.repository.BalanceCheckpointRepository;
+import com.walletserver.transaction.entity.TransactionHistory;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionType;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.repository.WalletBalanceRepository;
+import com.walletserver.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceCheckpointServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private BalanceCheckpointProgressRepository progressRepository;
+
+    @Mock
+    private TransactionHistoryRepository historyRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletBalanceRepository walletBalanceRepository;
+
+    private BalanceCheckpointService checkpointService;
+    private PointInTimeBalanceService pointInTimeBalanceService;
+
+    @BeforeEach
+    void setUp() {
+        checkpointService = new BalanceCheckpointService(
+                checkpointRepository, progressRepository, historyRepository, 100, 2, 0);
+        pointInTimeBalanceService = new PointInTimeBalanceService(
+                checkpointRepository, historyRepository, walletRepository, walletBalanceRepository);
+    }
+
+    @Test
+    @DisplayName("지정한 건수를 반영한 체크포인트는 봉인되고 다음 이력부터 새 체크포인트가 열린다")
+    void build_seals_and_opens_next_checkpoint() {
+        // given
+        BalanceCheckpointProgress progress = new BalanceCheckpointProgress(BalanceCheckpointProgress.SINGLETON_ID);
+        given(progressRepository.findByIdForUpdate(BalanceCheckpointProgress.SINGLETON_ID))
+                .willReturn(Optional.of(progress));
+        given(historyRepository.findSucceededAfter(eq(0L), any(), any())).willReturn(List.of(
+                history(1L, TransactionType.DEPOSIT, 10000, 10000, 0),
+                history(2L, TransactionType.WITHDRAWAL, 3000, 7000, 1),
+                history(3L, TransactionType.HOLD, 2000, 5000, 2)));
+        given(checkpointRepository.findFirstByWalletIdAndCurrencyOrderByLastHistoryIdDesc(1L, Wallet.BASE_CURRENCY))
+                .willReturn(Optional.empty());
+        given(checkpointRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        int rows = checkpointService.buildNextBatch();
+
+        // then
+        ArgumentCaptor<BalanceCheckpoint> saved = ArgumentCaptor.forClass(BalanceCheckpoint.class);
+        verify(checkpointRepository, atLeastOnce()).save(saved.capture());
+        List<BalanceCheckpoint> checkpoints = saved.getAllValues();
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(progress.getLastHistoryId()).isEqualTo(3L);
+        assertThat(checkpoints).hasSize(2);
+        assertThat(checkpoints.get(0).isSealed()).isTrue();
+        assertThat(checkpoints.get(0).getLastHistoryId()).isEqualTo(2L);
+        assertThat(checkpoints.get(0).getBalance()).isEqualByComparingTo("7000");
+        assertThat(checkpoints.get(1).isSealed()).isFalse();
+        assertThat(checkpoints.get(1).getLastHistoryId()).isEqualTo(3L);
+        assertThat(checkpoints.get(1).getBalance()).isEqualByComparingTo("5000");
+    }
+
+    @Test
+    @DisplayName("시점 잔액은 가장 가까운 체크포인트에 이후 이력의 변화량만 더해 계산한다")
+    void balanceAt_applies_delta_after_checkpoint() {
+        // given
+        Wallet wallet = Wallet.builder().id(1L).balance(BigDecimal.valueOf(4000)).build();
+        BalanceCheckpoint checkpoint = new BalanceCheckpoint(1L, Wallet.BASE_CURRENCY,
+                BigDecimal.valueOf(7000), 2L, T0.plusMinutes(1));
+        LocalDateTime at = T0.plusMinutes(5);
+        given(walletRepository.findById(1L)).willReturn(Optional.of(wallet));
+        given(checkpointRepository.findFirstByWalletIdAndCurrencyAndCheckpointAtLessThanEqualOrderByLastHistoryIdDesc(
+                1L, Wallet.BASE_CURRENCY, at)).willReturn(Optional.of(checkpoint));
+        given(historyRepository.findSucceededUntil(1L, Wallet.BASE_CURRENCY, 2L, at)).willReturn(List.of(
+                history(3L, TransactionType.HOLD, 2000, 5000, 2),
+                history(4L, TransactionType.CAPTURE, 2000, 5000, 3),
+                history(5L, TransactionType.WITHDRAWAL, 500, 4500, 4)));
+
+        // when
+        var response = pointInTimeBalanceService.balanceAt(1L, Wallet.BASE_CURRENCY, at);
+
+        // then
+        assertThat(response.balance()).isEqualByComparingTo("4500");
+        assertThat(response.checkpointHistoryId()).isEqualTo(2L);
+        assertThat(response.lastHistoryId()).isEqualTo(5L);
+        assertThat(response.rowsApplied()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("체크포인트가 없으면 첫 이력에서 역산한 잔액에서 시작한다")
+    void balanceAt_without_checkpoint_starts_from_first_history() {
+        // given
+        Wallet wallet = Wallet.builder().id(1L).balance(BigDecimal.valueOf(7000)).build();
+        LocalDateTime at = T0.plusMinutes(1);
+        given(walletRepository.findById(1L)).willReturn(Optional.of(wallet));
+        given(checkpointRepository.findFirstByWalletIdAndCurrencyAndCheckpointAtLessThanEqualOrderByLastHistoryIdDesc(
+                1L, Wallet.BASE_CURRENCY, at)).willReturn(Optional.empty());
+        given(historyRepository.findSucceededUntil(eq(1L), eq(Wallet.BASE_CURRENCY), anyLong(), eq(at)))
+                .willReturn(List.of(history(7L, TransactionType.WITHDRAWAL, 1000, 9000, 1)));
+
+        // when
+        var response = pointInTimeBalanceService.balanceAt(1L, Wallet.BASE_CURRENCY, at);
+
+        // then
+        assertThat(response.balance()).isEqualByComparingTo("9000");
+        assertThat(response.checkpointHistoryId()).isNull();
+        assertThat(response.lastHistoryId()).isEqualTo(7L);
+    }
+
+    private TransactionHistory history(Long id, TransactionType type, long amount, long snapshot, int minutes) {
+        TransactionHistory history = TransactionHistory.builder()
+                .transactionId(UUID.randomUUID())
+                .walletId(1L)
+                .type(type)
+                .amount(BigDecimal.valueOf(amount))
+                .balanceSnapshot(BigDecimal.valueOf(snapshot))
+                .status(TransactionStatus.SUCCESS)
+                .build();
+        ReflectionTestUtils.setField(history, "id", id);
+        ReflectionTestUtils.setField(history, "createdAt", T0.plusMinutes(minutes));
+        return history;
+    }
+}
@@ -0,0 +1,61 @@
+package com.walletserver.cluster.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int PARTITIONS = 256;
+
+    @Test
+    @DisplayName("멤버가 없으면 소유자가 없다")
+    void ownerOf_empty_ring() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(), 64);
+
+        assertThat(ring.ownerOf(0)).isNull();
+    }
+
+    @Test
+    @DisplayName("멤버 추가 시 새 멤버에게 배정된 파티션만 이동")
+    void ownerOf_moves_only_to_new_member() {
+        // given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 64);
+
+        // when
+        int moved = 0;
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            String previous = before.ownerOf(partition);
+            String current = after.ownerOf(partition);
+            if (!previous.equals(current)) {
+                moved++;
+                // then
+                assertThat(current).isEqualTo("d");
+            }
+        }
+        assertThat(moved).isPositive().isLessThan(PARTITIONS / 2);
+    }
+
+    @Test
+    @DisplayName("가상 노드로 파티션이 멤버 간에 고르게 분산")
+    void ownerOf_distributes_partitions() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 64);
+
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            counts.merge(ring.ownerOf(partition), 1, Integer::sum);
+        }
+
+        // then
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(32, 96));
+    }
+}
@@ -0,0 +1,164 @@
+package com.walletserver.cluster.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.walletserver.cluster.exception.ForwardedRequestException;
+import com.walletserver.cluster.exception.OwnershipLostException;
+import com.walletserver.cluster.service.PartitionOwnership.OwnedPartition;
+import com.walletserver.common.deadline.RequestDeadline;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.wallet.service.WalletService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OwnershipRoutingEngineTest {
+
+    private static final int PARTITION = 3;
+
+    @Mock
+    private PartitionOwnership partitionOwnership;
+
+    @Mock
+    private WalletService walletService;
+
+    private final AtomicReference<String> forwardedPath = new AtomicReference<>();
+    private final AtomicReference<String> forwardedDeadline = new AtomicReference<>();
+    private HttpServer owner;
+    private OwnershipRoutingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new OwnershipRoutingEngine(partitionOwnership, walletService, RestClient.builder(), 16, 1000, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (owner != null) {
+            owner.stop(0);
+        }
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("소유하지 않은 지갑은 소유 인스턴스로 남은 예산과 함께 전달하고 그 응답을 돌려준다")
+    void withdraw_forwards_to_owner() throws IOException {
+        // given
+        UUID transactionId = UUID.randomUUID();
+        WithdrawalRequest request = new WithdrawalRequest(transactionId, BigDecimal.valueOf(1000));
+        startOwner(200, "{\"transactionId\":\"" + transactionId + "\",\"amount\":1000,"
+                + "\"remainingBalance\":9000,\"status\":\"SUCCESS\",\"currency\":\"KRW\"}");
+        givenRemoteOwner("http://localhost:" + owner.getAddress().getPort());
+        RequestDeadline.start(5000);
+
+        // when
+        WithdrawalResponse response = engine.withdraw(1L, request);
+
+        // then
+        assertThat(response.transactionId()).isEqualTo(transactionId);
+        assertThat(response.remainingBalance()).isEqualByComparingTo("9000");
+        assertThat(forwardedPath.get()).isEqualTo("/internal/wallets/1/withdraw");
+        assertThat(Long.parseLong(forwardedDeadline.get())).isPositive().isLessThanOrEqualTo(5000);
+        verify(walletService, never()).withdraw(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("소유 인스턴스의 오류 응답은 상태 코드와 본문을 그대로 전달한다")
+    void withdraw_passes_owner_error_through() throws IOException {
+        // given
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        startOwner(404, "{\"code\":\"WALLET_NOT_FOUND\"}");
+        givenRemoteOwner("http://localhost:" + owner.getAddress().getPort());
+
+        // when & then
+        assertThatThrownBy(() -> engine.withdraw(1L, request))
+                .isInstanceOfSatisfying(ForwardedRequestException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(404);
+                    assertThat(e.getBody()).contains("WALLET_NOT_FOUND");
+                });
+        verify(walletService, never()).withdraw(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("소유 인스턴스에 연결할 수 없으면 DB 행 잠금으로 처리한다")
+    void withdraw_falls_back_to_row_lock_when_owner_unreachable() throws IOException {
+        // given
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        startOwner(200, "{}");
+        String ownerUrl = "http://localhost:" + owner.getAddress().getPort();
+        owner.stop(0);
+        owner = null;
+        givenRemoteOwner(ownerUrl);
+
+        // when
+        engine.withdraw(1L, request);
+
+        // then
+        verify(walletService).withdraw(1L, request, true);
+    }
+
+    @Test
+    @DisplayName("소유 중인 파티션의 epoch가 바뀌었으면 소유권을 내려놓고 DB 행 잠금으로 처리한다")
+    void withdraw_marks_lost_on_stale_epoch() {
+        // given
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        given(walletService.findOutcome(request.transactionId())).willReturn(Optional.empty());
+        given(partitionOwnership.partitionOf(1L)).willReturn(PARTITION);
+        given(partitionOwnership.ownedPartition(PARTITION))
+                .willReturn(new OwnedPartition(PARTITION, 7L, Long.MAX_VALUE));
+        given(walletService.withdrawFenced(1L, request, PARTITION, 7L))
+                .willThrow(new OwnershipLostException(PARTITION));
+
+        // when
+        engine.withdraw(1L, request);
+
+        // then
+        verify(partitionOwnership).markLost(PARTITION);
+        verify(walletService).withdraw(1L, request, true);
+    }
+
+    private void givenRemoteOwner(String ownerUrl) {
+        given(walletService.findOutcome(any())).willReturn(Optional.empty());
+        given(partitionOwnership.partitionOf(1L)).willReturn(PARTITION);
+        given(partitionOwnership.ownedPartition(PARTITION)).willReturn(null);
+        given(partitionOwnership.ownerUrlOf(PARTITION)).willReturn(ownerUrl);
+    }
+
+    private void startOwner(int status, String body) throws IOException {
+        owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/", exchange -> {
+            forwardedPath.set(exchange.getRequestURI().getPath());
+            forwardedDeadline.set(exchange.getRequestHeaders().getFirst(RequestDeadline.HEADER));
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        owner.start();
+    }
+}
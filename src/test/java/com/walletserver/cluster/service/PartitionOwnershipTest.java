@@ -0,0 +1,96 @@
+package com.walletserver.cluster.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionOwnershipTest {
+
+    private static final String SELF = "node-a";
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private ClusterMembership membership;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RBucket<Object> lease;
+
+    private PartitionOwnership ownership;
+
+    @BeforeEach
+    void setUp() {
+        ownership = new PartitionOwnership(redissonClient, membership, jdbcTemplate, 1, 10000, 2000);
+        given(membership.getInstanceId()).willReturn(SELF);
+        given(membership.getRing()).willReturn(new ConsistentHashRing(List.of(SELF), 8));
+        given(redissonClient.getBucket(anyString(), any())).willReturn(lease);
+    }
+
+    @Test
+    @DisplayName("임대를 얻으면 DB 펜스가 올려 돌려준 epoch를 소유 epoch로 쓴다")
+    void rebalance_uses_epoch_returned_by_fence() {
+        // given
+        given(lease.setIfAbsent(eq(SELF), any(Duration.class))).willReturn(true);
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), any(), any())).willReturn(8L);
+
+        // when
+        ownership.rebalance();
+
+        // then
+        assertThat(ownership.ownedPartition(0).epoch()).isEqualTo(8L);
+    }
+
+    @Test
+    @DisplayName("펜스를 올리지 못하면 임대를 돌려놓고 소유하지 않는다")
+    void rebalance_releases_lease_when_fence_fails() {
+        // given
+        given(lease.setIfAbsent(eq(SELF), any(Duration.class))).willReturn(true);
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), any(), any()))
+                .willThrow(new IllegalStateException("db down"));
+
+        // when
+        assertThatCode(() -> ownership.rebalance()).doesNotThrowAnyException();
+
+        // then
+        assertThat(ownership.ownedPartition(0)).isNull();
+        verify(lease).compareAndSet(SELF, null);
+    }
+
+    @Test
+    @DisplayName("더 새 epoch에 막혀 소유를 내려놓으면 Redis 임대도 반납한다")
+    void markLost_releases_lease() {
+        // given
+        given(lease.setIfAbsent(eq(SELF), any(Duration.class))).willReturn(true);
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), any(), any())).willReturn(3L);
+        ownership.rebalance();
+
+        // when
+        ownership.markLost(0);
+
+        // then
+        assertThat(ownership.ownedPartition(0)).isNull();
+        verify(lease).compareAndSet(SELF, null);
+    }
+}
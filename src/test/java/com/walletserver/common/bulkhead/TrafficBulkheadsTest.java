@@ -0,0 +1,96 @@
+package com.walletserver.common.bulkhead;
+
+import com.walletserver.common.deadline.RequestDeadline;
+import com.walletserver.common.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrafficBulkheadsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TrafficBulkheads bulkheads = new TrafficBulkheads(meterRegistry, ObservationRegistry.NOOP,
+            1, 2, 1, 1, 1, 1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        bulkheads.shutdown();
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("작업은 트래픽 종류 전용 스레드에서 실행되고 요청 마감 시각과 트래픽 종류가 전달된다")
+    void run_on_class_executor_with_context() throws Exception {
+        // given
+        RequestDeadline.start(5_000);
+
+        // when
+        CompletableFuture<String> result = bulkheads.submit(TrafficClass.READ, () ->
+                Thread.currentThread().getName() + "|" + TrafficClassContext.current() + "|" + RequestDeadline.isPresent());
+
+        // then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("bulkhead-read-1|READ|true");
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 거절한다")
+    void reject_when_queue_full() {
+        // given
+        bulkheads.submit(TrafficClass.READ, this::block);
+        bulkheads.submit(TrafficClass.READ, this::block);
+
+        // when & then
+        assertThatThrownBy(() -> bulkheads.submit(TrafficClass.READ, () -> "rejected"))
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(meterRegistry.counter("wallet.bulkhead.rejected", "class", "read").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("사용자 출금 대기열이 쌓이면 배치 요청은 자기 격벽에 여유가 있어도 거절된다")
+    void batch_yields_to_interactive_backlog() throws Exception {
+        // given
+        bulkheads.submit(TrafficClass.INTERACTIVE, this::block);
+        bulkheads.submit(TrafficClass.INTERACTIVE, this::block);
+        assertThat(bulkheads.queueDepth(TrafficClass.INTERACTIVE)).isEqualTo(1);
+
+        // when & then
+        assertThatThrownBy(() -> bulkheads.submit(TrafficClass.BATCH, () -> "batch"))
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(bulkheads.submit(TrafficClass.READ, () -> "read").get(1, TimeUnit.SECONDS)).isEqualTo("read");
+    }
+
+    @Test
+    @DisplayName("대기열에서 마감 시각이 지난 작업은 실행하지 않는다")
+    void skip_expired_task() throws InterruptedException {
+        // given
+        RequestDeadline.start(1);
+        Thread.sleep(5);
+
+        // when
+        CompletableFuture<String> expired = bulkheads.submit(TrafficClass.READ, () -> "executed");
+
+        // then
+        assertThatThrownBy(() -> expired.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+    }
+
+    private String block() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
@@ -0,0 +1,85 @@
+package com.walletserver.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.walletserver.common.dto.ErrorResponse;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청 한 건(요청 본문 읽기, 응답 쓰기, 락 획득 실패 오류 쓰기)당 할당 바이트와 처리 시간을 기본 databind와 비교한다.
+ * 실행: ./gradlew benchmark --tests '*JsonCodecAllocationBenchmarkTest'
+ */
+@Slf4j
+@Tag("benchmark")
+class JsonCodecAllocationBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private static final byte[] REQUEST = ("{\"transactionId\":\"" + UUID.randomUUID()
+            + "\",\"amount\":10000.00,\"currency\":\"KRW\"}").getBytes(StandardCharsets.UTF_8);
+    private static final WithdrawalResponse RESPONSE = new WithdrawalResponse(UUID.randomUUID(),
+            new BigDecimal("10000.00"), new BigDecimal("990000.00"), "SUCCESS", "KRW");
+
+    private record Result(double bytesPerOp, double nanosPerOp) {
+    }
+
+    @Test
+    @DisplayName("전용 직렬화기의 요청당 할당량과 처리 시간을 기본 databind와 비교한다")
+    void compare_allocation_per_request() throws Exception {
+        ObjectMapper databind = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper streaming = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new WalletJsonModule())
+                .build();
+
+        measure(databind, WARMUP);
+        measure(streaming, WARMUP);
+        Result before = measure(databind, ITERATIONS);
+        Result after = measure(streaming, ITERATIONS);
+
+        log.info("| codec | bytes/request | ns/request |");
+        log.info("| databind | {} | {} |", before.bytesPerOp(), before.nanosPerOp());
+        log.info("| streaming | {} | {} |", after.bytesPerOp(), after.nanosPerOp());
+        assertThat(after.bytesPerOp()).isLessThan(before.bytesPerOp());
+    }
+
+    private Result measure(ObjectMapper mapper, int iterations) throws Exception {
+        ObjectReader reader = mapper.readerFor(WithdrawalRequest.class);
+        ObjectWriter responseWriter = mapper.writerFor(WithdrawalResponse.class);
+        ObjectWriter errorWriter = mapper.writerFor(ErrorResponse.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            WithdrawalRequest request = reader.readValue(REQUEST);
+            out.reset();
+            responseWriter.writeValue(out, RESPONSE);
+            errorWriter.writeValue(out, ErrorResponse.of("LOCK_ACQUISITION_FAILED", "잠시 후 다시 시도해주세요."));
+            sink += request.amount().scale() + out.size();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertThat(sink).isPositive();
+        return new Result((double) allocated / iterations, (double) elapsed / iterations);
+    }
+}
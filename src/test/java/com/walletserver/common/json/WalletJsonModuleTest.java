@@ -0,0 +1,94 @@
+package com.walletserver.common.json;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walletserver.common.dto.ErrorResponse;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WalletJsonModuleTest {
+
+    private final ObjectMapper databind = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper streaming = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new WalletJsonModule())
+            .build();
+
+    @Test
+    @DisplayName("출금 요청은 기본 databind와 같은 값으로 읽힌다")
+    void reads_request_like_databind() throws Exception {
+        // given
+        String[] bodies = {
+                "{\"transactionId\":\"0f8fad5b-d9cb-469f-a165-70867728950e\",\"amount\":1000.50}",
+                "{\"amount\":\"12\",\"transactionId\":\"0F8FAD5B-D9CB-469F-A165-70867728950E\",\"currency\":\"USD\"}",
+                "{\"transactionId\":\"0f8fad5b-d9cb-469f-a165-70867728950e\",\"extra\":{\"a\":[1,2]},\"amount\":1}",
+                "{\"transactionId\":null,\"amount\":null,\"currency\":null}",
+                "{}"
+        };
+
+        for (String body : bodies) {
+            // when
+            WithdrawalRequest actual = streaming.readValue(body, WithdrawalRequest.class);
+
+            // then
+            assertThat(actual).isEqualTo(databind.readValue(body, WithdrawalRequest.class));
+        }
+    }
+
+    @Test
+    @DisplayName("UUID나 금액 형식이 잘못되거나 통화가 객체이면 역직렬화 오류가 난다")
+    void rejects_malformed_values() {
+        assertThatThrownBy(() -> streaming.readValue(
+                "{\"transactionId\":\"not-a-uuid\",\"amount\":1}", WithdrawalRequest.class))
+                .isInstanceOf(JsonMappingException.class);
+        assertThatThrownBy(() -> streaming.readValue(
+                "{\"transactionId\":\"0f8fad5b-d9cb-469f-a165-70867728950e\",\"amount\":\"abc\"}",
+                WithdrawalRequest.class))
+                .isInstanceOf(JsonMappingException.class);
+        assertThatThrownBy(() -> streaming.readValue(
+                "{\"amount\":1,\"currency\":{\"code\":\"USD\"}}", WithdrawalRequest.class))
+                .isInstanceOf(JsonMappingException.class);
+    }
+
+    @Test
+    @DisplayName("출금 응답과 오류 응답은 기본 databind와 같은 JSON으로 쓰인다")
+    void writes_like_databind() throws Exception {
+        // given
+        WithdrawalResponse response = new WithdrawalResponse(UUID.randomUUID(), new BigDecimal("1000.50"),
+                new BigDecimal("1E+3"), "SUCCESS", "USD");
+        ErrorResponse error = new ErrorResponse("LOCK_ACQUISITION_FAILED", "잠시 후 다시 \"시도\"해주세요.",
+                LocalDateTime.of(2025, 1, 2, 3, 4));
+
+        // when & then
+        for (int i = 0; i < 2; i++) {
+            assertThat(streaming.writeValueAsString(response)).isEqualTo(databind.writeValueAsString(response));
+            assertThat(streaming.writeValueAsString(error)).isEqualTo(databind.writeValueAsString(error));
+        }
+        ErrorResponse now = ErrorResponse.of("WALLET_NOT_FOUND", null);
+        assertThat(streaming.writeValueAsString(now)).isEqualTo(databind.writeValueAsString(now));
+    }
+
+    @Test
+    @DisplayName("오류 응답의 시각은 ISO_LOCAL_DATE_TIME과 같은 형식으로 쓰인다")
+    void writes_timestamp_like_iso_formatter() throws Exception {
+        LocalDateTime[] timestamps = {
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5, 120_000_000),
+                LocalDateTime.of(2025, 12, 31, 23, 59, 59, 1),
+                LocalDateTime.of(99, 1, 1, 0, 0, 0, 100),
+                LocalDateTime.of(12345, 1, 1, 0, 0)
+        };
+        for (LocalDateTime timestamp : timestamps) {
+            ErrorResponse error = new ErrorResponse("BAD_REQUEST", "m", timestamp);
+            assertThat(streaming.writeValueAsString(error)).isEqualTo(databind.writeValueAsString(error));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.walletserver.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    @DisplayName("만료 시각이 지난 틱에서만 항목을 꺼낸다")
+    void advance_returns_items_after_expiration() {
+        // given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 0);
+        wheel.add(250, "a");
+        wheel.add(5_000, "b");
+
+        // when
+        List<String> early = wheel.advance(249);
+        List<String> first = wheel.advance(300);
+        List<String> second = wheel.advance(5_100);
+
+        // then
+        assertThat(early).isEmpty();
+        assertThat(first).containsExactly("a");
+        assertThat(second).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("이미 지난 만료 시각은 등록하지 않는다")
+    void add_rejects_past_expiration() {
+        // given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 1_000);
+
+        // when
+        boolean added = wheel.add(900, "late");
+
+        // then
+        assertThat(added).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("상위 단계로 넘어간 항목도 만료 시각보다 먼저 나오지 않고 1틱 이내에 나온다")
+    void advance_across_overflow_levels() {
+        // given
+        long tick = 10;
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(tick, 4, 7);
+        Random random = new Random(42);
+        List<Long> expirations = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long expiration = 7 + random.nextInt(100_000);
+            wheel.add(expiration, expiration);
+            expirations.add(expiration);
+        }
+
+        // when & then
+        int fired = 0;
+        for (long now = 7; now <= 100_020; now += 3) {
+            for (Long expiration : wheel.advance(now)) {
+                assertThat(expiration).isLessThanOrEqualTo(now);
+                assertThat(now - expiration).isLessThan(tick + 3);
+                fired++;
+            }
+        }
+        assertThat(fired).isEqualTo(expirations.size());
+        assertThat(wheel.size()).isZero();
+    }
+}
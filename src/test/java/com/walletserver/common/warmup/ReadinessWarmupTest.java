@@ -0,0 +1,45 @@
+package com.walletserver.common.warmup;
+
+import com.walletserver.global.config.TestContainersConfig;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"wallet.warmup.enabled=true", "wallet.warmup.iterations=20"})
+@Import(TestContainersConfig.class)
+class ReadinessWarmupTest {
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionHistoryRepository historyRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    @DisplayName("예열은 모든 단계를 거친 뒤 준비 상태로 전환되고, 합성 지갑과 출금 이력은 남기지 않는다")
+    void warmup_runs_before_readiness_and_rolls_back() {
+        // then
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(meterRegistry.timer("wallet.warmup.duration", "step", "connections").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("wallet.warmup.duration", "step", "redis").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("wallet.warmup.duration", "step", "withdraw").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("wallet.warmup.failures").counter()).isNull();
+        assertThat(walletRepository.count()).isZero();
+        assertThat(historyRepository.count()).isZero();
+    }
+}
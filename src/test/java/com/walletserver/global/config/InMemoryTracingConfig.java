@@ -0,0 +1,17 @@
+package com.walletserver.global.config;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 내보낸 스팬을 메모리에 모아 테스트에서 검증한다. @AutoConfigureObservability와 함께 사용한다.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class InMemoryTracingConfig {
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter() {
+        return InMemorySpanExporter.create();
+    }
+}
@@ -0,0 +1,82 @@
+package com.walletserver.hold.scheduler;
+
+import com.walletserver.global.config.TestContainersConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 애플리케이션의 임대 갱신이 테스트 중에 파티션을 다시 가져가지 않도록 갱신 주기를 길게 둔다.
+ */
+@SpringBootTest(properties = "wallet.hold.lease-renew-ms=3600000")
+@Import(TestContainersConfig.class)
+class HoldExpiryLeasesTest {
+
+    private static final int PARTITIONS = 4;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private HoldExpiryLeases applicationLeases;
+
+    private final List<HoldExpiryLeases> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(HoldExpiryLeases::releaseAll);
+    }
+
+    @Test
+    @DisplayName("임대는 한 인스턴스만 가지며, 이미 가진 파티션은 갱신해도 새로 인수한 것으로 보지 않는다")
+    void renew_assigns_each_partition_once() {
+        // given
+        applicationLeases.releaseAll();
+        HoldExpiryLeases first = leases();
+        HoldExpiryLeases second = leases();
+
+        // when
+        List<Integer> acquired = first.renew();
+        List<Integer> contended = second.renew();
+        List<Integer> renewed = first.renew();
+
+        // then
+        assertThat(acquired).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(contended).isEmpty();
+        assertThat(renewed).isEmpty();
+        assertThat(first.owned()).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("소유자가 임대를 반납하면 다른 인스턴스가 그 파티션을 인수한다")
+    void renew_takes_over_released_partitions() {
+        // given
+        applicationLeases.releaseAll();
+        HoldExpiryLeases first = leases();
+        HoldExpiryLeases second = leases();
+        first.renew();
+
+        // when
+        first.releaseAll();
+        List<Integer> acquired = second.renew();
+
+        // then
+        assertThat(acquired).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(first.owned()).isEmpty();
+    }
+
+    private HoldExpiryLeases leases() {
+        HoldExpiryLeases leases = new HoldExpiryLeases(redissonClient, PARTITIONS, 30000);
+        created.add(leases);
+        return leases;
+    }
+}
@@ -0,0 +1,161 @@
+package com.walletserver.hold.service;
+
+import com.walletserver.hold.dto.HoldRequest;
+import com.walletserver.hold.dto.HoldResponse;
+import com.walletserver.hold.dto.HoldSettleRequest;
+import com.walletserver.hold.entity.WalletHold;
+import com.walletserver.hold.entity.WalletHold.HoldStatus;
+import com.walletserver.hold.exception.HoldNotActiveException;
+import com.walletserver.hold.repository.WalletHoldRepository;
+import com.walletserver.shard.service.ShardWriteFence;
+import com.walletserver.transaction.entity.TransactionHistory;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletHoldRepository holdRepository;
+
+    @Mock
+    private TransactionHistoryRepository historyRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ShardWriteFence shardWriteFence;
+
+    private HoldService holdService;
+
+    @BeforeEach
+    void setUp() {
+        holdService = new HoldService(walletRepository, holdRepository, historyRepository, eventPublisher,
+                shardWriteFence, 3600, 86400);
+    }
+
+    @Test
+    @DisplayName("보류 시 가용 잔액이 보류 금액으로 옮겨지고 HOLD 이력이 남는다")
+    void placeHold_moves_available_to_held() {
+        // given
+        Long walletId = 1L;
+        HoldRequest request = new HoldRequest(UUID.randomUUID(), BigDecimal.valueOf(3000), null);
+        Wallet wallet = Wallet.builder().id(walletId).balance(BigDecimal.valueOf(10000)).build();
+
+        given(walletRepository.findByIdForUpdate(walletId)).willReturn(Optional.of(wallet));
+        given(holdRepository.findByHoldId(request.transactionId())).willReturn(Optional.empty());
+        given(holdRepository.save(any(WalletHold.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        HoldResponse response = holdService.placeHold(walletId, request);
+
+        // then
+        assertThat(response.availableBalance()).isEqualByComparingTo("7000");
+        assertThat(response.heldBalance()).isEqualByComparingTo("3000");
+        assertThat(response.status()).isEqualTo(HoldStatus.ACTIVE.name());
+
+        ArgumentCaptor<TransactionHistory> historyCaptor = ArgumentCaptor.forClass(TransactionHistory.class);
+        verify(historyRepository).save(historyCaptor.capture());
+        assertThat(historyCaptor.getValue().getType()).isEqualTo(TransactionHistory.TransactionType.HOLD);
+        verify(eventPublisher).publishEvent(any(HoldPlacedEvent.class));
+    }
+
+    @Test
+    @DisplayName("capture 시 보류 금액만 줄고 가용 잔액은 그대로다")
+    void capture_consumes_held_balance() {
+        // given
+        Long walletId = 1L;
+        UUID holdId = UUID.randomUUID();
+        Wallet wallet = Wallet.builder().id(walletId).balance(BigDecimal.valueOf(7000))
+                .heldBalance(BigDecimal.valueOf(3000)).build();
+        WalletHold hold = WalletHold.builder().holdId(holdId).walletId(walletId).amount(BigDecimal.valueOf(3000))
+                .expiresAt(LocalDateTime.now().plusHours(1)).build();
+        HoldSettleRequest request = new HoldSettleRequest(UUID.randomUUID());
+
+        given(walletRepository.findByIdForUpdate(walletId)).willReturn(Optional.of(wallet));
+        given(holdRepository.findByHoldId(holdId)).willReturn(Optional.of(hold));
+        given(historyRepository.existsByTransactionId(request.transactionId())).willReturn(false);
+
+        // when
+        HoldResponse response = holdService.capture(walletId, holdId, request);
+
+        // then
+        assertThat(response.status()).isEqualTo(HoldStatus.CAPTURED.name());
+        assertThat(response.availableBalance()).isEqualByComparingTo("7000");
+        assertThat(response.heldBalance()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("만료 시각이 지난 보류는 capture할 수 없다")
+    void capture_expired_hold_fails() {
+        // given
+        Long walletId = 1L;
+        UUID holdId = UUID.randomUUID();
+        Wallet wallet = Wallet.builder().id(walletId).balance(BigDecimal.valueOf(7000))
+                .heldBalance(BigDecimal.valueOf(3000)).build();
+        WalletHold hold = WalletHold.builder().holdId(holdId).walletId(walletId).amount(BigDecimal.valueOf(3000))
+                .expiresAt(LocalDateTime.now().minusSeconds(1)).build();
+        HoldSettleRequest request = new HoldSettleRequest(UUID.randomUUID());
+
+        given(walletRepository.findByIdForUpdate(walletId)).willReturn(Optional.of(wallet));
+        given(holdRepository.findByHoldId(holdId)).willReturn(Optional.of(hold));
+        given(historyRepository.existsByTransactionId(request.transactionId())).willReturn(false);
+
+        // when & then
+        assertThatThrownBy(() -> holdService.capture(walletId, holdId, request))
+                .isInstanceOf(HoldNotActiveException.class);
+        assertThat(wallet.getHeldBalance()).isEqualByComparingTo("3000");
+    }
+
+    @Test
+    @DisplayName("만료 처리 시 보류 금액을 가용 잔액으로 되돌리고, 이미 종료된 보류는 건너뛴다")
+    void expire_releases_once() {
+        // given
+        Long walletId = 1L;
+        Wallet wallet = Wallet.builder().id(walletId).balance(BigDecimal.valueOf(7000))
+                .heldBalance(BigDecimal.valueOf(3000)).build();
+        WalletHold hold = WalletHold.builder().holdId(UUID.randomUUID()).walletId(walletId)
+                .amount(BigDecimal.valueOf(3000)).expiresAt(LocalDateTime.now().minusSeconds(1)).build();
+
+        given(holdRepository.findWalletIdById(10L)).willReturn(Optional.of(walletId));
+        given(walletRepository.findByIdForUpdate(walletId)).willReturn(Optional.of(wallet));
+        given(holdRepository.findById(10L)).willReturn(Optional.of(hold));
+
+        // when
+        boolean first = holdService.expire(10L);
+        boolean second = holdService.expire(10L);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(wallet.getBalance()).isEqualByComparingTo("10000");
+        assertThat(wallet.getHeldBalance()).isEqualByComparingTo("0");
+        verify(historyRepository).save(any(TransactionHistory.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,68 @@
+package com.walletserver.profiling.service;
+
+import com.walletserver.profiling.dto.FlightRecordingStatus;
+import com.walletserver.profiling.event.LockAcquisitionEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecordingServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecordingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("기록 중 발생한 출금 경로 이벤트가 덤프 파일에 남는다")
+    void dump_contains_withdrawal_events() throws Exception {
+        // given
+        service = new FlightRecordingService(directory.toString(), 0, 5, 16);
+        FlightRecordingStatus started = service.start("default");
+
+        LockAcquisitionEvent event = new LockAcquisitionEvent();
+        event.begin();
+        event.complete(42L, LockAcquisitionEvent.TIMED_OUT);
+
+        // when
+        Path file = service.dump();
+
+        // then
+        assertThat(started.running()).isTrue();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("com.walletserver.LockAcquisition"))
+                .toList();
+        assertThat(events).anySatisfy(recorded -> {
+            assertThat(recorded.getLong("walletId")).isEqualTo(42L);
+            assertThat(recorded.getString("outcome")).isEqualTo(LockAcquisitionEvent.TIMED_OUT);
+        });
+    }
+
+    @Test
+    @DisplayName("기록이 없으면 덤프할 수 없고, 알 수 없는 설정 이름은 거절한다")
+    void reject_invalid_operations() {
+        // given
+        service = new FlightRecordingService(directory.toString(), 0, 5, 16);
+
+        // when & then
+        assertThatThrownBy(service::dump).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.start("no-such-settings")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.status().running()).isFalse();
+    }
+}
@@ -0,0 +1,94 @@
+package com.walletserver.reconciliation.service;
+
+import com.walletserver.reconciliation.entity.ReconciliationDiscrepancy;
+import com.walletserver.reconciliation.entity.ReconciliationDiscrepancy.DiscrepancyType;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerVerifierTest {
+
+    @Test
+    @DisplayName("이력과 잔액이 일치하면 불일치가 없다")
+    void verify_consistent_ledger() {
+        // given
+        LedgerVerifier verifier = new LedgerVerifier(1);
+
+        // when
+        verifier.accept(1L, 10L, TransactionType.WITHDRAWAL, amount(1000), amount(9000), amount(7500));
+        verifier.accept(1L, 11L, TransactionType.DEPOSIT, amount(500), amount(9500), amount(7500));
+        verifier.accept(1L, 12L, TransactionType.WITHDRAWAL, amount(2000), amount(7500), amount(7500));
+        List<ReconciliationDiscrepancy> discrepancies = verifier.finish();
+
+        // then
+        assertThat(discrepancies).isEmpty();
+        assertThat(verifier.getRowsScanned()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("누적 잔액과 balanceSnapshot이 다르면 SNAPSHOT_MISMATCH 보고")
+    void verify_snapshot_mismatch() {
+        // given
+        LedgerVerifier verifier = new LedgerVerifier(1);
+
+        // when
+        verifier.accept(1L, 10L, TransactionType.WITHDRAWAL, amount(1000), amount(9000), amount(7000));
+        verifier.accept(1L, 11L, TransactionType.WITHDRAWAL, amount(1000), amount(7000), amount(7000));
+        List<ReconciliationDiscrepancy> discrepancies = verifier.finish();
+
+        // then
+        assertThat(discrepancies).hasSize(1);
+        ReconciliationDiscrepancy discrepancy = discrepancies.get(0);
+        assertThat(discrepancy.getType()).isEqualTo(DiscrepancyType.SNAPSHOT_MISMATCH);
+        assertThat(discrepancy.getHistoryId()).isEqualTo(11L);
+        assertThat(discrepancy.getExpected()).isEqualByComparingTo(amount(8000));
+        assertThat(discrepancy.getActual()).isEqualByComparingTo(amount(7000));
+    }
+
+    @Test
+    @DisplayName("마지막 스냅샷과 현재 지갑 잔액이 다르면 지갑별로 BALANCE_MISMATCH 보고")
+    void verify_balance_mismatch_per_wallet() {
+        // given
+        LedgerVerifier verifier = new LedgerVerifier(1);
+
+        // when
+        verifier.accept(1L, 10L, TransactionType.WITHDRAWAL, amount(1000), amount(9000), amount(8000));
+        verifier.accept(2L, 20L, TransactionType.WITHDRAWAL, amount(1000), amount(4000), amount(4000));
+        List<ReconciliationDiscrepancy> discrepancies = verifier.finish();
+
+        // then
+        assertThat(discrepancies).hasSize(1);
+        ReconciliationDiscrepancy discrepancy = discrepancies.get(0);
+        assertThat(discrepancy.getType()).isEqualTo(DiscrepancyType.BALANCE_MISMATCH);
+        assertThat(discrepancy.getWalletId()).isEqualTo(1L);
+        assertThat(discrepancy.getExpected()).isEqualByComparingTo(amount(9000));
+        assertThat(discrepancy.getActual()).isEqualByComparingTo(amount(8000));
+    }
+
+    @Test
+    @DisplayName("HOLD는 가용 잔액을 줄이고 RELEASE는 되돌리며 CAPTURE는 가용 잔액을 바꾸지 않는다")
+    void verify_hold_capture_release() {
+        // given
+        LedgerVerifier verifier = new LedgerVerifier(1);
+
+        // when
+        verifier.accept(1L, 10L, TransactionType.HOLD, amount(3000), amount(7000), amount(8000));
+        verifier.accept(1L, 11L, TransactionType.CAPTURE, amount(3000), amount(7000), amount(8000));
+        verifier.accept(1L, 12L, TransactionType.HOLD, amount(1000), amount(6000), amount(8000));
+        verifier.accept(1L, 13L, TransactionType.RELEASE, amount(1000), amount(7000), amount(8000));
+        verifier.accept(1L, 14L, TransactionType.DEPOSIT, amount(1000), amount(8000), amount(8000));
+        List<ReconciliationDiscrepancy> discrepancies = verifier.finish();
+
+        // then
+        assertThat(discrepancies).isEmpty();
+    }
+
+    private static BigDecimal amount(long value) {
+        return BigDecimal.valueOf(value);
+    }
+}
@@ -0,0 +1,180 @@
+package com.walletserver.schedule.service;
+
+import com.walletserver.schedule.dto.ScheduleRequest;
+import com.walletserver.schedule.dto.ScheduleResponse;
+import com.walletserver.schedule.dto.ScheduledRun;
+import com.walletserver.schedule.entity.WithdrawalSchedule;
+import com.walletserver.schedule.entity.WithdrawalSchedule.ScheduleStatus;
+import com.walletserver.schedule.repository.WithdrawalScheduleRepository;
+import com.walletserver.shard.service.ShardWriteFence;
+import com.walletserver.transaction.entity.TransactionHistory.TransactionStatus;
+import com.walletserver.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WithdrawalScheduleServiceTest {
+
+    @Mock
+    private WithdrawalScheduleRepository scheduleRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private ShardWriteFence shardWriteFence;
+
+    private WithdrawalScheduleService scheduleService;
+
+    @BeforeEach
+    void setUp() {
+        scheduleService = new WithdrawalScheduleService(scheduleRepository, walletRepository, shardWriteFence, 60,
+                3_600_000);
+    }
+
+    @Test
+    @DisplayName("같은 transactionId로 다시 등록하면 기존 예약을 돌려준다")
+    void create_is_idempotent() {
+        // given
+        Long walletId = 1L;
+        ScheduleRequest request = new ScheduleRequest(UUID.randomUUID(), BigDecimal.valueOf(1000),
+                LocalDateTime.now().plusHours(1), 86400L, null);
+        WithdrawalSchedule existing = schedule(request.transactionId(), walletId, 86400L, null,
+                request.firstRunAt());
+        given(scheduleRepository.findByScheduleId(request.transactionId())).willReturn(Optional.of(existing));
+
+        // when
+        ScheduleResponse response = scheduleService.create(walletId, request);
+
+        // then
+        assertThat(response.scheduleId()).isEqualTo(request.transactionId());
+        verify(scheduleRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("최소 주기보다 짧은 반복 예약은 거부한다")
+    void create_rejects_short_interval() {
+        // given
+        ScheduleRequest request = new ScheduleRequest(UUID.randomUUID(), BigDecimal.valueOf(1000),
+                LocalDateTime.now(), 10L, null);
+        given(scheduleRepository.findByScheduleId(request.transactionId())).willReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> scheduleService.create(1L, request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("회차를 완료하면 다음 회차로 넘어가고, 구간 안이면 새 transactionId로 이어서 실행한다")
+    void complete_advances_to_next_run() {
+        // given
+        LocalDateTime firstRunAt = LocalDateTime.now().minusSeconds(1);
+        WithdrawalSchedule schedule = schedule(UUID.randomUUID(), 1L, 60L, null, firstRunAt);
+        ScheduledRun run = run(schedule, 0);
+        given(scheduleRepository.findById(run.id())).willReturn(Optional.of(schedule));
+
+        // when
+        Optional<ScheduledRun> next = scheduleService.complete(run, TransactionStatus.SUCCESS, null,
+                LocalDateTime.now().plusMinutes(5));
+
+        // then
+        assertThat(schedule.getRunCount()).isEqualTo(1);
+        assertThat(schedule.getLastOutcome()).isEqualTo(TransactionStatus.SUCCESS.name());
+        assertThat(next).isPresent();
+        assertThat(next.get().nextRunAt()).isEqualTo(firstRunAt.plusSeconds(60));
+        assertThat(next.get().transactionId()).isNotEqualTo(run.transactionId());
+        assertThat(run(schedule, 0).transactionId()).isEqualTo(run.transactionId());
+    }
+
+    @Test
+    @DisplayName("밀린 반복 예약은 따라잡기 창보다 오래된 회차를 건너뛰고, 실행 횟수는 늘리지 않는다")
+    void complete_skips_runs_older_than_catch_up_window() {
+        // given
+        LocalDateTime firstRunAt = LocalDateTime.now().minusHours(3);
+        WithdrawalSchedule schedule = schedule(UUID.randomUUID(), 1L, 60L, null, firstRunAt);
+        ScheduledRun run = run(schedule, 0);
+        given(scheduleRepository.findById(run.id())).willReturn(Optional.of(schedule));
+
+        // when
+        Optional<ScheduledRun> next = scheduleService.complete(run, TransactionStatus.SUCCESS, null,
+                LocalDateTime.now().plusMinutes(5));
+
+        // then
+        assertThat(schedule.getRunCount()).isEqualTo(1);
+        assertThat(next).isPresent();
+        assertThat(next.get().nextRunAt())
+                .isAfterOrEqualTo(LocalDateTime.now().minusHours(1).minusSeconds(1))
+                .isBefore(LocalDateTime.now().minusMinutes(58));
+        assertThat(Duration.between(firstRunAt, next.get().nextRunAt()).getSeconds() % 60).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 이미 진행시킨 회차의 완료는 무시한다")
+    void complete_ignores_stale_run() {
+        // given
+        WithdrawalSchedule schedule = schedule(UUID.randomUUID(), 1L, 60L, null, LocalDateTime.now());
+        ScheduledRun stale = run(schedule, 0);
+        schedule.advance(TransactionStatus.SUCCESS, null, LocalDateTime.now());
+        given(scheduleRepository.findById(stale.id())).willReturn(Optional.of(schedule));
+
+        // when
+        Optional<ScheduledRun> next = scheduleService.complete(stale, TransactionStatus.SUCCESS, null,
+                LocalDateTime.now().plusMinutes(5));
+
+        // then
+        assertThat(next).isEmpty();
+        assertThat(schedule.getRunCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 횟수에 도달하거나 잔액 부족으로 실패해도 회차는 끝나고 결과가 남는다")
+    void complete_finishes_at_max_runs() {
+        // given
+        WithdrawalSchedule schedule = schedule(UUID.randomUUID(), 1L, 60L, 1, LocalDateTime.now());
+        ScheduledRun run = run(schedule, 0);
+        given(scheduleRepository.findById(run.id())).willReturn(Optional.of(schedule));
+
+        // when
+        Optional<ScheduledRun> next = scheduleService.complete(run, TransactionStatus.FAILED, "잔액 부족",
+                LocalDateTime.now().plusMinutes(5));
+
+        // then
+        assertThat(next).isEmpty();
+        assertThat(schedule.getStatus()).isEqualTo(ScheduleStatus.COMPLETED);
+        assertThat(schedule.getLastFailureReason()).isEqualTo("잔액 부족");
+    }
+
+    private WithdrawalSchedule schedule(UUID scheduleId, Long walletId, Long intervalSeconds, Integer maxRuns,
+                                        LocalDateTime firstRunAt) {
+        return WithdrawalSchedule.builder()
+                .scheduleId(scheduleId)
+                .walletId(walletId)
+                .amount(BigDecimal.valueOf(1000))
+                .intervalSeconds(intervalSeconds)
+                .maxRuns(maxRuns)
+                .firstRunAt(firstRunAt)
+                .build();
+    }
+
+    private ScheduledRun run(WithdrawalSchedule schedule, long runCount) {
+        return new ScheduledRun(1L, schedule.getScheduleId(), schedule.getWalletId(), schedule.getAmount(),
+                runCount, schedule.getNextRunAt());
+    }
+}
@@ -0,0 +1,113 @@
+package com.walletserver.shard.routing;
+
+import com.walletserver.shard.entity.ShardRange;
+import com.walletserver.shard.exception.ShardMovingException;
+import com.walletserver.shard.service.ShardMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WalletShardAspectTest {
+
+    @Mock
+    private ShardMap shardMap;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @AfterEach
+    void tearDown() {
+        ShardContext.exit(null);
+    }
+
+    @Test
+    @DisplayName("지갑 소속 샤드를 컨텍스트에 두고 실행한 뒤 원래대로 되돌린다")
+    void routes_to_wallet_shard() throws Throwable {
+        // given
+        ShardRange range = new ShardRange(100L, 200L, 2);
+        given(shardMap.isEnabled()).willReturn(true);
+        given(shardMap.rangeOf(150L)).willReturn(range);
+        AtomicReference<Integer> seen = new AtomicReference<>();
+        given(joinPoint.proceed()).willAnswer(invocation -> {
+            seen.set(ShardContext.current());
+            return "ok";
+        });
+
+        // when
+        Object result = new WalletShardAspect(shardMap).routeWithdrawal(joinPoint, 150L);
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(seen.get()).isEqualTo(2);
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("이동 중인 구간의 지갑은 쓰기를 거절하고 읽기는 원래 샤드에서 처리한다")
+    void frozen_range_rejects_writes_only() throws Throwable {
+        // given
+        ShardRange range = new ShardRange(100L, 200L, 1);
+        range.beginMove(2);
+        range.freeze();
+        given(shardMap.isEnabled()).willReturn(true);
+        given(shardMap.rangeOf(150L)).willReturn(range);
+        given(joinPoint.getArgs()).willReturn(new Object[]{150L});
+        WalletShardAspect aspect = new WalletShardAspect(shardMap);
+
+        // when & then
+        assertThatThrownBy(() -> aspect.routeWithdrawal(joinPoint, 150L))
+                .isInstanceOf(ShardMovingException.class);
+        aspect.routeAnnotated(joinPoint, readOnly());
+        verify(joinPoint).proceed();
+    }
+
+    @Test
+    @DisplayName("샤딩이 꺼져 있으면 샤드 맵을 보지 않고 그대로 실행한다")
+    void disabled_sharding_passes_through() throws Throwable {
+        // given
+        given(shardMap.isEnabled()).willReturn(false);
+
+        // when
+        new WalletShardAspect(shardMap).routeWithdrawal(joinPoint, 150L);
+
+        // then
+        verify(joinPoint).proceed();
+        verify(shardMap, never()).rangeOf(150L);
+    }
+
+    @Test
+    @DisplayName("한 작업 안에서 다른 샤드로 넘어가려 하면 실패한다")
+    void cross_shard_access_fails() {
+        // when & then
+        ShardContext.runOn(1, () -> assertThatThrownBy(() -> ShardContext.enter(2))
+                .isInstanceOf(IllegalStateException.class));
+        assertThat(ShardContext.callOn(1, () -> ShardContext.callOn(1, ShardContext::current))).isEqualTo(1);
+    }
+
+    private static ShardedByWallet readOnly() {
+        return new ShardedByWallet() {
+            @Override
+            public boolean readOnly() {
+                return true;
+            }
+
+            @Override
+            public Class<? extends java.lang.annotation.Annotation> annotationType() {
+                return ShardedByWallet.class;
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.walletserver.shard.service;
+
+import com.walletserver.hold.scheduler.HoldExpiryScheduler;
+import com.walletserver.shard.dto.ReshardReport;
+import com.walletserver.shard.dto.ShardMoveRequest;
+import com.walletserver.shard.entity.ShardRange;
+import com.walletserver.shard.entity.ShardRange.RangeState;
+import com.walletserver.shard.repository.ShardRangeRepository;
+import com.walletserver.shard.routing.ShardContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReshardServiceTest {
+
+    private static final int SOURCE = 0;
+    private static final int TARGET = 1;
+
+    @Mock
+    private ShardMap shardMap;
+
+    @Mock
+    private ShardRangeRepository rangeRepository;
+
+    @Mock
+    private ShardSchemaInitializer schemaInitializer;
+
+    @Mock
+    private ShardWriteFence writeFence;
+
+    @Mock
+    private ObjectProvider<HoldExpiryScheduler> holdExpiryScheduler;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReshardService reshardService;
+    private ShardRange range;
+    private final List<String> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reshardService = new ReshardService(shardMap, rangeRepository, schemaInitializer, writeFence,
+                holdExpiryScheduler, jdbcTemplate, transactionManager, 1000);
+        range = new ShardRange(100L, 200L, SOURCE);
+
+        given(shardMap.shardCount()).willReturn(2);
+        given(jdbcTemplate.queryForObject(startsWith("select coalesce(max(id), 0) from wallet"), eq(Long.class)))
+                .willReturn(1000L);
+        given(rangeRepository.findAllByOrderByStartWalletIdAsc()).willReturn(List.of(range));
+    }
+
+    /**
+     * 원래 샤드에는 wallet 행 하나가 있다. 읽기, fence, 정리가 어느 샤드에서 어떤 구간 상태로 일어났는지 기록한다.
+     */
+    private void givenSourceRows() {
+        given(rangeRepository.save(any(ShardRange.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(rangeRepository.findById(any())).willReturn(Optional.of(range));
+        given(jdbcTemplate.queryForList(anyString(), anyLong(), anyLong())).willAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            events.add("read:" + ShardContext.current() + ":" + range.getState());
+            if (ShardContext.current() == SOURCE && sql.startsWith("select * from wallet ")) {
+                return List.of(Map.<String, Object>of("id", 150L, "balance", BigDecimal.TEN));
+            }
+            return List.of();
+        });
+        willAnswer(invocation -> events.add("fence:" + ShardContext.current()))
+                .given(writeFence).freeze(100L, 200L);
+        willAnswer(invocation -> events.add("unfence:" + ShardContext.current()))
+                .given(writeFence).clear(100L, 200L);
+        given(jdbcTemplate.update(startsWith("delete from wallet "), anyLong(), anyLong())).willAnswer(invocation -> {
+            events.add("purge:" + ShardContext.current());
+            return 1;
+        });
+    }
+
+    @Test
+    @DisplayName("복사 후 구간을 얼리고 fence를 세운 뒤 다시 복사하고, 검증이 맞으면 대상 샤드로 넘기고 원래 샤드를 비운다")
+    void move_cuts_over_when_copies_match() {
+        // given
+        givenSourceRows();
+        given(jdbcTemplate.queryForMap(anyString(), anyLong(), anyLong()))
+                .willReturn(Map.of("cnt", 1L, "total", BigDecimal.TEN));
+        given(jdbcTemplate.queryForObject(contains("from transaction_history"), eq(Long.class), anyLong(), anyLong()))
+                .willReturn(0L);
+
+        // when
+        ReshardReport report = reshardService.move(new ShardMoveRequest(100L, 200L, TARGET));
+
+        // then
+        assertThat(range.getShard()).isEqualTo(TARGET);
+        assertThat(range.getState()).isEqualTo(RangeState.ACTIVE);
+        assertThat(report.copiedRows()).containsEntry("wallet", 2L);
+        assertThat(events).containsSubsequence("read:0:COPYING", "fence:0", "read:0:FROZEN", "unfence:1", "purge:0");
+        assertThat(events).doesNotContain("purge:1", "unfence:0");
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into wallet "), anyList());
+        verify(schemaInitializer).advanceAbove(TARGET, "transaction_history", 0L);
+    }
+
+    @Test
+    @DisplayName("검증이 맞지 않으면 원래 샤드로 되돌리고 fence를 풀고 대상 샤드의 복사본을 지운다")
+    void move_aborts_when_copies_differ() {
+        // given
+        givenSourceRows();
+        given(jdbcTemplate.queryForMap(anyString(), anyLong(), anyLong())).willAnswer(invocation ->
+                Map.of("cnt", ShardContext.current() == SOURCE ? 2L : 1L, "total", BigDecimal.TEN));
+
+        // when & then
+        assertThatThrownBy(() -> reshardService.move(new ShardMoveRequest(100L, 200L, TARGET)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Copy mismatch on wallet");
+        assertThat(range.getShard()).isEqualTo(SOURCE);
+        assertThat(range.getState()).isEqualTo(RangeState.ACTIVE);
+        assertThat(events).containsSubsequence("fence:0", "read:0:FROZEN", "unfence:0", "purge:1");
+        assertThat(events).doesNotContain("purge:0");
+        verify(schemaInitializer, never()).advanceAbove(anyInt(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("같은 샤드에서 다른 구간이 이동 중이면 시작하지 않는다")
+    void move_rejects_second_move_off_same_shard() {
+        // given
+        ShardRange moving = new ShardRange(300L, 400L, SOURCE);
+        moving.beginMove(TARGET);
+        given(rangeRepository.findAllByOrderByStartWalletIdAsc()).willReturn(List.of(range, moving));
+
+        // when & then
+        assertThatThrownBy(() -> reshardService.move(new ShardMoveRequest(100L, 200L, TARGET)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already moving off shard");
+        assertThat(range.getState()).isEqualTo(RangeState.ACTIVE);
+    }
+}
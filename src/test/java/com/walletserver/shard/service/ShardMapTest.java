@@ -0,0 +1,68 @@
+package com.walletserver.shard.service;
+
+import com.walletserver.shard.entity.ShardRange;
+import com.walletserver.shard.repository.ShardRangeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ShardMapTest {
+
+    @Mock
+    private ShardRangeRepository rangeRepository;
+
+    @Test
+    @DisplayName("구간을 잘라 옮기면 그 구간의 지갑만 대상 샤드로 가고 나머지는 원래 샤드에 남는다")
+    void moved_range_routes_to_target_shard() {
+        // given
+        ShardRange head = new ShardRange(0L, null, ShardMap.CATALOG_SHARD);
+        ShardRange moved = head.splitAt(1000L);
+        ShardRange tail = moved.splitAt(2000L);
+        moved.beginMove(1);
+        moved.freeze();
+        moved.completeMove();
+        given(rangeRepository.findAllByOrderByStartWalletIdAsc()).willReturn(List.of(head, moved, tail));
+        ShardMap shardMap = new ShardMap(rangeRepository, true, List.of("jdbc:a", "jdbc:b"), 1000);
+
+        // when
+        shardMap.refresh();
+
+        // then
+        assertThat(shardMap.shardOf(999L)).isEqualTo(0);
+        assertThat(shardMap.shardOf(1000L)).isEqualTo(1);
+        assertThat(shardMap.shardOf(1999L)).isEqualTo(1);
+        assertThat(shardMap.shardOf(Long.MAX_VALUE)).isEqualTo(0);
+        assertThat(shardMap.shards()).containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("이동 중이 아닌 구간은 동결할 수 없다")
+    void freeze_requires_copying_state() {
+        // given
+        ShardRange range = new ShardRange(0L, 100L, 0);
+
+        // when & then
+        assertThatThrownBy(range::freeze).isInstanceOf(IllegalStateException.class);
+        assertThat(range.acceptsWrites()).isTrue();
+    }
+
+    @Test
+    @DisplayName("이동 후 발급할 ID는 옮겨 온 ID보다 크고 대상 샤드 번호를 나머지로 갖는다")
+    void next_id_above_keeps_shard_residue() {
+        // when
+        long next = ShardSchemaInitializer.nextIdAbove(5_000L, 3);
+
+        // then
+        assertThat(next).isGreaterThan(5_000L);
+        assertThat(next % ShardSchemaInitializer.ID_STRIDE).isEqualTo(3);
+    }
+}
@@ -0,0 +1,91 @@
+package com.walletserver.velocity.service;
+
+import com.walletserver.velocity.entity.WithdrawalVelocity.Period;
+import com.walletserver.velocity.exception.VelocityLimitExceededException;
+import com.walletserver.velocity.repository.WithdrawalVelocityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class VelocityLimitServiceTest {
+
+    @Mock
+    private VelocityCounterStore counterStore;
+
+    @Mock
+    private VelocityCounterCache counterCache;
+
+    @Mock
+    private WithdrawalVelocityRepository velocityRepository;
+
+    private VelocityLimitService velocityLimitService;
+
+    @BeforeEach
+    void setUp() {
+        velocityLimitService = new VelocityLimitService(counterStore, counterCache, velocityRepository, true,
+                BigDecimal.valueOf(10000), BigDecimal.valueOf(100000));
+    }
+
+    @Test
+    @DisplayName("일 누계가 한도 안이면 일/월 누계를 모두 증가시킨다")
+    void record_within_limits() {
+        // given
+        Long walletId = 1L;
+        BigDecimal amount = BigDecimal.valueOf(3000);
+        given(counterStore.incrementWithinLimit(eq(walletId), any(), any(), eq(amount), any()))
+                .willReturn(Optional.of(BigDecimal.valueOf(3000)));
+
+        // when & then
+        assertThatCode(() -> velocityLimitService.record(walletId, amount)).doesNotThrowAnyException();
+        verify(counterStore).incrementWithinLimit(eq(walletId), eq(Period.DAY), any(), eq(amount),
+                eq(BigDecimal.valueOf(10000)));
+        verify(counterStore).incrementWithinLimit(eq(walletId), eq(Period.MONTH), any(), eq(amount),
+                eq(BigDecimal.valueOf(100000)));
+    }
+
+    @Test
+    @DisplayName("일 한도를 넘으면 월 누계를 건드리지 않고 예외를 던진다")
+    void record_exceeds_daily_limit() {
+        // given
+        Long walletId = 1L;
+        BigDecimal amount = BigDecimal.valueOf(3000);
+        given(counterStore.incrementWithinLimit(eq(walletId), eq(Period.DAY), any(), eq(amount), any()))
+                .willReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> velocityLimitService.record(walletId, amount))
+                .isInstanceOf(VelocityLimitExceededException.class)
+                .hasMessageContaining("day");
+        verify(counterStore, never()).incrementWithinLimit(eq(walletId), eq(Period.MONTH), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("캐시된 누계로 한도 초과가 명백하면 락 전에 거절한다")
+    void precheck_rejects_with_cached_total() {
+        // given
+        Long walletId = 1L;
+        LocalDate today = LocalDate.now();
+        given(counterCache.get(walletId, Period.DAY, Period.DAY.startOf(today)))
+                .willReturn(Optional.of(BigDecimal.valueOf(9000)));
+
+        // when & then
+        assertThatThrownBy(() -> velocityLimitService.precheck(walletId, BigDecimal.valueOf(2000)))
+                .isInstanceOf(VelocityLimitExceededException.class);
+    }
+}
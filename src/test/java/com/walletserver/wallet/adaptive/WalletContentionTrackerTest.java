@@ -0,0 +1,68 @@
+package com.walletserver.wallet.adaptive;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WalletContentionTrackerTest {
+
+    private final WalletContentionTracker tracker =
+            new WalletContentionTracker(new SimpleMeterRegistry(), 4, 1024, 40, 10, 100, 10, 10);
+
+    @Test
+    @DisplayName("경합 점수가 hot-threshold에 도달하면 HOT으로 승격된다")
+    void promote_when_score_reaches_hot_threshold() {
+        // given
+        Long walletId = 1L;
+
+        // when
+        tracker.recordConflict(walletId);
+        tracker.recordConflict(walletId);
+        tracker.recordConflict(walletId);
+        boolean beforeThreshold = tracker.isHot(walletId);
+        tracker.recordLockWait(walletId, 100);
+
+        // then
+        assertThat(beforeThreshold).isFalse();
+        assertThat(tracker.isHot(walletId)).isTrue();
+        assertThat(tracker.isHot(2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("점수가 hot-threshold 아래로 내려가도 cold-threshold 이하가 되기 전까지는 HOT을 유지한다")
+    void demote_only_below_cold_threshold() {
+        // given
+        Long walletId = 1L;
+        tracker.recordLockWait(walletId, 400);
+
+        // when
+        tracker.decay();
+        boolean afterFirstDecay = tracker.isHot(walletId);
+        tracker.decay();
+        boolean afterSecondDecay = tracker.isHot(walletId);
+
+        // then
+        assertThat(afterFirstDecay).isTrue();
+        assertThat(afterSecondDecay).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 지갑에 동시에 처리 중인 요청이 있으면 대기열 깊이만큼 점수가 오른다")
+    void enter_records_queue_depth() {
+        // given
+        Long walletId = 1L;
+
+        // when
+        tracker.enter(walletId);
+        tracker.enter(walletId);
+        tracker.enter(walletId);
+        tracker.exit(walletId);
+        tracker.exit(walletId);
+        tracker.exit(walletId);
+
+        // then
+        assertThat(tracker.estimate(walletId)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,33 @@
+package com.walletserver.wallet.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTokenBucketTest {
+
+    @Test
+    @DisplayName("용량만큼 즉시 허용하고 초과 요청은 다음 토큰까지의 대기 시간을 반환")
+    void tryAcquire_until_empty() {
+        // given
+        LocalTokenBucket bucket = new LocalTokenBucket(2, 500, 0);
+
+        // when & then
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("경과 시간만큼 토큰이 다시 채워짐")
+    void tryAcquire_after_refill() {
+        // given
+        LocalTokenBucket bucket = new LocalTokenBucket(1, 500, 0);
+        bucket.tryAcquire(0);
+
+        // when & then
+        assertThat(bucket.tryAcquire(1)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(2)).isZero();
+    }
+}
@@ -0,0 +1,107 @@
+package com.walletserver.wallet.admission;
+
+import com.walletserver.global.config.TestContainersConfig;
+import com.walletserver.wallet.exception.RateLimitExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@Import(TestContainersConfig.class)
+class WalletAdmissionGateTest {
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Test
+    @DisplayName("지갑 버킷을 다 쓰면 Redis 스크립트가 다음 토큰까지의 대기 시간과 함께 거절한다")
+    void admit_rejects_when_wallet_bucket_empty() {
+        // given
+        WalletAdmissionGate gate = gate(redissonClient, 2, 100);
+        gate.warmUp();
+        long walletId = uniqueWalletId();
+
+        // when
+        gate.admit(walletId, "client-a");
+        gate.admit(walletId, "client-a");
+
+        // then
+        assertThatThrownBy(() -> gate.admit(walletId, "client-a"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfterMillis()).isPositive());
+    }
+
+    @Test
+    @DisplayName("버킷은 Redis에 있으므로 인스턴스가 달라도 함께 소진된다")
+    void admit_shares_bucket_across_instances() {
+        // given
+        WalletAdmissionGate first = gate(redissonClient, 1, 100);
+        WalletAdmissionGate second = gate(redissonClient, 1, 100);
+        first.warmUp();
+        long walletId = uniqueWalletId();
+
+        // when
+        first.admit(walletId, "client-b");
+
+        // then
+        assertThatThrownBy(() -> second.admit(walletId, "client-b"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("클라이언트 버킷이 비면 다른 지갑 요청도 거절하고, 지갑 버킷에서 뺀 토큰은 쓰지 않는다")
+    void admit_rejects_when_client_bucket_empty() {
+        // given
+        WalletAdmissionGate gate = gate(redissonClient, 1, 1);
+        gate.warmUp();
+        String client = "client-" + uniqueWalletId();
+        long walletId = uniqueWalletId();
+        gate.admit(uniqueWalletId(), client);
+
+        // when & then
+        assertThatThrownBy(() -> gate.admit(walletId, client))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatCode(() -> gate.admit(walletId, "other-" + client)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Redis를 쓸 수 없으면 로컬 버킷으로 같은 한도를 적용한다")
+    void admit_falls_back_to_local_bucket() {
+        // given
+        RedissonClient unavailable = mock(RedissonClient.class);
+        given(unavailable.getScript(any())).willThrow(new RedisConnectionException("connection refused"));
+        WalletAdmissionGate gate = gate(unavailable, 1, 100);
+        long walletId = uniqueWalletId();
+
+        // when
+        gate.admit(walletId, "client-c");
+
+        // then
+        assertThatThrownBy(() -> gate.admit(walletId, "client-c"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    /**
+     * 테스트 동안 버킷이 다시 차지 않도록 리필을 느리게 하고, 컨테이너 지연으로 로컬 버킷에 빠지지 않도록 제한 시간을 넉넉히 준다.
+     */
+    private static WalletAdmissionGate gate(RedissonClient client, long walletCapacity, long clientCapacity) {
+        return new WalletAdmissionGate(client, true, walletCapacity, 0.01, clientCapacity, 0.01, 2000, 100);
+    }
+
+    private static long uniqueWalletId() {
+        return ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,327 @@
+package com.walletserver.wallet.benchmark;
+
+import com.redis.testcontainers.RedisContainer;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.facade.WalletLockFacade;
+import com.walletserver.wallet.lock.WalletLockRegistry;
+import com.walletserver.wallet.repository.WalletRepository;
+import eu.rekawek.toxiproxy.Proxy;
+import eu.rekawek.toxiproxy.ToxiproxyClient;
+import eu.rekawek.toxiproxy.model.ToxicDirection;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.ToxiproxyContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Toxiproxy를 앱과 Redis/PostgreSQL 사이에 두고 일정한 출금 부하를 건 상태에서 장애를 주입해
+ * 시나리오별 감지 시간, 장애 전환 시간, 복구 시간, 오류율과 구간별 지연 백분위를 측정한다.
+ * <p>
+ * 각 시나리오는 정상(BASELINE) → 장애(FAULT) → 복구(RECOVERY) 구간으로 진행한다.
+ * 감지 시간은 장애 주입부터 첫 저하 요청(오류 또는 정상 p99의 3배 초과)까지, 장애 전환 시간은 주입부터
+ * 락 샤드가 사용 불가로 표시될 때까지(Redis 시나리오), 복구 시간은 장애 제거부터 마지막 저하 요청이 끝날 때까지다.
+ * 실행: ./gradlew benchmark --tests '*FaultInjectionBenchmarkTest'
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class FaultInjectionBenchmarkTest {
+
+    private static final int THREAD_COUNT = 16;
+    private static final int WALLET_COUNT = 64;
+    private static final long BASELINE_MS = 5_000;
+    private static final long FAULT_MS = 10_000;
+    private static final long RECOVERY_MS = 15_000;
+    private static final long POLL_INTERVAL_MS = 10;
+    private static final long MIN_DEGRADED_MICROS = 50_000;
+    private static final double REDIS_FAULT_ERROR_BUDGET = 0.05;
+    private static final int REDIS_PORT = 6379;
+    private static final int POSTGRES_PORT = 5432;
+    private static final int REDIS_PROXY_PORT = 8666;
+    private static final int POSTGRES_PROXY_PORT = 8667;
+
+    private static final Network network = Network.newNetwork();
+
+    private static final RedisContainer redis = new RedisContainer(DockerImageName.parse("redis:7-alpine"))
+            .withCommand("redis-server", "--requirepass", "wallet")
+            .withNetwork(network)
+            .withNetworkAliases("redis");
+
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"))
+            .withDatabaseName("wallet")
+            .withUsername("wallet")
+            .withPassword("wallet")
+            .withNetwork(network)
+            .withNetworkAliases("postgres");
+
+    private static final ToxiproxyContainer toxiproxy = new ToxiproxyContainer(
+            DockerImageName.parse("ghcr.io/shopify/toxiproxy:2.5.0"))
+            .withNetwork(network);
+
+    private static final Proxy redisProxy;
+    private static final Proxy postgresProxy;
+
+    static {
+        redis.start();
+        postgres.start();
+        toxiproxy.start();
+        ToxiproxyClient client = new ToxiproxyClient(toxiproxy.getHost(), toxiproxy.getControlPort());
+        try {
+            redisProxy = client.createProxy("redis", "0.0.0.0:" + REDIS_PROXY_PORT, "redis:" + REDIS_PORT);
+            postgresProxy = client.createProxy("postgres", "0.0.0.0:" + POSTGRES_PROXY_PORT,
+                    "postgres:" + POSTGRES_PORT);
+        } catch (IOException e) {
+            throw new IllegalStateException("Toxiproxy 프록시 생성 실패", e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void proxiedConnections(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://" + toxiproxy.getHost() + ":"
+                + toxiproxy.getMappedPort(POSTGRES_PROXY_PORT) + "/wallet");
+        registry.add("spring.datasource.hikari.connection-timeout", () -> "2000");
+        registry.add("spring.datasource.hikari.validation-timeout", () -> "1000");
+        registry.add("spring.data.redis.host", toxiproxy::getHost);
+        registry.add("spring.data.redis.port", () -> toxiproxy.getMappedPort(REDIS_PROXY_PORT));
+        registry.add("spring.data.redis.timeout", () -> "500ms");
+    }
+
+    @AfterAll
+    static void stopContainers() {
+        toxiproxy.stop();
+        postgres.stop();
+        redis.stop();
+        network.close();
+    }
+
+    @Autowired
+    private WalletLockFacade walletLockFacade;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private WalletLockRegistry walletLockRegistry;
+
+    private record Sample(long startedAtMs, long endedAtMs, long latencyMicros, boolean ok) {
+    }
+
+    private record PhaseStats(int requests, double errorRate, long p50Micros, long p95Micros, long p99Micros) {
+    }
+
+    private interface Fault {
+        void inject() throws IOException;
+
+        void heal() throws IOException;
+    }
+
+    private interface ToxicFactory {
+        void add(Proxy proxy, String name) throws IOException;
+    }
+
+    static Stream<Arguments> scenarios() {
+        return Stream.of(
+                Arguments.of("redis-latency-200ms", true, toxic(redisProxy, "latency",
+                        (proxy, name) -> proxy.toxics().latency(name, ToxicDirection.DOWNSTREAM, 200))),
+                // Toxiproxy는 패킷 단위 손실이 없어, 연결 30%의 응답을 끊는 timeout 독성으로 근사한다.
+                Arguments.of("redis-packet-loss-30pct", true, toxic(redisProxy, "loss",
+                        (proxy, name) -> proxy.toxics().timeout(name, ToxicDirection.DOWNSTREAM, 0)
+                                .setToxicity(0.3f))),
+                Arguments.of("redis-connection-reset", true, toxic(redisProxy, "reset",
+                        (proxy, name) -> proxy.toxics().resetPeer(name, ToxicDirection.DOWNSTREAM, 0))),
+                Arguments.of("redis-outage", true, outage(redisProxy)),
+                Arguments.of("postgres-latency-100ms", false, toxic(postgresProxy, "latency",
+                        (proxy, name) -> proxy.toxics().latency(name, ToxicDirection.DOWNSTREAM, 100))),
+                Arguments.of("postgres-connection-reset", false, toxic(postgresProxy, "reset",
+                        (proxy, name) -> proxy.toxics().resetPeer(name, ToxicDirection.DOWNSTREAM, 0))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scenarios")
+    @DisplayName("장애 주입 시나리오별 감지/복구 시간과 지연 분포를 측정한다")
+    void measure_fault_scenario(String scenario, boolean redisFault, Fault fault) throws Exception {
+        List<Long> walletIds = createWallets();
+        Queue<Sample> samples = new ConcurrentLinkedQueue<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        long origin = System.currentTimeMillis();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> drive(walletIds, samples, running, origin));
+        }
+
+        Thread.sleep(BASELINE_MS);
+        long injectedAt = System.currentTimeMillis() - origin;
+        fault.inject();
+        Long failedOverAt = awaitShardState(false, FAULT_MS, origin);
+        Thread.sleep(Math.max(0, injectedAt + FAULT_MS - (System.currentTimeMillis() - origin)));
+
+        long healedAt = System.currentTimeMillis() - origin;
+        fault.heal();
+        Long shardRecoveredAt = awaitShardState(true, RECOVERY_MS, origin);
+        Thread.sleep(Math.max(0, healedAt + RECOVERY_MS - (System.currentTimeMillis() - origin)));
+
+        running.set(false);
+        executorService.shutdown();
+        executorService.awaitTermination(30, TimeUnit.SECONDS);
+
+        List<Sample> all = new ArrayList<>(samples);
+        PhaseStats baseline = stats(all, 0, injectedAt);
+        PhaseStats faulted = stats(all, injectedAt, healedAt);
+        PhaseStats recovery = stats(all, healedAt, Long.MAX_VALUE);
+        long degradedMicros = Math.max(baseline.p99Micros() * 3, MIN_DEGRADED_MICROS);
+        Long detectedAt = all.stream()
+                .filter(sample -> sample.endedAtMs() >= injectedAt && degraded(sample, degradedMicros))
+                .map(Sample::endedAtMs)
+                .min(Long::compare)
+                .orElse(null);
+        long recoveredAt = all.stream()
+                .filter(sample -> sample.startedAtMs() >= healedAt && degraded(sample, degradedMicros))
+                .mapToLong(Sample::endedAtMs)
+                .max()
+                .orElse(healedAt);
+
+        log.info("=== {} ===", scenario);
+        log.info("| phase | requests | error rate | p50(ms) | p95(ms) | p99(ms) |");
+        logPhase("baseline", baseline);
+        logPhase("fault", faulted);
+        logPhase("recovery", recovery);
+        log.info("time-to-detect: {} ms, time-to-failover: {} ms, time-to-recover: {} ms, shard recovered after: {} ms",
+                detectedAt != null ? detectedAt - injectedAt : "-",
+                failedOverAt != null ? failedOverAt - injectedAt : "-",
+                recoveredAt - healedAt,
+                shardRecoveredAt != null ? shardRecoveredAt - healedAt : "-");
+
+        assertThat(baseline.errorRate()).isZero();
+        if (redisFault) {
+            // Redis 장애는 DB 락으로 전환되어야 하므로 출금 대부분이 성공해야 한다.
+            assertThat(faulted.errorRate()).isLessThan(REDIS_FAULT_ERROR_BUDGET);
+        }
+        assertThat(recoveredAt - healedAt).isLessThan(RECOVERY_MS);
+        assertThat(walletLockRegistry.shardOf(walletIds.get(0)).isAvailable()).isTrue();
+    }
+
+    private void drive(List<Long> walletIds, Queue<Sample> samples, AtomicBoolean running, long origin) {
+        while (running.get()) {
+            Long walletId = walletIds.get(ThreadLocalRandom.current().nextInt(walletIds.size()));
+            long startedAt = System.currentTimeMillis() - origin;
+            long startedNanos = System.nanoTime();
+            boolean ok = true;
+            try {
+                walletLockFacade.withdraw(walletId, new WithdrawalRequest(UUID.randomUUID(), BigDecimal.ONE));
+            } catch (Exception e) {
+                ok = false;
+            }
+            samples.add(new Sample(startedAt, System.currentTimeMillis() - origin,
+                    (System.nanoTime() - startedNanos) / 1000, ok));
+        }
+    }
+
+    /**
+     * 모든 락 샤드가 기대 상태가 될 때까지 기다린다. Postgres 시나리오처럼 상태가 바뀌지 않으면 null.
+     */
+    private Long awaitShardState(boolean available, long timeoutMs, long origin) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            boolean reached = walletLockRegistry.shards().stream()
+                    .allMatch(shard -> shard.isAvailable() == available);
+            if (reached) {
+                return System.currentTimeMillis() - origin;
+            }
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+        return null;
+    }
+
+    private List<Long> createWallets() {
+        List<Long> walletIds = new ArrayList<>(WALLET_COUNT);
+        for (int i = 0; i < WALLET_COUNT; i++) {
+            walletIds.add(walletRepository.save(Wallet.builder()
+                    .balance(BigDecimal.valueOf(1_000_000_000L))
+                    .build()).getId());
+        }
+        return walletIds;
+    }
+
+    private static boolean degraded(Sample sample, long degradedMicros) {
+        return !sample.ok() || sample.latencyMicros() > degradedMicros;
+    }
+
+    private static PhaseStats stats(List<Sample> samples, long fromMs, long toMs) {
+        List<Sample> phase = samples.stream()
+                .filter(sample -> sample.startedAtMs() >= fromMs && sample.startedAtMs() < toMs)
+                .toList();
+        if (phase.isEmpty()) {
+            return new PhaseStats(0, 0, 0, 0, 0);
+        }
+        long[] latencies = phase.stream().mapToLong(Sample::latencyMicros).sorted().toArray();
+        long errors = phase.stream().filter(sample -> !sample.ok()).count();
+        return new PhaseStats(phase.size(), (double) errors / phase.size(), percentile(latencies, 50),
+                percentile(latencies, 95), percentile(latencies, 99));
+    }
+
+    private static void logPhase(String name, PhaseStats stats) {
+        log.info("| {} | {} | {}% | {} | {} | {} |", name, stats.requests(), stats.errorRate() * 100,
+                stats.p50Micros() / 1000.0, stats.p95Micros() / 1000.0, stats.p99Micros() / 1000.0);
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static Fault toxic(Proxy proxy, String name, ToxicFactory factory) {
+        return new Fault() {
+            @Override
+            public void inject() throws IOException {
+                factory.add(proxy, name);
+            }
+
+            @Override
+            public void heal() throws IOException {
+                proxy.toxics().get(name).remove();
+            }
+        };
+    }
+
+    private static Fault outage(Proxy proxy) {
+        return new Fault() {
+            @Override
+            public void inject() throws IOException {
+                proxy.disable();
+            }
+
+            @Override
+            public void heal() throws IOException {
+                proxy.enable();
+            }
+        };
+    }
+}
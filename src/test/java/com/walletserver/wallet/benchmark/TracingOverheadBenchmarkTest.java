@@ -0,0 +1,155 @@
+package com.walletserver.wallet.benchmark;
+
+import com.walletserver.global.config.InMemoryTracingConfig;
+import com.walletserver.global.config.TestContainersConfig;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.facade.WalletLockFacade;
+import com.walletserver.wallet.repository.WalletRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 출금 한 건에 붙는 스팬(약 7개)을 모두 기록할 때와 버릴 때의 지연을 비교해 샘플링 비율별 추적 오버헤드를 측정한다.
+ * 운영 샘플링 비율(management.tracing.sampling.probability)을 곱한 예상 오버헤드가 예산을 넘으면 실패한다.
+ * 실행: ./gradlew benchmark --tests '*TracingOverheadBenchmarkTest'
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureObservability
+@Import({TestContainersConfig.class, InMemoryTracingConfig.class, TracingOverheadBenchmarkTest.ToggleSamplerConfig.class,
+        TracingOverheadBenchmarkTest.MainPropertiesConfig.class})
+class TracingOverheadBenchmarkTest {
+
+    private static final int REQUEST_COUNT = 2000;
+    private static final double OVERHEAD_BUDGET_PERCENT = 2.0;
+
+    @Value("${management.tracing.sampling.probability}")
+    private double productionSamplingProbability;
+
+    @Autowired
+    private WalletLockFacade walletLockFacade;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private ToggleSampler sampler;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Test
+    @DisplayName("전체 샘플링 대비 미샘플링 출금 지연으로 추적 오버헤드를 측정한다")
+    void measure_tracing_overhead() {
+        Long walletId = walletRepository.save(Wallet.builder()
+                .balance(BigDecimal.valueOf(REQUEST_COUNT * 4L))
+                .build()).getId();
+
+        // JIT와 커넥션 풀 예열
+        run(walletId, false);
+        run(walletId, true);
+
+        long[] unsampled = run(walletId, false);
+        long[] sampled = run(walletId, true);
+        spanExporter.reset();
+
+        double p50Overhead = overheadPercent(unsampled, sampled, 50);
+        double p99Overhead = overheadPercent(unsampled, sampled, 99);
+        double expected = p50Overhead * productionSamplingProbability;
+        log.info("| sampling | p50(ms) | p99(ms) |");
+        log.info("| off | {} | {} |", percentile(unsampled, 50) / 1000.0, percentile(unsampled, 99) / 1000.0);
+        log.info("| on | {} | {} |", percentile(sampled, 50) / 1000.0, percentile(sampled, 99) / 1000.0);
+        log.info("Tracing overhead p50: {}%, p99: {}%, expected at probability {}: {}%",
+                p50Overhead, p99Overhead, productionSamplingProbability, expected);
+        assertThat(expected).isLessThan(OVERHEAD_BUDGET_PERCENT);
+    }
+
+    private long[] run(Long walletId, boolean sampled) {
+        sampler.sampled.set(sampled);
+        long[] latencies = new long[REQUEST_COUNT];
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            long startedAt = System.nanoTime();
+            Observation.createNotStarted("benchmark.withdraw", observationRegistry).observe(() ->
+                    walletLockFacade.withdraw(walletId, new WithdrawalRequest(UUID.randomUUID(), BigDecimal.ONE)));
+            latencies[i] = (System.nanoTime() - startedAt) / 1000;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static double overheadPercent(long[] baseline, long[] traced, int percentile) {
+        long base = percentile(baseline, percentile);
+        return (percentile(traced, percentile) - base) * 100.0 / base;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class ToggleSamplerConfig {
+
+        @Bean
+        ToggleSampler toggleSampler() {
+            return new ToggleSampler();
+        }
+    }
+
+    /**
+     * 테스트 리소스의 application.properties가 main 파일을 가리므로 운영 샘플링 비율은 main 파일에서 읽는다.
+     * 가장 낮은 우선순위로 붙어 테스트 설정을 덮어쓰지 않는다.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    @PropertySource("file:src/main/resources/application.properties")
+    static class MainPropertiesConfig {
+    }
+
+    static class ToggleSampler implements Sampler {
+
+        private final AtomicBoolean sampled = new AtomicBoolean();
+
+        @Override
+        public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                           Attributes attributes, List<LinkData> parentLinks) {
+            return sampled.get() ? SamplingResult.recordAndSample() : SamplingResult.drop();
+        }
+
+        @Override
+        public String getDescription() {
+            return "ToggleSampler";
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.walletserver.wallet.benchmark;
+
+import com.walletserver.global.config.TestContainersConfig;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.facade.OptimisticWalletFacade;
+import com.walletserver.wallet.facade.WalletLockFacade;
+import com.walletserver.wallet.facade.WalletWithdrawalEngine;
+import com.walletserver.wallet.membership.WalletMembership;
+import com.walletserver.wallet.repository.WalletRepository;
+import com.walletserver.wallet.service.WalletService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 경합 수준(요청이 분산되는 지갑 수)별로 출금 방식의 지연 시간을 비교한다.
+ * 실행: ./gradlew benchmark --tests '*WithdrawalModeLatencyBenchmarkTest'
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@Import(TestContainersConfig.class)
+class WithdrawalModeLatencyBenchmarkTest {
+
+    private static final int THREAD_COUNT = 32;
+    private static final int REQUEST_COUNT = 2000;
+    private static final int[] WALLET_COUNTS = {1, 8, 64, 512};
+    private static final BigDecimal WITHDRAW_AMOUNT = BigDecimal.valueOf(1);
+
+    @Autowired
+    private WalletLockFacade walletLockFacade;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletMembership walletMembership;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    private record LatencyResult(long p50Micros, long p95Micros, long p99Micros, int errors) {
+    }
+
+    @Test
+    @DisplayName("경합 수준별 Redis Lock / DB Lock / 낙관적 락 출금 지연 비교")
+    void compare_latency_by_contention() throws InterruptedException {
+        Map<String, WalletWithdrawalEngine> modes = new LinkedHashMap<>();
+        modes.put("redis-lock", walletLockFacade);
+        modes.put("db-lock", (walletId, req) -> walletService.withdraw(walletId, req, true));
+        modes.put("optimistic", new OptimisticWalletFacade(walletService, walletLockFacade, walletMembership, 3, 5));
+
+        // JIT와 커넥션 풀 예열
+        for (WalletWithdrawalEngine engine : modes.values()) {
+            run(engine, 64);
+        }
+
+        log.info("| mode | wallets | p50(ms) | p95(ms) | p99(ms) | errors |");
+        for (int walletCount : WALLET_COUNTS) {
+            for (Map.Entry<String, WalletWithdrawalEngine> mode : modes.entrySet()) {
+                LatencyResult result = run(mode.getValue(), walletCount);
+                log.info("| {} | {} | {} | {} | {} | {} |", mode.getKey(), walletCount,
+                        result.p50Micros() / 1000.0, result.p95Micros() / 1000.0, result.p99Micros() / 1000.0,
+                        result.errors());
+                assertThat(result.errors()).isLessThan(REQUEST_COUNT);
+            }
+        }
+    }
+
+    private LatencyResult run(WalletWithdrawalEngine engine, int walletCount) throws InterruptedException {
+        List<Long> walletIds = new ArrayList<>(walletCount);
+        for (int i = 0; i < walletCount; i++) {
+            walletIds.add(walletRepository.save(Wallet.builder()
+                    .balance(BigDecimal.valueOf(REQUEST_COUNT))
+                    .build()).getId());
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch latch = new CountDownLatch(REQUEST_COUNT);
+        long[] latencies = new long[REQUEST_COUNT];
+        AtomicInteger errors = new AtomicInteger();
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            int index = i;
+            Long walletId = walletIds.get(i % walletCount);
+            executorService.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    engine.withdraw(walletId, new WithdrawalRequest(UUID.randomUUID(), WITHDRAW_AMOUNT));
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                } finally {
+                    latencies[index] = (System.nanoTime() - startedAt) / 1000;
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        Arrays.sort(latencies);
+        return new LatencyResult(percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                errors.get());
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
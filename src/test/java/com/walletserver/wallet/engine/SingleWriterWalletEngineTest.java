@@ -0,0 +1,74 @@
+package com.walletserver.wallet.engine;
+
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.entity.TransactionHistory;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.velocity.service.VelocityLimitService;
+import com.walletserver.wallet.exception.InsufficientBalanceException;
+import com.walletserver.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SingleWriterWalletEngineTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private TransactionHistoryRepository historyRepository;
+
+    @Mock
+    private JournalApplier journalApplier;
+
+    @Mock
+    private VelocityLimitService velocityLimitService;
+
+    private SingleWriterWalletEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new SingleWriterWalletEngine(walletRepository, historyRepository, journalApplier, velocityLimitService,
+                "./build/journal-test", 1, 200, 1, 16, 100, 100, 1000);
+    }
+
+    @Test
+    @DisplayName("FAILED로 기록된 거래를 재요청하면 락 모드와 같이 잔액 부족으로 거절한다")
+    void withdraw_replays_recorded_failure() {
+        // given
+        Long walletId = 1L;
+        UUID transactionId = UUID.randomUUID();
+        WithdrawalRequest request = new WithdrawalRequest(transactionId, BigDecimal.valueOf(10000));
+        TransactionHistory failedHistory = TransactionHistory.builder()
+                .transactionId(transactionId)
+                .walletId(walletId)
+                .type(TransactionHistory.TransactionType.WITHDRAWAL)
+                .amount(BigDecimal.valueOf(10000))
+                .balanceSnapshot(BigDecimal.valueOf(5000))
+                .status(TransactionHistory.TransactionStatus.FAILED)
+                .failureReason("Insufficient balance")
+                .build();
+
+        given(historyRepository.findByTransactionId(transactionId)).willReturn(Optional.of(failedHistory));
+
+        // when & then
+        assertThatThrownBy(() -> engine.withdraw(walletId, request))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessage("Insufficient balance");
+        verify(walletRepository, never()).findById(any());
+    }
+}
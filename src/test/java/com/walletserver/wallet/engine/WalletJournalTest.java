@@ -0,0 +1,77 @@
+package com.walletserver.wallet.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WalletJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("fsync 완료 후 append 순서대로 리스너에 전달")
+    void append_completes_in_order() throws Exception {
+        // given
+        List<JournalEntry> durable = new CopyOnWriteArrayList<>();
+        WalletJournal journal = new WalletJournal(directory, SEGMENT_SIZE, 0, durable::add);
+        journal.open(0);
+
+        // when
+        WalletJournal.JournalAppend first = journal.append(1L, UUID.randomUUID(), amount(1000), amount(9000), 1L);
+        WalletJournal.JournalAppend second = journal.append(1L, UUID.randomUUID(), amount(1000), amount(8000), 2L);
+        second.durable().get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(first.durable()).isCompleted();
+        assertThat(durable).containsExactly(first.entry(), second.entry());
+        assertThat(journal.getDurableOffset()).isEqualTo(second.entry().offset());
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("재시작 시 체크포인트 이후 엔트리만 세그먼트를 넘어 재생")
+    void reopen_replays_from_checkpoint_across_segments() throws Exception {
+        // given
+        WalletJournal journal = new WalletJournal(directory, SEGMENT_SIZE, 0, entry -> {
+        });
+        journal.open(0);
+        WalletJournal.JournalAppend last = null;
+        long checkpoint = 0;
+        for (int i = 0; i < 100; i++) {
+            last = journal.append(i, UUID.randomUUID(), amount(1), amount(100 - i), i);
+            if (i == 9) {
+                checkpoint = last.entry().offset();
+            }
+        }
+        last.durable().get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        // when
+        WalletJournal reopened = new WalletJournal(directory, SEGMENT_SIZE, 0, entry -> {
+        });
+        List<JournalEntry> replayed = reopened.open(checkpoint);
+
+        // then
+        assertThat(replayed).hasSize(90);
+        assertThat(replayed.get(0).walletId()).isEqualTo(10L);
+        assertThat(replayed.get(89)).isEqualTo(last.entry());
+        assertThat(replayed.get(89).balanceAfter()).isEqualByComparingTo(amount(1));
+        reopened.close();
+    }
+
+    private static BigDecimal amount(long value) {
+        return BigDecimal.valueOf(value).setScale(2);
+    }
+}
@@ -0,0 +1,170 @@
+package com.walletserver.wallet.engine;
+
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.velocity.entity.WithdrawalVelocity.Period;
+import com.walletserver.velocity.exception.VelocityLimitExceededException;
+import com.walletserver.velocity.service.VelocityLimitService;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WalletPartitionTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private TransactionHistoryRepository historyRepository;
+
+    @Mock
+    private VelocityLimitService velocityLimitService;
+
+    private final AtomicLong appliedOffset = new AtomicLong(-1);
+    private WalletJournal journal;
+    private WalletPartition partition;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = new WalletJournal(directory, 4096, 0, entry -> {
+        });
+        journal.open(0);
+        partition = new WalletPartition(0, 16, walletRepository, historyRepository, journal,
+                appliedOffset::get, velocityLimitService, 100, 1);
+        partition.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        partition.stop();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("지갑 수가 상한을 넘어도 DB에 반영되지 않은 지갑은 내보내지 않는다")
+    void evicts_only_applied_wallets() throws Exception {
+        // given
+        given(walletRepository.findById(anyLong())).willAnswer(invocation -> Optional.of(Wallet.builder()
+                .id(invocation.getArgument(0))
+                .balance(BigDecimal.valueOf(10000))
+                .build()));
+
+        // when
+        withdraw(1L);
+        withdraw(2L);
+        WithdrawalResponse unapplied = withdraw(1L);
+        appliedOffset.set(Long.MAX_VALUE);
+        withdraw(3L);
+        withdraw(1L);
+
+        // then
+        assertThat(unapplied.remainingBalance()).isEqualByComparingTo("9800");
+        verify(walletRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("fsync에 실패한 출금은 재요청에 성공으로 답하지 않고, 지갑은 DB에서 다시 읽는다")
+    void failed_fsync_drops_cached_response_and_wallet() throws Exception {
+        // given
+        given(walletRepository.findById(1L)).willAnswer(invocation -> Optional.of(Wallet.builder()
+                .id(1L)
+                .balance(BigDecimal.valueOf(10000))
+                .build()));
+        WalletJournal failingJournal = mock(WalletJournal.class);
+        JournalEntry entry = new JournalEntry(0, 1L, UUID.randomUUID(), BigDecimal.valueOf(100),
+                BigDecimal.valueOf(9900), 0);
+        given(failingJournal.append(anyLong(), any(), any(), any(), anyLong()))
+                .willReturn(new WalletJournal.JournalAppend(entry,
+                        CompletableFuture.failedFuture(new UncheckedIOException(new IOException("fsync")))))
+                .willThrow(new IllegalStateException("Wallet journal is unavailable"));
+        WalletPartition failing = new WalletPartition(1, 16, walletRepository, historyRepository, failingJournal,
+                appliedOffset::get, velocityLimitService, 100, 16);
+        failing.start();
+        UUID transactionId = UUID.randomUUID();
+
+        try {
+            // when
+            CompletableFuture<WithdrawalResponse> first = submit(failing, 1L, transactionId);
+            CompletableFuture<WithdrawalResponse> retry = submit(failing, 1L, transactionId);
+
+            // then
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(UncheckedIOException.class);
+            assertThatThrownBy(() -> retry.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            verify(walletRepository, times(2)).findById(1L);
+        } finally {
+            failing.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("메모리 누계가 한도를 넘는 출금은 저널에 쓰지 않고 거절하며, DB 누계는 지갑을 올릴 때 한 번만 읽는다")
+    void rejects_withdrawal_over_velocity_limit() throws Exception {
+        // given
+        given(walletRepository.findById(1L)).willReturn(Optional.of(Wallet.builder()
+                .id(1L)
+                .balance(BigDecimal.valueOf(10000))
+                .build()));
+        given(velocityLimitService.isEnabled()).willReturn(true);
+        given(velocityLimitService.recordedTotal(anyLong(), any(), any())).willReturn(BigDecimal.valueOf(50));
+        willAnswer(invocation -> {
+            if (((BigDecimal) invocation.getArgument(1)).compareTo(BigDecimal.valueOf(200)) > 0) {
+                throw new VelocityLimitExceededException(invocation.getArgument(0), BigDecimal.valueOf(200));
+            }
+            return null;
+        }).given(velocityLimitService).checkWithinLimit(any(), any());
+
+        // when
+        WithdrawalResponse first = withdraw(1L);
+
+        // then
+        assertThat(first.remainingBalance()).isEqualByComparingTo("9900");
+        assertThatThrownBy(() -> withdraw(1L)).hasCauseInstanceOf(VelocityLimitExceededException.class);
+        verify(velocityLimitService).recordedTotal(anyLong(), eq(Period.DAY), any());
+        verify(velocityLimitService).recordedTotal(anyLong(), eq(Period.MONTH), any());
+    }
+
+    private WithdrawalResponse withdraw(Long walletId) throws Exception {
+        return submit(partition, walletId, UUID.randomUUID()).get(5, TimeUnit.SECONDS);
+    }
+
+    private static CompletableFuture<WithdrawalResponse> submit(WalletPartition target, Long walletId,
+                                                                UUID transactionId) {
+        CompletableFuture<WithdrawalResponse> result = new CompletableFuture<>();
+        target.offer(new WalletPartition.Command(walletId,
+                new WithdrawalRequest(transactionId, BigDecimal.valueOf(100)), 0, result));
+        return result;
+    }
+}
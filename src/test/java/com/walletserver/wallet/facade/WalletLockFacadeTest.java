@@ -1,32 +1,60 @@
 package com.walletserver.wallet.facade;
 
+import com.walletserver.common.deadline.RequestDeadline;
+import com.walletserver.common.exception.DeadlineExceededException;
 import com.walletserver.transaction.dto.WithdrawalRequest;
 import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.wallet.adaptive.WalletContentionTracker;
+import com.walletserver.wallet.drain.WithdrawalDrain;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.exception.ServiceDrainingException;
 import com.walletserver.wallet.exception.LockAcquisitionException;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import com.walletserver.wallet.lock.LockShard;
+import com.walletserver.wallet.lock.WalletLockRegistry;
+import com.walletserver.wallet.membership.WalletMembership;
 import com.walletserver.wallet.service.WalletService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
 import org.redisson.client.RedisConnectionException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,9 +72,34 @@ class WalletLockFacadeTest {
     @Mock
     private RLock lock;
 
+    @Mock
+    private WalletLockRegistry walletLockRegistry;
+
+    @Mock
+    private WalletMembership walletMembership;
+
+    private LockShard shard;
+
+    @Spy
+    private WalletContentionTracker contentionTracker =
+            new WalletContentionTracker(new SimpleMeterRegistry(), 4, 1024, 40, 10, 100, 10, 10);
+
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @Spy
+    private WithdrawalDrain withdrawalDrain = new WithdrawalDrain(new SimpleMeterRegistry(), 100, 1000, 300000);
+
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(walletLockFacade, "waitTime", 2L);
+        shard = new LockShard("default", () -> redissonClient, 1);
+        lenient().when(walletLockRegistry.shardOf(anyLong())).thenReturn(shard);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
     }
 
     @Test
@@ -86,6 +139,31 @@ class WalletLockFacadeTest {
                 .hasMessage("잠시 후 다시 시도해주세요.");
     }
 
+    @Test
+    @DisplayName("보류 작업과 버전이 충돌하면 락을 쥔 채 행 잠금으로 다시 실행한다")
+    void withdraw_version_conflict_retries_with_row_lock() throws InterruptedException {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        WithdrawalResponse expectedResponse = new WithdrawalResponse(request.transactionId(), request.amount(),
+                BigDecimal.ZERO, "SUCCESS");
+
+        given(redissonClient.getFairLock(anyString())).willReturn(lock);
+        given(lock.tryLock(anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(walletService.withdraw(walletId, request, false))
+                .willThrow(new ObjectOptimisticLockingFailureException(Wallet.class, walletId));
+        given(walletService.withdraw(walletId, request, true)).willReturn(expectedResponse);
+
+        // when
+        WithdrawalResponse response = walletLockFacade.withdraw(walletId, request);
+
+        // then
+        assertThat(response).isEqualTo(expectedResponse);
+        InOrder inOrder = inOrder(walletService, lock);
+        inOrder.verify(walletService).withdraw(walletId, request, true);
+        inOrder.verify(lock).unlock();
+    }
+
     @Test
     @DisplayName("Redis 장애 시 DB Lock으로 폴백")
     void withdraw_redis_error_fallback() throws InterruptedException {
@@ -106,4 +184,150 @@ class WalletLockFacadeTest {
         assertThat(response).isEqualTo(expectedResponse);
         verify(walletService).withdraw(walletId, request, true);
     }
+
+    @Test
+    @DisplayName("요청 마감이 있으면 락 대기 시간을 남은 예산으로 제한한다")
+    void withdraw_lock_wait_capped_by_deadline() throws InterruptedException {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        RequestDeadline.start(500);
+
+        given(redissonClient.getFairLock(anyString())).willReturn(lock);
+        given(lock.tryLock(anyLong(), any(TimeUnit.class))).willReturn(true);
+
+        // when
+        walletLockFacade.withdraw(walletId, request);
+
+        // then
+        verify(lock).tryLock(longThat(wait -> wait <= 500), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("락 획득 실패 후 재시도할 예산이 없으면 재시도 대상이 아닌 마감 초과 예외를 던진다")
+    void withdraw_lock_fail_without_budget_skips_retry() throws InterruptedException {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        RequestDeadline.start(500);
+
+        given(redissonClient.getFairLock(anyString())).willReturn(lock);
+        given(lock.tryLock(anyLong(), any(TimeUnit.class))).willReturn(false);
+
+        // when & then
+        assertThatThrownBy(() -> walletLockFacade.withdraw(walletId, request))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    @Test
+    @DisplayName("마감이 이미 지난 요청은 락을 시도하지 않는다")
+    void withdraw_expired_deadline_drops_request() {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        RequestDeadline.start(0);
+
+        // when & then
+        assertThatThrownBy(() -> walletLockFacade.withdraw(walletId, request))
+                .isInstanceOf(DeadlineExceededException.class);
+        verify(redissonClient, never()).getFairLock(anyString());
+    }
+
+    @Test
+    @DisplayName("이미 처리된 거래는 락을 잡지 않고 저장된 결과를 반환한다")
+    void withdraw_replay_skips_lock() {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        WithdrawalResponse storedResponse = new WithdrawalResponse(request.transactionId(), request.amount(),
+                BigDecimal.ZERO, "SUCCESS");
+        given(walletService.findOutcome(request.transactionId())).willReturn(Optional.of(storedResponse));
+
+        // when
+        WithdrawalResponse response = walletLockFacade.withdraw(walletId, request);
+
+        // then
+        assertThat(response).isEqualTo(storedResponse);
+        verify(redissonClient, never()).getFairLock(anyString());
+    }
+
+    @Test
+    @DisplayName("지갑이 속한 샤드가 사용 불가면 Redis를 건너뛰고 해당 지갑만 DB Lock으로 처리한다")
+    void withdraw_unavailable_shard_uses_db_lock() {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        WithdrawalResponse expectedResponse = new WithdrawalResponse(request.transactionId(), request.amount(),
+                BigDecimal.ZERO, "SUCCESS");
+        shard.recordFailure();
+        given(walletService.withdraw(walletId, request, true)).willReturn(expectedResponse);
+
+        // when
+        WithdrawalResponse response = walletLockFacade.withdraw(walletId, request);
+
+        // then
+        assertThat(response).isEqualTo(expectedResponse);
+        verify(redissonClient, never()).getFairLock(anyString());
+    }
+
+    @Test
+    @DisplayName("Redis 장애가 연속되면 샤드를 사용 불가로 표시한다")
+    void withdraw_redis_failure_marks_shard_unavailable() throws InterruptedException {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        given(redissonClient.getFairLock(anyString())).willReturn(lock);
+        given(lock.tryLock(anyLong(), any(TimeUnit.class))).willThrow(new RedisConnectionException("down"));
+
+        // when
+        walletLockFacade.withdraw(walletId, request);
+
+        // then
+        assertThat(shard.isAvailable()).isFalse();
+        verify(walletService).withdraw(walletId, request, true);
+    }
+
+    @Test
+    @DisplayName("드레인 예산 안에 락을 얻지 못한 대기는 취소되고 대기열에서 빠지며 재시도 가능한 오류를 반환한다")
+    void withdraw_lock_wait_cancelled_by_drain() throws Exception {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        CountDownLatch waiting = new CountDownLatch(1);
+        given(redissonClient.getFairLock(anyString())).willReturn(lock);
+        given(redissonClient.getScript(any())).willReturn(mock(RScript.class));
+        given(lock.tryLock(anyLong(), any(TimeUnit.class))).willAnswer(invocation -> {
+            waiting.countDown();
+            Thread.sleep(10_000);
+            return true;
+        });
+        CompletableFuture<Throwable> result = CompletableFuture.supplyAsync(() -> catchThrowable(
+                () -> withdrawalDrain.track(() -> walletLockFacade.withdraw(walletId, request))));
+        waiting.await();
+
+        // when
+        withdrawalDrain.stop();
+
+        // then
+        assertThat(result.get(5, TimeUnit.SECONDS)).isInstanceOf(ServiceDrainingException.class);
+        assertThat(withdrawalDrain.lastReport().cancelledWaiters()).isEqualTo(1);
+        assertThat(withdrawalDrain.lastReport().abandoned()).isZero();
+        verify(redissonClient).getScript(any());
+        verify(walletService, never()).withdraw(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("없는 지갑은 락과 DB에 닿기 전에 거절한다")
+    void unknown_wallet_rejected_before_lock() {
+        // given
+        Long walletId = 999_999L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        doThrow(new WalletNotFoundException(walletId)).when(walletMembership).requireKnown(walletId);
+
+        // when & then
+        assertThatThrownBy(() -> walletLockFacade.withdraw(walletId, request))
+                .isInstanceOf(WalletNotFoundException.class);
+        verify(walletService, never()).findOutcome(any());
+        verify(redissonClient, never()).getFairLock(anyString());
+    }
 }
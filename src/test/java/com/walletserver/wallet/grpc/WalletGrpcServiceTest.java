@@ -0,0 +1,227 @@
+package com.walletserver.wallet.grpc;
+
+import com.walletserver.common.bulkhead.BulkheadFullException;
+import com.walletserver.common.bulkhead.TrafficBulkheads;
+import com.walletserver.common.bulkhead.TrafficClass;
+import com.walletserver.common.exception.DeadlineExceededException;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.velocity.entity.WithdrawalVelocity.Period;
+import com.walletserver.velocity.exception.VelocityLimitExceededException;
+import com.walletserver.velocity.service.VelocityLimitService;
+import com.walletserver.wallet.admission.WalletAdmissionGate;
+import com.walletserver.wallet.drain.WithdrawalDrain;
+import com.walletserver.wallet.exception.RateLimitExceededException;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import com.walletserver.wallet.facade.WalletWithdrawalEngine;
+import com.walletserver.wallet.grpc.proto.Decimal;
+import com.walletserver.wallet.grpc.proto.WithdrawReply;
+import com.walletserver.wallet.grpc.proto.WithdrawRequest;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WalletGrpcServiceTest {
+
+    @Mock
+    private WalletWithdrawalEngine walletWithdrawalEngine;
+
+    @Mock
+    private WalletAdmissionGate walletAdmissionGate;
+
+    @Mock
+    private VelocityLimitService velocityLimitService;
+
+    @Mock
+    private StreamObserver<WithdrawReply> responseObserver;
+
+    private WalletGrpcService walletGrpcService;
+
+    @BeforeEach
+    void setUp() {
+        TrafficBulkheads trafficBulkheads = new TrafficBulkheads(new SimpleMeterRegistry(), ObservationRegistry.NOOP,
+                2, 4, 1, 1, 1, 1, 1);
+        walletGrpcService = new WalletGrpcService(walletWithdrawalEngine, walletAdmissionGate, velocityLimitService,
+                trafficBulkheads, new WithdrawalDrain(new SimpleMeterRegistry(), 1000, 100, 300000), 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        walletGrpcService.shutdown();
+    }
+
+    @Test
+    @DisplayName("단건 gRPC 출금 성공 시 UUID와 금액이 손실 없이 변환된다")
+    void withdraw_success() {
+        // given
+        UUID transactionId = UUID.randomUUID();
+        WithdrawRequest request = WithdrawRequest.newBuilder()
+                .setWalletId(1L)
+                .setTransactionIdMsb(transactionId.getMostSignificantBits())
+                .setTransactionIdLsb(transactionId.getLeastSignificantBits())
+                .setAmount(Decimal.newBuilder().setUnscaled(100050).setScale(2))
+                .build();
+        given(walletWithdrawalEngine.withdraw(eq(1L), any(WithdrawalRequest.class)))
+                .willReturn(new WithdrawalResponse(transactionId, new BigDecimal("1000.50"),
+                        new BigDecimal("8999.50"), "SUCCESS"));
+
+        // when
+        walletGrpcService.withdraw(request, responseObserver);
+
+        // then
+        ArgumentCaptor<WithdrawReply> replyCaptor = ArgumentCaptor.forClass(WithdrawReply.class);
+        verify(responseObserver, timeout(1000)).onNext(replyCaptor.capture());
+        verify(responseObserver, timeout(1000)).onCompleted();
+        verify(walletAdmissionGate).admit(eq(1L), any());
+        verify(velocityLimitService).precheck(eq(1L), any(BigDecimal.class));
+
+        ArgumentCaptor<WithdrawalRequest> requestCaptor = ArgumentCaptor.forClass(WithdrawalRequest.class);
+        verify(walletWithdrawalEngine).withdraw(eq(1L), requestCaptor.capture());
+        assertThat(requestCaptor.getValue().transactionId()).isEqualTo(transactionId);
+        assertThat(requestCaptor.getValue().amount()).isEqualByComparingTo("1000.50");
+
+        assertThat(GrpcWithdrawalMapper.toBigDecimal(replyCaptor.getValue().getRemainingBalance()))
+                .isEqualByComparingTo("8999.50");
+    }
+
+    @Test
+    @DisplayName("지갑이 없으면 NOT_FOUND 상태로 응답한다")
+    void withdraw_wallet_not_found() {
+        // given
+        WithdrawRequest request = WithdrawRequest.newBuilder()
+                .setWalletId(999L)
+                .setTransactionIdMsb(1L)
+                .setTransactionIdLsb(2L)
+                .setAmount(Decimal.newBuilder().setUnscaled(1000).setScale(0))
+                .build();
+        given(walletWithdrawalEngine.withdraw(eq(999L), any(WithdrawalRequest.class)))
+                .willThrow(new WalletNotFoundException(999L));
+
+        // when
+        walletGrpcService.withdraw(request, responseObserver);
+
+        // then
+        ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+        verify(responseObserver, timeout(1000)).onError(errorCaptor.capture());
+        verify(responseObserver, never()).onNext(any());
+        assertThat(((StatusRuntimeException) errorCaptor.getValue()).getStatus().getCode())
+                .isEqualTo(Status.Code.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("출금 한도를 넘으면 FAILED_PRECONDITION 상태로 응답한다")
+    void withdraw_velocity_limit_exceeded() {
+        // given
+        given(walletWithdrawalEngine.withdraw(eq(1L), any(WithdrawalRequest.class)))
+                .willThrow(new VelocityLimitExceededException(Period.DAY, BigDecimal.valueOf(1000)));
+
+        // when
+        Status.Code code = statusOfWithdraw(1L);
+
+        // then
+        assertThat(code).isEqualTo(Status.Code.FAILED_PRECONDITION);
+    }
+
+    @Test
+    @DisplayName("요청 마감이나 statement_timeout을 넘으면 DEADLINE_EXCEEDED 상태로 응답한다")
+    void withdraw_deadline_exceeded() {
+        // given
+        given(walletWithdrawalEngine.withdraw(eq(1L), any(WithdrawalRequest.class)))
+                .willThrow(new DeadlineExceededException("lock"));
+        given(walletWithdrawalEngine.withdraw(eq(2L), any(WithdrawalRequest.class)))
+                .willThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+
+        // when
+        Status.Code lockTimeout = statusOfWithdraw(1L);
+        Status.Code queryTimeout = statusOfWithdraw(2L);
+
+        // then
+        assertThat(lockTimeout).isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(queryTimeout).isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+    }
+
+    @Test
+    @DisplayName("실행기 대기열이 가득 차면 RESOURCE_EXHAUSTED 상태로 응답한다")
+    void withdraw_bulkhead_full() {
+        // given
+        given(walletWithdrawalEngine.withdraw(eq(1L), any(WithdrawalRequest.class)))
+                .willThrow(new BulkheadFullException(TrafficClass.INTERACTIVE, "queue full"));
+
+        // when
+        Status.Code code = statusOfWithdraw(1L);
+
+        // then
+        assertThat(code).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+    }
+
+    @Test
+    @DisplayName("토큰 버킷에서 거절되면 엔진을 호출하지 않고 RESOURCE_EXHAUSTED 상태로 응답한다")
+    void withdraw_rate_limited_before_engine() {
+        // given
+        willThrow(new RateLimitExceededException("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", 100L))
+                .given(walletAdmissionGate).admit(eq(1L), any());
+
+        // when
+        Status.Code code = statusOfWithdraw(1L);
+
+        // then
+        assertThat(code).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        verify(walletWithdrawalEngine, never()).withdraw(any(), any());
+    }
+
+    @Test
+    @DisplayName("출금 한도 사전 확인에서 거절되면 엔진을 호출하지 않는다")
+    void withdraw_velocity_precheck_before_engine() {
+        // given
+        willThrow(new VelocityLimitExceededException(Period.DAY, BigDecimal.valueOf(1000)))
+                .given(velocityLimitService).precheck(eq(1L), any(BigDecimal.class));
+
+        // when
+        Status.Code code = statusOfWithdraw(1L);
+
+        // then
+        assertThat(code).isEqualTo(Status.Code.FAILED_PRECONDITION);
+        verify(walletWithdrawalEngine, never()).withdraw(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Status.Code statusOfWithdraw(long walletId) {
+        WithdrawRequest request = WithdrawRequest.newBuilder()
+                .setWalletId(walletId)
+                .setTransactionIdMsb(1L)
+                .setTransactionIdLsb(2L)
+                .setAmount(Decimal.newBuilder().setUnscaled(1000).setScale(0))
+                .build();
+        StreamObserver<WithdrawReply> observer = mock(StreamObserver.class);
+        walletGrpcService.withdraw(request, observer);
+
+        ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+        verify(observer, timeout(1000)).onError(errorCaptor.capture());
+        return ((StatusRuntimeException) errorCaptor.getValue()).getStatus().getCode();
+    }
+}
@@ -0,0 +1,92 @@
+package com.walletserver.wallet.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class WalletLockRegistryTest {
+
+    private static final String THREE_NODES = "redis://a:6379,redis://b:6379,redis://c:6379";
+    private static final String FOUR_NODES = THREE_NODES + ",redis://d:6379";
+
+    @Test
+    @DisplayName("주소가 없으면 기본 RedissonClient 하나를 샤드로 쓴다")
+    void single_default_shard() {
+        // given
+        RedissonClient defaultClient = mock(RedissonClient.class);
+
+        // when
+        WalletLockRegistry registry = registry(defaultClient, "");
+
+        // then
+        assertThat(registry.shards()).hasSize(1);
+        assertThat(registry.shardOf(42L).client()).isSameAs(defaultClient);
+    }
+
+    @Test
+    @DisplayName("지갑은 여러 노드에 고르게 나뉘고, 노드를 추가해도 일부 지갑만 이동한다")
+    void distribute_wallets_across_nodes() {
+        // given
+        WalletLockRegistry three = registry(mock(RedissonClient.class), THREE_NODES);
+        WalletLockRegistry four = registry(mock(RedissonClient.class), FOUR_NODES);
+        int wallets = 30000;
+
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        int moved = 0;
+        for (long walletId = 1; walletId <= wallets; walletId++) {
+            String owner = three.shardOf(walletId).getName();
+            counts.merge(owner, 1, Integer::sum);
+            if (!owner.equals(four.shardOf(walletId).getName())) {
+                moved++;
+            }
+        }
+
+        // then
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isGreaterThan(wallets / 5));
+        assertThat(moved).isLessThan(wallets * 2 / 5);
+        assertThat(three.shardOf(7L)).isSameAs(three.shardOf(7L + WalletLockRegistry.SLOTS));
+    }
+
+    @Test
+    @DisplayName("일부 샤드만 내려가면 UP과 샤드별 상태를, 모두 내려가면 DOWN을 보고한다")
+    void health_reports_per_shard() {
+        // given
+        WalletLockRegistry registry = registry(mock(RedissonClient.class), THREE_NODES);
+        WalletLockShardHealthIndicator indicator = new WalletLockShardHealthIndicator(registry);
+        LockShard first = registry.shards().get(0);
+
+        // when
+        failUntilUnavailable(first);
+
+        // then
+        assertThat(first.isAvailable()).isFalse();
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(indicator.health().getDetails()).containsEntry(first.getName(), "DOWN");
+
+        registry.shards().forEach(this::failUntilUnavailable);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+
+        first.recordSuccess();
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private void failUntilUnavailable(LockShard shard) {
+        for (int i = 0; i < 3; i++) {
+            shard.recordFailure();
+        }
+    }
+
+    private WalletLockRegistry registry(RedissonClient defaultClient, String addresses) {
+        return new WalletLockRegistry(defaultClient, new SimpleMeterRegistry(), addresses, "", 1000, 1, 3);
+    }
+}
@@ -0,0 +1,119 @@
+package com.walletserver.wallet.membership;
+
+import com.walletserver.shard.service.ShardMap;
+import com.walletserver.wallet.exception.WalletNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WalletMembershipTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic topic;
+
+    @Mock
+    private ShardMap shardMap;
+
+    private WalletMembership membership;
+
+    @BeforeEach
+    void setUp() {
+        given(redissonClient.getTopic(WalletMembership.TOPIC, StringCodec.INSTANCE)).willReturn(topic);
+        given(shardMap.shards()).willReturn(List.of(0));
+        given(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any()))
+                .willReturn(List.of(1L, 2L, 3L, 100L));
+        membership = new WalletMembership(jdbcTemplate, redissonClient, shardMap, new SimpleMeterRegistry(),
+                true, 10, 1000);
+        membership.start();
+    }
+
+    @Test
+    @DisplayName("적재된 지갑은 통과하고 최대 ID보다 한참 작은 없는 지갑은 DB 조회 없이 거절한다")
+    void rejects_far_unknown_ids_without_db() {
+        // when & then
+        assertThatCode(() -> membership.requireKnown(2L)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> membership.requireKnown(50L)).isInstanceOf(WalletNotFoundException.class);
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Boolean.class), any());
+    }
+
+    @Test
+    @DisplayName("최대 ID보다 큰 ID는 확인 구간 밖이어도 DB로 확인한 뒤에만 거절한다")
+    void rechecks_ids_far_above_high_water() {
+        // given
+        given(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(1_000_000L))).willReturn(false);
+        given(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(2_000_000L))).willReturn(true);
+
+        // when & then
+        assertThatThrownBy(() -> membership.requireKnown(1_000_000L)).isInstanceOf(WalletNotFoundException.class);
+        assertThatCode(() -> membership.requireKnown(2_000_000L)).doesNotThrowAnyException();
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Boolean.class), eq(1_000_000L));
+    }
+
+    @Test
+    @DisplayName("최대 ID 근처의 모르는 지갑은 DB로 확인하고 있으면 집합에 넣는다")
+    void rechecks_ids_near_high_water() {
+        // given
+        given(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(105L))).willReturn(true);
+
+        // when
+        membership.requireKnown(105L);
+        membership.requireKnown(105L);
+
+        // then
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Boolean.class), eq(105L));
+        assertThat(membership.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("주기적 갱신은 최대 ID 아래 확인 구간부터 다시 읽어 늦게 커밋된 지갑도 집합에 넣는다")
+    void refresh_rescans_window_below_high_water() {
+        // given
+        given(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(90L), any())).willReturn(List.of(95L, 100L));
+
+        // when
+        membership.refresh();
+
+        // then
+        assertThat(membership.size()).isEqualTo(5);
+        assertThatCode(() -> membership.requireKnown(95L)).doesNotThrowAnyException();
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Boolean.class), any());
+    }
+
+    @Test
+    @DisplayName("새로 만든 지갑은 연속 구간으로 묶어 다른 인스턴스에 알린다")
+    void publishes_created_ids_as_ranges() {
+        // when
+        membership.registerCreated(List.of(203L, 201L, 202L, 205L));
+
+        // then
+        verify(topic).publish("201-203,205");
+        assertThatCode(() -> membership.requireKnown(205L)).doesNotThrowAnyException();
+    }
+}
@@ -50,7 +50,7 @@ class WalletNoLockTest {
     }
 
     @Test
-    @DisplayName("락 없이 동시 요청: 경쟁 상태 발생 확인 (100 threads)")
+    @DisplayName("락 없이 동시 요청: 경합한 요청은 버전 충돌로 실패하고 Lost Update는 없음 (100 threads)")
     void execution_without_lock_race_condition() throws InterruptedException {
         // given
         int threadCount = 100;
@@ -85,14 +85,16 @@ class WalletNoLockTest {
         // then
         Wallet updatedWallet = walletRepository.findById(walletId).orElseThrow();
         log.info("=== No-Lock Test Result ===");
-        log.info("Expected Balance: 0");
         log.info("Actual Balance: {}", updatedWallet.getBalance());
         log.info("Success Count: {}", successCount.get());
+        log.info("Conflict Count: {}", failCount.get());
 
-        // 실패하거나 잔액이 맞지 않아야 이 테스트의 목적(문제 재현) 달성됨
-        // 하지만 Junit Test로서는 '실패'를 보여주기 위해 Assertion은 '정상'을 기대하도록 작성하고
-        // 실제 실행 시 FAILED가 뜨는 로그를 확보한다.
+        // @Version 도입 이후 경합한 요청은 Lost Update 대신 낙관적 락 충돌로 실패한다.
+        // 일부 요청이 실패하므로 잔액은 0이 되지 않지만, 성공한 출금은 모두 잔액에 반영된다.
         assertThat(updatedWallet.getBalance()).isNotEqualByComparingTo(BigDecimal.ZERO);
-        log.info("Race Condition Confirmed: Balance IS NOT ZERO ({} != 0)", updatedWallet.getBalance());
+        BigDecimal totalWithdrawn = amount.multiply(BigDecimal.valueOf(successCount.get()));
+        assertThat(updatedWallet.getBalance().add(totalWithdrawn)).isEqualByComparingTo(BigDecimal.valueOf(1000000));
+        log.info("No Lost Update Confirmed: Balance {} + Withdrawn {} = 1000000",
+                updatedWallet.getBalance(), totalWithdrawn);
     }
 }
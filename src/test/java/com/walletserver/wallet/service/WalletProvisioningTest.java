@@ -0,0 +1,66 @@
+package com.walletserver.wallet.service;
+
+import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.wallet.dto.BulkProvisionResponse;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class WalletProvisioningTest {
+
+    @Autowired
+    private WalletProvisioningService walletProvisioningService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionHistoryRepository historyRepository;
+
+    @Test
+    @DisplayName("COPY로 생성한 지갑은 입력 순서대로 ID가 반환되고 개시 입금 이력이 남는다")
+    void provision_wallets_with_opening_deposits() {
+        // given
+        String input = "10000\n\n2500.50\n0\n";
+        long historiesBefore = historyRepository.count();
+
+        // when
+        BulkProvisionResponse response = walletProvisioningService.provision(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(response.created()).isEqualTo(3);
+        Wallet first = walletRepository.findById(response.walletIds().get(0)).orElseThrow();
+        Wallet second = walletRepository.findById(response.walletIds().get(1)).orElseThrow();
+        Wallet third = walletRepository.findById(response.walletIds().get(2)).orElseThrow();
+        assertThat(first.getBalance()).isEqualByComparingTo("10000");
+        assertThat(second.getBalance()).isEqualByComparingTo("2500.50");
+        assertThat(third.getBalance()).isEqualByComparingTo("0");
+        assertThat(historyRepository.count() - historiesBefore).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("잘못된 줄이 있으면 전체 적재가 롤백된다")
+    void provision_rolls_back_on_invalid_line() {
+        // given
+        String input = "10000\nabc\n";
+        long walletsBefore = walletRepository.count();
+
+        // when & then
+        assertThatThrownBy(() -> walletProvisioningService.provision(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+        assertThat(walletRepository.count()).isEqualTo(walletsBefore);
+    }
+}
@@ -1,16 +1,27 @@
 package com.walletserver.wallet.service;
 
+import com.walletserver.cluster.exception.OwnershipLostException;
+import com.walletserver.cluster.repository.PartitionFenceRepository;
+import com.walletserver.common.deadline.DeadlineStatementTimeout;
+import com.walletserver.shard.service.ShardWriteFence;
 import com.walletserver.transaction.dto.WithdrawalRequest;
 import com.walletserver.transaction.dto.WithdrawalResponse;
 import com.walletserver.transaction.entity.TransactionHistory;
 import com.walletserver.transaction.repository.TransactionHistoryRepository;
+import com.walletserver.velocity.service.VelocityLimitService;
 import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.entity.WalletBalance;
+import com.walletserver.wallet.exception.InsufficientBalanceException;
+import com.walletserver.wallet.repository.WalletBalanceRepository;
 import com.walletserver.wallet.repository.WalletRepository;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -21,6 +32,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,9 +44,27 @@ class WalletServiceTest {
     @Mock
     private WalletRepository walletRepository;
 
+    @Mock
+    private WalletBalanceRepository walletBalanceRepository;
+
     @Mock
     private TransactionHistoryRepository historyRepository;
 
+    @Mock
+    private DeadlineStatementTimeout deadlineStatementTimeout;
+
+    @Mock
+    private VelocityLimitService velocityLimitService;
+
+    @Mock
+    private ShardWriteFence shardWriteFence;
+
+    @Mock
+    private PartitionFenceRepository partitionFenceRepository;
+
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+
     @Test
     @DisplayName("출금 성공 테스트")
     void withdraw_success() {
@@ -112,6 +142,59 @@ class WalletServiceTest {
                 .hasMessage("Insufficient balance");
     }
 
+    @Test
+    @DisplayName("잔액 부족으로 거절된 출금은 FAILED 이력으로 기록된다")
+    void withdraw_insufficient_balance_records_failure() {
+        // given
+        Long walletId = 1L;
+        UUID transactionId = UUID.randomUUID();
+        WithdrawalRequest request = new WithdrawalRequest(transactionId, BigDecimal.valueOf(10000));
+        Wallet wallet = Wallet.builder()
+                .id(walletId)
+                .balance(BigDecimal.valueOf(5000))
+                .build();
+
+        given(historyRepository.findByTransactionId(transactionId)).willReturn(Optional.empty());
+        given(walletRepository.findById(walletId)).willReturn(Optional.of(wallet));
+
+        // when
+        assertThatThrownBy(() -> walletService.withdraw(walletId, request, false))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        // then
+        ArgumentCaptor<TransactionHistory> historyCaptor = ArgumentCaptor.forClass(TransactionHistory.class);
+        verify(historyRepository).save(historyCaptor.capture());
+        assertThat(historyCaptor.getValue().getStatus()).isEqualTo(TransactionHistory.TransactionStatus.FAILED);
+        assertThat(historyCaptor.getValue().getFailureReason()).isEqualTo("Insufficient balance");
+        assertThat(wallet.getBalance()).isEqualByComparingTo("5000");
+    }
+
+    @Test
+    @DisplayName("FAILED로 기록된 거래를 재요청하면 지갑을 조회하지 않고 같은 사유로 거절한다")
+    void withdraw_replays_recorded_failure() {
+        // given
+        Long walletId = 1L;
+        UUID transactionId = UUID.randomUUID();
+        WithdrawalRequest request = new WithdrawalRequest(transactionId, BigDecimal.valueOf(10000));
+        TransactionHistory failedHistory = TransactionHistory.builder()
+                .transactionId(transactionId)
+                .walletId(walletId)
+                .type(TransactionHistory.TransactionType.WITHDRAWAL)
+                .amount(BigDecimal.valueOf(10000))
+                .balanceSnapshot(BigDecimal.valueOf(5000))
+                .status(TransactionHistory.TransactionStatus.FAILED)
+                .failureReason("Insufficient balance")
+                .build();
+
+        given(historyRepository.findByTransactionId(transactionId)).willReturn(Optional.of(failedHistory));
+
+        // when & then
+        assertThatThrownBy(() -> walletService.withdraw(walletId, request, false))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessage("Insufficient balance");
+        verify(walletRepository, never()).findById(any());
+    }
+
     @Test
     @DisplayName("존재하지 않는 월렛 ID 예외 테스트")
     void withdraw_wallet_not_found() {
@@ -128,4 +211,89 @@ class WalletServiceTest {
                 .isInstanceOf(com.walletserver.wallet.exception.WalletNotFoundException.class)
                 .hasMessage("Wallet not found with ID: " + walletId);
     }
+
+    @Test
+    @DisplayName("기준 통화가 아닌 출금은 지갑+통화 잔액 행만 잠그고 차감한다")
+    void withdraw_foreign_currency_locks_currency_balance() {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(30), "USD");
+        WalletBalance balance = WalletBalance.builder()
+                .walletId(walletId)
+                .currency("USD")
+                .balance(BigDecimal.valueOf(100))
+                .build();
+
+        given(historyRepository.findByTransactionId(request.transactionId())).willReturn(Optional.empty());
+        given(walletBalanceRepository.findByWalletIdAndCurrencyForUpdate(walletId, "USD"))
+                .willReturn(Optional.of(balance));
+
+        // when
+        WithdrawalResponse response = walletService.withdraw(walletId, request, true);
+
+        // then
+        assertThat(response.currency()).isEqualTo("USD");
+        assertThat(response.remainingBalance()).isEqualByComparingTo("70");
+        verify(walletRepository, never()).findByIdForUpdate(any());
+        verify(velocityLimitService, never()).record(any(), any());
+    }
+
+    @Test
+    @DisplayName("통화 잔액 행이 없는 통화의 출금은 잔액 0으로 보고 FAILED로 기록한다")
+    void withdraw_missing_currency_balance_fails() {
+        // given
+        Long walletId = 1L;
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.ONE, "EUR");
+
+        given(historyRepository.findByTransactionId(request.transactionId())).willReturn(Optional.empty());
+        given(walletBalanceRepository.findByWalletIdAndCurrencyForUpdate(walletId, "EUR"))
+                .willReturn(Optional.empty());
+        given(walletRepository.existsById(walletId)).willReturn(true);
+
+        // when & then
+        assertThatThrownBy(() -> walletService.withdraw(walletId, request, true))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        ArgumentCaptor<TransactionHistory> historyCaptor = ArgumentCaptor.forClass(TransactionHistory.class);
+        verify(historyRepository).save(historyCaptor.capture());
+        assertThat(historyCaptor.getValue().getCurrency()).isEqualTo("EUR");
+        assertThat(historyCaptor.getValue().getStatus()).isEqualTo(TransactionHistory.TransactionStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("파티션 epoch가 바뀌었으면 이전 소유자의 출금은 지갑을 읽기 전에 거절된다")
+    void withdraw_fenced_rejects_stale_epoch() {
+        // given
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+        given(partitionFenceRepository.findEpochForShare(3)).willReturn(8L);
+
+        // when & then
+        assertThatThrownBy(() -> walletService.withdrawFenced(1L, request, 3, 7L))
+                .isInstanceOf(OwnershipLostException.class);
+        verify(walletRepository, never()).findByIdForUpdate(any());
+        verify(historyRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("epoch가 같으면 행 잠금으로 출금한다")
+    void withdraw_fenced_current_epoch_uses_row_lock() {
+        // given
+        Long walletId = 1L;
+        UUID transactionId = UUID.randomUUID();
+        WithdrawalRequest request = new WithdrawalRequest(transactionId, BigDecimal.valueOf(1000));
+        Wallet wallet = Wallet.builder()
+                .id(walletId)
+                .balance(BigDecimal.valueOf(5000))
+                .build();
+        given(partitionFenceRepository.findEpochForShare(3)).willReturn(7L);
+        given(historyRepository.findByTransactionId(transactionId)).willReturn(Optional.empty());
+        given(walletRepository.findByIdForUpdate(walletId)).willReturn(Optional.of(wallet));
+
+        // when
+        WithdrawalResponse response = walletService.withdrawFenced(walletId, request, 3, 7L);
+
+        // then
+        assertThat(response.remainingBalance()).isEqualByComparingTo("4000");
+        verify(walletRepository, never()).findById(any());
+    }
 }
@@ -0,0 +1,82 @@
+package com.walletserver.wallet.tracing;
+
+import com.walletserver.global.config.InMemoryTracingConfig;
+import com.walletserver.global.config.TestContainersConfig;
+import com.walletserver.transaction.dto.WithdrawalRequest;
+import com.walletserver.transaction.dto.WithdrawalResponse;
+import com.walletserver.wallet.entity.Wallet;
+import com.walletserver.wallet.repository.WalletRepository;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureObservability
+@Import({TestContainersConfig.class, InMemoryTracingConfig.class})
+class WithdrawalTracingTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter.reset();
+    }
+
+    @Test
+    @DisplayName("출금 요청의 컨트롤러, 락 대기/보유, 쿼리 스팬이 들어온 트레이스 컨텍스트에 이어진다")
+    void withdraw_spans_join_incoming_trace() {
+        // given
+        Long walletId = walletRepository.save(Wallet.builder().balance(BigDecimal.valueOf(10000)).build()).getId();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+        WithdrawalRequest request = new WithdrawalRequest(UUID.randomUUID(), BigDecimal.valueOf(1000));
+
+        // when
+        ResponseEntity<WithdrawalResponse> response = restTemplate.postForEntity(
+                "/api/wallets/" + walletId + "/withdraw", new HttpEntity<>(request, headers), WithdrawalResponse.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(spanNames(TRACE_ID))
+                .contains("wallet.withdraw", "wallet.withdraw.attempt", "wallet.lock.wait", "wallet.lock.hold",
+                        "wallet.db.query"));
+    }
+
+    private List<String> spanNames(String traceId) {
+        return spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .map(SpanData::getName)
+                .toList();
+    }
+}